@@ -17,6 +17,7 @@ import org.jboss.pnc.bacon.auth.model.Credential;
 import org.jboss.pnc.bacon.auth.model.KeycloakResponse;
 import org.jboss.pnc.bacon.auth.spi.KeycloakClient;
 import org.jboss.pnc.bacon.common.exception.FatalException;
+import org.jboss.pnc.bacon.common.http.SharedHttpClient;
 import org.keycloak.adapters.installed.KeycloakInstalled;
 import org.keycloak.representations.AccessToken;
 
@@ -36,8 +37,8 @@ public class KeycloakClientImpl implements KeycloakClient {
     private static final int MAX_RETRIES = 10;
 
     static {
-        // Configure Unirest ObjectMapper
-        Unirest.config().setObjectMapper(new JacksonObjectMapper());
+        // Configure Unirest ObjectMapper, and send the requests through the shared connection pool
+        Unirest.config().setObjectMapper(new JacksonObjectMapper()).httpClient(SharedHttpClient.get());
     }
 
     @Override
@@ -0,0 +1,92 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.pnc.bacon.benchmarks;
+
+import org.apache.commons.io.file.PathUtils;
+import org.jboss.pnc.bacon.pig.impl.repo.RepositoryUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Generates the md5 and sha1 checksums of a maven repository, as done for the repository zip of {@code pig}.
+ * <p>
+ * The checksums are only generated when missing, so each measurement deletes the ones generated by the previous one and
+ * calls the generation once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ChecksumBenchmark {
+
+    @Param("2000")
+    int artifacts;
+
+    @Param("65536")
+    int jarSize;
+
+    private Path repository;
+
+    @Setup
+    public void createRepository() throws IOException {
+        repository = Files.createTempDirectory("checksum-benchmark");
+        SyntheticData.mavenRepository(repository, artifacts, jarSize);
+    }
+
+    @Setup(Level.Iteration)
+    public void deleteChecksums() throws IOException {
+        try (Stream<Path> files = Files.walk(repository)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(".md5") || name.endsWith(".sha1")) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    @TearDown
+    public void deleteRepository() throws IOException {
+        PathUtils.deleteDirectory(repository);
+    }
+
+    @Benchmark
+    public void addCheckSums() {
+        RepositoryUtils.addCheckSums(repository.toFile());
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.pnc.bacon.benchmarks;
+
+import org.jboss.pnc.bacon.pig.impl.utils.GAV;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lists and sorts repository paths the way {@code RepoDescriptor.listGavs} and the repository reports do, with
+ * {@link GAV} and with a copy of its former, {@code String.format} based, implementation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GavBenchmark {
+
+    @Param("100000")
+    int size;
+
+    private List<String> paths;
+
+    @Setup
+    public void createPaths() {
+        paths = SyntheticData.artifactPaths(size);
+    }
+
+    @Benchmark
+    public Set<GAV> listAndSort() {
+        Set<GAV> gavs = new TreeSet<>(Comparator.comparing(GAV::toGav));
+        List<GAV> all = new ArrayList<>(paths.size());
+        for (String path : paths) {
+            all.add(new GAV(path));
+        }
+        gavs.addAll(all);
+        all.sort(GAV.gapvcComparator);
+        return gavs;
+    }
+
+    @Benchmark
+    public Set<FormattedGav> listAndSortFormatted() {
+        Set<FormattedGav> gavs = new TreeSet<>(Comparator.comparing(FormattedGav::toGav));
+        List<FormattedGav> all = new ArrayList<>(paths.size());
+        for (String path : paths) {
+            all.add(new FormattedGav(path));
+        }
+        gavs.addAll(all);
+        all.sort(Comparator.comparing(FormattedGav::toGapvc));
+        return gavs;
+    }
+
+    /**
+     * The path parsing and string representations of {@link GAV} before they were cached
+     */
+    static class FormattedGav {
+        private final List<String> extensionExceptions = Arrays.asList("tar.gz", "tar.bz2");
+        private final String groupId;
+        private final String artifactId;
+        private final String version;
+        private final String packaging;
+        private String classifier;
+
+        FormattedGav(String path) {
+            int versionEnd = path.lastIndexOf('/');
+            int artifactEnd = path.lastIndexOf('/', versionEnd - 1);
+            int groupEnd = path.lastIndexOf('/', artifactEnd - 1);
+
+            packaging = extensionExceptions.stream()
+                    .filter(e -> path.endsWith("." + e))
+                    .findFirst()
+                    .orElse(path.substring(path.lastIndexOf('.') + 1));
+            version = path.substring(artifactEnd + 1, versionEnd);
+            artifactId = path.substring(groupEnd + 1, artifactEnd);
+            groupId = path.substring(0, groupEnd).replaceAll("/", ".");
+            try {
+                classifier = path
+                        .substring(path.lastIndexOf(version) + version.length() + 1, path.lastIndexOf(packaging) - 1);
+            } catch (Exception e) {
+                classifier = null;
+            }
+        }
+
+        String toGav() {
+            return String.format("%s:%s:%s", groupId, artifactId, version);
+        }
+
+        String toGapvc() {
+            if (classifier == null) {
+                return String.format("%s:%s:%s:%s", groupId, artifactId, packaging, version);
+            } else {
+                return String.format("%s:%s:%s:%s:%s", groupId, artifactId, packaging, version, classifier);
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.pnc.bacon.benchmarks;
+
+import org.jboss.pnc.bacon.pig.impl.utils.GAV;
+import org.jboss.pnc.bacon.pig.impl.utils.GavSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Filters the artifacts of a repository with the resolve includes and excludes of {@code RepoManager}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GavSetBenchmark {
+
+    @Param("100000")
+    int size;
+
+    private List<GAV> gavs;
+
+    private GavSet gavSet;
+
+    @Setup
+    public void createGavs() {
+        gavs = SyntheticData.artifactPaths(size).stream().map(GAV::new).collect(Collectors.toList());
+        gavSet = GavSet.builder()
+                .includes("org.acme.group1*, org.acme.group2*:artifact-2*, org.acme.group3*:*:tar.gz:*:*")
+                .excludes("org.acme.group1*:*:*:sources:*, org.acme.group11*, *:artifact-4*:*:*:1.2*.0.redhat-*")
+                .build();
+    }
+
+    @Benchmark
+    public int contains() {
+        int matches = 0;
+        for (GAV gav : gavs) {
+            if (gavSet.contains(
+                    gav.getGroupId(),
+                    gav.getArtifactId(),
+                    gav.getPackaging(),
+                    gav.getClassifier(),
+                    gav.getVersion())) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+}
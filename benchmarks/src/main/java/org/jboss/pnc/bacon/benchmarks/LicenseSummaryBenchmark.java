@@ -0,0 +1,138 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.pnc.bacon.benchmarks;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.jboss.pnc.bacon.licenses.LicenseSummaryFactory;
+import org.jboss.pnc.bacon.licenses.sanitiser.AliasLicenseSanitiser;
+import org.jboss.pnc.bacon.licenses.sanitiser.ExceptionLicenseSanitiser;
+import org.jboss.pnc.bacon.licenses.sanitiser.LicenseSanitiser;
+import org.jboss.pnc.bacon.licenses.sanitiser.NoopLicenseSanitiser;
+import org.jboss.pnc.bacon.licenses.xml.DependencyElement;
+import org.jboss.pnc.bacon.licenses.xml.LicenseElement;
+import org.jboss.pnc.bacon.licenses.xml.LicenseSummary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates the license summary of a set of artifacts with the exception and alias sanitisers of the licenses generator.
+ * <p>
+ * The licenses found in the poms are recorded up front, instead of being read by {@code MavenSanitiser}, so that the
+ * benchmark runs offline and measures the sanitisation only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LicenseSummaryBenchmark {
+
+    /**
+     * Licenses as they are spelled in poms, some of them being unknown to the alias sanitiser
+     */
+    private static final List<LicenseElement> POM_LICENSES = List.of(
+            new LicenseElement(
+                    "The Apache Software License, Version 2.0",
+                    "http://www.apache.org/licenses/LICENSE-2.0.txt"),
+            new LicenseElement("Apache License, version 2.0", "https://www.apache.org/licenses/LICENSE-2.0"),
+            new LicenseElement(
+                    "GNU Lesser General Public License, Version 2.1",
+                    "http://www.gnu.org/licenses/lgpl-2.1.txt"),
+            new LicenseElement("Eclipse Public License - v 2.0", "https://www.eclipse.org/legal/epl-2.0/"),
+            new LicenseElement("MIT License", "https://opensource.org/licenses/MIT"),
+            new LicenseElement("ACME Custom License", "https://acme.example.com/license"));
+
+    @Param("5000")
+    int size;
+
+    private List<Artifact> artifacts;
+
+    private LicenseSummaryFactory licenseSummaryFactory;
+
+    @Setup
+    public void createArtifacts() {
+        artifacts = new ArrayList<>(size);
+        Map<String, Set<LicenseElement>> pomLicenses = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            Artifact artifact = new DefaultArtifact(
+                    "org.acme.group" + (i % 50),
+                    "artifact-" + i,
+                    "1." + (i % 10) + ".0.redhat-00001",
+                    Artifact.SCOPE_COMPILE,
+                    "jar",
+                    null,
+                    new DefaultArtifactHandler("jar"));
+            artifacts.add(artifact);
+            LicenseElement license = POM_LICENSES.get(i % POM_LICENSES.size());
+            pomLicenses.put(
+                    new DependencyElement(artifact).toGavString(),
+                    i % 7 == 0 ? Set.of(license, POM_LICENSES.get(2)) : Set.of(license));
+        }
+
+        LicenseSanitiser aliasLicenseSanitiser = new AliasLicenseSanitiser(
+                "rh-license-names.json",
+                new NoopLicenseSanitiser());
+        LicenseSanitiser exceptionLicenseSanitiser = new ExceptionLicenseSanitiser(
+                "rh-license-exceptions.json",
+                new RecordedPomLicenses(pomLicenses, aliasLicenseSanitiser));
+        licenseSummaryFactory = new LicenseSummaryFactory(exceptionLicenseSanitiser);
+    }
+
+    @Benchmark
+    public LicenseSummary getLicenseSummary() {
+        return licenseSummaryFactory.getLicenseSummary(artifacts);
+    }
+
+    /**
+     * Stands for {@code MavenSanitiser}, with the licenses of the poms known in advance
+     */
+    private static class RecordedPomLicenses implements LicenseSanitiser {
+        private final Map<String, Set<LicenseElement>> licenses;
+        private final LicenseSanitiser next;
+
+        RecordedPomLicenses(Map<String, Set<LicenseElement>> licenses, LicenseSanitiser next) {
+            this.licenses = licenses;
+            this.next = next;
+        }
+
+        @Override
+        public DependencyElement fix(DependencyElement dependencyElement) {
+            return next.fix(new DependencyElement(dependencyElement, licenses.get(dependencyElement.toGavString())));
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.pnc.bacon.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates the inputs of the benchmarks. The content only depends on the parameters, so that the results of different
+ * runs can be compared.
+ */
+final class SyntheticData {
+
+    private static final long SEED = 42;
+
+    /**
+     * @param count number of paths
+     * @return paths of artifacts in a maven repository, spread over 1400 groups and 5000 artifacts
+     */
+    static List<String> artifactPaths(int count) {
+        List<String> paths = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String groupId = "org/acme/group" + (i % 200) + "/sub" + (i % 7);
+            String artifactId = "artifact-" + (i % 5000);
+            String version = "1." + (i % 30) + ".0.redhat-0000" + (i % 3);
+            String classifier = i % 4 == 0 ? "-sources" : "";
+            String extension = i % 10 == 0 ? "tar.gz" : "jar";
+            paths.add(
+                    groupId + '/' + artifactId + '/' + version + '/' + artifactId + '-' + version + classifier + '.'
+                            + extension);
+        }
+        return paths;
+    }
+
+    /**
+     * Write a maven repository with a pom, a jar and, for every other artifact, a sources jar per artifact
+     *
+     * @param root directory to write the repository to
+     * @param artifacts number of artifacts
+     * @param jarSize size of the jars in bytes, the sources jars are half as big
+     */
+    static void mavenRepository(Path root, int artifacts, int jarSize) throws IOException {
+        Random random = new Random(SEED);
+        for (int i = 0; i < artifacts; i++) {
+            String groupId = "org.acme.group" + (i % 20);
+            String artifactId = "artifact-" + i;
+            String version = "1." + (i % 10) + ".0.redhat-00001";
+            Path directory = root.resolve(groupId.replace('.', '/')).resolve(artifactId).resolve(version);
+            Files.createDirectories(directory);
+
+            String baseName = artifactId + '-' + version;
+            Files.writeString(directory.resolve(baseName + ".pom"), pom(groupId, artifactId, version));
+            // jars are compressed already, random content compresses about as badly
+            Files.write(directory.resolve(baseName + ".jar"), bytes(random, jarSize));
+            if (i % 2 == 0) {
+                Files.write(directory.resolve(baseName + "-sources.jar"), bytes(random, jarSize / 2));
+            }
+        }
+    }
+
+    private static String pom(String groupId, String artifactId, String version) {
+        return String.join(
+                "\n",
+                "<?xml version=\"1.0\" encoding=\"UTF-8\"?>",
+                "<project>",
+                "  <modelVersion>4.0.0</modelVersion>",
+                "  <groupId>" + groupId + "</groupId>",
+                "  <artifactId>" + artifactId + "</artifactId>",
+                "  <version>" + version + "</version>",
+                "</project>");
+    }
+
+    private static byte[] bytes(Random random, int size) {
+        byte[] bytes = new byte[size];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+
+    /**
+     * Generate the log of a build running {@code dependency:tree} on every module, the way the Camel add-on records it
+     *
+     * @param modules number of modules, i.e. of trees
+     * @param width number of dependencies of each node above the deepest level
+     * @param depth number of dependency levels below the module
+     * @return the lines of the log
+     */
+    static List<String> dependencyTreeLog(int modules, int width, int depth) {
+        List<String> lines = new ArrayList<>();
+        for (int module = 0; module < modules; module++) {
+            lines.add("[INFO] ");
+            lines.add("[INFO] ------------------< org.apache.camel:camel-module-" + module + " >------------------");
+            lines.add("[INFO] Building Camel :: Module " + module + " 3.20.1.redhat-00001");
+            lines.add(
+                    "Downloading from indy: https://indy.example.com/api/content/maven/org/apache/camel/camel-parent");
+            lines.add("Downloaded from indy: https://indy.example.com/api/content/maven/org/apache/camel/camel-parent");
+            lines.add("[INFO] --- maven-dependency-plugin:3.3.0:tree (default-cli) @ camel-module-" + module + " ---");
+            lines.add("[INFO] org.apache.camel:camel-module-" + module + ":jar:3.20.1.redhat-00001");
+            addDependencies(lines, "", module + "-", width, depth);
+            lines.add("[INFO]");
+        }
+        return lines;
+    }
+
+    private static void addDependencies(List<String> lines, String indent, String prefix, int width, int depth) {
+        for (int i = 0; i < width; i++) {
+            boolean last = i == width - 1;
+            String id = prefix + i;
+            lines.add("[INFO] " + indent + (last ? "\\- " : "+- ") + dependency(id, depth));
+            if (depth > 1) {
+                addDependencies(lines, indent + (last ? "   " : "|  "), id + "-", width, depth - 1);
+            }
+        }
+    }
+
+    private static String dependency(String id, int level) {
+        switch (level % 3) {
+            case 0:
+                return "org.apache.camel:camel-dependency-" + id + ":jar:3.20.1.redhat-00001:compile";
+            case 1:
+                return "org.apache.cxf:cxf-dependency-" + id + ":jar:3.5.5.redhat-00001:compile";
+            default:
+                return "io.netty:netty-dependency-" + id + ":jar:4.1.86.Final:runtime";
+        }
+    }
+
+    private SyntheticData() {
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.pnc.bacon.benchmarks;
+
+import org.jboss.pnc.bacon.pig.impl.addons.camel.TreeNode;
+import org.jboss.pnc.bacon.pig.impl.addons.camel.TreeParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses the {@code dependency:tree} output of a build log and collects the first level dependencies, as the Camel
+ * add-on does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TreeParserBenchmark {
+
+    @Param("200")
+    int modules;
+
+    private List<String> log;
+
+    @Setup
+    public void createLog() {
+        // 5 + 25 + 125 dependencies per module
+        log = SyntheticData.dependencyTreeLog(modules, 5, 3);
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public List<String> parseAndCollect() throws Exception {
+        TreeParser parser = new TreeParser();
+        ArrayList<TreeNode> trees = parser.parse(log);
+        return parser.collectFirstLevelDependencies(trees);
+    }
+}
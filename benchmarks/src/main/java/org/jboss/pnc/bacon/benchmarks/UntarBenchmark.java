@@ -0,0 +1,92 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.pnc.bacon.benchmarks;
+
+import org.apache.commons.io.file.PathUtils;
+import org.jboss.pnc.bacon.pig.impl.utils.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Extracts a gzipped tarball of a maven repository, like the ones downloaded from Brew.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class UntarBenchmark {
+
+    @Param("2000")
+    int artifacts;
+
+    @Param("65536")
+    int jarSize;
+
+    private Path workDir;
+    private File tarball;
+    private Path extracted;
+
+    @Setup
+    public void createTarball() throws IOException {
+        workDir = Files.createTempDirectory("untar-benchmark");
+        Path repository = workDir.resolve("maven-repository");
+        SyntheticData.mavenRepository(repository, artifacts, jarSize);
+        tarball = workDir.resolve("maven-repository.tar.gz").toFile();
+        // entry names relative to the repository, FileUtils.tar doesn't support names longer than 100 characters
+        FileUtils.tar(tarball, repository.toFile(), repository.toFile());
+        extracted = workDir.resolve("extracted");
+    }
+
+    @Setup(Level.Iteration)
+    public void deleteExtracted() throws IOException {
+        if (Files.exists(extracted)) {
+            PathUtils.deleteDirectory(extracted);
+        }
+    }
+
+    @TearDown
+    public void deleteWorkDir() throws IOException {
+        PathUtils.deleteDirectory(workDir);
+    }
+
+    @Benchmark
+    public Collection<String> untar() {
+        return FileUtils.untar(tarball, extracted.toFile());
+    }
+}
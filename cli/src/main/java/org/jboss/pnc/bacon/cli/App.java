@@ -25,6 +25,8 @@ import ch.qos.logback.core.ConsoleAppender;
 import com.redhat.resilience.otel.OTelCLIHelper;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
 import lombok.extern.slf4j.Slf4j;
 import org.fusesource.jansi.AnsiConsole;
 import org.jboss.bacon.da.Da;
@@ -33,6 +35,8 @@ import org.jboss.pnc.bacon.common.Constant;
 import org.jboss.pnc.bacon.common.ObjectHelper;
 import org.jboss.pnc.bacon.common.cli.VersionProvider;
 import org.jboss.pnc.bacon.common.exception.FatalException;
+import org.jboss.pnc.bacon.common.telemetry.RestCallTelemetry;
+import org.jboss.pnc.bacon.common.telemetry.TimingSummaryExporter;
 import org.jboss.pnc.bacon.config.Config;
 import org.jboss.pnc.bacon.pig.Pig;
 import org.jboss.pnc.bacon.pnc.Pnc;
@@ -63,6 +67,8 @@ import picocli.shell.jline3.PicocliCommands;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 
 import static picocli.CommandLine.ScopeType.INHERIT;
 
@@ -143,6 +149,16 @@ public class App {
             scope = INHERIT)
     private boolean nocolor;
 
+    /**
+     * Write where the time of the command went to a file, see {@link TimingSummaryExporter}
+     */
+    @Option(
+            names = { "--timingSummary" },
+            paramLabel = "<file>",
+            description = "Write the time spent per service and per operation to the file once the command finishes",
+            scope = INHERIT)
+    private String timingSummary;
+
     public int run(String[] args) {
 
         CommandLine commandLine = new CommandLine(this);
@@ -212,6 +228,7 @@ public class App {
             try {
                 return commandLine.setExecutionStrategy(this::executionStrategy).execute(args);
             } finally {
+                RestCallTelemetry.endUnanswered();
                 OTelCLIHelper.stopOTel();
             }
         }
@@ -260,15 +277,23 @@ public class App {
 
         String endpoint = System.getenv("OTEL_EXPORTER_OTLP_ENDPOINT");
         String service = System.getenv("OTEL_SERVICE_NAME");
+        List<SpanProcessor> spanProcessors = new ArrayList<>();
         if (endpoint != null) {
+            log.debug("Enabling OpenTelemetry collection on {}", endpoint);
+            spanProcessors.add(OTelCLIHelper.defaultSpanProcessor(OTelCLIHelper.defaultSpanExporter(endpoint)));
+        }
+        if (timingSummary != null) {
+            log.debug("Writing the timing summary to {}", timingSummary);
+            // exported synchronously, a batch processor drops the spans of large runs once its queue is full
+            spanProcessors.add(SimpleSpanProcessor.create(new TimingSummaryExporter(Paths.get(timingSummary))));
+        }
+        if (!spanProcessors.isEmpty()) {
             if (service == null) {
                 service = "bacon";
             }
-            log.debug("Enabling OpenTelemetry collection on {} with service name {}", endpoint, service);
-            OTelCLIHelper.startOTel(
-                    service,
-                    command,
-                    OTelCLIHelper.defaultSpanProcessor(OTelCLIHelper.defaultSpanExporter(endpoint)));
+            OTelCLIHelper.startOTel(service, command, SpanProcessor.composite(spanProcessors));
+            // before any REST client is built, the clients pick the filter up from the global provider factory
+            RestCallTelemetry.register();
             SpanContext current = Span.current().getSpanContext();
             MDCUtils.addMDCFromOtelHeadersWithFallback(null, current, true);
         }
@@ -0,0 +1,62 @@
+package org.jboss.pnc.bacon.common;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Values computed at most once per key by concurrent callers, e.g. entities looked up or created in a remote service.
+ * <p>
+ * Unlike {@link ConcurrentMap#computeIfAbsent(Object, Function)}, the value is computed outside of the map, by the
+ * first caller asking for the key. The callers asking for the same key in the meantime wait for its result, the callers
+ * asking for other keys are not blocked. A failed computation is not remembered: its exception is thrown to the callers
+ * waiting for it, and the next caller computes the value again.
+ *
+ * @param <K> type of the keys
+ * @param <V> type of the values, null values are allowed
+ */
+public class Memoizer<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> values = new ConcurrentHashMap<>();
+
+    /**
+     * @param key the key
+     * @param function computes the value of the key, if it is not known or being computed yet
+     * @return the value of the key
+     */
+    public V get(K key, Function<? super K, ? extends V> function) {
+        CompletableFuture<V> value = values.get(key);
+        if (value == null) {
+            CompletableFuture<V> computed = new CompletableFuture<>();
+            value = values.putIfAbsent(key, computed);
+            if (value == null) {
+                return compute(key, computed, function);
+            }
+        }
+        try {
+            return value.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private V compute(K key, CompletableFuture<V> computed, Function<? super K, ? extends V> function) {
+        try {
+            V result = function.apply(key);
+            computed.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            values.remove(key, computed);
+            computed.completeExceptionally(e);
+            throw e;
+        }
+    }
+}
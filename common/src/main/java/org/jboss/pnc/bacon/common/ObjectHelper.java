@@ -3,18 +3,29 @@ package org.jboss.pnc.bacon.common;
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
 import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import com.fasterxml.jackson.dataformat.yaml.YAMLGenerator;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
+import java.io.IOException;
+import java.io.PrintWriter;
+
 public class ObjectHelper {
 
     public static Level LOG_LEVEL_SILENT = Level.ERROR;
 
-    private static ObjectMapper getOutputMapper(boolean json) {
+    // elements of a collection fetched ahead while the previous ones are printed, a few pages of a PNC collection
+    private static final int PREFETCHED_ELEMENTS = 500;
+
+    private static final ObjectMapper JSON_MAPPER = createOutputMapper(true);
+    private static final ObjectMapper YAML_MAPPER = createOutputMapper(false);
+
+    private static ObjectMapper createOutputMapper(boolean json) {
         ObjectMapper om = json ? new ObjectMapper(new JsonFactory())
                 : new ObjectMapper(new YAMLFactory().configure(YAMLGenerator.Feature.USE_PLATFORM_LINE_BREAKS, true));
         om.registerModule(new JavaTimeModule());
@@ -22,6 +33,10 @@ public class ObjectHelper {
         return om;
     }
 
+    private static ObjectMapper getOutputMapper(boolean json) {
+        return json ? JSON_MAPPER : YAML_MAPPER;
+    }
+
     /**
      * Print the object in YAML format by default, unless the json parameter is set to true
      *
@@ -32,11 +47,53 @@ public class ObjectHelper {
      * @throws JsonProcessingException
      */
     public static void print(boolean json, Object o) throws JsonProcessingException {
-        if (!getLogger(Logger.ROOT_LOGGER_NAME).getLevel().isGreaterOrEqual(LOG_LEVEL_SILENT)) {
+        if (!isSilent()) {
             System.out.println(getOutputMapper(json).writeValueAsString(o));
         }
     }
 
+    /**
+     * Print the elements as a list in YAML format by default, unless the json parameter is set to true. The output is
+     * the same as {@link #print(boolean, Object)} prints for a collection.
+     *
+     * The elements are written as they are iterated, the iteration runs ahead of the writing in a background thread.
+     * This way a remote collection is printed page by page, with the next page fetched while the current one is
+     * written.
+     *
+     * If the root logger is set to LOG_LEVEL_SILENT or more, nothing is printed
+     *
+     * @param json whether to print JSON instead of YAML
+     * @param elements elements to print
+     * @throws IOException
+     */
+    public static void printAll(boolean json, Iterable<?> elements) throws IOException {
+        if (isSilent()) {
+            return;
+        }
+        ObjectMapper mapper = getOutputMapper(json);
+        // flushed when the next element is not available yet instead of after every element
+        ObjectWriter writer = mapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        PrintWriter out = new PrintWriter(System.out);
+        try (PrefetchingIterator<?> iterator = new PrefetchingIterator<>(elements.iterator(), PREFETCHED_ELEMENTS);
+                JsonGenerator generator = mapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, iterator.next());
+                if (!iterator.isNextReady()) {
+                    generator.flush();
+                }
+            }
+            generator.writeEndArray();
+        }
+        out.println();
+        out.flush();
+    }
+
+    private static boolean isSilent() {
+        return getLogger(Logger.ROOT_LOGGER_NAME).getLevel().isGreaterOrEqual(LOG_LEVEL_SILENT);
+    }
+
     public static void setRootLoggingLevel(Level level) {
         ch.qos.logback.classic.Logger root = getLogger(ch.qos.logback.classic.Logger.ROOT_LOGGER_NAME);
         root.setLevel(level);
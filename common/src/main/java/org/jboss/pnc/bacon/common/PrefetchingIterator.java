@@ -0,0 +1,103 @@
+package org.jboss.pnc.bacon.common;
+
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Iterator reading ahead of its consumer in a background thread.
+ * <p>
+ * Used to fetch the next page of a remote collection while the current one is being processed. At most the given number
+ * of elements is held in memory. A failure of the source iterator is rethrown to the consumer once it reaches the
+ * failed element.
+ *
+ * @param <T> type of the elements
+ */
+public class PrefetchingIterator<T> implements Iterator<T>, Closeable {
+
+    private static final Object END = new Object();
+    private static final Object NULL = new Object();
+
+    private final BlockingQueue<Object> queue;
+    private final Thread producer;
+
+    private volatile Throwable failure;
+    private Object next;
+
+    /**
+     * @param source iterator to read ahead
+     * @param capacity maximal number of elements read ahead
+     */
+    public PrefetchingIterator(Iterator<T> source, int capacity) {
+        queue = new ArrayBlockingQueue<>(capacity);
+        producer = new Thread(() -> produce(source), "prefetch");
+        // an abandoned iterator must not keep the JVM running
+        producer.setDaemon(true);
+        producer.start();
+    }
+
+    private void produce(Iterator<T> source) {
+        try {
+            try {
+                while (source.hasNext()) {
+                    T element = source.next();
+                    queue.put(element == null ? NULL : element);
+                }
+            } catch (RuntimeException | Error e) {
+                failure = e;
+            }
+            queue.put(END);
+        } catch (InterruptedException e) {
+            // the iterator was closed, nobody waits for more elements
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            try {
+                next = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for the next element", e);
+            }
+        }
+        if (next == END) {
+            if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            } else if (failure instanceof Error) {
+                throw (Error) failure;
+            }
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Object element = next;
+        next = null;
+        return element == NULL ? null : (T) element;
+    }
+
+    /**
+     * @return true if the next element can be returned without waiting for the source
+     */
+    public boolean isNextReady() {
+        return next != null || !queue.isEmpty();
+    }
+
+    /**
+     * Stop reading ahead
+     */
+    @Override
+    public void close() {
+        producer.interrupt();
+    }
+}
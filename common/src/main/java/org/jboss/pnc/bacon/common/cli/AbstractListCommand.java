@@ -17,7 +17,6 @@
  */
 package org.jboss.pnc.bacon.common.cli;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import lombok.extern.slf4j.Slf4j;
 import org.jboss.pnc.bacon.common.ObjectHelper;
 import org.jboss.pnc.bacon.common.exception.FatalException;
@@ -25,13 +24,16 @@ import org.jboss.pnc.client.ClientException;
 import org.jboss.pnc.client.RemoteResourceException;
 import picocli.CommandLine.Option;
 
-import java.util.Collection;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.Callable;
 
 /**
  * Class used to provide a default implementation for List* type commands.
  *
- * The subclass only needs to implement the 'getAll' method to teach it how to retrieve all the contents
+ * The subclass only needs to implement the 'getAll' method to teach it how to retrieve all the contents. The contents
+ * are printed while they are iterated, a client needed to fetch them is registered with 'closeAfterPrinting'.
  *
  * @param <T>
  */
@@ -46,18 +48,41 @@ public abstract class AbstractListCommand<T> extends JSONCommandHandler implemen
 
     protected boolean print = true;
 
+    private final List<AutoCloseable> resources = new ArrayList<>();
+
     @Override
     public Integer call() {
         if (query == null && sort == null && print == true) {
             log.warn("Listing entities without filters may take some time, please be patient.");
         }
         try {
-            ObjectHelper.print(getJsonOutput(), getAll(sort, query));
-        } catch (JsonProcessingException | ClientException e) {
+            ObjectHelper.printAll(getJsonOutput(), getAll(sort, query));
+        } catch (IOException | ClientException e) {
             throw new FatalException("Caught exception", e);
+        } finally {
+            closeResources();
         }
         return 0;
     }
 
-    public abstract Collection<T> getAll(String sort, String query) throws RemoteResourceException;
+    /**
+     * Keep the resource open until the contents are printed, e.g. the client fetching the pages of a remote collection
+     */
+    protected <C extends AutoCloseable> C closeAfterPrinting(C resource) {
+        resources.add(resource);
+        return resource;
+    }
+
+    private void closeResources() {
+        for (AutoCloseable resource : resources) {
+            try {
+                resource.close();
+            } catch (Exception e) {
+                log.warn("Failed to close {}", resource, e);
+            }
+        }
+        resources.clear();
+    }
+
+    public abstract Iterable<T> getAll(String sort, String query) throws RemoteResourceException;
 }
@@ -0,0 +1,181 @@
+package org.jboss.pnc.bacon.common.http;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.HttpHost;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.client.IdleConnectionEvictor;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.ssl.SSLContexts;
+import org.jboss.pnc.bacon.config.Config;
+import org.jboss.pnc.bacon.config.HttpConfig;
+import org.jboss.resteasy.client.jaxrs.ClientHttpEngine;
+import org.jboss.resteasy.client.jaxrs.engines.ApacheHttpClient43Engine;
+
+import java.io.File;
+import java.net.URI;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Connection pool shared by the HTTP clients of all the modules.
+ * <p>
+ * Connections are kept alive between requests, so that the many small requests sent to the same services (DA, Indy,
+ * MRRC, Keycloak, ...) don't pay for a TCP and a TLS handshake each. All the TLS connections are created from a single
+ * SSL context, which lets them resume the TLS sessions of each other.
+ * <p>
+ * The connection limits are taken from the {@code http} section of the active configuration profile, if there's one.
+ * Clients built before the configuration is loaded, e.g. in static initializers, use the default limits until it is.
+ * Clients closing the shared client, or a client built on top of it, don't close the pool.
+ */
+@Slf4j
+public class SharedHttpClient {
+
+    private static final int CONNECT_TIMEOUT = 30_000;
+    private static final int IDLE_CONNECTION_TIMEOUT_SECONDS = 30;
+
+    static final PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(
+            RegistryBuilder.<ConnectionSocketFactory> create()
+                    .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                    .register("https", new SSLConnectionSocketFactory(SSLContexts.createSystemDefault()))
+                    .build());
+
+    private static CloseableHttpClient client;
+
+    // whether the limits of a configuration profile were applied
+    private static boolean configured;
+
+    private static boolean defaultsApplied;
+
+    private static int minMaxConnectionsPerHost;
+
+    static {
+        // clients built on a shared connection manager don't evict the connections closed by the servers themselves
+        new IdleConnectionEvictor(connectionManager, IDLE_CONNECTION_TIMEOUT_SECONDS, TimeUnit.SECONDS).start();
+    }
+
+    /**
+     * @return the client using the shared connection pool
+     */
+    public static synchronized CloseableHttpClient get() {
+        if (client == null) {
+            client = builder().build();
+        }
+        return client;
+    }
+
+    /**
+     * Create a builder for a client with its own settings, e.g. timeouts, using the shared connection pool
+     *
+     * @return the client builder
+     */
+    public static HttpClientBuilder builder() {
+        configureFromProfile();
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setConnectionManagerShared(true)
+                .setDefaultRequestConfig(
+                        RequestConfig.custom()
+                                .setConnectTimeout(CONNECT_TIMEOUT)
+                                .setConnectionRequestTimeout(CONNECT_TIMEOUT)
+                                .build());
+    }
+
+    /**
+     * @return RESTEasy engine sending the requests through the shared connection pool
+     */
+    public static ClientHttpEngine resteasyEngine() {
+        // the engine is closed with its RESTEasy client, the shared client must stay open
+        return new ApacheHttpClient43Engine(get(), false);
+    }
+
+    /**
+     * Set the maximal number of connections kept open to a host
+     *
+     * @param baseUrl url of the host, e.g. {@code https://indy.example.com}
+     * @param maxConnections the limit
+     */
+    public static void setMaxConnections(String baseUrl, int maxConnections) {
+        URI uri = URI.create(baseUrl);
+        boolean secure = "https".equalsIgnoreCase(uri.getScheme());
+        int port = uri.getPort() != -1 ? uri.getPort() : secure ? 443 : 80;
+        HttpRoute route = new HttpRoute(new HttpHost(uri.getHost(), port, uri.getScheme()), null, secure);
+        connectionManager.setMaxPerRoute(route, maxConnections);
+    }
+
+    /**
+     * Make sure at least the given number of connections can be open to a single host at the same time, e.g. for
+     * parallel downloads. Limits set for particular hosts are left untouched.
+     *
+     * @param maxConnections the minimal limit
+     */
+    public static synchronized void ensureMaxConnectionsPerHost(int maxConnections) {
+        configureFromProfile();
+        minMaxConnectionsPerHost = Math.max(minMaxConnectionsPerHost, maxConnections);
+        if (connectionManager.getDefaultMaxPerRoute() < maxConnections) {
+            connectionManager.setDefaultMaxPerRoute(maxConnections);
+        }
+        if (connectionManager.getMaxTotal() < maxConnections * 2) {
+            connectionManager.setMaxTotal(maxConnections * 2);
+        }
+    }
+
+    private static synchronized void configureFromProfile() {
+        if (configured) {
+            return;
+        }
+        Optional<HttpConfig> profileConfig = readConfig();
+        if (profileConfig.isEmpty() && defaultsApplied) {
+            return;
+        }
+        // without a configuration yet, the defaults are applied once and the profile is looked for again later
+        configured = profileConfig.isPresent();
+        defaultsApplied = true;
+
+        HttpConfig httpConfig = profileConfig.orElseGet(HttpConfig::new);
+        connectionManager.setMaxTotal(Math.max(httpConfig.getMaxConnections(), minMaxConnectionsPerHost * 2));
+        connectionManager
+                .setDefaultMaxPerRoute(Math.max(httpConfig.getMaxConnectionsPerHost(), minMaxConnectionsPerHost));
+        for (Map.Entry<String, Integer> limit : httpConfig.getHostLimits().entrySet()) {
+            setMaxConnections(limit.getKey(), limit.getValue());
+        }
+    }
+
+    /**
+     * @return the http configuration of the active profile, empty if the configuration is not loaded
+     */
+    private static Optional<HttpConfig> readConfig() {
+        String configFilePath = Config.getConfigFilePath();
+        if (configFilePath == null || !new File(configFilePath).exists()) {
+            return Optional.empty();
+        }
+        try {
+            HttpConfig httpConfig = Config.instance().getActiveProfile().getHttp();
+            return Optional.of(httpConfig == null ? new HttpConfig() : httpConfig);
+        } catch (RuntimeException e) {
+            // the commands needing the configuration report the problem themselves
+            log.debug("Unable to read the http configuration, using the defaults", e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Forget the applied configuration, for tests only
+     */
+    static synchronized void reset() {
+        configured = false;
+        defaultsApplied = false;
+        minMaxConnectionsPerHost = 0;
+    }
+
+    private SharedHttpClient() {
+    }
+}
@@ -0,0 +1,132 @@
+package org.jboss.pnc.bacon.common.telemetry;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.common.AttributesBuilder;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A timed operation, see {@link Telemetry}.
+ * <p>
+ * The counters may be updated from several threads. An operation that is the current span has to be closed by the
+ * thread that started it, closing an operation again has no effect.
+ */
+public class Operation implements AutoCloseable {
+
+    static final Operation NOOP = new Operation();
+
+    private final Span span;
+    private final Scope scope;
+
+    private final AtomicLong bytes = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong requests = new AtomicLong();
+    private volatile boolean failed;
+    private volatile String failure;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private Operation() {
+        span = Span.getInvalid();
+        scope = null;
+        closed.set(true);
+    }
+
+    Operation(Tracer tracer, String name, String service, boolean makeCurrent) {
+        this.span = tracer.spanBuilder(name).setAllAttributes(attributes(name, service)).startSpan();
+        this.scope = makeCurrent ? span.makeCurrent() : null;
+    }
+
+    /**
+     * @param count number of bytes sent or received
+     */
+    public Operation addBytes(long count) {
+        bytes.addAndGet(count);
+        return this;
+    }
+
+    /**
+     * Count a retry of a failed attempt
+     */
+    public Operation addRetry() {
+        retries.incrementAndGet();
+        return this;
+    }
+
+    /**
+     * @param count number of requests sent to the service
+     */
+    public Operation addRequests(long count) {
+        requests.addAndGet(count);
+        return this;
+    }
+
+    /**
+     * Add an attribute to the span, e.g. the number of looked up items
+     */
+    public Operation setAttribute(String key, long value) {
+        span.setAttribute(key, value);
+        return this;
+    }
+
+    /**
+     * Mark the operation as failed
+     */
+    public void fail(Throwable error) {
+        failed = true;
+        failure = error.getMessage();
+        span.recordException(error);
+    }
+
+    /**
+     * Mark the operation as failed
+     */
+    public void fail(String description) {
+        failed = true;
+        failure = description;
+    }
+
+    @Override
+    public void close() {
+        close(null);
+    }
+
+    /**
+     * Close the operation as ended at the given time, e.g. when its end is only noticed later
+     *
+     * @param end the end of the operation, now if null
+     */
+    void close(Instant end) {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        span.setAttribute(Telemetry.BYTES, bytes.get());
+        span.setAttribute(Telemetry.RETRIES, retries.get());
+        span.setAttribute(Telemetry.REQUESTS, requests.get());
+        if (failed) {
+            span.setStatus(StatusCode.ERROR, failure == null ? "" : failure);
+        }
+
+        if (scope != null) {
+            scope.close();
+        }
+        if (end == null) {
+            span.end();
+        } else {
+            span.end(end);
+        }
+    }
+
+    private static Attributes attributes(String name, String service) {
+        AttributesBuilder attributes = Attributes.builder().put(Telemetry.OPERATION, name);
+        if (service != null) {
+            attributes.put(Telemetry.SERVICE, service);
+        }
+        return attributes.build();
+    }
+}
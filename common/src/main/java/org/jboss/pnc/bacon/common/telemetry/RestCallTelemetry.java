@@ -0,0 +1,121 @@
+package org.jboss.pnc.bacon.common.telemetry;
+
+import org.jboss.resteasy.spi.ResteasyProviderFactory;
+
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.client.ClientRequestFilter;
+import javax.ws.rs.client.ClientResponseContext;
+import javax.ws.rs.client.ClientResponseFilter;
+
+import java.net.URI;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Records each REST call as an {@link Operation}, named after the method and the path of the request with the ids
+ * replaced by {@code {id}}, e.g. {@code GET /pnc-rest/v2/builds/{id}/artifacts/built}.
+ * <p>
+ * The filter is registered on the global RESTEasy provider factory, so that it is also used by the clients built by
+ * libraries, e.g. the PNC REST client, which don't let the callers register their own providers.
+ * <p>
+ * The response filter is not called when the request fails without a response, e.g. when the connection is refused or
+ * times out. Such a call is ended as failed by {@link #endUnanswered()}. If the thread that sent it sent another
+ * request meanwhile, the call is ended when that request was sent: a synchronous call was over by then. The response of
+ * an asynchronous call may come later in another thread, the call is then ended by its response as usual.
+ */
+public class RestCallTelemetry implements ClientRequestFilter, ClientResponseFilter {
+
+    private static final String OPERATION_PROPERTY = RestCallTelemetry.class.getName();
+
+    private static final Pattern ID_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+
+    private static final String NO_RESPONSE = "No response";
+
+    /**
+     * The calls waiting for a response, with the threads that sent them
+     */
+    private static final Map<Operation, Unanswered> UNANSWERED = new ConcurrentHashMap<>();
+
+    private static boolean registered;
+
+    /**
+     * Register the filter for all the RESTEasy clients built afterwards, if the telemetry is enabled
+     */
+    public static synchronized void register() {
+        if (registered || !Telemetry.enabled()) {
+            return;
+        }
+        ResteasyProviderFactory.getInstance().registerProviderInstance(new RestCallTelemetry());
+        registered = true;
+    }
+
+    /**
+     * End the calls still waiting for a response as failed, e.g. before the spans are exported on exit
+     */
+    public static void endUnanswered() {
+        UNANSWERED.forEach((operation, unanswered) -> {
+            if (UNANSWERED.remove(operation, unanswered)) {
+                operation.fail(NO_RESPONSE);
+                operation.close(unanswered.latestEnd);
+            }
+        });
+    }
+
+    @Override
+    public void filter(ClientRequestContext requestContext) {
+        Thread thread = Thread.currentThread();
+        Instant now = Instant.now();
+        // a synchronous call the thread sent earlier is over, even if its response never came
+        UNANSWERED.values().forEach(unanswered -> {
+            if (unanswered.thread == thread && unanswered.latestEnd == null) {
+                unanswered.latestEnd = now;
+            }
+        });
+
+        URI uri = requestContext.getUri();
+        Operation operation = Telemetry
+                .startDetached(requestContext.getMethod() + " " + pathTemplate(uri), Telemetry.service(uri));
+        operation.addRequests(1);
+        requestContext.setProperty(OPERATION_PROPERTY, operation);
+        if (operation != Operation.NOOP) {
+            UNANSWERED.put(operation, new Unanswered(thread));
+        }
+    }
+
+    @Override
+    public void filter(ClientRequestContext requestContext, ClientResponseContext responseContext) {
+        Operation operation = (Operation) requestContext.getProperty(OPERATION_PROPERTY);
+        if (operation == null) {
+            return;
+        }
+        requestContext.removeProperty(OPERATION_PROPERTY);
+        UNANSWERED.remove(operation);
+        if (responseContext.getLength() > 0) {
+            operation.addBytes(responseContext.getLength());
+        }
+        // 4xx responses are expected by many callers, e.g. to find out an entity doesn't exist
+        if (responseContext.getStatus() >= 500) {
+            operation.fail("HTTP " + responseContext.getStatus());
+        }
+        operation.close();
+    }
+
+    static String pathTemplate(URI uri) {
+        String path = uri.getRawPath();
+        return path == null ? "/" : ID_SEGMENT.matcher(path).replaceAll("/{id}");
+    }
+
+    private static final class Unanswered {
+        private final Thread thread;
+        /**
+         * When the thread sent its next request, the latest the call could have ended if it was synchronous
+         */
+        private volatile Instant latestEnd;
+
+        private Unanswered(Thread thread) {
+            this.thread = thread;
+        }
+    }
+}
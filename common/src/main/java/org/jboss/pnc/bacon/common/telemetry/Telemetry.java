@@ -0,0 +1,194 @@
+package org.jboss.pnc.bacon.common.telemetry;
+
+import com.redhat.resilience.otel.OTelCLIHelper;
+import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Tracer;
+import lombok.extern.slf4j.Slf4j;
+import org.jboss.pnc.bacon.config.Config;
+import org.jboss.pnc.bacon.config.ConfigProfile;
+
+import java.io.File;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Spans of the operations bacon spends its time on: PiG stages, REST calls, downloads and Koji lookups.
+ * <p>
+ * Each {@link Operation} is a span, carrying the bytes it transferred, its retries and the requests it sent as
+ * {@link #BYTES}, {@link #RETRIES} and {@link #REQUESTS} attributes. Operations talking to a remote service carry the
+ * {@link #SERVICE} it belongs to, e.g. {@link #PNC}, {@link #INDY} or {@link #KOJI}, the ones only using the local CPU
+ * and disks carry {@link #LOCAL}.
+ * <p>
+ * Nothing is recorded unless OpenTelemetry was started with {@link OTelCLIHelper}, the operations are no-ops otherwise.
+ */
+@Slf4j
+public final class Telemetry {
+
+    public static final String INSTRUMENTATION_NAME = "org.jboss.pnc.bacon";
+
+    public static final String PNC = "pnc";
+    public static final String BIFROST = "bifrost";
+    public static final String DA = "da";
+    public static final String INDY = "indy";
+    public static final String KOJI = "koji";
+    public static final String KEYCLOAK = "keycloak";
+    public static final String LICENSE_SERVICE = "license-service";
+    public static final String LOCAL = "local";
+
+    public static final AttributeKey<String> OPERATION = AttributeKey.stringKey("bacon.operation");
+    public static final AttributeKey<String> SERVICE = AttributeKey.stringKey("bacon.service");
+    public static final AttributeKey<Long> BYTES = AttributeKey.longKey("bacon.bytes");
+    public static final AttributeKey<Long> RETRIES = AttributeKey.longKey("bacon.retries");
+    public static final AttributeKey<Long> REQUESTS = AttributeKey.longKey("bacon.requests");
+
+    private static volatile Tracer tracer;
+
+    private static Map<String, String> servicesByHost;
+
+    /**
+     * Start an operation, it is the current span of the thread until it is closed
+     *
+     * @param name name of the operation, e.g. {@code pig.build} or {@code download}
+     * @param service the service the operation talks to, {@link #LOCAL} or null if it's a mix of both, e.g. a stage
+     * @return the operation, to be closed in the thread that started it
+     */
+    public static Operation start(String name, String service) {
+        Tracer current = tracer();
+        return current == null ? Operation.NOOP : new Operation(current, name, service, true);
+    }
+
+    /**
+     * Start an operation that doesn't become the current span, e.g. one ended by a callback in another thread
+     */
+    static Operation startDetached(String name, String service) {
+        Tracer current = tracer();
+        return current == null ? Operation.NOOP : new Operation(current, name, service, false);
+    }
+
+    /**
+     * Run the action as an operation, the operation fails if the action throws an exception
+     *
+     * @see #start(String, String)
+     */
+    public static void run(String name, String service, Consumer<Operation> action) {
+        call(name, service, operation -> {
+            action.accept(operation);
+            return null;
+        });
+    }
+
+    /**
+     * Call the action as an operation, the operation fails if the action throws an exception
+     *
+     * @return the result of the action
+     * @see #start(String, String)
+     */
+    public static <T> T call(String name, String service, Function<Operation, T> action) {
+        try (Operation operation = start(name, service)) {
+            try {
+                return action.apply(operation);
+            } catch (RuntimeException | Error e) {
+                operation.fail(e);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * @return whether the operations are recorded
+     */
+    public static boolean enabled() {
+        return OTelCLIHelper.otelEnabled();
+    }
+
+    /**
+     * Find the service a url belongs to, by comparing its host to the ones of the active configuration profile
+     *
+     * @param uri the url
+     * @return one of the services of this class, or the host of the url if it is not configured
+     */
+    public static String service(URI uri) {
+        String host = uri.getHost();
+        if (host == null) {
+            return LOCAL;
+        }
+        if (!enabled()) {
+            // not recorded anyway, spare the configuration lookup
+            return host;
+        }
+        return servicesByHost().getOrDefault(host.toLowerCase(), host);
+    }
+
+    private static Tracer tracer() {
+        Tracer current = tracer;
+        if (current != null || !enabled()) {
+            return current;
+        }
+        synchronized (Telemetry.class) {
+            if (tracer == null) {
+                // GlobalOpenTelemetry must not be touched before OTelCLIHelper registers the SDK, it would stay a no-op
+                tracer = GlobalOpenTelemetry.getTracer(INSTRUMENTATION_NAME);
+            }
+            return tracer;
+        }
+    }
+
+    private static synchronized Map<String, String> servicesByHost() {
+        if (servicesByHost == null) {
+            servicesByHost = readServices();
+        }
+        return servicesByHost;
+    }
+
+    private static Map<String, String> readServices() {
+        Map<String, String> services = new HashMap<>();
+        String configFilePath = Config.getConfigFilePath();
+        if (configFilePath == null || !new File(configFilePath).exists()) {
+            return services;
+        }
+        try {
+            ConfigProfile profile = Config.instance().getActiveProfile();
+            // the first service configured on a host wins, e.g. PNC over Bifrost when both are behind one proxy
+            if (profile.getPnc() != null) {
+                addService(services, profile.getPnc().getUrl(), PNC);
+                addService(services, profile.getPnc().getBifrostBaseurl(), BIFROST);
+            }
+            if (profile.getIndy() != null) {
+                addService(services, profile.getIndy().getUrl(), INDY);
+            }
+            if (profile.getPig() != null) {
+                addService(services, profile.getPig().getIndyUrl(), INDY);
+                addService(services, profile.getPig().getKojiHubUrl(), KOJI);
+                addService(services, profile.getPig().getLicenseServiceUrl(), LICENSE_SERVICE);
+            }
+            if (profile.getDa() != null) {
+                addService(services, profile.getDa().getUrl(), DA);
+            }
+            if (profile.getKeycloak() != null) {
+                addService(services, profile.getKeycloak().getUrl(), KEYCLOAK);
+            }
+            addService(services, profile.getKeycloakUrl(), KEYCLOAK);
+        } catch (RuntimeException e) {
+            // the operations are reported with the hosts they talk to instead
+            log.debug("Unable to read the service urls from the configuration", e);
+        }
+        return services;
+    }
+
+    private static void addService(Map<String, String> services, String url, String service) {
+        if (url == null || url.isBlank()) {
+            return;
+        }
+        String host = URI.create(url.trim()).getHost();
+        if (host != null) {
+            services.putIfAbsent(host.toLowerCase(), service);
+        }
+    }
+
+    private Telemetry() {
+    }
+}
@@ -0,0 +1,255 @@
+package org.jboss.pnc.bacon.common.telemetry;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Writes a summary of where the time of a command went to a local file, when the telemetry is shut down. Meant to be
+ * used with a {@link io.opentelemetry.sdk.trace.export.SimpleSpanProcessor}, so that no span is dropped.
+ * <p>
+ * The summary has three tables:
+ * <ul>
+ * <li>per service, the wall-clock time during which at least one operation on the service was in progress, counting the
+ * concurrent operations once. The time during which no remote operation was in progress is reported as
+ * {@link Telemetry#LOCAL}, it was spent on the local CPU and disks.</li>
+ * <li>per operation and service, the number of operations, their failures, their total and maximal duration and the
+ * bytes, retries and requests they reported.</li>
+ * <li>per operation and service, the distribution of the durations of the operations, as the number of operations in
+ * each of the {@link #DURATION_BUCKETS_MILLIS} buckets.</li>
+ * </ul>
+ */
+@Slf4j
+public class TimingSummaryExporter implements SpanExporter {
+
+    private static final String NO_SERVICE = "-";
+
+    /**
+     * Upper bounds of the duration buckets, the last bucket holds the longer operations
+     */
+    static final long[] DURATION_BUCKETS_MILLIS = { 10, 100, 1_000, 10_000, 60_000 };
+
+    private static final String[] DURATION_BUCKET_NAMES = { "<=10ms", "<=100ms", "<=1s", "<=10s", "<=1m", ">1m" };
+
+    private final Path file;
+
+    private final Map<String, OperationStats> operations = new HashMap<>();
+
+    private final Map<String, List<long[]>> serviceIntervals = new HashMap<>();
+
+    private long firstStart = Long.MAX_VALUE;
+
+    private long lastEnd = Long.MIN_VALUE;
+
+    private boolean shutdown;
+
+    /**
+     * @param file the file to write the summary to, overwritten if it exists
+     */
+    public TimingSummaryExporter(Path file) {
+        this.file = file;
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+        for (SpanData span : spans) {
+            String service = span.getAttributes().get(Telemetry.SERVICE);
+            String operation = span.getName();
+            operations
+                    .computeIfAbsent(
+                            operation + '\n' + service,
+                            key -> new OperationStats(operation, service == null ? NO_SERVICE : service))
+                    .add(span);
+
+            firstStart = Math.min(firstStart, span.getStartEpochNanos());
+            lastEnd = Math.max(lastEnd, span.getEndEpochNanos());
+            if (service != null && !Telemetry.LOCAL.equals(service)) {
+                serviceIntervals.computeIfAbsent(service, s -> new ArrayList<>())
+                        .add(new long[] { span.getStartEpochNanos(), span.getEndEpochNanos() });
+            }
+        }
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public synchronized CompletableResultCode shutdown() {
+        if (shutdown) {
+            return CompletableResultCode.ofSuccess();
+        }
+        shutdown = true;
+        try {
+            if (file.toAbsolutePath().getParent() != null) {
+                Files.createDirectories(file.toAbsolutePath().getParent());
+            }
+            try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                write(new PrintWriter(writer));
+            }
+            log.info("Timing summary written to {}", file.toAbsolutePath());
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            log.warn("Unable to write the timing summary to {}: {}", file, e.getMessage());
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    void write(PrintWriter out) {
+        long wallNanos = operations.isEmpty() ? 0 : lastEnd - firstStart;
+        out.printf("Wall-clock time: %d ms%n%n", millis(wallNanos));
+
+        out.printf("%-20s %12s %8s%n", "Service", "Busy ms", "Busy %");
+        List<long[]> remote = new ArrayList<>();
+        serviceIntervals.entrySet()
+                .stream()
+                .map(entry -> Map.entry(entry.getKey(), coveredNanos(entry.getValue())))
+                .sorted(Map.Entry.<String, Long> comparingByValue().reversed())
+                .forEach(entry -> printService(out, entry.getKey(), entry.getValue(), wallNanos));
+        serviceIntervals.values().forEach(remote::addAll);
+        printService(out, Telemetry.LOCAL, wallNanos - coveredNanos(remote), wallNanos);
+
+        out.printf(
+                "%n%-60s %-20s %8s %7s %12s %10s %10s %14s %8s %9s%n",
+                "Operation",
+                "Service",
+                "Count",
+                "Errors",
+                "Total ms",
+                "Mean ms",
+                "Max ms",
+                "Bytes",
+                "Retries",
+                "Requests");
+        operations.values()
+                .stream()
+                .sorted(Comparator.comparingLong((OperationStats stats) -> stats.totalNanos).reversed())
+                .forEach(
+                        stats -> out.printf(
+                                "%-60s %-20s %8d %7d %12d %10d %10d %14d %8d %9d%n",
+                                stats.name,
+                                stats.service,
+                                stats.count,
+                                stats.errors,
+                                millis(stats.totalNanos),
+                                millis(stats.totalNanos / stats.count),
+                                millis(stats.maxNanos),
+                                stats.bytes,
+                                stats.retries,
+                                stats.requests));
+
+        out.printf("%n%-60s %-20s", "Operation durations", "Service");
+        for (String bucket : DURATION_BUCKET_NAMES) {
+            out.printf(" %8s", bucket);
+        }
+        out.println();
+        operations.values()
+                .stream()
+                .sorted(Comparator.comparingLong((OperationStats stats) -> stats.totalNanos).reversed())
+                .forEach(stats -> {
+                    out.printf("%-60s %-20s", stats.name, stats.service);
+                    for (long count : stats.durationBuckets) {
+                        out.printf(" %8d", count);
+                    }
+                    out.println();
+                });
+        out.flush();
+    }
+
+    private static void printService(PrintWriter out, String service, long busyNanos, long wallNanos) {
+        double percentage = wallNanos == 0 ? 0 : 100.0 * busyNanos / wallNanos;
+        out.printf(Locale.ROOT, "%-20s %12d %7.1f%%%n", service, millis(busyNanos), percentage);
+    }
+
+    /**
+     * @return the time covered by at least one of the intervals
+     */
+    static long coveredNanos(List<long[]> intervals) {
+        List<long[]> sorted = new ArrayList<>(intervals);
+        sorted.sort(Comparator.comparingLong(interval -> interval[0]));
+        long covered = 0;
+        long start = Long.MIN_VALUE;
+        long end = Long.MIN_VALUE;
+        for (long[] interval : sorted) {
+            if (interval[0] > end) {
+                covered += end - start;
+                start = interval[0];
+                end = interval[1];
+            } else {
+                end = Math.max(end, interval[1]);
+            }
+        }
+        return covered + end - start;
+    }
+
+    private static long millis(long nanos) {
+        return nanos / 1_000_000;
+    }
+
+    /**
+     * @return the index of the duration bucket of an operation that took the given time
+     */
+    static int durationBucket(long nanos) {
+        int bucket = 0;
+        while (bucket < DURATION_BUCKETS_MILLIS.length && nanos > DURATION_BUCKETS_MILLIS[bucket] * 1_000_000) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    private static class OperationStats {
+        private final String name;
+        private final String service;
+        private long count;
+        private long errors;
+        private long totalNanos;
+        private long maxNanos;
+        private long bytes;
+        private long retries;
+        private long requests;
+        private final long[] durationBuckets = new long[DURATION_BUCKETS_MILLIS.length + 1];
+
+        private OperationStats(String name, String service) {
+            this.name = name;
+            this.service = service;
+        }
+
+        private void add(SpanData span) {
+            long duration = span.getEndEpochNanos() - span.getStartEpochNanos();
+            count++;
+            if (span.getStatus().getStatusCode() == StatusCode.ERROR) {
+                errors++;
+            }
+            totalNanos += duration;
+            maxNanos = Math.max(maxNanos, duration);
+            durationBuckets[durationBucket(duration)]++;
+            bytes += value(span, Telemetry.BYTES);
+            retries += value(span, Telemetry.RETRIES);
+            requests += value(span, Telemetry.REQUESTS);
+        }
+
+        private static long value(SpanData span, AttributeKey<Long> key) {
+            return Objects.requireNonNullElse(span.getAttributes().get(key), 0L);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package org.jboss.pnc.bacon.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MemoizerTest {
+
+    @Test
+    void computesEachKeyOnceForConcurrentCallers() throws InterruptedException {
+        Memoizer<String, Integer> memoizer = new Memoizer<>();
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<CompletableFuture<Integer>> results = IntStream.range(0, 8)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(() -> memoizer.get("key", key -> {
+                        calls.incrementAndGet();
+                        started.countDown();
+                        await(release);
+                        return 42;
+                    }), pool))
+                    .collect(Collectors.toList());
+
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            // another key is not blocked by the computation in progress
+            assertEquals(7, memoizer.get("other", key -> 7));
+            release.countDown();
+
+            assertEquals(
+                    List.of(42, 42, 42, 42, 42, 42, 42, 42),
+                    results.stream().map(CompletableFuture::join).collect(Collectors.toList()));
+            assertEquals(1, calls.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void remembersNullValues() {
+        Memoizer<String, String> memoizer = new Memoizer<>();
+        AtomicInteger calls = new AtomicInteger();
+
+        assertNull(memoizer.get("key", key -> {
+            calls.incrementAndGet();
+            return null;
+        }));
+        assertNull(memoizer.get("key", key -> "computed again"));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void computesAgainAfterFailure() {
+        Memoizer<String, String> memoizer = new Memoizer<>();
+
+        IllegalStateException failure = assertThrows(IllegalStateException.class, () -> memoizer.get("key", key -> {
+            throw new IllegalStateException("unavailable");
+        }));
+        assertEquals("unavailable", failure.getMessage());
+        assertEquals("value", memoizer.get("key", key -> "value"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -3,7 +3,9 @@ package org.jboss.pnc.bacon.common;
 import ch.qos.logback.classic.Level;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static com.github.stefanbirkner.systemlambda.SystemLambda.tapSystemOut;
@@ -41,6 +43,55 @@ class ObjectHelperTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    void printAllJson() throws Exception {
+        List<Map<String, String>> testSubject = testSubjects(3);
+
+        String expected = tapSystemOut(() -> ObjectHelper.print(true, testSubject));
+        String actual = tapSystemOut(() -> ObjectHelper.printAll(true, testSubject));
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void printAllYaml() throws Exception {
+        List<Map<String, String>> testSubject = testSubjects(3);
+
+        String expected = tapSystemOut(() -> ObjectHelper.print(false, testSubject));
+        String actual = tapSystemOut(() -> ObjectHelper.printAll(false, testSubject));
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void printAllEmpty() throws Exception {
+        assertEquals(String.format("[]%n"), tapSystemOut(() -> ObjectHelper.printAll(true, List.of())));
+        assertEquals(
+                tapSystemOut(() -> ObjectHelper.print(false, List.of())),
+                tapSystemOut(() -> ObjectHelper.printAll(false, List.of())));
+    }
+
+    @Test
+    void printAllManyElements() throws Exception {
+        // more elements than are fetched ahead
+        List<Map<String, String>> testSubject = testSubjects(2000);
+
+        String expected = tapSystemOut(() -> ObjectHelper.print(true, testSubject));
+        String actual = tapSystemOut(() -> ObjectHelper.printAll(true, testSubject));
+
+        assertEquals(expected, actual);
+    }
+
+    private static List<Map<String, String>> testSubjects(int count) {
+        List<Map<String, String>> testSubjects = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Map<String, String> testSubject = new HashMap<>();
+            testSubject.put("test", "subject-" + i);
+            testSubjects.add(testSubject);
+        }
+        return testSubjects;
+    }
+
     @Test
     void setRootLoggingLevel() {
         ch.qos.logback.classic.Logger root = (ch.qos.logback.classic.Logger) org.slf4j.LoggerFactory
@@ -0,0 +1,96 @@
+package org.jboss.pnc.bacon.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PrefetchingIteratorTest {
+
+    @Test
+    void iteratesAllElementsInOrder() {
+        List<Integer> source = IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+
+        List<Integer> result = new ArrayList<>();
+        try (PrefetchingIterator<Integer> iterator = new PrefetchingIterator<>(source.iterator(), 10)) {
+            iterator.forEachRemaining(result::add);
+            assertThrows(NoSuchElementException.class, iterator::next);
+        }
+
+        assertEquals(source, result);
+    }
+
+    @Test
+    void iteratesNullElements() {
+        try (PrefetchingIterator<String> iterator = new PrefetchingIterator<>(
+                Arrays.asList("a", null).iterator(),
+                10)) {
+            assertEquals("a", iterator.next());
+            assertNull(iterator.next());
+            assertFalse(iterator.hasNext());
+        }
+    }
+
+    @Test
+    void rethrowsFailureAfterPrecedingElements() {
+        Iterator<Integer> failing = new Iterator<>() {
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Integer next() {
+                if (next == 2) {
+                    throw new IllegalStateException("Cannot load next page");
+                }
+                return next++;
+            }
+        };
+
+        try (PrefetchingIterator<Integer> iterator = new PrefetchingIterator<>(failing, 10)) {
+            assertEquals(0, iterator.next());
+            assertEquals(1, iterator.next());
+            IllegalStateException e = assertThrows(IllegalStateException.class, iterator::hasNext);
+            assertEquals("Cannot load next page", e.getMessage());
+        }
+    }
+
+    @Test
+    void readsAheadAtMostCapacity() throws Exception {
+        AtomicInteger read = new AtomicInteger();
+        Iterator<Integer> counting = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return read.get() < 100;
+            }
+
+            @Override
+            public Integer next() {
+                return read.getAndIncrement();
+            }
+        };
+
+        try (PrefetchingIterator<Integer> iterator = new PrefetchingIterator<>(counting, 5)) {
+            assertEquals(0, iterator.next());
+            Thread.sleep(100);
+            assertTrue(iterator.isNextReady());
+            // the elements in the queue and the one waiting to be put in it
+            assertTrue(read.get() <= 7, "read " + read.get() + " elements");
+        }
+    }
+}
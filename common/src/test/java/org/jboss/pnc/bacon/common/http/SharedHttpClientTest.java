@@ -0,0 +1,123 @@
+package org.jboss.pnc.bacon.common.http;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import org.apache.http.HttpHost;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.conn.ManagedHttpClientConnection;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.util.EntityUtils;
+import org.jboss.pnc.bacon.config.Config;
+import org.jboss.resteasy.client.jaxrs.ResteasyClient;
+import org.jboss.resteasy.client.jaxrs.ResteasyClientBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SharedHttpClientTest {
+
+    private WireMockServer wireMockServer;
+
+    @BeforeEach
+    void startServer() {
+        wireMockServer = new WireMockServer(options().dynamicPort());
+        wireMockServer.start();
+        wireMockServer.stubFor(get(urlEqualTo("/ping")).willReturn(aResponse().withStatus(200).withBody("pong")));
+    }
+
+    @AfterEach
+    void stopServer() {
+        wireMockServer.stop();
+    }
+
+    @Test
+    void reusesConnection() throws IOException {
+        Set<Integer> localPorts = new HashSet<>();
+        for (int i = 0; i < 5; i++) {
+            localPorts.add(ping());
+        }
+
+        wireMockServer.verify(5, getRequestedFor(urlEqualTo("/ping")));
+        assertEquals(1, localPorts.size());
+    }
+
+    @Test
+    void resteasyEngineSharesConnections() throws IOException {
+        int localPort = ping();
+
+        ResteasyClient resteasyClient = new ResteasyClientBuilder().httpEngine(SharedHttpClient.resteasyEngine())
+                .build();
+        assertEquals("pong", resteasyClient.target(wireMockServer.baseUrl() + "/ping").request().get(String.class));
+        resteasyClient.close();
+
+        // closing the RESTEasy client leaves the shared pool open
+        assertEquals(localPort, ping());
+        assertEquals(1, SharedHttpClient.connectionManager.getStats(route()).getAvailable());
+    }
+
+    @Test
+    void appliesHostLimits() {
+        SharedHttpClient.setMaxConnections(wireMockServer.baseUrl(), 3);
+
+        assertEquals(3, SharedHttpClient.connectionManager.getMaxPerRoute(route()));
+    }
+
+    @Test
+    void appliesProfileLoadedAfterFirstUse(@TempDir Path configDir) throws IOException {
+        SharedHttpClient.reset();
+        try {
+            Config.configure(configDir.toString(), "config.yaml", "default");
+            // e.g. a client built in a static initializer, before the configuration is loaded
+            SharedHttpClient.builder();
+            SharedHttpClient.ensureMaxConnectionsPerHost(10);
+            assertEquals(20, SharedHttpClient.connectionManager.getDefaultMaxPerRoute());
+
+            Files.writeString(
+                    configDir.resolve("config.yaml"),
+                    "profile:\n  - name: default\n    http:\n      maxConnectionsPerHost: 5\n      maxConnections: 70\n");
+            Config.initialize();
+            SharedHttpClient.builder();
+
+            assertEquals(70, SharedHttpClient.connectionManager.getMaxTotal());
+            // the connections ensured for parallel downloads are kept
+            assertEquals(10, SharedHttpClient.connectionManager.getDefaultMaxPerRoute());
+        } finally {
+            Config.setInstance(null);
+            Config.configure(configDir.toString(), "missing.yaml", "default");
+            SharedHttpClient.reset();
+        }
+    }
+
+    /**
+     * @return the local port of the connection used for the request
+     */
+    private int ping() throws IOException {
+        HttpClientContext context = HttpClientContext.create();
+        try (CloseableHttpResponse response = SharedHttpClient.get()
+                .execute(new HttpGet(wireMockServer.baseUrl() + "/ping"), context)) {
+            // the connection goes back to the pool once the response is read
+            int localPort = context.getConnection(ManagedHttpClientConnection.class).getSocket().getLocalPort();
+            assertEquals("pong", EntityUtils.toString(response.getEntity()));
+            return localPort;
+        }
+    }
+
+    private HttpRoute route() {
+        return new HttpRoute(new HttpHost("localhost", wireMockServer.port(), "http"));
+    }
+}
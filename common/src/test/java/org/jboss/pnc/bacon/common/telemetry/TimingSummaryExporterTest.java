@@ -0,0 +1,95 @@
+package org.jboss.pnc.bacon.common.telemetry;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimingSummaryExporterTest {
+
+    private static final long START = 1_700_000_000_000L;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void coveredNanosCountsOverlappingIntervalsOnce() {
+        assertEquals(0, TimingSummaryExporter.coveredNanos(List.of()));
+        assertEquals(
+                30,
+                TimingSummaryExporter
+                        .coveredNanos(List.of(new long[] { 30, 40 }, new long[] { 0, 10 }, new long[] { 5, 20 })));
+        assertEquals(20, TimingSummaryExporter.coveredNanos(List.of(new long[] { 0, 20 }, new long[] { 5, 10 })));
+    }
+
+    @Test
+    void durationBucketIncludesItsUpperBound() {
+        assertEquals(0, TimingSummaryExporter.durationBucket(0));
+        assertEquals(0, TimingSummaryExporter.durationBucket(TimeUnit.MILLISECONDS.toNanos(10)));
+        assertEquals(1, TimingSummaryExporter.durationBucket(TimeUnit.MILLISECONDS.toNanos(10) + 1));
+        assertEquals(2, TimingSummaryExporter.durationBucket(TimeUnit.SECONDS.toNanos(1)));
+        assertEquals(5, TimingSummaryExporter.durationBucket(TimeUnit.MINUTES.toNanos(2)));
+    }
+
+    @Test
+    void summaryIsWrittenOnShutdown() throws IOException {
+        Path file = tempDir.resolve("reports/timing.txt");
+        SdkTracerProvider provider = SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(new TimingSummaryExporter(file)))
+                .build();
+        Tracer tracer = provider.get("test");
+
+        span(tracer, "pig.build", null, 0).end(START + 1000, TimeUnit.MILLISECONDS);
+        // overlapping downloads are counted once in the busy time of Indy
+        long[][] downloads = { { 0, 100 }, { 50, 150 }, { 200, 300 } };
+        for (int i = 0; i < downloads.length; i++) {
+            span(tracer, "download", Telemetry.INDY, downloads[i][0]).setAttribute(Telemetry.BYTES, 100L)
+                    .setAttribute(Telemetry.RETRIES, (long) i)
+                    .setAttribute(Telemetry.REQUESTS, 1L)
+                    .end(START + downloads[i][1], TimeUnit.MILLISECONDS);
+        }
+        span(tracer, "koji.find-builds", Telemetry.KOJI, 100).setStatus(StatusCode.ERROR)
+                .end(START + 400, TimeUnit.MILLISECONDS);
+        span(tracer, "koji.md5", Telemetry.LOCAL, 400).end(START + 500, TimeUnit.MILLISECONDS);
+
+        provider.shutdown().join(10, TimeUnit.SECONDS);
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals("Wall-clock time: 1000 ms", lines.get(0));
+        assertMatches(lines, "koji\\s+300\\s+30\\.0%");
+        assertMatches(lines, "indy\\s+250\\s+25\\.0%");
+        // nothing remote runs between 400 and 1000 ms
+        assertMatches(lines, "local\\s+600\\s+60\\.0%");
+        assertMatches(lines, "pig\\.build\\s+-\\s+1\\s+0\\s+1000\\s+1000\\s+1000\\s+0\\s+0\\s+0");
+        assertMatches(lines, "download\\s+indy\\s+3\\s+0\\s+300\\s+100\\s+100\\s+300\\s+3\\s+3");
+        assertMatches(lines, "koji\\.find-builds\\s+koji\\s+1\\s+1\\s+300\\s+300\\s+300\\s+0\\s+0\\s+0");
+        assertMatches(lines, "koji\\.md5\\s+local\\s+1\\s+0\\s+100\\s+100\\s+100\\s+0\\s+0\\s+0");
+        // the durations of the operations per bucket, up to 10 ms, 100 ms, 1 s, 10 s, 1 min and above
+        assertMatches(lines, "pig\\.build\\s+-\\s+0\\s+0\\s+1\\s+0\\s+0\\s+0");
+        assertMatches(lines, "download\\s+indy\\s+0\\s+3\\s+0\\s+0\\s+0\\s+0");
+    }
+
+    private static Span span(Tracer tracer, String name, String service, long startMillis) {
+        Span span = tracer.spanBuilder(name).setStartTimestamp(START + startMillis, TimeUnit.MILLISECONDS).startSpan();
+        if (service != null) {
+            span.setAttribute(Telemetry.SERVICE, service);
+        }
+        return span;
+    }
+
+    private static void assertMatches(List<String> lines, String regex) {
+        assertTrue(lines.stream().anyMatch(line -> line.matches(regex)), "No line matching " + regex + " in " + lines);
+    }
+}
@@ -26,6 +26,14 @@ import lombok.Data;
 @Data
 public class DaConfig implements Validate {
     private String url;
+    /**
+     * Maximal number of artifacts looked up in a single request
+     */
+    private int lookupBatchSize = 200;
+    /**
+     * For how long are the lookup results kept in the local cache, 0 disables the cache
+     */
+    private int lookupCacheTtlMinutes = 60;
 
     @Override
     public void validate() {
@@ -0,0 +1,26 @@
+package org.jboss.pnc.bacon.config;
+
+import lombok.Data;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Settings of the connection pool shared by all the HTTP clients
+ */
+@Data
+public class HttpConfig {
+    /**
+     * Maximal number of connections kept open to a single host
+     */
+    private int maxConnectionsPerHost = 20;
+    /**
+     * Maximal number of connections kept open in total
+     */
+    private int maxConnections = 200;
+    /**
+     * Limits overriding {@code maxConnectionsPerHost} for the given base urls, e.g.
+     * {@code https://indy.example.com: 40}
+     */
+    private Map<String, Integer> hostLimits = new HashMap<>();
+}
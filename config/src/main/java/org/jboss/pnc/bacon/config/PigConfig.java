@@ -11,6 +11,14 @@ public class PigConfig implements Validate {
     private String kojiHubUrl;
     private String licenseServiceUrl;
     private String indyUrl;
+    /**
+     * Maximal number of builds pushed to Brew at the same time
+     */
+    private int maxConcurrentBrewPushes = 8;
+    /**
+     * Maximal number of stages of `pig run`, e.g. sources and javadoc generation, running at the same time
+     */
+    private int maxConcurrentStages = 4;
 
     @Override
     public void validate() {
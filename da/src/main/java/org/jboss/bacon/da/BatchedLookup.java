@@ -0,0 +1,119 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.bacon.da;
+
+import lombok.extern.slf4j.Slf4j;
+import org.jboss.da.model.rest.GAV;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Looks up many keys with as few DA requests as possible.
+ * <p>
+ * Keys with a result in the {@link LookupCache} are not requested at all, the remaining ones are requested in chunks of
+ * at most {@code batchSize} keys.
+ *
+ * @param <K> looked up key, e.g. a GAV
+ * @param <R> lookup result
+ */
+@Slf4j
+public class BatchedLookup<K, R> {
+    private final Function<List<K>, Collection<R>> request;
+    private final Function<R, K> resultKey;
+    private final Function<K, String> cacheKey;
+    private final LookupCache<R> cache;
+    private final int batchSize;
+
+    /**
+     * @param request DA request for a batch of keys
+     * @param resultKey extracts the key of a result
+     * @param cacheKey identifies a key in the cache, has to cover everything that changes the result
+     * @param cache cache for the results
+     * @param batchSize maximal number of keys in a request
+     */
+    public BatchedLookup(
+            Function<List<K>, Collection<R>> request,
+            Function<R, K> resultKey,
+            Function<K, String> cacheKey,
+            LookupCache<R> cache,
+            int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Lookup batch size has to be positive, got: " + batchSize);
+        }
+        this.request = request;
+        this.resultKey = resultKey;
+        this.cacheKey = cacheKey;
+        this.cache = cache;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * @return results by key, keys DA returned no result for are missing
+     */
+    public Map<K, R> lookup(Collection<K> keys) {
+        Map<K, R> results = new HashMap<>();
+        List<K> missing = new ArrayList<>();
+        for (K key : new LinkedHashSet<>(keys)) {
+            Optional<R> cached = cache.get(cacheKey.apply(key));
+            if (cached.isPresent()) {
+                results.put(key, cached.get());
+            } else {
+                missing.add(key);
+            }
+        }
+        log.debug(
+                "{} lookup results cached, requesting {} in batches of {}",
+                results.size(),
+                missing.size(),
+                batchSize);
+
+        for (int start = 0; start < missing.size(); start += batchSize) {
+            List<K> batch = new ArrayList<>(missing.subList(start, Math.min(start + batchSize, missing.size())));
+            for (R result : request.apply(batch)) {
+                K key = resultKey.apply(result);
+                results.put(key, result);
+                cache.put(cacheKey.apply(key), result);
+            }
+        }
+        cache.save();
+        return results;
+    }
+
+    /**
+     * Cache key of a GAV looked up with the given options
+     */
+    public static String gavKey(GAV gav, Object... options) {
+        StringBuilder key = new StringBuilder();
+        for (Object option : options) {
+            key.append(option).append('|');
+        }
+        return key.append(gav.getGroupId())
+                .append(':')
+                .append(gav.getArtifactId())
+                .append(':')
+                .append(gav.getVersion())
+                .toString();
+    }
+}
@@ -30,6 +30,7 @@ import org.jboss.da.model.rest.NPMPackage;
 import org.jboss.pnc.bacon.common.ObjectHelper;
 import org.jboss.pnc.bacon.common.cli.JSONCommandHandler;
 import org.jboss.pnc.bacon.common.exception.FatalException;
+import org.jboss.pnc.bacon.config.Config;
 import picocli.CommandLine;
 
 import java.io.File;
@@ -37,6 +38,7 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
 import java.util.Set;
 import java.util.concurrent.Callable;
@@ -51,6 +53,10 @@ import java.util.concurrent.Callable;
 @Slf4j
 public class DALookupCli {
 
+    private static final String MAVEN_LOOKUP_CACHE = "maven-lookup";
+
+    private static final String MAVEN_LATEST_CACHE = "maven-latest";
+
     private final static String availableModes = "Available modes: PERSISTENT, TEMPORARY, TEMPORARY_PREFER_PERSISTENT, SERVICE, SERVICE_TEMPORARY, SERVICE_TEMPORARY_PREFER_PERSISTENT";
 
     @CommandLine.Command(
@@ -80,28 +86,38 @@ public class DALookupCli {
         @CommandLine.Parameters(description = "groupId:artifactId:version of the artifact to lookup")
         private String[] gavs;
 
+        @CommandLine.Option(names = "--filename", description = "filename to specify GAVs, one per line")
+        private String filename;
+
+        @CommandLine.Option(names = "--no-cache", description = "Do not use the locally cached lookup results")
+        private boolean noCache = false;
+
         @Override
         public Integer call() {
 
-            if (gavs == null) {
-                throw new FatalException("You didn't specify any GAVs!");
-            }
-
-            LinkedHashSet<GAV> gavSet = new LinkedHashSet<>();
-            for (String gav : gavs) {
-                gavSet.add(DaHelper.toGAV(gav));
+            if (filename == null && gavs == null) {
+                throw new FatalException("You didn't specify any GAVs or file!");
             }
 
-            MavenLookupRequest request = MavenLookupRequest.builder()
-                    .mode(DaHelper.getMode(temporary, managedService, lookupMode))
-                    .brewPullActive(brewPullActive)
-                    .artifacts(gavSet)
-                    .build();
+            LinkedHashSet<GAV> gavSet = readGavs(gavs, filename);
+            String mode = DaHelper.getMode(temporary, managedService, lookupMode);
 
             LookupApi lookupApi = DaHelper.createLookupApi();
+            BatchedLookup<GAV, MavenLookupResult> lookup = new BatchedLookup<>(
+                    batch -> lookupApi.lookupMaven(
+                            MavenLookupRequest.builder()
+                                    .mode(mode)
+                                    .brewPullActive(brewPullActive)
+                                    .artifacts(new LinkedHashSet<>(batch))
+                                    .build()),
+                    MavenLookupResult::getGav,
+                    gav -> BatchedLookup.gavKey(gav, mode, brewPullActive),
+                    cache(noCache, MAVEN_LOOKUP_CACHE, MavenLookupResult.class),
+                    batchSize());
             try {
-                Set<MavenLookupResult> result = lookupApi.lookupMaven(request);
-                List<MavenLookupResult> orderedResult = DaHelper.orderedMavenLookupResult(gavSet, result);
+                Map<GAV, MavenLookupResult> result = lookup.lookup(gavSet);
+                List<MavenLookupResult> orderedResult = DaHelper
+                        .orderedMavenLookupResult(gavSet, new LinkedHashSet<>(result.values()));
                 ObjectHelper.print(getJsonOutput(), orderedResult);
             } catch (IOException e) {
                 throw new RuntimeException(e);
@@ -137,6 +153,9 @@ public class DALookupCli {
         @CommandLine.Option(names = "--filename", description = "filename to specify GAVs, one per line")
         private String filename;
 
+        @CommandLine.Option(names = "--no-cache", description = "Do not use the locally cached lookup results")
+        private boolean noCache = false;
+
         @Override
         public Integer call() {
 
@@ -144,37 +163,21 @@ public class DALookupCli {
                 throw new FatalException("You didn't specify any GAVs or file!");
             }
 
-            // Use LinkedHashSet to maintain order of insertion
-            LinkedHashSet<GAV> gavSet = new LinkedHashSet<>();
-            if (gavs != null) {
-                for (String gav : gavs) {
-                    gavSet.add(DaHelper.toGAV(gav));
-                }
-            }
-
-            if (filename != null) {
-                try (Scanner scanner = new Scanner(new File(filename))) {
-                    while (scanner.hasNextLine()) {
-                        String line = scanner.nextLine().trim();
-                        // ignore line if it starts with '#', it's a comment
-                        if (!line.isEmpty() && !line.strip().startsWith("#")) {
-                            gavSet.add(DaHelper.toGAV(line));
-                        }
-                    }
-                } catch (FileNotFoundException e) {
-                    throw new FatalException("File " + filename + " does not exist!");
-                }
-            }
-
-            MavenLatestRequest request = MavenLatestRequest.builder()
-                    .mode(DaHelper.getMode(temporary, managedService, lookupMode))
-                    .artifacts(gavSet)
-                    .build();
+            LinkedHashSet<GAV> gavSet = readGavs(gavs, filename);
+            String mode = DaHelper.getMode(temporary, managedService, lookupMode);
 
             LookupApi lookupApi = DaHelper.createLookupApi();
+            BatchedLookup<GAV, MavenLatestResult> lookup = new BatchedLookup<>(
+                    batch -> lookupApi.lookupMaven(
+                            MavenLatestRequest.builder().mode(mode).artifacts(new LinkedHashSet<>(batch)).build()),
+                    MavenLatestResult::getGav,
+                    gav -> BatchedLookup.gavKey(gav, mode),
+                    cache(noCache, MAVEN_LATEST_CACHE, MavenLatestResult.class),
+                    batchSize());
             try {
-                Set<MavenLatestResult> result = lookupApi.lookupMaven(request);
-                List<MavenLatestResult> orderedResult = DaHelper.orderedMavenLatestResult(gavSet, result);
+                Map<GAV, MavenLatestResult> result = lookup.lookup(gavSet);
+                List<MavenLatestResult> orderedResult = DaHelper
+                        .orderedMavenLatestResult(gavSet, new LinkedHashSet<>(result.values()));
                 ObjectHelper.print(getJsonOutput(), orderedResult);
             } catch (IOException e) {
                 throw new RuntimeException(e);
@@ -184,6 +187,42 @@ public class DALookupCli {
 
     }
 
+    /**
+     * Collects the GAVs from the arguments and the file, keeping their order
+     */
+    private static LinkedHashSet<GAV> readGavs(String[] gavs, String filename) {
+        // Use LinkedHashSet to maintain order of insertion
+        LinkedHashSet<GAV> gavSet = new LinkedHashSet<>();
+        if (gavs != null) {
+            for (String gav : gavs) {
+                gavSet.add(DaHelper.toGAV(gav));
+            }
+        }
+
+        if (filename != null) {
+            try (Scanner scanner = new Scanner(new File(filename))) {
+                while (scanner.hasNextLine()) {
+                    String line = scanner.nextLine().trim();
+                    // ignore line if it starts with '#', it's a comment
+                    if (!line.isEmpty() && !line.strip().startsWith("#")) {
+                        gavSet.add(DaHelper.toGAV(line));
+                    }
+                }
+            } catch (FileNotFoundException e) {
+                throw new FatalException("File " + filename + " does not exist!");
+            }
+        }
+        return gavSet;
+    }
+
+    private static <T> LookupCache<T> cache(boolean noCache, String name, Class<T> type) {
+        return noCache ? LookupCache.disabled(type) : LookupCache.forActiveProfile(name, type);
+    }
+
+    private static int batchSize() {
+        return Config.instance().getActiveProfile().getDa().getLookupBatchSize();
+    }
+
     @CommandLine.Command(name = "npm", description = "Finds best matching versions for given NPM artifact coordinates")
     public static class LookupNPM extends JSONCommandHandler implements Callable<Integer> {
 
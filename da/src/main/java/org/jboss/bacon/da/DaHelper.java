@@ -29,6 +29,7 @@ import org.jboss.da.lookup.model.NPMLookupResult;
 import org.jboss.da.model.rest.GAV;
 import org.jboss.da.model.rest.NPMPackage;
 import org.jboss.pnc.bacon.common.Utils;
+import org.jboss.pnc.bacon.common.http.SharedHttpClient;
 import org.jboss.pnc.bacon.config.Config;
 import org.jboss.pnc.bacon.config.DaConfig;
 import org.jboss.pnc.bacon.pnc.client.PncClientHelper;
@@ -56,26 +57,32 @@ import java.util.stream.Collectors;
 public class DaHelper {
     private final static String DA_PATH = "/da/rest/v-1";
 
-    private static ResteasyClientBuilder builder;
-    private static String daUrl;
+    private static ResteasyClient client;
 
-    private static ResteasyWebTarget getClient() {
-
-        if (builder == null) {
-            builder = new ResteasyClientBuilder();
+    /**
+     * All the DA clients share a single RESTEasy client, sending the requests through the shared connection pool
+     */
+    private static synchronized ResteasyClient getResteasyClient() {
+        if (client == null) {
+            ResteasyClientBuilder builder = new ResteasyClientBuilder();
             ResteasyProviderFactory factory = ResteasyProviderFactory.getInstance();
             builder.providerFactory(factory);
             ResteasyProviderFactory.setRegisterBuiltinByDefault(true);
             RegisterBuiltin.register(factory);
+            builder.httpEngine(SharedHttpClient.resteasyEngine());
 
-            DaConfig daConfig = Config.instance().getActiveProfile().getDa();
-            daUrl = Utils.generateUrlPath(daConfig.getUrl(), DA_PATH);
+            client = builder.build();
         }
-        ResteasyClient resteasyClient = builder.build();
+        return client;
+    }
+
+    private static ResteasyWebTarget getClient() {
+        DaConfig daConfig = Config.instance().getActiveProfile().getDa();
+        ResteasyWebTarget target = getResteasyClient().target(Utils.generateUrlPath(daConfig.getUrl(), DA_PATH));
         if (OTelCLIHelper.otelEnabled()) {
-            resteasyClient.register(new CustomRestHeaderFilter(Span.current().getSpanContext()));
+            target.register(new CustomRestHeaderFilter(Span.current().getSpanContext()));
         }
-        return resteasyClient.target(daUrl);
+        return target;
     }
 
     private static ResteasyWebTarget getAuthenticatedClient() {
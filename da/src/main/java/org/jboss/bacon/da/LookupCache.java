@@ -0,0 +1,173 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.bacon.da;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jboss.pnc.bacon.config.Config;
+import org.jboss.pnc.bacon.config.DaConfig;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Local cache of DA lookup results.
+ * <p>
+ * The results are stored in a json file in the bacon config folder, one file per DA instance and kind of lookup. Each
+ * result expires after the configured time, see {@link DaConfig#getLookupCacheTtlMinutes()}.
+ *
+ * @param <T> type of the cached results, has to be (de)serializable by jackson
+ */
+@Slf4j
+public class LookupCache<T> {
+    private static final String CACHE_FOLDER = "da-cache";
+
+    private static final ObjectMapper mapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private final Path file;
+    private final Class<T> type;
+    private final Duration ttl;
+    private final Clock clock;
+    private final Map<String, Entry> entries = new HashMap<>();
+    private boolean modified;
+
+    LookupCache(Path file, Class<T> type, Duration ttl, Clock clock) {
+        this.file = file;
+        this.type = type;
+        this.ttl = ttl;
+        this.clock = clock;
+        if (isEnabled()) {
+            load();
+        }
+    }
+
+    /**
+     * Cache for the active DA instance
+     *
+     * @param name name of the kind of lookup, e.g. maven-lookup
+     * @param type type of the cached results
+     */
+    public static <T> LookupCache<T> forActiveProfile(String name, Class<T> type) {
+        DaConfig daConfig = Config.instance().getActiveProfile().getDa();
+        if (daConfig.getLookupCacheTtlMinutes() <= 0 || Config.getConfigLocation() == null) {
+            return disabled(type);
+        }
+        String instance = UUID.nameUUIDFromBytes(daConfig.getUrl().getBytes(StandardCharsets.UTF_8)).toString();
+        Path file = Paths.get(Config.getConfigLocation(), CACHE_FOLDER, name + "-" + instance + ".json");
+        return new LookupCache<>(
+                file,
+                type,
+                Duration.ofMinutes(daConfig.getLookupCacheTtlMinutes()),
+                Clock.systemUTC());
+    }
+
+    /**
+     * Cache that never returns anything
+     */
+    public static <T> LookupCache<T> disabled(Class<T> type) {
+        return new LookupCache<>(null, type, Duration.ZERO, Clock.systemUTC());
+    }
+
+    public synchronized Optional<T> get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null || isExpired(entry)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(mapper.treeToValue(entry.getValue(), type));
+        } catch (JsonProcessingException e) {
+            log.debug("Ignoring unreadable cached lookup result for {}", key, e);
+            return Optional.empty();
+        }
+    }
+
+    public synchronized void put(String key, T value) {
+        if (isEnabled()) {
+            entries.put(key, new Entry(clock.millis(), mapper.valueToTree(value)));
+            modified = true;
+        }
+    }
+
+    /**
+     * Write the cache file, if anything was added. Expired results are dropped. A failure to write the cache is only
+     * logged, the results are still valid.
+     */
+    public synchronized void save() {
+        if (!modified) {
+            return;
+        }
+        entries.values().removeIf(this::isExpired);
+        try {
+            Files.createDirectories(file.getParent());
+            Path tempFile = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            mapper.writeValue(tempFile.toFile(), entries);
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            modified = false;
+        } catch (IOException e) {
+            log.warn("Unable to write DA lookup cache {}", file, e);
+        }
+    }
+
+    private void load() {
+        if (!Files.isRegularFile(file)) {
+            return;
+        }
+        try {
+            entries.putAll(mapper.readValue(file.toFile(), new TypeReference<Map<String, Entry>>() {
+            }));
+            entries.values().removeIf(this::isExpired);
+            log.debug("Loaded {} DA lookup results from {}", entries.size(), file);
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable DA lookup cache {}", file, e);
+        }
+    }
+
+    private boolean isEnabled() {
+        return file != null;
+    }
+
+    private boolean isExpired(Entry entry) {
+        return clock.millis() - entry.getCreated() >= ttl.toMillis();
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class Entry {
+        private long created;
+        private JsonNode value;
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.bacon.da;
+
+import org.jboss.da.model.rest.GAV;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BatchedLookupTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final List<Integer> requestSizes = new ArrayList<>();
+
+    @Test
+    void shouldLookupInBatches() {
+        BatchedLookup<GAV, String> lookup = lookup(LookupCache.disabled(String.class));
+
+        Map<GAV, String> results = lookup.lookup(gavs(1050));
+
+        assertEquals(1050, results.size());
+        assertEquals("org.acme:artifact-42:1.0.redhat-00042", results.get(new GAV("org.acme", "artifact-42", "1.0")));
+        assertEquals(List.of(500, 500, 50), requestSizes);
+    }
+
+    @Test
+    void shouldNotRequestDuplicates() {
+        List<GAV> gavs = new ArrayList<>(gavs(10));
+        gavs.addAll(gavs(10));
+
+        assertEquals(10, lookup(LookupCache.disabled(String.class)).lookup(gavs).size());
+        assertEquals(List.of(10), requestSizes);
+    }
+
+    @Test
+    void shouldRequestOnlyUncachedGavs() {
+        Path cacheFile = tempDir.resolve("cache.json");
+        lookup(cache(cacheFile, Instant.now())).lookup(gavs(10));
+
+        // a new cache instance reads the results stored by the previous one
+        Map<GAV, String> results = lookup(cache(cacheFile, Instant.now())).lookup(gavs(15));
+
+        assertEquals(15, results.size());
+        assertEquals("org.acme:artifact-3:1.0.redhat-00003", results.get(new GAV("org.acme", "artifact-3", "1.0")));
+        assertEquals(List.of(10, 5), requestSizes);
+    }
+
+    @Test
+    void shouldRequestExpiredResultsAgain() {
+        Path cacheFile = tempDir.resolve("cache.json");
+        lookup(cache(cacheFile, Instant.now())).lookup(gavs(10));
+
+        lookup(cache(cacheFile, Instant.now().plus(Duration.ofHours(2)))).lookup(gavs(10));
+
+        assertEquals(List.of(10, 10), requestSizes);
+    }
+
+    @Test
+    void shouldNotCacheWhenDisabled() {
+        LookupCache<String> cache = LookupCache.disabled(String.class);
+        cache.put("key", "value");
+        cache.save();
+
+        assertFalse(cache.get("key").isPresent());
+    }
+
+    @Test
+    void shouldRejectInvalidBatchSize() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new BatchedLookup<GAV, String>(gavs -> List.of(), r -> null, g -> "", null, 0));
+    }
+
+    private BatchedLookup<GAV, String> lookup(LookupCache<String> cache) {
+        return new BatchedLookup<>(this::request, BatchedLookupTest::toGav, BatchedLookup::gavKey, cache, 500);
+    }
+
+    private Collection<String> request(List<GAV> gavs) {
+        requestSizes.add(gavs.size());
+        return gavs.stream()
+                .map(g -> g.getGroupId() + ":" + g.getArtifactId() + ":" + bestMatch(g))
+                .collect(Collectors.toList());
+    }
+
+    private static String bestMatch(GAV gav) {
+        String number = gav.getArtifactId().substring("artifact-".length());
+        return gav.getVersion() + ".redhat-" + "00000".substring(number.length()) + number;
+    }
+
+    private static GAV toGav(String result) {
+        String[] parts = result.split(":");
+        return new GAV(parts[0], parts[1], parts[2].substring(0, parts[2].indexOf(".redhat")));
+    }
+
+    private static LookupCache<String> cache(Path file, Instant now) {
+        return new LookupCache<>(file, String.class, Duration.ofHours(1), Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    private static List<GAV> gavs(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new GAV("org.acme", "artifact-" + i, "1.0"))
+                .collect(Collectors.toList());
+    }
+}
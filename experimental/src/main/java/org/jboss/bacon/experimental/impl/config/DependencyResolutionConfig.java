@@ -21,4 +21,5 @@ public class DependencyResolutionConfig {
     private List<String> recipeRepos = List.of();
     private boolean includeOptionalDependencies = true;
     private boolean excludeProductizedArtifacts = false;
+    private boolean parallelProcessing = true;
 }
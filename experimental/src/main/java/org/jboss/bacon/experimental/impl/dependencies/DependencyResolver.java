@@ -25,10 +25,15 @@ import java.io.OutputStream;
 import java.io.PrintStream;
 import java.io.StringWriter;
 import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -62,6 +67,7 @@ public class DependencyResolver {
                 .setExcludeParentPoms(false) // TODO
                 .setLevel(-1)
                 .setIncludeOptionalDeps(config.isIncludeOptionalDependencies())
+                .setParallelProcessing(config.isParallelProcessing())
                 .setWarnOnResolutionErrors(true)
                 .setWarnOnMissingScm(true)
                 .setRecipeRepos(config.getRecipeRepos())
@@ -206,19 +212,68 @@ public class DependencyResolver {
         return project;
     }
 
-    private void setDepth(Set<Project> rootProjects) {
+    /**
+     * Sets the depth of each project to the length of the longest dependency path from a root project to it. The
+     * projects are visited in topological order, so every project and dependency is processed only once, no matter how
+     * many paths lead to it.
+     */
+    static void setDepth(Set<Project> rootProjects) {
+        List<Project> order = topologicalOrder(rootProjects);
+        Map<Project, Integer> positions = new IdentityHashMap<>();
+        for (int i = 0; i < order.size(); i++) {
+            positions.put(order.get(i), i);
+        }
         for (Project project : rootProjects) {
-            setDepth(project, 0);
+            project.setDepth(Math.max(project.getDepth(), 0));
+        }
+        for (Project project : order) {
+            for (Project dependency : project.getDependencies()) {
+                // a dependency placed before the project closes a loop, following it would never end
+                if (positions.get(dependency) > positions.get(project) && dependency.getDepth() <= project.getDepth()) {
+                    dependency.setDepth(project.getDepth() + 1);
+                }
+            }
         }
     }
 
-    private void setDepth(Project project, int depth) {
-        if (depth > project.getDepth()) {
-            project.setDepth(depth);
-        }
-        for (Project dependency : project.getDependencies()) {
-            setDepth(dependency, depth + 1);
+    /**
+     * Orders the projects reachable from the root projects so that every project comes before its dependencies. The
+     * graph is walked iteratively, as dependency chains can be deeper than the stack allows.
+     */
+    private static List<Project> topologicalOrder(Set<Project> rootProjects) {
+        Set<Project> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<Project> onPath = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<Project> postOrder = new ArrayList<>();
+        Deque<Project> path = new ArrayDeque<>();
+        Deque<Iterator<Project>> pending = new ArrayDeque<>();
+        for (Project root : rootProjects) {
+            if (!visited.add(root)) {
+                continue;
+            }
+            path.push(root);
+            onPath.add(root);
+            pending.push(root.getDependencies().iterator());
+            while (!path.isEmpty()) {
+                Iterator<Project> dependencies = pending.peek();
+                if (dependencies.hasNext()) {
+                    Project dependency = dependencies.next();
+                    if (onPath.contains(dependency)) {
+                        log.warn("Project " + dependency.getFirstGAV() + " depends on itself transitively.");
+                    } else if (visited.add(dependency)) {
+                        path.push(dependency);
+                        onPath.add(dependency);
+                        pending.push(dependency.getDependencies().iterator());
+                    }
+                } else {
+                    Project project = path.pop();
+                    pending.pop();
+                    onPath.remove(project);
+                    postOrder.add(project);
+                }
+            }
         }
+        Collections.reverse(postOrder);
+        return postOrder;
     }
 
     private String getSourceCodeURL(ReleaseId releaseId) {
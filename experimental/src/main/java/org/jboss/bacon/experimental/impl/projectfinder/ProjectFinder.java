@@ -14,6 +14,7 @@ import org.jboss.da.lookup.model.VersionDistanceRule;
 import org.jboss.da.lookup.model.VersionFilter;
 import org.jboss.da.model.rest.GA;
 import org.jboss.da.model.rest.GAV;
+import org.jboss.pnc.bacon.common.Memoizer;
 import org.jboss.pnc.bacon.common.exception.FatalException;
 import org.jboss.pnc.bacon.pnc.common.ClientCreator;
 import org.jboss.pnc.client.ArtifactClient;
@@ -32,15 +33,22 @@ import org.jboss.pnc.restclient.util.ArtifactUtil;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
 @Slf4j
 public class ProjectFinder {
+    // projects looked up in PNC at the same time
+    private static final int LOOKUP_THREADS = 8;
 
     private final LookupApi lookupApi;
     private final ArtifactClient artifactClient;
@@ -49,6 +57,13 @@ public class ProjectFinder {
     private final VersionParser versionParser = new VersionParser("redhat", "temporary-redhat");
     private final BuildConfigGeneratorConfig config;
 
+    // PNC responses shared by the projects, as projects often share builds and build configs
+    private final Memoizer<GAV, Optional<Build>> builds = new Memoizer<>();
+    private final Memoizer<String, BuiltGAs> builtGAs = new Memoizer<>();
+    private final Memoizer<String, BuildConfiguration> buildConfigs = new Memoizer<>();
+    private final Memoizer<String, BuildConfigurationRevision> revisions = new Memoizer<>();
+    private final Memoizer<String, BuildConfigurationRevision> latestRevisions = new Memoizer<>();
+
     public ProjectFinder(BuildConfigGeneratorConfig config) {
         this.config = config;
         lookupApi = DaHelper.createLookupApi();
@@ -79,20 +94,35 @@ public class ProjectFinder {
         Map<GAV, List<String>> availableVersions = findAvailableVersions(allGAVs);
 
         FoundProjects foundProjects = new FoundProjects();
-        for (Project project : projects) {
-            FoundProject foundProject = null;
-            if (config.isReuseAutobuilderConfigs()) {
-                foundProject = findManagedProject(project);
-            }
-            if (foundProject == null) {
-                foundProject = findPreviouslyBuiltProject(project, availableVersions);
+        ExecutorService pool = Executors.newFixedThreadPool(LOOKUP_THREADS);
+        try {
+            List<CompletableFuture<FoundProject>> lookups = projects.stream()
+                    .map(project -> CompletableFuture.supplyAsync(() -> findProject(project, availableVersions), pool))
+                    .collect(Collectors.toList());
+            lookups.stream().map(CompletableFuture::join).forEach(foundProjects.getFoundProjects()::add);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
             }
-            foundProjects.getFoundProjects().add(foundProject);
+            throw e;
+        } finally {
+            pool.shutdownNow();
         }
 
         return foundProjects;
     }
 
+    private FoundProject findProject(Project project, Map<GAV, List<String>> availableVersions) {
+        FoundProject foundProject = null;
+        if (config.isReuseAutobuilderConfigs()) {
+            foundProject = findManagedProject(project);
+        }
+        if (foundProject == null) {
+            foundProject = findPreviouslyBuiltProject(project, availableVersions);
+        }
+        return foundProject;
+    }
+
     private FoundProject findManagedProject(Project project) {
         BuildConfiguration buildConfig = findBuildConfig(project.getName());
         if (buildConfig == null) {
@@ -159,20 +189,18 @@ public class ProjectFinder {
     }
 
     private boolean validateBuild(Set<GAV> gavs, Build build) {
+        Set<GA> gas = gavs.stream().map(GAV::getGA).collect(Collectors.toSet());
+        Set<GA> missing = builtGAs.get(build.getId(), this::getBuiltGAs).missing(gas);
+        if (missing.isEmpty()) {
+            return true;
+        }
+        log.warn("Build " + build.getId() + " does not produce these GAs: " + missing);
+        return false;
+    }
+
+    private BuiltGAs getBuiltGAs(String buildId) {
         try {
-            Set<GA> missing = gavs.stream().map(GAV::getGA).collect(Collectors.toCollection(HashSet::new));
-            RemoteCollection<Artifact> builtArtifacts = buildClient.getBuiltArtifacts(build.getId());
-            for (Artifact builtArtifact : builtArtifacts) {
-                SimpleArtifactRef coords = ArtifactUtil.parseMavenCoordinates(builtArtifact);
-                if (coords != null) {
-                    GA ga = new GA(coords.getGroupId(), coords.getArtifactId());
-                    missing.remove(ga);
-                    if (missing.isEmpty())
-                        return true;
-                }
-            }
-            log.warn("Build " + build.getId() + " does not produce these GAs: " + missing);
-            return false;
+            return new BuiltGAs(buildClient.getBuiltArtifacts(buildId).iterator());
         } catch (RemoteResourceException e) {
             throw new RuntimeException(e);
         }
@@ -204,52 +232,63 @@ public class ProjectFinder {
     }
 
     private BuildVersion findBuild(GAV gav, List<String> versions) {
-        try {
-            for (String version : versions) {
-                GAV toSearch = new GAV(gav.getGA(), version);
-                Build build = searchBuild(toSearch);
-                if (build != null) {
-                    log.debug("Found build " + build.getId() + " for GAV " + toSearch);
-                    return new BuildVersion(build, toSearch.getVersion());
-                }
+        for (String version : versions) {
+            GAV toSearch = new GAV(gav.getGA(), version);
+            Optional<Build> build = builds.get(toSearch, this::searchBuild);
+            if (build.isPresent()) {
+                log.debug("Found build " + build.get().getId() + " for GAV " + toSearch);
+                return new BuildVersion(build.get(), toSearch.getVersion());
             }
-            return null;
-        } catch (RemoteResourceException e) {
-            throw new RuntimeException(e);
         }
+        return null;
     }
 
     private BuildConfiguration getBuildConfiguration(Build build) {
-        try {
-            BuildConfigurationRevisionRef buildConfigRevision = build.getBuildConfigRevision();
-            return buildConfigClient.getSpecific(buildConfigRevision.getId());
-        } catch (RemoteResourceException e) {
-            throw new RuntimeException(e);
-        }
+        BuildConfigurationRevisionRef buildConfigRevision = build.getBuildConfigRevision();
+        return buildConfigs.get(buildConfigRevision.getId(), id -> {
+            try {
+                return buildConfigClient.getSpecific(id);
+            } catch (RemoteResourceException e) {
+                throw new RuntimeException(e);
+            }
+        });
     }
 
     private BuildConfigurationRevision getLatestBuildConfigurationRevision(String buildConfigId) {
-        try {
-            return buildConfigClient.getRevisions(buildConfigId)
-                    .getAll()
-                    .stream()
-                    .max((new BuildConfigRevisionAgeComparator()))
-                    .get();
-        } catch (RemoteResourceException e) {
-            throw new RuntimeException(e);
-        }
+        return latestRevisions.get(buildConfigId, id -> {
+            try {
+                return buildConfigClient.getRevisions(id)
+                        .getAll()
+                        .stream()
+                        .max((new BuildConfigRevisionAgeComparator()))
+                        .get();
+            } catch (RemoteResourceException e) {
+                throw new RuntimeException(e);
+            }
+        });
     }
 
     private BuildConfigurationRevision getBuildConfigurationRevision(Build build) {
+        BuildConfigurationRevisionRef buildConfigRevision = build.getBuildConfigRevision();
+        String key = buildConfigRevision.getId() + ":" + buildConfigRevision.getRev();
+        return revisions.get(key, k -> {
+            try {
+                return buildConfigClient.getRevision(buildConfigRevision.getId(), buildConfigRevision.getRev());
+            } catch (RemoteResourceException e) {
+                throw new RuntimeException(e);
+            }
+        });
+    }
+
+    private Optional<Build> searchBuild(GAV gav) {
         try {
-            BuildConfigurationRevisionRef buildConfigRevision = build.getBuildConfigRevision();
-            return buildConfigClient.getRevision(buildConfigRevision.getId(), buildConfigRevision.getRev());
+            return Optional.ofNullable(searchArtifactBuild(gav));
         } catch (RemoteResourceException e) {
             throw new RuntimeException(e);
         }
     }
 
-    private Build searchBuild(GAV gav) throws RemoteResourceException {
+    private Build searchArtifactBuild(GAV gav) throws RemoteResourceException {
         String identifier = gav.getGroupId() + ":" + gav.getArtifactId() + ":pom:" + gav.getVersion();
         String identifierQuery = "identifier==" + identifier;
         String artifactQuery = identifierQuery + ";build=isnull=false";
@@ -273,6 +312,36 @@ public class ProjectFinder {
         }
     }
 
+    /**
+     * GAs built by a build. The built artifacts are read from PNC page by page, only as far as needed to find the GAs
+     * asked for, and the GAs read so far are shared by the projects of the build.
+     */
+    private static class BuiltGAs {
+        private final Iterator<Artifact> builtArtifacts;
+        private final Set<GA> read = new HashSet<>();
+
+        private BuiltGAs(Iterator<Artifact> builtArtifacts) {
+            this.builtArtifacts = builtArtifacts;
+        }
+
+        /**
+         * @return the GAs that are not built by the build
+         */
+        private synchronized Set<GA> missing(Set<GA> gas) {
+            Set<GA> missing = new HashSet<>(gas);
+            missing.removeAll(read);
+            while (!missing.isEmpty() && builtArtifacts.hasNext()) {
+                SimpleArtifactRef coords = ArtifactUtil.parseMavenCoordinates(builtArtifacts.next());
+                if (coords != null) {
+                    GA ga = new GA(coords.getGroupId(), coords.getArtifactId());
+                    read.add(ga);
+                    missing.remove(ga);
+                }
+            }
+            return missing;
+        }
+    }
+
     @AllArgsConstructor
     private static class BuildVersion {
         private Build build;
@@ -0,0 +1,110 @@
+package org.jboss.bacon.experimental.impl.dependencies;
+
+import org.jboss.da.model.rest.GAV;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DependencyResolverTest {
+
+    @Test
+    void testDepthIsLongestPathFromRoot() {
+        Project root = project("root");
+        Project a = project("a");
+        Project b = project("b");
+        Project c = project("c");
+        Project d = project("d");
+        dependsOn(root, a, c);
+        dependsOn(a, b);
+        dependsOn(b, c);
+        dependsOn(c, d);
+
+        DependencyResolver.setDepth(Set.of(root));
+
+        assertThat(root.getDepth()).isEqualTo(0);
+        assertThat(a.getDepth()).isEqualTo(1);
+        assertThat(b.getDepth()).isEqualTo(2);
+        assertThat(c.getDepth()).isEqualTo(3);
+        assertThat(d.getDepth()).isEqualTo(4);
+    }
+
+    @Test
+    void testDepthWithMultipleRoots() {
+        Project first = project("first");
+        Project second = project("second");
+        Project shared = project("shared");
+        dependsOn(first, shared);
+        dependsOn(second, first);
+
+        DependencyResolver.setDepth(Set.of(first, second));
+
+        assertThat(second.getDepth()).isEqualTo(0);
+        assertThat(first.getDepth()).isEqualTo(1);
+        assertThat(shared.getDepth()).isEqualTo(2);
+    }
+
+    @Test
+    void testDepthOfStackedDiamonds() {
+        // 40 stacked diamonds have 2^40 paths from the root to the bottom
+        Project root = project("root");
+        Project top = root;
+        for (int i = 0; i < 40; i++) {
+            Project left = project("left-" + i);
+            Project right = project("right-" + i);
+            Project bottom = project("bottom-" + i);
+            dependsOn(top, left, right);
+            dependsOn(left, bottom);
+            dependsOn(right, bottom);
+            top = bottom;
+        }
+
+        DependencyResolver.setDepth(Set.of(root));
+
+        assertThat(top.getDepth()).isEqualTo(80);
+    }
+
+    @Test
+    void testDepthOfDeepChain() {
+        Project root = project("root");
+        Project last = root;
+        for (int i = 0; i < 20_000; i++) {
+            Project next = project("chain-" + i);
+            dependsOn(last, next);
+            last = next;
+        }
+
+        DependencyResolver.setDepth(Set.of(root));
+
+        assertThat(last.getDepth()).isEqualTo(20_000);
+    }
+
+    @Test
+    void testDepthIgnoresDependencyLoop() {
+        Project root = project("root");
+        Project a = project("a");
+        Project b = project("b");
+        dependsOn(root, a);
+        dependsOn(a, b);
+        dependsOn(b, a);
+
+        DependencyResolver.setDepth(Set.of(root));
+
+        assertThat(a.getDepth()).isEqualTo(1);
+        assertThat(b.getDepth()).isEqualTo(2);
+    }
+
+    private static Project project(String artifactId) {
+        Project project = new Project();
+        project.setGavs(Set.of(new GAV("org.example", artifactId, "1.0.0")));
+        project.setDependencies(new HashSet<>());
+        return project;
+    }
+
+    private static void dependsOn(Project project, Project... dependencies) {
+        project.getDependencies().addAll(List.of(dependencies));
+    }
+}
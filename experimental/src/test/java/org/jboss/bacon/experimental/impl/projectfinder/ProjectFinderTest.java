@@ -21,8 +21,11 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
 import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -190,6 +193,31 @@ public class ProjectFinderTest {
         assertThat(found.isFound()).isFalse();
     }
 
+    @Test
+    public void shouldLookUpSharedBuildOnce() throws RemoteResourceException {
+        GAV gav = new GAV("com.sun.xml.bind", "jaxb-bom-ext", "2.3.3-b02");
+        Set<Project> toplevels = new HashSet<>();
+        for (String revision : List.of("2.3.3-b02-RI", "2.3.3-b02-RI-patched")) {
+            Project project = new Project();
+            project.setGavs(Set.of(gav));
+            project.setDependencies(Set.of());
+            project.setSourceCodeURL("https://github.com/eclipse-ee4j/jaxb-ri.git");
+            project.setSourceCodeRevision(revision);
+            toplevels.add(project);
+        }
+        DependencyResult dependencyResult = new DependencyResult();
+        dependencyResult.setTopLevelProjects(toplevels);
+
+        FoundProjects projects = finder.findProjects(dependencyResult);
+
+        assertThat(projects.getFoundProjects()).isNotEmpty().allMatch(FoundProject::isFound);
+        wireMock.verify(1, getRequestedFor(urlPathEqualTo("/pnc-rest/v2/artifacts")));
+        wireMock.verify(1, getRequestedFor(urlPathEqualTo("/pnc-rest/v2/builds/EXACTMATCH1/artifacts/built")));
+        wireMock.verify(1, getRequestedFor(urlPathEqualTo("/pnc-rest/v2/build-configs/10246")));
+        wireMock.verify(1, getRequestedFor(urlPathEqualTo("/pnc-rest/v2/build-configs/10246/revisions")));
+        wireMock.verify(1, getRequestedFor(urlPathEqualTo("/pnc-rest/v2/build-configs/10246/revisions/10246")));
+    }
+
     private DependencyResult generateDependencyResult() {
         Project toplevel1 = generateProject("toplevel-one");
         Project toplevel2 = generateProject("toplevel-two");
@@ -50,6 +50,13 @@ public class PNCWiremockHelper {
         mapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
     }
 
+    /**
+     * @return path of the PNC REST API on the mocked server
+     */
+    public static String restPath() {
+        return REST;
+    }
+
     public void init() {
         stubAnnouncementBanner();
         stubAuthentication();
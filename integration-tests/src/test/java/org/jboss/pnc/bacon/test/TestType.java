@@ -5,10 +5,13 @@ package org.jboss.pnc.bacon.test;
  * test
  *
  * If the test should run regardless of environment, no tag is required
+ *
+ * Performance tests run only when asked for, with the performanceTests profile
  */
 public class TestType {
     public static final String MOCK_ONLY = "MockOnly";
     public static final String REAL_SERVICE_ONLY = "RealServiceOnly";
+    public static final String PERFORMANCE = "Performance";
 
     private TestType() {
     }
@@ -0,0 +1,155 @@
+package org.jboss.pnc.bacon.test.performance;
+
+import com.github.tomakehurst.wiremock.common.FileSource;
+import com.github.tomakehurst.wiremock.extension.Parameters;
+import com.github.tomakehurst.wiremock.extension.ResponseDefinitionTransformer;
+import com.github.tomakehurst.wiremock.http.Request;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder.like;
+
+/**
+ * Serves the Maven repositories of Indy, with files generated from their path.
+ * <p>
+ * Any {@code *.redhat-*} version of any artifact exists: the POMs declare a license and inherit from the synthetic
+ * parent POM, the jars only contain a manifest. The {@code .sha1} and {@code .md5} checksums of these files are served
+ * too. The content is the same on every request, so that the checksums known by PNC match the downloaded files.
+ */
+public class MavenRepositoryResponses extends ResponseDefinitionTransformer {
+
+    public static final String NAME = "synthetic-maven-repository";
+
+    private static final Pattern REPOSITORY_PATH = Pattern.compile("^/api/content/maven/[^/]+/[^/]+/([^?]+)");
+    private static final Map<String, String> ALGORITHMS = Map.of("md5", "MD5", "sha1", "SHA-1", "sha256", "SHA-256");
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean applyGlobally() {
+        return false;
+    }
+
+    @Override
+    public ResponseDefinition transform(
+            Request request,
+            ResponseDefinition responseDefinition,
+            FileSource files,
+            Parameters parameters) {
+        Matcher matcher = REPOSITORY_PATH.matcher(request.getUrl());
+        byte[] content = matcher.find() ? content(matcher.group(1)) : null;
+        if (content == null) {
+            return like(responseDefinition).but().withStatus(404).build();
+        }
+        return like(responseDefinition).but().withStatus(200).withBody(content).build();
+    }
+
+    /**
+     * @param path path of the file in the repository
+     * @return content of the file, null if there's no such file
+     */
+    static byte[] content(String path) {
+        for (String extension : ALGORITHMS.keySet()) {
+            if (path.endsWith("." + extension)) {
+                byte[] file = content(path.substring(0, path.length() - extension.length() - 1));
+                return file == null ? null : checksum(extension, file).getBytes(StandardCharsets.UTF_8);
+            }
+        }
+        String[] segments = path.split("/");
+        if (segments.length < 4) {
+            return null;
+        }
+        String fileName = segments[segments.length - 1];
+        String version = segments[segments.length - 2];
+        String artifactId = segments[segments.length - 3];
+        String groupId = String.join(".", Arrays.copyOf(segments, segments.length - 3));
+        if (!version.contains("redhat-")) {
+            return null;
+        }
+        String baseName = artifactId + "-" + version;
+        if (fileName.equals(baseName + ".pom")) {
+            return pom(groupId, artifactId, version).getBytes(StandardCharsets.UTF_8);
+        }
+        if (fileName.equals(baseName + ".jar") || fileName.equals(baseName + "-sources.jar")) {
+            return jar(path);
+        }
+        return null;
+    }
+
+    /**
+     * @param extension extension of the checksum file, e.g. {@code sha1}
+     * @return the hex encoded checksum
+     */
+    static String checksum(String extension, byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance(ALGORITHMS.get(extension)).digest(content);
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static String pom(String groupId, String artifactId, String version) {
+        boolean parent = SyntheticProduct.PARENT_GROUP_ID.equals(groupId)
+                && SyntheticProduct.PARENT_ARTIFACT_ID.equals(artifactId);
+        StringBuilder pom = new StringBuilder();
+        pom.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        pom.append("<project xmlns=\"http://maven.apache.org/POM/4.0.0\">\n");
+        pom.append("  <modelVersion>4.0.0</modelVersion>\n");
+        if (!parent) {
+            pom.append("  <parent>\n");
+            pom.append("    <groupId>").append(SyntheticProduct.PARENT_GROUP_ID).append("</groupId>\n");
+            pom.append("    <artifactId>").append(SyntheticProduct.PARENT_ARTIFACT_ID).append("</artifactId>\n");
+            pom.append("    <version>").append(version).append("</version>\n");
+            pom.append("    <relativePath/>\n");
+            pom.append("  </parent>\n");
+        }
+        pom.append("  <groupId>").append(groupId).append("</groupId>\n");
+        pom.append("  <artifactId>").append(artifactId).append("</artifactId>\n");
+        pom.append("  <version>").append(version).append("</version>\n");
+        pom.append("  <packaging>").append(parent ? "pom" : "jar").append("</packaging>\n");
+        if (parent) {
+            pom.append("  <licenses>\n");
+            pom.append("    <license>\n");
+            pom.append("      <name>Apache License 2.0</name>\n");
+            pom.append("      <url>https://www.apache.org/licenses/LICENSE-2.0.txt</url>\n");
+            pom.append("    </license>\n");
+            pom.append("  </licenses>\n");
+        }
+        pom.append("</project>\n");
+        return pom.toString();
+    }
+
+    private static byte[] jar(String path) {
+        ByteArrayOutputStream jar = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(jar)) {
+            ZipEntry manifest = new ZipEntry("META-INF/MANIFEST.MF");
+            // a fixed time keeps the content, and so the checksums, stable
+            manifest.setTime(0L);
+            zip.putNextEntry(manifest);
+            zip.write(("Manifest-Version: 1.0\nImplementation-Title: " + path + "\n").getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return jar.toByteArray();
+    }
+}
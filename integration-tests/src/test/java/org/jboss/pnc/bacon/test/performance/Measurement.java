@@ -0,0 +1,102 @@
+package org.jboss.pnc.bacon.test.performance;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Wall-clock time, requests sent and heap used by a single PiG command.
+ * <p>
+ * The peak heap usage is the one of the whole JVM, including the mocked services, since they run in the same JVM as
+ * PiG. It is an upper bound of what PiG uses and is meant to be compared between runs of the same size.
+ */
+public class Measurement {
+
+    private final String command;
+    private final long durationMillis;
+    private final long peakHeapBytes;
+    private final Map<String, Long> requests;
+
+    private Measurement(String command, long durationMillis, long peakHeapBytes, Map<String, Long> requests) {
+        this.command = command;
+        this.durationMillis = durationMillis;
+        this.peakHeapBytes = peakHeapBytes;
+        this.requests = requests;
+    }
+
+    /**
+     * Runs the command and measures it
+     *
+     * @param command name of the command
+     * @param statistics statistics of the mocked services, reset before the command is run
+     * @param action the command
+     */
+    public static Measurement measure(String command, RequestStatistics statistics, Runnable action) {
+        System.gc();
+        for (MemoryPoolMXBean pool : heapPools()) {
+            pool.resetPeakUsage();
+        }
+        statistics.reset();
+
+        long start = System.nanoTime();
+        action.run();
+        long durationMillis = (System.nanoTime() - start) / 1_000_000;
+
+        long peakHeapBytes = 0;
+        for (MemoryPoolMXBean pool : heapPools()) {
+            peakHeapBytes += pool.getPeakUsage().getUsed();
+        }
+        return new Measurement(command, durationMillis, peakHeapBytes, statistics.snapshot());
+    }
+
+    private static Iterable<MemoryPoolMXBean> heapPools() {
+        return ManagementFactory.getMemoryPoolMXBeans()
+                .stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .filter(MemoryPoolMXBean::isValid)
+                .collect(Collectors.toList());
+    }
+
+    public String getCommand() {
+        return command;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public long getPeakHeapBytes() {
+        return peakHeapBytes;
+    }
+
+    /**
+     * @return number of requests per endpoint
+     */
+    public Map<String, Long> getRequests() {
+        return requests;
+    }
+
+    /**
+     * @param service one of the services of {@link RequestStatistics}
+     * @return number of requests sent to the service
+     */
+    public long requestsTo(String service) {
+        return requests.entrySet()
+                .stream()
+                .filter(e -> RequestStatistics.service(e.getKey()).equals(service))
+                .mapToLong(Map.Entry::getValue)
+                .sum();
+    }
+
+    /**
+     * @return number of requests per service
+     */
+    public Map<String, Long> requestsPerService() {
+        Map<String, Long> result = new TreeMap<>();
+        requests.forEach((endpoint, count) -> result.merge(RequestStatistics.service(endpoint), count, Long::sum));
+        return result;
+    }
+}
@@ -0,0 +1,312 @@
+package org.jboss.pnc.bacon.test.performance;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import org.jboss.pnc.bacon.common.Constant;
+import org.jboss.pnc.bacon.config.Config;
+import org.jboss.pnc.bacon.pig.PigFacade;
+import org.jboss.pnc.bacon.pig.impl.PigContext;
+import org.jboss.pnc.bacon.pig.impl.config.GroupBuildInfo;
+import org.jboss.pnc.bacon.pig.impl.pnc.ImportResult;
+import org.jboss.pnc.bacon.pig.impl.pnc.PncBuild;
+import org.jboss.pnc.bacon.pig.impl.repo.RepositoryData;
+import org.jboss.pnc.bacon.pig.impl.utils.AlignmentType;
+import org.jboss.pnc.bacon.test.PNCWiremockHelper;
+import org.jboss.pnc.bacon.test.TestType;
+import org.jboss.pnc.enums.RebuildMode;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.any;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.jboss.pnc.bacon.test.performance.RequestStatistics.INDY;
+import static org.jboss.pnc.bacon.test.performance.RequestStatistics.INDY_PATH;
+import static org.jboss.pnc.bacon.test.performance.RequestStatistics.LICENSE_SERVICE;
+import static org.jboss.pnc.bacon.test.performance.RequestStatistics.LICENSE_SERVICE_PATH;
+import static org.jboss.pnc.bacon.test.performance.RequestStatistics.PNC;
+
+/**
+ * Runs the PiG commands for a large {@link SyntheticProduct} against mocked PNC, Indy and license service, and reports
+ * the time, the requests and the heap each command takes.
+ * <p>
+ * The commands are run in the test JVM, the way the CLI runs them. The number of requests is checked against the number
+ * the command needs for the size of the product, so that an added request per build or per artifact fails the test. The
+ * time and the heap are only reported, in the log and in {@code target/pig-performance.csv}, as they depend on the
+ * machine.
+ * <p>
+ * The size of the product and the latency of the services are set by system properties:
+ * <ul>
+ * <li>{@code pig.performance.buildConfigs} - number of build configs, 200 by default</li>
+ * <li>{@code pig.performance.modules} - number of Maven modules built by each build config, 50 by default</li>
+ * <li>{@code pig.performance.projects} - number of PNC projects, 20 by default</li>
+ * <li>{@code pig.performance.pncLatency}, {@code pig.performance.indyLatency},
+ * {@code pig.performance.licenseServiceLatency} - time in milliseconds each service takes to respond, 0 by default</li>
+ * </ul>
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@Tag(TestType.PERFORMANCE)
+class PigPerformanceTest {
+    private static final Logger log = LoggerFactory.getLogger(PigPerformanceTest.class);
+
+    private static final int BUILD_CONFIGS = Integer.getInteger("pig.performance.buildConfigs", 200);
+    private static final int MODULES = Integer.getInteger("pig.performance.modules", 50);
+    private static final int PROJECTS = Integer.getInteger("pig.performance.projects", 20);
+    private static final int PNC_LATENCY = Integer.getInteger("pig.performance.pncLatency", 0);
+    private static final int INDY_LATENCY = Integer.getInteger("pig.performance.indyLatency", 0);
+    private static final int LICENSE_SERVICE_LATENCY = Integer.getInteger("pig.performance.licenseServiceLatency", 0);
+
+    /**
+     * Page size the PNC clients use
+     */
+    private static final int PAGE_SIZE = 50;
+    private static final Path REPORT = Paths.get("target", "pig-performance.csv");
+    private static final String MAVEN_REPO_LOCAL = "maven.repo.local";
+    private static final String LICENSES = "[{\"licenses\":[{\"name\":\"Apache License 2.0\","
+            + "\"url\":\"https://www.apache.org/licenses/LICENSE-2.0.txt\"}]}]";
+
+    private final RequestStatistics statistics = new RequestStatistics();
+    private final List<Measurement> measurements = new ArrayList<>();
+
+    private SyntheticProduct product;
+    private WireMockServer server;
+    private Path pigConfigDir;
+    private String previousMavenRepoLocal;
+
+    @BeforeAll
+    void startServices() throws IOException {
+        // a new local Maven repository on every run, so that nothing is reused from previous runs and the synthetic
+        // POMs the licenses command resolves do not end up in the repository of the user
+        Path mavenRepository = Files
+                .createTempDirectory(Files.createDirectories(Paths.get("target")), "pig-performance-m2");
+        previousMavenRepoLocal = System.setProperty(MAVEN_REPO_LOCAL, mavenRepository.toAbsolutePath().toString());
+
+        product = new SyntheticProduct(BUILD_CONFIGS, MODULES, PROJECTS, 1);
+        log.info(
+                "Synthetic product of {} build configs with {} artifacts, version {}",
+                product.getBuildConfigs(),
+                product.getArtifacts(),
+                product.getArtifactVersion());
+
+        server = new WireMockServer(
+                options().dynamicPort()
+                        .containerThreads(200)
+                        .disableRequestJournal()
+                        .extensions(new PncResponses(product), new MavenRepositoryResponses()));
+        server.start();
+        server.addMockServiceRequestListener(statistics);
+        WireMock.configureFor(server.port());
+
+        new PNCWiremockHelper().init();
+        // below the priority of the stubs of the helper, to keep the authentication checks
+        server.stubFor(
+                any(urlPathMatching(PNCWiremockHelper.restPath() + "/.*")).atPriority(10)
+                        .willReturn(aResponse().withFixedDelay(PNC_LATENCY).withTransformers(PncResponses.NAME)));
+        server.stubFor(
+                get(urlPathMatching(INDY_PATH + ".*")).willReturn(
+                        aResponse().withFixedDelay(INDY_LATENCY).withTransformers(MavenRepositoryResponses.NAME)));
+        server.stubFor(
+                get(urlPathEqualTo(LICENSE_SERVICE_PATH + "find-license-check-record-and-license-info"))
+                        .willReturn(okJson(LICENSES).withFixedDelay(LICENSE_SERVICE_LATENCY)));
+
+        Path workDir = Files.createTempDirectory("pig-performance");
+        Path baconConfigDir = Files.createDirectories(workDir.resolve("bacon"));
+        Files.writeString(baconConfigDir.resolve(Constant.CONFIG_FILE_NAME), baconConfiguration(server.baseUrl()));
+        Config.configure(baconConfigDir.toString(), Constant.CONFIG_FILE_NAME, "default");
+
+        pigConfigDir = Files.createDirectories(workDir.resolve("pig"));
+        Files.writeString(pigConfigDir.resolve("build-config.yaml"), product.pigConfiguration());
+        PigContext.init(true, pigConfigDir, workDir.resolve("target").toString(), null, Collections.emptyMap());
+    }
+
+    @AfterAll
+    void report() throws IOException {
+        if (server != null) {
+            server.stop();
+        }
+        if (previousMavenRepoLocal == null) {
+            System.clearProperty(MAVEN_REPO_LOCAL);
+        } else {
+            System.setProperty(MAVEN_REPO_LOCAL, previousMavenRepoLocal);
+        }
+
+        StringBuilder table = new StringBuilder(
+                String.format(
+                        "%n%-10s %10s %10s %8s %8s %8s",
+                        "command",
+                        "time [ms]",
+                        "heap [MB]",
+                        "pnc",
+                        "indy",
+                        "license"));
+        StringBuilder csv = new StringBuilder(
+                "command,buildConfigs,artifacts,timeMillis,peakHeapBytes,pnc,indy,license\n");
+        for (Measurement measurement : measurements) {
+            table.append(
+                    String.format(
+                            "%n%-10s %10d %10d %8d %8d %8d",
+                            measurement.getCommand(),
+                            measurement.getDurationMillis(),
+                            measurement.getPeakHeapBytes() / (1024 * 1024),
+                            measurement.requestsTo(PNC),
+                            measurement.requestsTo(INDY),
+                            measurement.requestsTo(LICENSE_SERVICE)));
+            csv.append(measurement.getCommand())
+                    .append(',')
+                    .append(product.getBuildConfigs())
+                    .append(',')
+                    .append(product.getArtifacts())
+                    .append(',')
+                    .append(measurement.getDurationMillis())
+                    .append(',')
+                    .append(measurement.getPeakHeapBytes())
+                    .append(',')
+                    .append(measurement.requestsTo(PNC))
+                    .append(',')
+                    .append(measurement.requestsTo(INDY))
+                    .append(',')
+                    .append(measurement.requestsTo(LICENSE_SERVICE))
+                    .append('\n');
+        }
+        log.info(
+                "PiG performance for {} build configs and {} artifacts:{}",
+                BUILD_CONFIGS,
+                product.getArtifacts(),
+                table);
+        Files.createDirectories(REPORT.getParent());
+        Files.writeString(REPORT, csv);
+    }
+
+    @Test
+    @Order(1)
+    void configure() {
+        Measurement measurement = measure("configure", () -> {
+            ImportResult importResult = PigFacade.configure(true, false);
+            PigContext.get().setPncImportResult(importResult);
+            PigContext.get().storeContext();
+            assertThat(importResult.getBuildConfigs()).hasSize(BUILD_CONFIGS);
+        });
+
+        // the product, version, milestone and group lookups and updates, the build configs of the group (read twice)
+        // and of the version, and the dependencies of each build config; nothing is updated for up-to-date configs
+        assertThat(measurement.requestsTo(PNC)).isLessThanOrEqualTo(10 + 3 * pages(BUILD_CONFIGS) + BUILD_CONFIGS);
+    }
+
+    @Test
+    @Order(2)
+    void build() {
+        Measurement measurement = measure("build", () -> {
+            GroupBuildInfo groupBuildInfo = PigFacade
+                    .build(false, false, RebuildMode.EXPLICIT_DEPENDENCY_CHECK, true, AlignmentType.TEMPORARY);
+            PigContext.get().setBuilds(groupBuildInfo.getBuilds());
+            PigContext.get().storeContext();
+            assertThat(groupBuildInfo.getBuilds()).hasSize(BUILD_CONFIGS);
+            for (PncBuild build : groupBuildInfo.getBuilds().values()) {
+                assertThat(build.getBuiltArtifacts()).hasSize(product.artifactsPerBuild());
+            }
+        });
+
+        // the group build and its builds (read twice), and the built artifacts of each build
+        assertThat(measurement.requestsTo(PNC))
+                .isLessThanOrEqualTo(5 + 2 * pages(BUILD_CONFIGS) + BUILD_CONFIGS * pages(product.artifactsPerBuild()));
+    }
+
+    @Test
+    @Order(3)
+    void repo() {
+        Measurement measurement = measure("repo", () -> {
+            RepositoryData repositoryData = PigFacade.generateRepo(false, pigConfigDir, true, false);
+            PigContext.get().setRepositoryData(repositoryData);
+            PigContext.get().storeContext();
+            // the modules and the parent
+            assertThat(repositoryData.getGavs()).hasSize(BUILD_CONFIGS * MODULES + 1);
+        });
+
+        // the dependencies of each build, and each file of the repository with its checksum
+        assertThat(measurement.requestsTo(PNC))
+                .isLessThanOrEqualTo((long) BUILD_CONFIGS * pages(product.artifactsPerBuild()));
+        assertThat(measurement.requestsTo(INDY)).isLessThanOrEqualTo(2L * (product.getArtifacts() + 1));
+    }
+
+    @Test
+    @Order(4)
+    void sources() {
+        Measurement measurement = measure("sources", PigFacade::generateSources);
+
+        // the sources archive of each build
+        assertThat(measurement.requestsTo(PNC)).isLessThanOrEqualTo(BUILD_CONFIGS);
+        assertThat(measurement.requestsTo(INDY)).isZero();
+    }
+
+    @Test
+    @Order(5)
+    void licenses() {
+        Measurement measurement = measure("licenses", () -> PigFacade.generateLicenses(true, null, null));
+
+        // the POM of each module and of the parent with its checksum, and the license of each of them
+        long gavs = (long) BUILD_CONFIGS * MODULES + 1;
+        assertThat(measurement.requestsTo(INDY)).isLessThanOrEqualTo(2 * gavs);
+        assertThat(measurement.requestsTo(LICENSE_SERVICE)).isLessThanOrEqualTo(gavs);
+    }
+
+    private Measurement measure(String command, Runnable action) {
+        Measurement measurement = Measurement.measure(command, statistics, action);
+        measurements.add(measurement);
+        log.info(
+                "{} took {} ms, peak heap {} MB, requests {}",
+                command,
+                measurement.getDurationMillis(),
+                measurement.getPeakHeapBytes() / (1024 * 1024),
+                measurement.requestsPerService());
+        if (log.isDebugEnabled()) {
+            for (Map.Entry<String, Long> endpoint : measurement.getRequests().entrySet()) {
+                log.debug("{} {}", endpoint.getValue(), endpoint.getKey());
+            }
+        }
+        return measurement;
+    }
+
+    private static int pages(int hits) {
+        return Math.max(1, (hits + PAGE_SIZE - 1) / PAGE_SIZE);
+    }
+
+    private static String baconConfiguration(String baseUrl) {
+        return "profile:\n" //
+                + "    -   name: \"default\"\n" //
+                + "        pnc:\n" //
+                + "            url: \"" + baseUrl + PNCWiremockHelper.restPath() + "/\"\n" //
+                + "            bifrostBaseurl: \"" + baseUrl + "/bifrost\"\n" //
+                + "        keycloak:\n" //
+                + "            url: \"" + baseUrl + "\"\n" //
+                + "            realm: \"example\"\n" //
+                + "            username: \"user\"\n" //
+                + "            clientSecret: \"secret\"\n" //
+                + "        pig:\n" //
+                + "            kojiHubUrl: \"" + baseUrl + "/kojihub\"\n" //
+                + "            licenseServiceUrl: \"" + baseUrl + LICENSE_SERVICE_PATH.replaceFirst("/$", "") + "\"\n" //
+                + "            indyUrl: \"" + baseUrl + "\"\n";
+    }
+}
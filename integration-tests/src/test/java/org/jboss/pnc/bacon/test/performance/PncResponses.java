@@ -0,0 +1,267 @@
+package org.jboss.pnc.bacon.test.performance;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.tomakehurst.wiremock.common.FileSource;
+import com.github.tomakehurst.wiremock.extension.Parameters;
+import com.github.tomakehurst.wiremock.extension.ResponseDefinitionTransformer;
+import com.github.tomakehurst.wiremock.http.QueryParameter;
+import com.github.tomakehurst.wiremock.http.Request;
+import com.github.tomakehurst.wiremock.http.RequestMethod;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.jboss.pnc.bacon.test.PNCWiremockHelper;
+import org.jboss.pnc.dto.BuildConfiguration;
+import org.jboss.pnc.dto.Project;
+import org.jboss.pnc.dto.SCMRepository;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+import static com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder.like;
+
+/**
+ * Serves the PNC REST API for a {@link SyntheticProduct}.
+ * <p>
+ * Only the endpoints used by PiG are implemented, any other request gets a 404. Collections are paged as requested by
+ * the {@code pageIndex} and {@code pageSize} query parameters and the updates are accepted without changing anything.
+ */
+public class PncResponses extends ResponseDefinitionTransformer {
+
+    public static final String NAME = "synthetic-pnc";
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final Pattern NAME_QUERY = Pattern.compile("name=='?([^';]+)'?");
+    private static final String INDY_GROUP = "/api/content/maven/group/static";
+    private static final Object NO_CONTENT = new Object();
+
+    private final SyntheticProduct product;
+    private final ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule())
+            .configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+    private final List<Route> routes = new ArrayList<>();
+
+    public PncResponses(SyntheticProduct product) {
+        this.product = product;
+
+        get("/products", (request, path) -> page(request, List.of(product.product())));
+        get("/products/\\d+/versions", (request, path) -> page(request, List.of(product.productVersion())));
+        put("/product-versions/\\d+");
+        get("/product-versions/\\d+/milestones", (request, path) -> page(request, List.of(product.milestone())));
+        get("/product-versions/\\d+/build-configs", (request, path) -> page(request, product.buildConfigs()));
+        get("/group-configs", (request, path) -> page(request, List.of(product.groupConfig())));
+        put("/group-configs/\\d+");
+        get("/group-configs/\\d+/build-configs", (request, path) -> page(request, product.buildConfigs()));
+        get("/group-configs/\\d+/group-builds", (request, path) -> page(request, List.of(product.groupBuild())));
+        route(RequestMethod.POST, "/group-configs/\\d+/build", (request, path) -> product.groupBuild());
+        get("/group-builds/\\d+", (request, path) -> product.groupBuild());
+        get("/group-builds/\\d+/builds", (request, path) -> page(request, product.builds()));
+        get(
+                "/build-configs",
+                (request, path) -> page(
+                        request,
+                        filterByName(request, product.buildConfigs(), BuildConfiguration::getName)));
+        get("/build-configs/(\\d+)", (request, path) -> buildConfig(path, product::buildConfig));
+        put("/build-configs/\\d+");
+        get(
+                "/build-configs/(\\d+)/dependencies",
+                (request, path) -> buildConfig(path, i -> page(request, product.buildConfigDependencies(i))));
+        get(
+                "/build-configs/(\\d+)/builds",
+                (request, path) -> buildConfig(path, i -> page(request, List.of(product.build(i)))));
+        get("/projects", (request, path) -> page(request, filterByName(request, product.projects(), Project::getName)));
+        get(
+                "/scm-repositories",
+                (request, path) -> page(
+                        request,
+                        product.scmRepositories()
+                                .stream()
+                                .filter(matches(request.queryParameter("matchUrl"), SCMRepository::getInternalUrl))
+                                .collect(Collectors.toList())));
+        get("/environments/\\d+", (request, path) -> product.environment());
+        get("/builds/(\\d+)", (request, path) -> build(path, product::build));
+        get(
+                "/builds/(\\d+)/artifacts/built",
+                (request, path) -> build(path, i -> page(request, product.builtArtifacts(i, repositoryUrl(request)))));
+        get(
+                "/builds/(\\d+)/artifacts/dependencies",
+                (request, path) -> build(
+                        path,
+                        i -> page(request, product.dependencyArtifacts(i, repositoryUrl(request)))));
+        get("/builds/(\\d+)/internal-scm-archive", (request, path) -> build(path, this::sourcesArchive));
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean applyGlobally() {
+        return false;
+    }
+
+    @Override
+    public ResponseDefinition transform(
+            Request request,
+            ResponseDefinition responseDefinition,
+            FileSource files,
+            Parameters parameters) {
+        String path = request.getUrl().substring(PNCWiremockHelper.restPath().length()).replaceFirst("\\?.*", "");
+        Object body = null;
+        for (Route route : routes) {
+            Matcher matcher = route.pattern.matcher(path);
+            if (route.method.equals(request.getMethod()) && matcher.matches()) {
+                body = route.handler.handle(request, matcher);
+                break;
+            }
+        }
+
+        if (body == null) {
+            return like(responseDefinition).but().withStatus(404).build();
+        } else if (body == NO_CONTENT) {
+            return like(responseDefinition).but().withStatus(204).build();
+        } else if (body instanceof byte[]) {
+            return like(responseDefinition).but()
+                    .withStatus(200)
+                    .withHeader("Content-Type", "application/gzip")
+                    .withBody((byte[]) body)
+                    .build();
+        }
+        try {
+            return like(responseDefinition).but()
+                    .withStatus(200)
+                    .withHeader("Content-Type", "application/json")
+                    .withBody(mapper.writeValueAsString(body))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void get(String path, Handler handler) {
+        route(RequestMethod.GET, path, handler);
+    }
+
+    private void put(String path) {
+        route(RequestMethod.PUT, path, (request, matcher) -> NO_CONTENT);
+    }
+
+    private void route(RequestMethod method, String path, Handler handler) {
+        routes.add(new Route(method, Pattern.compile(path), handler));
+    }
+
+    private Object buildConfig(Matcher path, IndexedHandler handler) {
+        int index = product.buildConfigIndex(path.group(1));
+        return index < 0 ? null : handler.handle(index);
+    }
+
+    private Object build(Matcher path, IndexedHandler handler) {
+        int index = product.buildIndex(path.group(1));
+        return index < 0 ? null : handler.handle(index);
+    }
+
+    private ObjectNode page(Request request, List<?> all) {
+        int pageIndex = intParameter(request, "pageIndex", 0);
+        int pageSize = intParameter(request, "pageSize", DEFAULT_PAGE_SIZE);
+        int from = Math.min(pageIndex * pageSize, all.size());
+        int to = Math.min(from + pageSize, all.size());
+
+        ObjectNode page = mapper.createObjectNode();
+        page.put("pageIndex", pageIndex);
+        page.put("pageSize", pageSize);
+        page.put("totalPages", (all.size() + pageSize - 1) / pageSize);
+        page.put("totalHits", all.size());
+        page.set("content", mapper.valueToTree(all.subList(from, to)));
+        return page;
+    }
+
+    /**
+     * Filters by the name in a {@code name=='...'} RSQL query, the other queries are ignored.
+     */
+    private static <T> List<T> filterByName(Request request, List<T> all, Function<T, String> name) {
+        QueryParameter query = request.queryParameter("q");
+        if (!query.isPresent()) {
+            return all;
+        }
+        Matcher matcher = NAME_QUERY.matcher(query.firstValue());
+        if (!matcher.find()) {
+            return all;
+        }
+        String expected = matcher.group(1);
+        return all.stream().filter(e -> expected.equals(name.apply(e))).collect(Collectors.toList());
+    }
+
+    private static <T> Predicate<T> matches(QueryParameter parameter, Function<T, String> value) {
+        return e -> !parameter.isPresent() || parameter.firstValue().equals(value.apply(e));
+    }
+
+    /**
+     * @return url of the Indy group the builds are downloaded from, served by the same server as PNC
+     */
+    private static String repositoryUrl(Request request) {
+        String absoluteUrl = request.getAbsoluteUrl();
+        return absoluteUrl.substring(0, absoluteUrl.length() - request.getUrl().length()) + INDY_GROUP;
+    }
+
+    private static int intParameter(Request request, String name, int defaultValue) {
+        QueryParameter parameter = request.queryParameter(name);
+        return parameter.isPresent() ? Integer.parseInt(parameter.firstValue()) : defaultValue;
+    }
+
+    /**
+     * @return a tar.gz with a single top-level directory, like the archives of the internal repositories
+     */
+    private byte[] sourcesArchive(int buildIndex) {
+        String directory = product.buildConfigName(buildIndex) + "/";
+        byte[] readme = ("Sources of " + product.buildConfigName(buildIndex) + "\n").getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        try (TarArchiveOutputStream tar = new TarArchiveOutputStream(new GZIPOutputStream(archive))) {
+            tar.putArchiveEntry(new TarArchiveEntry(directory));
+            tar.closeArchiveEntry();
+            TarArchiveEntry file = new TarArchiveEntry(directory + "README");
+            file.setSize(readme.length);
+            tar.putArchiveEntry(file);
+            tar.write(readme);
+            tar.closeArchiveEntry();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return archive.toByteArray();
+    }
+
+    private interface Handler {
+        /**
+         * @return the response body, {@link #NO_CONTENT} for an empty response and null if there's no such entity
+         */
+        Object handle(Request request, Matcher path);
+    }
+
+    private interface IndexedHandler {
+        Object handle(int index);
+    }
+
+    private static class Route {
+        private final RequestMethod method;
+        private final Pattern pattern;
+        private final Handler handler;
+
+        private Route(RequestMethod method, Pattern pattern, Handler handler) {
+            this.method = method;
+            this.pattern = pattern;
+            this.handler = handler;
+        }
+    }
+}
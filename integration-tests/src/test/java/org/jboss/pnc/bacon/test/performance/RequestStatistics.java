@@ -0,0 +1,83 @@
+package org.jboss.pnc.bacon.test.performance;
+
+import com.github.tomakehurst.wiremock.http.Request;
+import com.github.tomakehurst.wiremock.http.RequestListener;
+import com.github.tomakehurst.wiremock.http.Response;
+import org.jboss.pnc.bacon.test.PNCWiremockHelper;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the requests received by the mocked services, per endpoint.
+ * <p>
+ * The endpoints are the request paths with the ids replaced by {@code {id}} and, for the Maven repositories, with the
+ * artifact path replaced by its file type, e.g. {@code GET /pnc-rest/v2/builds/{id}/artifacts/built} or
+ * {@code GET /api/content/maven/**.sha1}.
+ */
+public class RequestStatistics implements RequestListener {
+
+    public static final String PNC = "pnc";
+    public static final String INDY = "indy";
+    public static final String KEYCLOAK = "keycloak";
+    public static final String LICENSE_SERVICE = "license-service";
+    public static final String OTHER = "other";
+
+    static final String INDY_PATH = "/api/content/maven/";
+    static final String KEYCLOAK_PATH = "/auth/";
+    static final String LICENSE_SERVICE_PATH = "/license-service/";
+
+    private final Map<String, LongAdder> requests = new ConcurrentHashMap<>();
+
+    @Override
+    public void requestReceived(Request request, Response response) {
+        requests.computeIfAbsent(endpoint(request.getMethod().getName(), request.getUrl()), e -> new LongAdder())
+                .increment();
+    }
+
+    /**
+     * @return number of requests per endpoint since the last reset
+     */
+    public Map<String, Long> snapshot() {
+        Map<String, Long> result = new TreeMap<>();
+        requests.forEach((endpoint, count) -> result.put(endpoint, count.sum()));
+        return result;
+    }
+
+    public void reset() {
+        requests.clear();
+    }
+
+    /**
+     * @param endpoint endpoint as reported by {@link #snapshot()}
+     * @return the service the endpoint belongs to
+     */
+    public static String service(String endpoint) {
+        String path = endpoint.substring(endpoint.indexOf(' ') + 1);
+        if (path.startsWith(PNCWiremockHelper.restPath())) {
+            return PNC;
+        } else if (path.startsWith(INDY_PATH)) {
+            return INDY;
+        } else if (path.startsWith(KEYCLOAK_PATH)) {
+            return KEYCLOAK;
+        } else if (path.startsWith(LICENSE_SERVICE_PATH)) {
+            return LICENSE_SERVICE;
+        }
+        return OTHER;
+    }
+
+    static String endpoint(String method, String url) {
+        String path = url.replaceFirst("\\?.*", "");
+        if (path.startsWith(INDY_PATH)) {
+            String fileName = path.substring(path.lastIndexOf('/') + 1);
+            String type = fileName.endsWith("-sources.jar") ? "-sources.jar"
+                    : fileName.substring(Math.max(fileName.lastIndexOf('.'), 0));
+            path = INDY_PATH + "**" + type;
+        } else {
+            path = path.replaceAll("/\\d+(?=/|$)", "/{id}");
+        }
+        return method + " " + path;
+    }
+}
@@ -0,0 +1,374 @@
+package org.jboss.pnc.bacon.test.performance;
+
+import org.jboss.pnc.dto.Artifact;
+import org.jboss.pnc.dto.Build;
+import org.jboss.pnc.dto.BuildConfiguration;
+import org.jboss.pnc.dto.BuildConfigurationRevisionRef;
+import org.jboss.pnc.dto.Environment;
+import org.jboss.pnc.dto.GroupBuild;
+import org.jboss.pnc.dto.GroupConfiguration;
+import org.jboss.pnc.dto.GroupConfigurationRef;
+import org.jboss.pnc.dto.Product;
+import org.jboss.pnc.dto.ProductMilestone;
+import org.jboss.pnc.dto.ProductVersion;
+import org.jboss.pnc.dto.Project;
+import org.jboss.pnc.dto.SCMRepository;
+import org.jboss.pnc.dto.TargetRepository;
+import org.jboss.pnc.enums.BuildStatus;
+import org.jboss.pnc.enums.BuildType;
+import org.jboss.pnc.enums.RepositoryType;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * A product of configurable size, as seen by PiG in PNC and in Indy.
+ * <p>
+ * Every build config has a single successful build producing the given number of Maven modules, each of them with a
+ * pom, a jar and a sources jar. Every build config depends on the previous one and every build on the artifacts of the
+ * previous build. All the POMs inherit from a parent POM no build produces. The PNC entities already exist and are up
+ * to date, as they are when PiG is re-run for an existing milestone.
+ * <p>
+ * Nothing is kept per artifact, the entities and the content of the artifacts are generated when they are requested.
+ */
+public class SyntheticProduct {
+
+    static final String PARENT_GROUP_ID = "org.acme.synthetic";
+    static final String PARENT_ARTIFACT_ID = "synthetic-parent";
+
+    static final String PRODUCT_NAME = "Synthetic Product";
+    static final String MAJOR_MINOR = "1.0";
+    static final String MILESTONE = "DR1";
+    static final String GROUP_NAME = "synthetic-1.0-all";
+    static final String ENVIRONMENT_ID = "105";
+
+    private static final String PRODUCT_ID = "100";
+    private static final String VERSION_ID = "101";
+    private static final String MILESTONE_ID = "102";
+    private static final String GROUP_CONFIG_ID = "103";
+    private static final String GROUP_BUILD_ID = "104";
+
+    private static final int BUILD_CONFIG_IDS = 10_000;
+    private static final int BUILD_IDS = 20_000;
+    private static final int PROJECT_IDS = 30_000;
+    private static final int REPOSITORY_IDS = 40_000;
+
+    private static final String SCM_REVISION = "1.0.x";
+    private static final String BUILD_SCRIPT = "mvn clean deploy -DskipTests";
+    private static final Instant BUILD_TIME = Instant.parse("2024-01-01T00:00:00Z");
+
+    private final int buildConfigs;
+    private final int modules;
+    private final int projects;
+    private final String version;
+
+    /**
+     * @param buildConfigs number of build configs
+     * @param modules number of Maven modules built by each build config
+     * @param projects number of PNC projects the build configs are spread over
+     * @param buildNumber Red Hat build number of all the artifacts
+     */
+    public SyntheticProduct(int buildConfigs, int modules, int projects, int buildNumber) {
+        this.buildConfigs = buildConfigs;
+        this.modules = modules;
+        this.projects = projects;
+        this.version = String.format("%s.0.redhat-%05d", MAJOR_MINOR, buildNumber);
+    }
+
+    public int getBuildConfigs() {
+        return buildConfigs;
+    }
+
+    public int getModules() {
+        return modules;
+    }
+
+    /**
+     * @return number of the artifacts built by all the builds
+     */
+    public int getArtifacts() {
+        return buildConfigs * artifactsPerBuild();
+    }
+
+    public int artifactsPerBuild() {
+        return modules * 3;
+    }
+
+    public String getArtifactVersion() {
+        return version;
+    }
+
+    /**
+     * @return the PiG configuration of the product
+     */
+    public String pigConfiguration() {
+        StringBuilder yaml = new StringBuilder();
+        yaml.append("product:\n");
+        yaml.append("    name: ").append(PRODUCT_NAME).append('\n');
+        yaml.append("    abbreviation: SYN\n");
+        yaml.append("    stage: GA\n");
+        yaml.append("version: ").append(MAJOR_MINOR).append(".0\n");
+        yaml.append("milestone: ").append(MILESTONE).append('\n');
+        yaml.append("group: ").append(GROUP_NAME).append('\n');
+        yaml.append("defaultBuildParameters:\n");
+        yaml.append("    environmentId: ").append(ENVIRONMENT_ID).append('\n');
+        yaml.append("    buildScript: ").append(BUILD_SCRIPT).append('\n');
+        yaml.append("builds:\n");
+        for (int i = 0; i < buildConfigs; i++) {
+            yaml.append("    -   name: ").append(buildConfigName(i)).append('\n');
+            yaml.append("        project: ").append(projectName(projectIndex(i))).append('\n');
+            yaml.append("        scmUrl: ").append(scmUrl(i)).append('\n');
+            yaml.append("        scmRevision: ").append(SCM_REVISION).append('\n');
+            if (i > 0) {
+                yaml.append("        dependencies:\n");
+                yaml.append("            - ").append(buildConfigName(i - 1)).append('\n');
+            }
+        }
+        yaml.append("outputPrefixes:\n");
+        yaml.append("    releaseFile: synthetic\n");
+        yaml.append("    releaseDir: synthetic\n");
+        yaml.append("flow:\n");
+        yaml.append("    licensesGeneration:\n");
+        yaml.append("        strategy: GENERATE\n");
+        yaml.append("    repositoryGeneration:\n");
+        yaml.append("        strategy: BUILD_GROUP\n");
+        yaml.append("    javadocGeneration:\n");
+        yaml.append("        strategy: IGNORE\n");
+        yaml.append("    sourcesGeneration:\n");
+        yaml.append("        strategy: GENERATE\n");
+        return yaml.toString();
+    }
+
+    public Product product() {
+        return Product.builder().id(PRODUCT_ID).name(PRODUCT_NAME).abbreviation("SYN").build();
+    }
+
+    public ProductVersion productVersion() {
+        return ProductVersion.builder().id(VERSION_ID).version(MAJOR_MINOR).product(product()).build();
+    }
+
+    public ProductMilestone milestone() {
+        return ProductMilestone.builder()
+                .id(MILESTONE_ID)
+                .version(MAJOR_MINOR + ".0." + MILESTONE)
+                .productVersion(productVersion())
+                .build();
+    }
+
+    public GroupConfiguration groupConfig() {
+        return GroupConfiguration.builder()
+                .id(GROUP_CONFIG_ID)
+                .name(GROUP_NAME)
+                .productVersion(productVersion())
+                .build();
+    }
+
+    public GroupBuild groupBuild() {
+        return GroupBuild.builder()
+                .id(GROUP_BUILD_ID)
+                .status(BuildStatus.SUCCESS)
+                .temporaryBuild(false)
+                .startTime(BUILD_TIME)
+                .endTime(BUILD_TIME)
+                .groupConfig(GroupConfigurationRef.refBuilder().id(GROUP_CONFIG_ID).name(GROUP_NAME).build())
+                .build();
+    }
+
+    public Environment environment() {
+        return Environment.builder().id(ENVIRONMENT_ID).deprecated(false).build();
+    }
+
+    public List<BuildConfiguration> buildConfigs() {
+        return IntStream.range(0, buildConfigs).mapToObj(this::buildConfig).collect(Collectors.toList());
+    }
+
+    /**
+     * @return the build config, identical to the one generated by PiG from {@link #pigConfiguration()}
+     */
+    public BuildConfiguration buildConfig(int index) {
+        return BuildConfiguration.builder()
+                .id(String.valueOf(BUILD_CONFIG_IDS + index))
+                .name(buildConfigName(index))
+                .buildScript(BUILD_SCRIPT)
+                .buildType(BuildType.MVN)
+                .scmRevision(SCM_REVISION)
+                .scmRepository(scmRepository(index))
+                .environment(environment())
+                .project(project(projectIndex(index)))
+                .productVersion(productVersion())
+                .parameters(Collections.emptyMap())
+                .brewPullActive(false)
+                .creationTime(BUILD_TIME)
+                .modificationTime(BUILD_TIME)
+                .build();
+    }
+
+    public List<BuildConfiguration> buildConfigDependencies(int index) {
+        return index == 0 ? Collections.emptyList() : Collections.singletonList(buildConfig(index - 1));
+    }
+
+    public List<Build> builds() {
+        return IntStream.range(0, buildConfigs).mapToObj(this::build).collect(Collectors.toList());
+    }
+
+    public Build build(int index) {
+        return Build.builder()
+                .id(String.valueOf(BUILD_IDS + index))
+                .status(BuildStatus.SUCCESS)
+                .temporaryBuild(false)
+                .buildConfigRevision(
+                        BuildConfigurationRevisionRef.refBuilder()
+                                .id(String.valueOf(BUILD_CONFIG_IDS + index))
+                                .rev(1)
+                                .name(buildConfigName(index))
+                                .build())
+                .scmRepository(scmRepository(index))
+                .scmRevision(SCM_REVISION)
+                .scmTag(SCM_REVISION + "-" + version)
+                .attributes(Collections.emptyMap())
+                .submitTime(BUILD_TIME)
+                .startTime(BUILD_TIME)
+                .endTime(BUILD_TIME)
+                .build();
+    }
+
+    /**
+     * @param repositoryUrl url of the Maven repository the artifacts are downloaded from
+     */
+    public List<Artifact> builtArtifacts(int buildIndex, String repositoryUrl) {
+        TargetRepository repository = TargetRepository.refBuilder()
+                .identifier("indy-maven")
+                .repositoryType(RepositoryType.MAVEN)
+                .build();
+        List<Artifact> artifacts = new ArrayList<>(artifactsPerBuild());
+        for (int module = 0; module < modules; module++) {
+            String groupId = groupId(buildIndex);
+            String artifactId = artifactId(buildIndex, module);
+            String prefix = groupId + ":" + artifactId + ":";
+            int id = (buildIndex * modules + module) * 3;
+            artifacts.add(
+                    artifact(repositoryUrl, repository, id, prefix + "pom:" + version, groupId, artifactId, ".pom"));
+            artifacts.add(
+                    artifact(
+                            repositoryUrl,
+                            repository,
+                            id + 1,
+                            prefix + "jar:" + version,
+                            groupId,
+                            artifactId,
+                            ".jar"));
+            artifacts.add(
+                    artifact(
+                            repositoryUrl,
+                            repository,
+                            id + 2,
+                            prefix + "jar:" + version + ":sources",
+                            groupId,
+                            artifactId,
+                            "-sources.jar"));
+        }
+        return artifacts;
+    }
+
+    /**
+     * @return the artifacts the build depends on, the ones built by the previous build
+     */
+    public List<Artifact> dependencyArtifacts(int buildIndex, String repositoryUrl) {
+        return buildIndex == 0 ? Collections.emptyList() : builtArtifacts(buildIndex - 1, repositoryUrl);
+    }
+
+    public List<Project> projects() {
+        return IntStream.range(0, projects).mapToObj(this::project).collect(Collectors.toList());
+    }
+
+    public List<SCMRepository> scmRepositories() {
+        return IntStream.range(0, buildConfigs).mapToObj(this::scmRepository).collect(Collectors.toList());
+    }
+
+    /**
+     * @return the index of the build config with the given id, -1 if there is no such build config
+     */
+    public int buildConfigIndex(String id) {
+        return index(id, BUILD_CONFIG_IDS);
+    }
+
+    /**
+     * @return the index of the build with the given id, -1 if there is no such build
+     */
+    public int buildIndex(String id) {
+        return index(id, BUILD_IDS);
+    }
+
+    public String buildConfigName(int index) {
+        return "synthetic-" + index;
+    }
+
+    private int index(String id, int base) {
+        try {
+            int index = Integer.parseInt(id) - base;
+            return index >= 0 && index < buildConfigs ? index : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private Artifact artifact(
+            String repositoryUrl,
+            TargetRepository repository,
+            int id,
+            String identifier,
+            String groupId,
+            String artifactId,
+            String suffix) {
+        String fileName = artifactId + "-" + version + suffix;
+        String path = groupId.replace('.', '/') + "/" + artifactId + "/" + version + "/" + fileName;
+        byte[] content = MavenRepositoryResponses.content(path);
+        return Artifact.builder()
+                .id(String.valueOf(id))
+                .identifier(identifier)
+                .filename(fileName)
+                .publicUrl(repositoryUrl + "/" + path)
+                .md5(MavenRepositoryResponses.checksum("md5", content))
+                .sha1(MavenRepositoryResponses.checksum("sha1", content))
+                .sha256(MavenRepositoryResponses.checksum("sha256", content))
+                .size((long) content.length)
+                .targetRepository(repository)
+                .build();
+    }
+
+    private Project project(int index) {
+        return Project.builder().id(String.valueOf(PROJECT_IDS + index)).name(projectName(index)).build();
+    }
+
+    private SCMRepository scmRepository(int index) {
+        return SCMRepository.builder()
+                .id(String.valueOf(REPOSITORY_IDS + index))
+                .internalUrl(scmUrl(index))
+                .preBuildSyncEnabled(true)
+                .build();
+    }
+
+    private int projectIndex(int buildConfigIndex) {
+        return buildConfigIndex % projects;
+    }
+
+    private static String projectName(int index) {
+        return "synthetic-project-" + index;
+    }
+
+    private static String scmUrl(int index) {
+        return "git+ssh://code.example.com/synthetic/synthetic-" + index + ".git";
+    }
+
+    private static String groupId(int buildIndex) {
+        return PARENT_GROUP_ID + ".bc" + buildIndex;
+    }
+
+    private static String artifactId(int buildIndex, int module) {
+        return "bc" + buildIndex + "-module-" + module;
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2016-2017 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.pnc.bacon.licenses;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.jboss.pnc.bacon.licenses.xml.LicenseElement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * On-disk cache of resolved licenses, shared by successive runs of the generator.
+ * <p>
+ * The licenses of a dependency are stored under a hash of its GAV and of a fingerprint of the generator configuration,
+ * so that a change of the aliases, exceptions or license sources does not return stale licenses. License texts are
+ * stored under a hash of their URL.
+ */
+public class LicenseCache {
+
+    private static final String DEPENDENCIES_DIR = "dependencies";
+
+    private static final String TEXTS_DIR = "texts";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Logger logger = LoggerFactory.getLogger(LicenseCache.class);
+
+    private final Path directory;
+
+    private final String fingerprint;
+
+    /**
+     * @param directory cache directory, null disables the cache
+     * @param fingerprint identification of the configuration the licenses are resolved with
+     */
+    public LicenseCache(Path directory, String fingerprint) {
+        this.directory = directory;
+        this.fingerprint = fingerprint;
+    }
+
+    public static LicenseCache disabled() {
+        return new LicenseCache(null, "");
+    }
+
+    public boolean isEnabled() {
+        return directory != null;
+    }
+
+    public Optional<Set<LicenseElement>> getLicenses(String gav) {
+        if (!isEnabled()) {
+            return Optional.empty();
+        }
+        Path file = dependencyFile(gav);
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        try {
+            List<Map<String, String>> licenses = MAPPER
+                    .readValue(file.toFile(), new TypeReference<List<Map<String, String>>>() {
+                    });
+            Set<LicenseElement> result = new HashSet<>();
+            for (Map<String, String> license : licenses) {
+                result.add(new LicenseElement(license.get("name"), license.get("url"), license.get("textUrl")));
+            }
+            return Optional.of(result);
+        } catch (IOException e) {
+            logger.warn("Ignoring unreadable cached licenses of {} in {}", gav, file, e);
+            return Optional.empty();
+        }
+    }
+
+    public void putLicenses(String gav, Set<LicenseElement> licenses) {
+        if (!isEnabled()) {
+            return;
+        }
+        List<Map<String, String>> content = new ArrayList<>();
+        for (LicenseElement license : licenses) {
+            Map<String, String> values = new LinkedHashMap<>();
+            values.put("name", license.getName());
+            values.put("url", license.getUrl());
+            values.put("textUrl", license.getTextUrl());
+            content.add(values);
+        }
+        try {
+            write(dependencyFile(gav), MAPPER.writeValueAsBytes(content));
+        } catch (IOException e) {
+            logger.warn("Unable to cache licenses of {}", gav, e);
+        }
+    }
+
+    /**
+     * @return the cached copy of the license text downloaded from the url
+     */
+    public Optional<Path> getText(String url) {
+        if (!isEnabled()) {
+            return Optional.empty();
+        }
+        Path file = textFile(url);
+        return Files.isRegularFile(file) ? Optional.of(file) : Optional.empty();
+    }
+
+    public void putText(String url, Path text) {
+        if (!isEnabled()) {
+            return;
+        }
+        try {
+            write(textFile(url), Files.readAllBytes(text));
+        } catch (IOException e) {
+            logger.warn("Unable to cache license text from {}", url, e);
+        }
+    }
+
+    /**
+     * Hash of the given values, to be used as the cache fingerprint
+     */
+    public static String fingerprint(String... values) {
+        return sha256(String.join("\n", values));
+    }
+
+    private Path dependencyFile(String gav) {
+        return directory.resolve(DEPENDENCIES_DIR).resolve(sha256(fingerprint + '\n' + gav) + ".json");
+    }
+
+    private Path textFile(String url) {
+        return directory.resolve(TEXTS_DIR).resolve(sha256(url));
+    }
+
+    /**
+     * Writes to a temporary file first, so that concurrent runs never see a partially written entry
+     */
+    private static void write(Path file, byte[] content) throws IOException {
+        Files.createDirectories(file.getParent());
+        Path tempFile = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            Files.write(tempFile, content);
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    private static String sha256(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -43,6 +43,9 @@ import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.AbstractMap;
 import java.util.List;
 import java.util.Map;
@@ -50,7 +53,8 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
- * Class responsible for persisting licenses information to XML and HTML files.
+ * Class responsible for persisting licenses information to XML and HTML files. License texts are taken from the
+ * {@link LicenseCache} when possible, the downloaded ones are added to it.
  *
  * @author <a href="mailto:gytis@redhat.com">Gytis Trikleris</a>
  */
@@ -71,6 +75,16 @@ public class LicensesFileManager {
                             .build())
             .build();
 
+    private final LicenseCache cache;
+
+    public LicensesFileManager() {
+        this(LicenseCache.disabled());
+    }
+
+    public LicensesFileManager(LicenseCache cache) {
+        this.cache = cache;
+    }
+
     /**
      * Create a licenses.xml file.
      *
@@ -168,15 +182,7 @@ public class LicensesFileManager {
                 }
             }
             if (download) {
-                try {
-                    downloadTo(textUrl, file);
-                } catch (IOException e) {
-                    if (!textUrl.startsWith("https")) {
-                        downloadTo(textUrl.replace("http", "https"), file);
-                    } else {
-                        throw e;
-                    }
-                }
+                downloadOrCopyFromCache(textUrl, file);
             }
             return Optional.of(
                     new AbstractMap.SimpleEntry<>(license.getName(), String.format("%s/%s", CONTENTS_DIR, fileName)));
@@ -191,8 +197,33 @@ public class LicensesFileManager {
         }
     }
 
-    // TODO: optimize!
-    private void downloadTo(String url, File file) throws IOException {
+    private void downloadOrCopyFromCache(String textUrl, File file) throws IOException {
+        Optional<Path> cached = cache.getText(textUrl);
+        if (cached.isPresent()) {
+            logger.debug("Using cached license text from {}", textUrl);
+            Files.copy(cached.get(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            return;
+        }
+
+        boolean downloaded;
+        try {
+            downloaded = downloadTo(textUrl, file);
+        } catch (IOException e) {
+            if (!textUrl.startsWith("https")) {
+                downloaded = downloadTo(textUrl.replace("http", "https"), file);
+            } else {
+                throw e;
+            }
+        }
+        if (downloaded) {
+            cache.putText(textUrl, file.toPath());
+        }
+    }
+
+    /**
+     * @return true if the license text was downloaded successfully
+     */
+    private boolean downloadTo(String url, File file) throws IOException {
         HttpGet request = new HttpGet(url);
         HttpResponse response = httpClient.execute(request);
         HttpEntity entity = response.getEntity();
@@ -200,7 +231,9 @@ public class LicensesFileManager {
             try (OutputStream stream = new FileOutputStream(file)) {
                 entity.writeTo(stream);
             }
+            return response.getStatusLine().getStatusCode() == 200;
         }
+        return false;
     }
 
     private String getLocalLicenseFileName(LicenseElement licenseElement) {
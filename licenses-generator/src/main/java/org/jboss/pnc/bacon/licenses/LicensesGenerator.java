@@ -27,20 +27,26 @@ import org.jboss.pnc.bacon.licenses.maven.ProjectBuildingRequestFactory;
 import org.jboss.pnc.bacon.licenses.maven.SnowdropMavenEmbedder;
 import org.jboss.pnc.bacon.licenses.properties.GeneratorProperties;
 import org.jboss.pnc.bacon.licenses.sanitiser.AliasLicenseSanitiser;
+import org.jboss.pnc.bacon.licenses.sanitiser.CachingLicenseSanitiser;
 import org.jboss.pnc.bacon.licenses.sanitiser.ExceptionLicenseSanitiser;
 import org.jboss.pnc.bacon.licenses.sanitiser.LicenseSanitiser;
 import org.jboss.pnc.bacon.licenses.sanitiser.LicenseServiceSanitiser;
 import org.jboss.pnc.bacon.licenses.sanitiser.MavenSanitiser;
 import org.jboss.pnc.bacon.licenses.sanitiser.NoopLicenseSanitiser;
 import org.jboss.pnc.bacon.licenses.utils.Gav;
+import org.jboss.pnc.bacon.licenses.utils.JsonUtils;
 import org.jboss.pnc.bacon.licenses.xml.LicenseSummary;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Paths;
 import java.util.Collection;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 /**
@@ -66,6 +72,8 @@ public class LicensesGenerator {
 
     private final GavFinder gavFinder;
 
+    private final LicenseCache licenseCache;
+
     public LicensesGenerator() throws LicensesGeneratorException {
         this(new GeneratorProperties());
     }
@@ -88,8 +96,9 @@ public class LicensesGenerator {
         this.licenseServiceUrl = generatorProperties.getLicenseServiceUrl();
         this.aliasesFilePath = generatorProperties.getAliasesFilePath();
         this.exceptionsFilePath = generatorProperties.getExceptionsFilePath();
+        this.licenseCache = createLicenseCache(generatorProperties);
         this.licenseSummaryFactory = createLicenseSummaryFactory();
-        this.licensesFileManager = new LicensesFileManager();
+        this.licensesFileManager = new LicensesFileManager(licenseCache);
         this.gavFinder = new GavFinder(mavenProjectFactory);
     }
 
@@ -137,7 +146,34 @@ public class LicensesGenerator {
 
         LicenseSanitiser exceptionLicenseSanitiser = new ExceptionLicenseSanitiser(exceptionsFilePath, secondSanitiser);
 
+        LicenseSanitiser cachingLicenseSanitiser = new CachingLicenseSanitiser(licenseCache, exceptionLicenseSanitiser);
+
         logger.debug("Initialising license summary factory");
-        return new LicenseSummaryFactory(exceptionLicenseSanitiser);
+        return new LicenseSummaryFactory(cachingLicenseSanitiser);
+    }
+
+    /**
+     * The cached licenses are valid only for the same license sources, aliases and exceptions
+     */
+    private LicenseCache createLicenseCache(GeneratorProperties generatorProperties) {
+        Optional<String> cacheDirectory = generatorProperties.getCacheDirectory();
+        if (cacheDirectory.isEmpty()) {
+            return LicenseCache.disabled();
+        }
+        logger.debug("Using license cache in {}", cacheDirectory.get());
+        String fingerprint = LicenseCache.fingerprint(
+                licenseServiceUrl.orElse(""),
+                new TreeMap<>(generatorProperties.getRepositories()).toString(),
+                readResource(aliasesFilePath),
+                readResource(exceptionsFilePath));
+        return new LicenseCache(Paths.get(cacheDirectory.get()), fingerprint);
+    }
+
+    private static String readResource(String resourceLocation) {
+        try (InputStream input = JsonUtils.getInputStream(resourceLocation)) {
+            return input == null ? "" : new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read the resource: " + resourceLocation, e);
+        }
     }
 }
@@ -21,12 +21,18 @@ import org.apache.maven.model.building.ModelBuildingRequest;
 import org.apache.maven.project.DefaultProjectBuildingRequest;
 import org.apache.maven.project.ProjectBuildingRequest;
 import org.codehaus.plexus.component.repository.exception.ComponentLookupException;
+import org.eclipse.aether.RepositorySystemSession;
 import org.jboss.pnc.bacon.licenses.properties.GeneratorProperties;
 
 import java.util.List;
 import java.util.stream.Collectors;
 
 /**
+ * Creates the requests to build maven projects.
+ * <p>
+ * All the requests share one repository session. Maven caches the parent and imported POMs it reads in the session, so
+ * the parents common to many artifacts are resolved and read only once per run.
+ *
  * @author <a href="mailto:gytis@redhat.com">Gytis Trikleris</a>
  */
 public class ProjectBuildingRequestFactory {
@@ -35,6 +41,8 @@ public class ProjectBuildingRequestFactory {
 
     private final SnowdropMavenEmbedder maven;
 
+    private volatile RepositorySystemSession repositorySession;
+
     public ProjectBuildingRequestFactory(GeneratorProperties properties, SnowdropMavenEmbedder maven) {
         this.properties = properties;
         this.maven = maven;
@@ -46,7 +54,7 @@ public class ProjectBuildingRequestFactory {
             request.setLocalRepository(maven.getLocalRepository());
             request.setRemoteRepositories(getRepositories());
             request.setResolveDependencies(true);
-            request.setRepositorySession(maven.buildRepositorySystemSession());
+            request.setRepositorySession(getRepositorySession());
             request.setSystemProperties(System.getProperties());
             request.setProcessPlugins(false);
             request.setValidationLevel(ModelBuildingRequest.VALIDATION_LEVEL_MINIMAL);
@@ -57,6 +65,17 @@ public class ProjectBuildingRequestFactory {
         }
     }
 
+    private RepositorySystemSession getRepositorySession() throws Exception {
+        if (repositorySession == null) {
+            synchronized (this) {
+                if (repositorySession == null) {
+                    repositorySession = maven.buildRepositorySystemSession();
+                }
+            }
+        }
+        return repositorySession;
+    }
+
     private List<ArtifactRepository> getRepositories() {
         return properties.getRepositories().entrySet().stream().map(entry -> {
             try {
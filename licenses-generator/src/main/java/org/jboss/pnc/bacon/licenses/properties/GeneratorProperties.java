@@ -91,4 +91,15 @@ public class GeneratorProperties {
         configuration.setProperty(PropertyKeys.EXCEPTIONS_FILE, exceptionsFilePath);
     }
 
+    /**
+     * @return directory of the license cache shared by the runs of the generator, no cache is used if not set
+     */
+    public Optional<String> getCacheDirectory() {
+        return Optional.ofNullable(configuration.getString(PropertyKeys.CACHE_DIRECTORY, null));
+    }
+
+    public void setCacheDirectory(String cacheDirectory) {
+        configuration.setProperty(PropertyKeys.CACHE_DIRECTORY, cacheDirectory);
+    }
+
 }
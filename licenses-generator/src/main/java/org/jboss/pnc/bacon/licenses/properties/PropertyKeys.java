@@ -31,4 +31,6 @@ public interface PropertyKeys {
 
     String EXCEPTIONS_FILE = "exceptionsFile";
 
+    String CACHE_DIRECTORY = "cacheDirectory";
+
 }
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2016-2017 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.pnc.bacon.licenses.sanitiser;
+
+import org.jboss.pnc.bacon.licenses.LicenseCache;
+import org.jboss.pnc.bacon.licenses.xml.DependencyElement;
+import org.jboss.pnc.bacon.licenses.xml.LicenseElement;
+
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Returns the licenses resolved by a previous run, if there are any. Otherwise the dependency element is given to the
+ * next sanitiser, and its licenses are cached if they are complete. Incomplete licenses are resolved again by the next
+ * run.
+ */
+public class CachingLicenseSanitiser implements LicenseSanitiser {
+
+    private final LicenseCache cache;
+
+    private final LicenseSanitiser next;
+
+    public CachingLicenseSanitiser(LicenseCache cache, LicenseSanitiser next) {
+        this.cache = cache;
+        this.next = next;
+    }
+
+    @Override
+    public DependencyElement fix(DependencyElement dependencyElement) {
+        String gav = dependencyElement.toGavString();
+        Optional<Set<LicenseElement>> cached = cache.getLicenses(gav);
+        if (cached.isPresent()) {
+            return new DependencyElement(dependencyElement, cached.get());
+        }
+
+        DependencyElement fixed = next.fix(dependencyElement);
+        Set<LicenseElement> licenses = fixed.getLicenses();
+        if (!licenses.isEmpty() && licenses.stream().allMatch(LicenseElement::isValid)) {
+            cache.putLicenses(gav, licenses);
+        }
+        return fixed;
+    }
+}
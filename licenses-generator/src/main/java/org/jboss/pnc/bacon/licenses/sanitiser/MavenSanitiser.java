@@ -24,12 +24,17 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A pass-through sanitiser. If the dependency element does not have a license, the sanitiser will try to get it from a
  * maven project. Then, the dependency element will be given to the next sanitiser.
+ * <p>
+ * The maven project licenses are remembered for the whole run, artifacts of different types with the same GAV share
+ * them.
  *
  * @author <a href="mailto:michal.l.szynkiewicz@gmail.com">Michal Szynkiewicz</a>
  * @author <a href="mailto:gytis@redhat.com">Gytis Trikleris</a>
@@ -42,6 +47,8 @@ public class MavenSanitiser implements LicenseSanitiser {
 
     private final LicenseSanitiser next;
 
+    private final Map<String, Set<LicenseElement>> projectLicenses = new ConcurrentHashMap<>();
+
     public MavenSanitiser(MavenProjectFactory mavenProjectFactory, LicenseSanitiser next) {
         this.mavenProjectFactory = mavenProjectFactory;
         this.next = next;
@@ -52,7 +59,14 @@ public class MavenSanitiser implements LicenseSanitiser {
         if (dependencyElement.getLicenses().size() > 0) {
             return next.fix(dependencyElement);
         }
-        return next.fix(new DependencyElement(dependencyElement, getMavenProjectLicenses(dependencyElement)));
+        String gav = dependencyElement.toGavString();
+        Set<LicenseElement> licenses = projectLicenses.get(gav);
+        if (licenses == null) {
+            // building the project is slow, it must not block the lookups of other gavs in the map
+            Set<LicenseElement> resolved = getMavenProjectLicenses(dependencyElement);
+            licenses = Optional.ofNullable(projectLicenses.putIfAbsent(gav, resolved)).orElse(resolved);
+        }
+        return next.fix(new DependencyElement(dependencyElement, licenses));
     }
 
     private Set<LicenseElement> getMavenProjectLicenses(DependencyElement dependencyElement) {
@@ -0,0 +1,88 @@
+package org.jboss.pnc.bacon.licenses.sanitiser;
+
+import org.jboss.pnc.bacon.licenses.LicenseCache;
+import org.jboss.pnc.bacon.licenses.xml.DependencyElement;
+import org.jboss.pnc.bacon.licenses.xml.LicenseElement;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.nio.file.Path;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CachingLicenseSanitiserTest {
+
+    private static final LicenseElement APACHE = new LicenseElement(
+            "Apache License 2.0",
+            "https://www.apache.org/licenses/LICENSE-2.0",
+            "https://www.apache.org/licenses/LICENSE-2.0.txt");
+
+    @TempDir
+    Path cacheDirectory;
+
+    @Mock
+    private LicenseSanitiser mockLicenseSanitiser;
+
+    private final DependencyElement dependencyElement = new DependencyElement(
+            "org.acme",
+            "acme-core",
+            "1.0",
+            Collections.emptySet());
+
+    @BeforeEach
+    public void before() {
+        MockitoAnnotations.initMocks(this);
+    }
+
+    @Test
+    public void shouldReuseLicensesResolvedByPreviousRun() {
+        when(mockLicenseSanitiser.fix(any()))
+                .then(a -> new DependencyElement(a.getArgument(0), Collections.singleton(APACHE)));
+
+        DependencyElement first = sanitiser("config").fix(dependencyElement);
+        DependencyElement second = sanitiser("config").fix(dependencyElement);
+
+        assertThat(second).isEqualTo(first);
+        assertThat(second.getLicenses()).containsOnly(APACHE);
+        assertThat(second.getLicenses().iterator().next().getTextUrl()).isEqualTo(APACHE.getTextUrl());
+        verify(mockLicenseSanitiser, times(1)).fix(any());
+    }
+
+    @Test
+    public void shouldNotReuseLicensesResolvedWithDifferentConfiguration() {
+        when(mockLicenseSanitiser.fix(any()))
+                .then(a -> new DependencyElement(a.getArgument(0), Collections.singleton(APACHE)));
+
+        sanitiser("config").fix(dependencyElement);
+        sanitiser("other config").fix(dependencyElement);
+
+        verify(mockLicenseSanitiser, times(2)).fix(any());
+    }
+
+    @Test
+    public void shouldNotCacheIncompleteLicenses() {
+        when(mockLicenseSanitiser.fix(any())).then(
+                a -> new DependencyElement(
+                        a.getArgument(0),
+                        Collections.singleton(new LicenseElement("Unknown license", null))));
+
+        sanitiser("config").fix(dependencyElement);
+        sanitiser("config").fix(dependencyElement);
+
+        verify(mockLicenseSanitiser, times(2)).fix(any());
+    }
+
+    private CachingLicenseSanitiser sanitiser(String configuration) {
+        return new CachingLicenseSanitiser(
+                new LicenseCache(cacheDirectory, LicenseCache.fingerprint(configuration)),
+                mockLicenseSanitiser);
+    }
+}
@@ -126,6 +126,12 @@ public class Pig {
                 description = "How many times should attempts to download files (e.g. from Indy to repo zip) be made")
         private int downloadAttempts;
 
+        @Option(
+                names = "--downloadParallelism",
+                defaultValue = "8",
+                description = "How many files (e.g. artifacts from Indy to repo zip) should be downloaded at the same time")
+        private int downloadParallelism;
+
         @Option(
                 names = "--targetPath",
                 defaultValue = "target",
@@ -156,6 +162,7 @@ public class Pig {
             pig.validate();
 
             FileDownloadUtils.setAttempts(downloadAttempts);
+            FileDownloadUtils.setParallelism(downloadParallelism);
 
             PigContext.init(clean || isStartingPoint(), Paths.get(configDir), targetPath, releaseStorageUrl, overrides);
             PigContext.get().setTempBuild(tempBuild);
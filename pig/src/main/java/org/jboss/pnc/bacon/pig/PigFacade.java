@@ -18,6 +18,8 @@
 package org.jboss.pnc.bacon.pig;
 
 import org.jboss.pnc.bacon.common.exception.FatalException;
+import org.jboss.pnc.bacon.common.telemetry.Telemetry;
+import org.jboss.pnc.bacon.config.Config;
 import org.jboss.pnc.bacon.pig.impl.PigContext;
 import org.jboss.pnc.bacon.pig.impl.addons.AddOn;
 import org.jboss.pnc.bacon.pig.impl.addons.AddOnFactory;
@@ -31,6 +33,8 @@ import org.jboss.pnc.bacon.pig.impl.javadoc.JavadocManager;
 import org.jboss.pnc.bacon.pig.impl.license.LicenseManager;
 import org.jboss.pnc.bacon.pig.impl.nvr.NvrListGenerator;
 import org.jboss.pnc.bacon.pig.impl.out.PigReleaseOutput;
+import org.jboss.pnc.bacon.pig.impl.pnc.BrewPusher;
+import org.jboss.pnc.bacon.pig.impl.pnc.BuildLogScanner;
 import org.jboss.pnc.bacon.pig.impl.pnc.BuildInfoCollector;
 import org.jboss.pnc.bacon.pig.impl.pnc.ImportResult;
 import org.jboss.pnc.bacon.pig.impl.pnc.PncBuild;
@@ -44,36 +48,33 @@ import org.jboss.pnc.bacon.pig.impl.sources.SourcesGenerationStrategy;
 import org.jboss.pnc.bacon.pig.impl.sources.SourcesGenerator;
 import org.jboss.pnc.bacon.pig.impl.utils.AlignmentType;
 import org.jboss.pnc.bacon.pig.impl.utils.BuildFinderUtils;
+import org.jboss.pnc.bacon.pig.impl.utils.ChecksumUtils;
 import org.jboss.pnc.bacon.pig.impl.utils.FileUtils;
+import org.jboss.pnc.bacon.pig.impl.utils.HashUtils;
 import org.jboss.pnc.bacon.pig.impl.utils.SleepUtils;
+import org.jboss.pnc.bacon.pig.impl.utils.StageScheduler;
 import org.jboss.pnc.bacon.pnc.client.PncClientHelper;
-import org.jboss.pnc.bacon.pnc.common.UrlGenerator;
-import org.jboss.pnc.client.BuildClient;
-import org.jboss.pnc.client.ClientException;
 import org.jboss.pnc.client.ProductVersionClient;
 import org.jboss.pnc.client.RemoteResourceException;
-import org.jboss.pnc.dto.BuildPushResult;
 import org.jboss.pnc.dto.GroupBuild;
 import org.jboss.pnc.dto.ProductVersion;
 import org.jboss.pnc.dto.ProductVersionRef;
-import org.jboss.pnc.dto.requests.BuildPushParameters;
-import org.jboss.pnc.enums.BuildPushStatus;
 import org.jboss.pnc.enums.RebuildMode;
-import org.jboss.pnc.restclient.AdvancedBuildClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import javax.ws.rs.NotFoundException;
-
 import java.io.File;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -86,31 +87,39 @@ public final class PigFacade {
 
     private static final Logger log = LoggerFactory.getLogger(PigFacade.class);
 
+    private static final String KOJI = "koji";
+
     private PigFacade() {
     }
 
     public static ImportResult configure(boolean skipBranchCheck, boolean temporaryBuild) {
-        beforeCommand(true);
-        try (PncEntitiesImporter pncImporter = new PncEntitiesImporter()) {
-            return pncImporter.performImport(skipBranchCheck, temporaryBuild);
-        }
+        return stage("configure", () -> {
+            beforeCommand(true);
+            try (PncEntitiesImporter pncImporter = new PncEntitiesImporter()) {
+                return pncImporter.performImport(skipBranchCheck, temporaryBuild);
+            }
+        });
     }
 
     public static ImportResult readPncEntities() {
-        try (PncEntitiesImporter pncImporter = new PncEntitiesImporter()) {
-            return pncImporter.readCurrentPncEntities();
-        }
+        return stage("read-pnc-entities", () -> {
+            try (PncEntitiesImporter pncImporter = new PncEntitiesImporter()) {
+                return pncImporter.readCurrentPncEntities();
+            }
+        });
     }
 
     public static String cancel() {
-        beforeCommand(false);
-        ImportResult importResult = context().getPncImportResult();
-        if (importResult == null) {
-            importResult = readPncEntities();
-        }
+        return stage("cancel", () -> {
+            beforeCommand(false);
+            ImportResult importResult = context().getPncImportResult();
+            if (importResult == null) {
+                importResult = readPncEntities();
+            }
 
-        PncBuilder builder = new PncBuilder();
-        return builder.cancelRunningGroupBuild(importResult.getBuildGroup().getId());
+            PncBuilder builder = new PncBuilder();
+            return builder.cancelRunningGroupBuild(importResult.getBuildGroup().getId());
+        });
     }
 
     public static GroupBuildInfo build(
@@ -119,35 +128,38 @@ public final class PigFacade {
             RebuildMode rebuildMode,
             boolean wait,
             AlignmentType tempAlign) {
-        beforeCommand(false);
-        ImportResult importResult = context().getPncImportResult();
-        if (importResult == null) {
-            importResult = readPncEntities();
-        }
+        return stage("build", () -> {
+            beforeCommand(false);
+            ImportResult importResult = context().getPncImportResult();
+            if (importResult == null) {
+                importResult = readPncEntities();
+            }
 
-        boolean dryRun = false;
-        if (tempBuild) {
-            AlignmentType alignmentPreference = context().getPigConfiguration().getTemporaryBuildAlignmentPreference();
+            boolean dryRun = false;
+            if (tempBuild) {
+                AlignmentType alignmentPreference = context().getPigConfiguration()
+                        .getTemporaryBuildAlignmentPreference();
 
-            if ((alignmentPreference != null && alignmentPreference.equals(AlignmentType.PERSISTENT))
-                    || (alignmentPreference == null) && tempAlign.equals(AlignmentType.PERSISTENT)) {
-                dryRun = true;
+                if ((alignmentPreference != null && alignmentPreference.equals(AlignmentType.PERSISTENT))
+                        || (alignmentPreference == null) && tempAlign.equals(AlignmentType.PERSISTENT)) {
+                    dryRun = true;
+                }
+            } else if (context().getPigConfiguration().isDraft()) {
+                throw new FatalException("Pig config is marked as draft, you can run it only as temporary.");
             }
-        } else if (context().getPigConfiguration().isDraft()) {
-            throw new FatalException("Pig config is marked as draft, you can run it only as temporary.");
-        }
 
-        try (PncBuilder pncBuilder = new PncBuilder()) {
-            GroupBuild groupBuild = pncBuilder
-                    .build(importResult.getBuildGroup(), tempBuild, tempBuildTS, rebuildMode, wait, dryRun);
-            if (wait) {
-                try (BuildInfoCollector buildInfoCollector = new BuildInfoCollector()) {
-                    return buildInfoCollector.getBuildsFromGroupBuild(groupBuild);
+            try (PncBuilder pncBuilder = new PncBuilder()) {
+                GroupBuild groupBuild = pncBuilder
+                        .build(importResult.getBuildGroup(), tempBuild, tempBuildTS, rebuildMode, wait, dryRun);
+                if (wait) {
+                    try (BuildInfoCollector buildInfoCollector = new BuildInfoCollector()) {
+                        return buildInfoCollector.getBuildsFromGroupBuild(groupBuild);
+                    }
                 }
+                log.info("Not waiting for build to finish.");
+                return null;
             }
-            log.info("Not waiting for build to finish.");
-            return null;
-        }
+        });
     }
 
     public static GroupBuildInfo run(
@@ -185,125 +197,240 @@ public final class PigFacade {
             waitForInProgressBuild(importer.getBuildGroup().get().getId());
         }
 
-        ImportResult importResult;
-        if (skipPncUpdate) {
-            importResult = readPncEntities();
-        } else {
-            importResult = configure(skipBranchCheck, tempBuild);
-        }
-        context.setPncImportResult(importResult);
-        context.storeContext();
+        AtomicReference<ImportResult> importResult = new AtomicReference<>();
+        AtomicReference<GroupBuildInfo> groupBuildInfo = new AtomicReference<>();
+        AtomicReference<RepositoryData> repo = new AtomicReference<>();
+        AtomicReference<String> configuration = new AtomicReference<>();
+        AtomicReference<String> repoChecksum = new AtomicReference<>();
 
-        GroupBuildInfo groupBuildInfo;
-        if (skipBuilds) {
-            log.info("Skipping builds");
-            groupBuildInfo = getBuilds(importResult, tempBuild);
-        } else {
-            groupBuildInfo = build(tempBuild, tempBuildTS, rebuildMode, true, tempAlign);
-        }
+        int maxConcurrentStages = Config.instance().getActiveProfile().getPig().getMaxConcurrentStages();
+        StageScheduler scheduler = new StageScheduler(maxConcurrentStages);
+        // sources and shared content both look up the builds of many artifacts in Koji
+        scheduler.limit(KOJI, 1);
+
+        scheduler.stage("configure", () -> {
+            if (skipPncUpdate) {
+                importResult.set(readPncEntities());
+            } else {
+                importResult.set(configure(skipBranchCheck, tempBuild));
+            }
+            context.setPncImportResult(importResult.get());
+            context.storeContext();
+        });
+
+        scheduler.stage("build", () -> {
+            if (skipBuilds) {
+                log.info("Skipping builds");
+                groupBuildInfo.set(getBuilds(importResult.get(), tempBuild));
+            } else {
+                groupBuildInfo.set(build(tempBuild, tempBuildTS, rebuildMode, true, tempAlign));
+            }
 
-        context.setBuilds(groupBuildInfo.getBuilds());
-        context.storeContext();
+            context.setBuilds(groupBuildInfo.get().getBuilds());
+            context.storeContext();
+            // taken before the stages below modify the configuration
+            configuration.set(context.configurationFingerprint());
+        }).after("configure");
 
         // TODO: there seems to be a gap between the build configs assigned to the product version
         // TODO: and build group
         // TODO: It is possible that someone adds a build config to the product version but not to the build group
         // TODO: should we bother with this case?
 
-        RepositoryData repo = null;
-
-        if (repoZipPath != null || context.getPigConfiguration()
-                .getFlow()
-                .getRepositoryGeneration()
-                .getStrategy() != RepoGenerationStrategy.IGNORE) {
-            if (repoZipPath != null) {
-                repo = parseRepository(new File(repoZipPath));
+        scheduler.stage("repository", () -> {
+            if (repoZipPath != null || context.getPigConfiguration()
+                    .getFlow()
+                    .getRepositoryGeneration()
+                    .getStrategy() != RepoGenerationStrategy.IGNORE) {
+                if (repoZipPath != null) {
+                    context.clearCheckpoint("repository");
+                    repo.set(parseRepository(new File(repoZipPath)));
+                    context.setRepositoryData(repo.get());
+                    context.storeContext();
+                } else {
+                    List<String> inputs = stageInputs(
+                            configuration.get(),
+                            removeGeneratedM2Dups,
+                            strictLicenseCheck,
+                            strictDownloadSource);
+                    runCheckpointed("repository", inputs, () -> {
+                        context.setRepositoryData(
+                                generateRepo(
+                                        removeGeneratedM2Dups,
+                                        configurationDirectory,
+                                        strictLicenseCheck,
+                                        strictDownloadSource));
+                        context.storeContext();
+                    }, () -> {
+                        RepositoryData repositoryData = context.getRepositoryData();
+                        return repositoryData == null ? List.of()
+                                : List.of(repositoryData.getRepositoryPath().toAbsolutePath().toString());
+                    });
+                    repo.set(context.getRepositoryData());
+                }
             } else {
-                repo = generateRepo(
-                        removeGeneratedM2Dups,
-                        configurationDirectory,
-                        strictLicenseCheck,
-                        strictDownloadSource);
+                log.info("Skipping Repo Generation");
+                context.clearCheckpoint("repository");
             }
-            context.setRepositoryData(repo);
-            context.storeContext();
-        } else {
-            log.info("Skipping Repo Generation");
-        }
-
-        if (!(skipSources || context().getPigConfiguration()
-                .getFlow()
-                .getSourcesGeneration()
-                .getStrategy() == SourcesGenerationStrategy.IGNORE)) {
-            generateSources();
+            repoChecksum
+                    .set(repo.get() == null ? "" : ChecksumUtils.checksum(repo.get().getRepositoryPath(), "sha256"));
+            // the stages below share the target directories, they have to be ready before they start
+            beforeCommand(false);
+        }).after("build");
 
-        } else {
-            log.info("Skipping Source Generation");
-            context.getDeliverables().setSourceZipName(null);
-        }
+        scheduler.stage("sources", () -> {
+            if (!(skipSources || context.getPigConfiguration()
+                    .getFlow()
+                    .getSourcesGeneration()
+                    .getStrategy() == SourcesGenerationStrategy.IGNORE)) {
+                runCheckpointed(
+                        "sources",
+                        stageInputs(configuration.get(), repoChecksum.get()),
+                        PigFacade::generateSources,
+                        () -> releaseFiles(context.getDeliverables().getSourceZipName()));
+            } else {
+                log.info("Skipping Source Generation");
+                context.clearCheckpoint("sources");
+                context.getDeliverables().setSourceZipName(null);
+            }
+        }).after("repository").uses(KOJI);
 
-        if (!(skipJavadoc || context.getPigConfiguration()
-                .getFlow()
-                .getJavadocGeneration()
-                .getStrategy() == JavadocGenerationStrategy.IGNORE)) {
-            generateJavadoc();
-        } else {
-            log.info("Skipping Javadoc Generation");
-            context.getDeliverables().setJavadocZipName(null);
-        }
+        scheduler.stage("javadoc", () -> {
+            if (!(skipJavadoc || context.getPigConfiguration()
+                    .getFlow()
+                    .getJavadocGeneration()
+                    .getStrategy() == JavadocGenerationStrategy.IGNORE)) {
+                runCheckpointed(
+                        "javadoc",
+                        stageInputs(configuration.get()),
+                        PigFacade::generateJavadoc,
+                        () -> releaseFiles(context.getDeliverables().getJavadocZipName()));
+            } else {
+                log.info("Skipping Javadoc Generation");
+                context.clearCheckpoint("javadoc");
+                context.getDeliverables().setJavadocZipName(null);
+            }
+        }).after("repository");
 
-        if (!(skipLicenses || context.getPigConfiguration()
-                .getFlow()
-                .getLicensesGeneration()
-                .getStrategy() == LicenseGenerationStrategy.IGNORE)) {
-            context.getPigConfiguration()
+        scheduler.stage("licenses", () -> {
+            if (!(skipLicenses || context.getPigConfiguration()
                     .getFlow()
                     .getLicensesGeneration()
-                    .setLicenseExceptionsPath(licenseExceptionsPath);
-            context.getPigConfiguration().getFlow().getLicensesGeneration().setLicenseNamesPath(licenseNamesPath);
-            generateLicenses(strictLicenseCheck, licenseExceptionsPath, licenseNamesPath);
-        } else {
-            log.info("Skipping License Generation");
-            context.getDeliverables().setLicenseZipName(null);
-        }
-        if (!skipSharedContent && repo != null) {
-            prepareSharedContentAnalysis();
-        }
+                    .getStrategy() == LicenseGenerationStrategy.IGNORE)) {
+                runCheckpointed(
+                        "licenses",
+                        stageInputs(
+                                configuration.get(),
+                                repoChecksum.get(),
+                                strictLicenseCheck,
+                                HashUtils.hashFile(licenseExceptionsPath),
+                                HashUtils.hashFile(licenseNamesPath)),
+                        () -> generateLicenses(strictLicenseCheck, licenseExceptionsPath, licenseNamesPath),
+                        () -> releaseFiles(context.getDeliverables().getLicenseZipName()));
+            } else {
+                log.info("Skipping License Generation");
+                context.clearCheckpoint("licenses");
+                context.getDeliverables().setLicenseZipName(null);
+            }
+        }).after("repository");
+
+        scheduler.stage("shared-content", () -> {
+            if (!skipSharedContent && repo.get() != null) {
+                runCheckpointed(
+                        "shared-content",
+                        stageInputs(configuration.get(), repoChecksum.get()),
+                        PigFacade::prepareSharedContentAnalysis,
+                        () -> List.of(context.getExtrasPath() + context.getDeliverables().getSharedContentReport()));
+            } else {
+                context.clearCheckpoint("shared-content");
+            }
+        }).after("repository").uses(KOJI);
 
-        if (repo != null) {
-            generateDocuments();
-        } else {
-            log.info("Skipping Document Generation");
-        }
+        // the documents describe the deliverables generated by the stages above
+        scheduler.stage("documents", () -> {
+            if (repo.get() != null) {
+                generateDocuments();
+            } else {
+                log.info("Skipping Document Generation");
+            }
+        }).after("sources", "javadoc", "licenses", "shared-content");
+
+        scheduler.stage("add-ons", () -> triggerAddOns(skippedAddons)).after("documents");
 
-        triggerAddOns(skippedAddons);
+        scheduler.run();
 
         log.info("PiG run completed, the results are in: {}", Paths.get(context().getTargetPath()).toAbsolutePath());
-        return groupBuildInfo;
+        return groupBuildInfo.get();
+    }
+
+    /**
+     * Run the stage of `pig run`, unless it completed before with the same inputs and its outputs still exist
+     *
+     * @param stage name of the stage
+     * @param inputs everything the outputs of the stage depend on, see {@link #stageInputs(String, Object...)}
+     * @param action generates the outputs
+     * @param outputs absolute paths of the generated files, called after the action
+     */
+    private static void runCheckpointed(
+            String stage,
+            List<String> inputs,
+            Runnable action,
+            Supplier<List<String>> outputs) {
+        PigContext context = context();
+        String fingerprint = HashUtils.hashStrings(inputs);
+        if (context.isCheckpointed(stage, fingerprint)) {
+            log.info("Skipping {}, its inputs did not change since it completed last time", stage);
+            return;
+        }
+        // the outputs of the previous run are overwritten, they cannot be reused if the stage fails now
+        context.clearCheckpoint(stage);
+        action.run();
+        context.checkpoint(
+                stage,
+                fingerprint,
+                outputs.get().stream().filter(output -> new File(output).exists()).collect(Collectors.toList()));
+    }
+
+    /**
+     * @param configuration fingerprint of the configuration, see {@link PigContext#configurationFingerprint()}
+     * @return the configuration, the builds and the given stage specific values
+     */
+    private static List<String> stageInputs(String configuration, Object... stageSpecific) {
+        List<String> inputs = new ArrayList<>();
+        inputs.add(configuration);
+        new TreeMap<>(context().getBuilds()).forEach((name, build) -> inputs.add(name + "=" + build.getId()));
+        Arrays.stream(stageSpecific).map(String::valueOf).forEach(inputs::add);
+        return inputs;
+    }
+
+    private static List<String> releaseFiles(String name) {
+        return name == null ? List.of() : List.of(context().getReleasePath() + name);
     }
 
     public static PigReleaseOutput release() {
-        beforeCommand(false);
-        abortIfBuildDataAbsentFromContext();
-        pushToBrew(false);
+        return stage("release", () -> {
+            beforeCommand(false);
+            abortIfBuildDataAbsentFromContext();
+            pushToBrew(false);
 
-        // if repository data not present, skip generation of nvr list and upload script
-        if (context().getRepositoryData() == null) {
-            log.info("Skipping generation of nvr list and upload script since repository has not been generated");
-            return new PigReleaseOutput("", "", "");
-        }
+            // if repository data not present, skip generation of nvr list and upload script
+            if (context().getRepositoryData() == null) {
+                log.info("Skipping generation of nvr list and upload script since repository has not been generated");
+                return new PigReleaseOutput("", "", "");
+            }
 
-        generateNvrList();
+            generateNvrList();
 
-        // generate upload to candidates script
-        ScriptGenerator scriptGenerator = new ScriptGenerator(context().getPigConfiguration());
-        scriptGenerator.generateReleaseScripts(Paths.get(context().getTargetPath()));
+            // generate upload to candidates script
+            ScriptGenerator scriptGenerator = new ScriptGenerator(context().getPigConfiguration());
+            scriptGenerator.generateReleaseScripts(Paths.get(context().getTargetPath()));
 
-        PigContext context = PigContext.get();
-        return new PigReleaseOutput(
-                context.getReleaseDirName(),
-                context.getReleasePath(),
-                context.getDeliverables().getNvrListName());
+            PigContext context = PigContext.get();
+            return new PigReleaseOutput(
+                    context.getReleaseDirName(),
+                    context.getReleasePath(),
+                    context.getDeliverables().getNvrListName());
+        });
     }
 
     /**
@@ -329,72 +456,63 @@ public final class PigFacade {
         abortIfBuildDataAbsentFromContext();
         Map<String, PncBuild> builds = PigContext.get().getBuilds();
         String tagPrefix = getBrewTag(context().getPncImportResult().getVersion());
-        List<PncBuild> buildsToPush = getBuildsToPush(builds);
-        if (log.isInfoEnabled()) {
-            log.info(
-                    "Pushing the following builds to brew: {}",
-                    buildsToPush.stream().map(PncBuild::getId).collect(Collectors.toList()));
-        }
-        for (PncBuild build : buildsToPush) {
-            BuildPushParameters request = BuildPushParameters.builder().tagPrefix(tagPrefix).reimport(reimport).build();
-
-            // TODO: customize the timeout
-            try (AdvancedBuildClient pushingClient = new AdvancedBuildClient(PncClientHelper.getPncConfiguration())) {
-                BuildPushResult pushResult = pushingClient
-                        .executeBrewPush(build.getId(), request, 15L, TimeUnit.MINUTES);
-                if (pushResult.getStatus() != BuildPushStatus.SUCCESS) {
-                    throw new RuntimeException(
-                            "Failed to push build " + build.getId() + " to brew. Push result: " + pushResult);
-                }
-                log.info("{} pushed to brew ( {} ) ", build.getId(), UrlGenerator.generateBuildUrl(build.getId()));
-            } catch (RemoteResourceException e) {
-                throw new RuntimeException(
-                        "Failed to push build " + build.getId() + " to brew ("
-                                + UrlGenerator.generateBuildUrl(build.getId()) + ")",
-                        e);
+        int maxConcurrentPushes = Config.instance().getActiveProfile().getPig().getMaxConcurrentBrewPushes();
+        try (BrewPusher brewPusher = new BrewPusher(maxConcurrentPushes)) {
+            List<PncBuild> buildsToPush = brewPusher.getBuildsToPush(builds.values());
+            if (log.isInfoEnabled()) {
+                log.info(
+                        "Pushing the following builds to brew: {}",
+                        buildsToPush.stream().map(PncBuild::getId).collect(Collectors.toList()));
             }
+            brewPusher.push(buildsToPush, tagPrefix, reimport);
         }
     }
 
     public static void generateDocuments() {
-        beforeCommand(false);
-        abortIfContextDataAbsent();
-        DocumentGenerator docGenerator = new DocumentGenerator(
-                context().getPigConfiguration(),
-                context().getReleasePath(),
-                context().getExtrasPath(),
-                context().getDeliverables());
-        docGenerator.generateDocuments(context().getBuilds(), context().getRepositoryData());
-    }
-
-    public static void prepareSharedContentAnalysis() {
-        beforeCommand(false);
-        abortIfContextDataAbsent();
-        try {
+        stage("documents", () -> {
+            beforeCommand(false);
+            abortIfContextDataAbsent();
             DocumentGenerator docGenerator = new DocumentGenerator(
                     context().getPigConfiguration(),
                     context().getReleasePath(),
                     context().getExtrasPath(),
                     context().getDeliverables());
-            docGenerator.generateSharedContentReport(context().getRepositoryData(), context().getBuilds());
-        } catch (Exception any) {
-            throw new RuntimeException("Failed to generate shared content request doc", any);
-        }
+            docGenerator.generateDocuments(context().getBuilds(), context().getRepositoryData());
+        });
+    }
+
+    public static void prepareSharedContentAnalysis() {
+        stage("shared-content", () -> {
+            beforeCommand(false);
+            abortIfContextDataAbsent();
+            try {
+                DocumentGenerator docGenerator = new DocumentGenerator(
+                        context().getPigConfiguration(),
+                        context().getReleasePath(),
+                        context().getExtrasPath(),
+                        context().getDeliverables());
+                docGenerator.generateSharedContentReport(context().getRepositoryData(), context().getBuilds());
+            } catch (Exception any) {
+                throw new RuntimeException("Failed to generate shared content request doc", any);
+            }
+        });
     }
 
     public static void generateSources() {
-        beforeCommand(false);
-        abortIfContextDataAbsent();
-        PigContext context = context();
-        context.getDeliverables().setSourceZipName(context.getPrefix() + "-src.zip");
-        PigConfiguration pigConfiguration = context.getPigConfiguration();
-        Map<String, PncBuild> builds = context.getBuilds();
-        RepositoryData repo = context.getRepositoryData();
-        SourcesGenerator sourcesGenerator = new SourcesGenerator(
-                pigConfiguration.getFlow().getSourcesGeneration(),
-                pigConfiguration.getTopLevelDirectoryPrefix() + "src",
-                context.getReleasePath() + context.getDeliverables().getSourceZipName());
-        sourcesGenerator.generateSources(builds, repo);
+        stage("sources", () -> {
+            beforeCommand(false);
+            abortIfContextDataAbsent();
+            PigContext context = context();
+            context.getDeliverables().setSourceZipName(context.getPrefix() + "-src.zip");
+            PigConfiguration pigConfiguration = context.getPigConfiguration();
+            Map<String, PncBuild> builds = context.getBuilds();
+            RepositoryData repo = context.getRepositoryData();
+            SourcesGenerator sourcesGenerator = new SourcesGenerator(
+                    pigConfiguration.getFlow().getSourcesGeneration(),
+                    pigConfiguration.getTopLevelDirectoryPrefix() + "src",
+                    context.getReleasePath() + context.getDeliverables().getSourceZipName());
+            sourcesGenerator.generateSources(builds, repo);
+        });
     }
 
     private static PigContext context() {
@@ -416,27 +534,6 @@ public final class PigFacade {
         }
     }
 
-    private static List<PncBuild> getBuildsToPush(Map<String, PncBuild> builds) {
-        return builds.values().stream().filter(PigFacade::notPushedToBrew).collect(Collectors.toList());
-    }
-
-    private static boolean notPushedToBrew(PncBuild build) {
-        try (BuildClient buildClient = new BuildClient(PncClientHelper.getPncConfiguration())) { // todo factory or sth
-            BuildPushResult pushResult;
-            try {
-                pushResult = buildClient.getPushResult(build.getId());
-            } catch (ClientException e) {
-                // Didn't find results with 404 exception, therefore it's not pushed
-                if (e.getCause().getClass().isAssignableFrom(NotFoundException.class)) {
-                    return true;
-                } else {
-                    throw new RuntimeException("Failed to get push info of build " + build.getId(), e);
-                }
-            }
-            return pushResult == null || pushResult.getStatus() != BuildPushStatus.SUCCESS;
-        }
-    }
-
     private static RepositoryData parseRepository(File repositoryZipPath) {
         File extracted = FileUtils.mkTempDir("extractedRepo");
 
@@ -450,22 +547,34 @@ public final class PigFacade {
     }
 
     public static void triggerAddOns(String[] skippedAddons) {
+        stage("add-ons", () -> {
+            List<String> skippedAddonsList = Arrays.asList(skippedAddons);
 
-        List<String> skippedAddonsList = Arrays.asList(skippedAddons);
+            beforeCommand(false);
+            abortIfBuildDataAbsentFromContext();
+            List<AddOn> addOns = AddOnFactory
+                    .listAddOns(
+                            context().getPigConfiguration(),
+                            context().getBuilds(),
+                            context().getReleasePath(),
+                            context().getExtrasPath(),
+                            context().getDeliverables())
+                    .stream()
+                    .filter(addOn -> !skippedAddonsList.contains(addOn.getName()))
+                    .filter(AddOn::shouldRun)
+                    .collect(Collectors.toList());
 
-        beforeCommand(false);
-        abortIfBuildDataAbsentFromContext();
-        AddOnFactory
-                .listAddOns(
-                        context().getPigConfiguration(),
-                        context().getBuilds(),
-                        context().getReleasePath(),
-                        context().getExtrasPath(),
-                        context().getDeliverables())
-                .stream()
-                .filter(addOn -> !skippedAddonsList.contains(addOn.getName()))
-                .filter(AddOn::shouldRun)
-                .forEach(AddOn::trigger);
+            try {
+                // a single pass over each build log for all the add-ons
+                BuildLogScanner logScanner = new BuildLogScanner();
+                addOns.forEach(addOn -> addOn.registerLogVisitors(logScanner));
+                logScanner.scan();
+
+                addOns.forEach(AddOn::trigger);
+            } finally {
+                BuildLogScanner.deleteSpool();
+            }
+        });
     }
 
     /**
@@ -514,30 +623,43 @@ public final class PigFacade {
             Path configurationDirectory,
             boolean strictLicenseCheck,
             boolean strictSourceDownload) {
-        beforeCommand(false);
-        abortIfBuildDataAbsentFromContext();
-        PigContext context = context();
-        try (RepoManager repoManager = new RepoManager(
-                context.getPigConfiguration(),
-                context.getReleasePath(),
-                context.getDeliverables(),
-                context.getBuilds(),
-                configurationDirectory,
-                removeGeneratedM2Dups,
-                strictLicenseCheck,
-                strictSourceDownload)) {
-
-            RepositoryData repositoryData = repoManager.prepare();
-
-            if (repositoryData != null) {
-                File repoZip = repositoryData.getRepositoryPath().toAbsolutePath().toFile();
-
-                context.setChecksums(BuildFinderUtils.findChecksums(repoZip));
-                context.storeContext();
+        return stage("repository", () -> {
+            beforeCommand(false);
+            abortIfBuildDataAbsentFromContext();
+            PigContext context = context();
+            try (RepoManager repoManager = new RepoManager(
+                    context.getPigConfiguration(),
+                    context.getReleasePath(),
+                    context.getDeliverables(),
+                    context.getBuilds(),
+                    configurationDirectory,
+                    removeGeneratedM2Dups,
+                    strictLicenseCheck,
+                    strictSourceDownload)) {
+
+                RepositoryData repositoryData = repoManager.prepare();
+
+                if (repositoryData != null) {
+                    File repoZip = repositoryData.getRepositoryPath().toAbsolutePath().toFile();
+
+                    context.setChecksums(BuildFinderUtils.findChecksums(repoZip));
+                    context.storeContext();
+                }
+
+                return repositoryData;
             }
+        });
+    }
 
-            return repositoryData;
-        }
+    /**
+     * Run the command as a {@link Telemetry} operation named after the stage, e.g. {@code pig.build}
+     */
+    private static <T> T stage(String name, Supplier<T> command) {
+        return Telemetry.call("pig." + name, null, operation -> command.get());
+    }
+
+    private static void stage(String name, Runnable command) {
+        Telemetry.run("pig." + name, null, operation -> command.run());
     }
 
     private static void beforeCommand(boolean requireStorageUrl) {
@@ -562,28 +684,40 @@ public final class PigFacade {
     }
 
     public static void generateLicenses(boolean strict, String licenseExceptionsPath, String licenseNamesPath) {
-        beforeCommand(false);
-        abortIfContextDataAbsent();
-        PigContext context = context();
-        context.getDeliverables().setLicenseZipName(context.getPrefix() + "-license.zip");
-        context.getPigConfiguration().getFlow().getLicensesGeneration().setLicenseExceptionsPath(licenseExceptionsPath);
-        context.getPigConfiguration().getFlow().getLicensesGeneration().setLicenseNamesPath(licenseNamesPath);
-        PigConfiguration pigConfiguration = context.getPigConfiguration();
-        RepositoryData repo = context.getRepositoryData();
-
-        Map<String, PncBuild> builds = context.getBuilds();
-        new LicenseManager(pigConfiguration, context.getReleasePath(), strict, context.getDeliverables(), builds, repo)
-                .prepare();
+        stage("licenses", () -> {
+            beforeCommand(false);
+            abortIfContextDataAbsent();
+            PigContext context = context();
+            context.getDeliverables().setLicenseZipName(context.getPrefix() + "-license.zip");
+            context.getPigConfiguration()
+                    .getFlow()
+                    .getLicensesGeneration()
+                    .setLicenseExceptionsPath(licenseExceptionsPath);
+            context.getPigConfiguration().getFlow().getLicensesGeneration().setLicenseNamesPath(licenseNamesPath);
+            PigConfiguration pigConfiguration = context.getPigConfiguration();
+            RepositoryData repo = context.getRepositoryData();
+
+            Map<String, PncBuild> builds = context.getBuilds();
+            new LicenseManager(
+                    pigConfiguration,
+                    context.getReleasePath(),
+                    strict,
+                    context.getDeliverables(),
+                    builds,
+                    repo).prepare();
+        });
     }
 
     public static void generateJavadoc() {
-        beforeCommand(false);
-        abortIfContextDataAbsent();
-        PigContext context = context();
-        context.getDeliverables().setJavadocZipName(context.getPrefix() + "-javadoc.zip");
-        PigConfiguration pigConfiguration = context.getPigConfiguration();
-        Map<String, PncBuild> builds = context.getBuilds();
-        new JavadocManager(pigConfiguration, context.getReleasePath(), context.getDeliverables(), builds).prepare();
+        stage("javadoc", () -> {
+            beforeCommand(false);
+            abortIfContextDataAbsent();
+            PigContext context = context();
+            context.getDeliverables().setJavadocZipName(context.getPrefix() + "-javadoc.zip");
+            PigConfiguration pigConfiguration = context.getPigConfiguration();
+            Map<String, PncBuild> builds = context.getBuilds();
+            new JavadocManager(pigConfiguration, context.getReleasePath(), context.getDeliverables(), builds).prepare();
+        });
     }
 
     /**
@@ -41,15 +41,23 @@ import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.apache.commons.lang.StringUtils.isEmpty;
 import static org.jboss.pnc.bacon.common.Constant.PIG_CONTEXT_DIR;
 import static org.jboss.pnc.bacon.pig.impl.utils.HashUtils.hashDirectory;
+import static org.jboss.pnc.bacon.pig.impl.utils.HashUtils.hashStrings;
 
 /**
- * TODO: consider saving the latest reached state to not repeat the steps already performed
+ * The state of PiG, stored between the commands of a release.
+ * <p>
+ * Stages of `pig run` that complete are recorded as {@link StageCheckpoint checkpoints}. A stage is not repeated by the
+ * next run if its inputs did not change and its outputs are still in place.
  *
  * @author Michal Szynkiewicz, michal.l.szynkiewicz@gmail.com <br>
  *         Date: 4/1/19
@@ -89,6 +97,8 @@ public class PigContext {
 
     private Map<String, Collection<String>> checksums;
 
+    private Map<String, StageCheckpoint> checkpoints = new HashMap<>();
+
     public void initConfig(Path configDir, String targetPath, String releaseStorageUrl, Map<String, String> overrides) {
         File configFile = configDir.resolve("build-config.yaml").toFile();
         if (configFile.exists()) {
@@ -113,7 +123,7 @@ public class PigContext {
         this.targetPath = targetPath;
     }
 
-    public void initFullVersion(boolean requireStorageUrl) {
+    public synchronized void initFullVersion(boolean requireStorageUrl) {
         if (fullVersion != null) {
             return;
         }
@@ -146,7 +156,7 @@ public class PigContext {
         setFullVersion(version + "." + milestone);
     }
 
-    public void configureTargetDirectories() {
+    public synchronized void configureTargetDirectories() {
         if (deliverables == null) {
             String suffix = "";
             // for e.g, zip will become <releaseFile>-<fullVersion>-<suffix>-maven-repository.zip
@@ -166,24 +176,70 @@ public class PigContext {
 
         String productPrefix = this.pigConfiguration.getProduct().prefix();
         releaseDirName = productPrefix + "-" + fullVersion;
-        releasePath = targetPath + File.separator + releaseDirName + File.separator;
 
-        File releaseDirectory = Paths.get(releasePath).toFile();
+        // the paths are read by the stages running concurrently, they must never be seen half-computed
+        File releaseDirectory = Paths.get(targetPath, releaseDirName).toFile();
         if (!releaseDirectory.isDirectory()) {
             releaseDirectory.mkdirs();
         }
-        releasePath = releaseDirectory.getAbsolutePath();
-        releasePath = releasePath.endsWith(File.separator) ? releasePath : releasePath + File.separator;
+        String release = releaseDirectory.getAbsolutePath();
+        releasePath = release.endsWith(File.separator) ? release : release + File.separator;
 
         File extrasDirectory = Paths.get(releasePath, "extras").toFile();
         if (!extrasDirectory.isDirectory()) {
             extrasDirectory.mkdirs();
         }
-        extrasPath = extrasDirectory.getAbsolutePath();
-        extrasPath = extrasPath.endsWith(File.separator) ? extrasPath : extrasPath + File.separator;
+        String extras = extrasDirectory.getAbsolutePath();
+        extrasPath = extras.endsWith(File.separator) ? extras : extras + File.separator;
+    }
+
+    /**
+     * Hash of the configuration, including the overrides of its values
+     */
+    public synchronized String configurationFingerprint() {
+        try {
+            return hashStrings(List.of(jsonMapper.writeValueAsString(pigConfiguration), String.valueOf(fullVersion)));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to serialize the PiG configuration", e);
+        }
+    }
+
+    /**
+     * @param stage name of the stage
+     * @param fingerprint hash of the current inputs of the stage
+     * @return true if the stage completed with the same inputs and all its outputs still exist
+     */
+    public synchronized boolean isCheckpointed(String stage, String fingerprint) {
+        StageCheckpoint checkpoint = checkpoints == null ? null : checkpoints.get(stage);
+        return checkpoint != null && fingerprint.equals(checkpoint.getFingerprint())
+                && checkpoint.getOutputs().stream().allMatch(output -> Files.exists(Paths.get(output)));
+    }
+
+    /**
+     * Record the stage as completed and store the context
+     *
+     * @param stage name of the stage
+     * @param fingerprint hash of the inputs the stage completed with
+     * @param outputs absolute paths of the files generated by the stage
+     */
+    public synchronized void checkpoint(String stage, String fingerprint, Collection<String> outputs) {
+        if (checkpoints == null) {
+            checkpoints = new HashMap<>();
+        }
+        checkpoints.put(stage, new StageCheckpoint(fingerprint, new ArrayList<>(outputs), Instant.now()));
+        storeContext();
+    }
+
+    /**
+     * Forget that the stage completed, e.g. before it is repeated. The context is stored if the stage was checkpointed.
+     */
+    public synchronized void clearCheckpoint(String stage) {
+        if (checkpoints != null && checkpoints.remove(stage) != null) {
+            storeContext();
+        }
     }
 
-    public void storeContext() {
+    public synchronized void storeContext() {
         try (OutputStream output = new FileOutputStream(contextLocation)) {
             jsonMapper.writerFor(PigContext.class).writeValue(output, this);
         } catch (IOException e) {
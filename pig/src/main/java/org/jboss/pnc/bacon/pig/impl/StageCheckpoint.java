@@ -0,0 +1,45 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.bacon.pig.impl;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A stage of a PiG run that completed, stored in the {@link PigContext}
+ */
+@Data
+@AllArgsConstructor
+public class StageCheckpoint {
+    /**
+     * Hash of everything the stage output depends on
+     */
+    private String fingerprint;
+    /**
+     * Absolute paths of the files generated by the stage
+     */
+    private List<String> outputs;
+    private Instant completed;
+
+    @Deprecated // for jackson only
+    public StageCheckpoint() {
+    }
+}
@@ -18,6 +18,7 @@
 package org.jboss.pnc.bacon.pig.impl.addons;
 
 import org.jboss.pnc.bacon.pig.impl.config.PigConfiguration;
+import org.jboss.pnc.bacon.pig.impl.pnc.BuildLogScanner;
 import org.jboss.pnc.bacon.pig.impl.pnc.PncBuild;
 
 import java.util.Map;
@@ -53,5 +54,14 @@ public abstract class AddOn {
 
     public abstract String getName();
 
+    /**
+     * Register visitors for the build logs the add-on analyzes. The logs are scanned once for all the add-ons of a run,
+     * after all of them registered their visitors and before any of them is triggered.
+     *
+     * @param scanner scanner shared by the add-ons of the run
+     */
+    public void registerLogVisitors(BuildLogScanner scanner) {
+    }
+
     public abstract void trigger();
 }
@@ -16,6 +16,7 @@ package org.jboss.pnc.bacon.pig.impl.addons.camel;
 
 import org.jboss.pnc.bacon.pig.impl.addons.AddOn;
 import org.jboss.pnc.bacon.pig.impl.config.PigConfiguration;
+import org.jboss.pnc.bacon.pig.impl.pnc.BuildLogScanner;
 import org.jboss.pnc.bacon.pig.impl.pnc.PncBuild;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -24,6 +25,7 @@ import java.io.PrintWriter;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -42,6 +44,8 @@ public class CamelRuntimeDependenciesToAlignTree extends AddOn {
 
     private static final Logger log = LoggerFactory.getLogger(CamelRuntimeDependenciesToAlignTree.class);
 
+    private final Map<PncBuild, TreeParser> treeParsers = new LinkedHashMap<>();
+
     public CamelRuntimeDependenciesToAlignTree(
             PigConfiguration pigConfiguration,
             Map<String, PncBuild> builds,
@@ -71,6 +75,25 @@ public class CamelRuntimeDependenciesToAlignTree extends AddOn {
         return dependency;
     }
 
+    @Override
+    public void registerLogVisitors(BuildLogScanner scanner) {
+        for (PncBuild build : builds.values()) {
+            TreeParser treeParser = new TreeParser();
+            treeParsers.put(build, treeParser);
+            scanner.register(build, treeParser);
+        }
+    }
+
+    private TreeParser treeParser(PncBuild build) {
+        TreeParser treeParser = treeParsers.get(build);
+        if (treeParser == null) {
+            // triggered without a scan of the logs of the run
+            treeParser = new TreeParser();
+            BuildLogScanner.scan(build, List.of(treeParser));
+        }
+        return treeParser;
+    }
+
     @Override
     public void trigger() {
         String filename = extrasPath + "DependenciesToAlignTree.txt";
@@ -82,10 +105,6 @@ public class CamelRuntimeDependenciesToAlignTree extends AddOn {
                         buildFromSourceStatsFileName,
                         StandardCharsets.UTF_8.name())) {
             for (PncBuild build : builds.values()) {
-                // Make a unique list so we don't get multiples from
-                // sub-module's dependency tree list
-                List<String> bcLog = build.getBuildLog();
-
                 file.print("-------- [" + build.getId() + "] " + build.getName() + " --------\n");
                 buildFromSourceStatsFile.print("-------- [" + build.getId() + "] " + build.getName() + " --------\n");
 
@@ -94,8 +113,8 @@ public class CamelRuntimeDependenciesToAlignTree extends AddOn {
                         new String(extrasPath + build.getName() + "-camelProjectDependencies.txt"),
                         StandardCharsets.UTF_8.name());
 
-                TreeParser treeparser = new TreeParser();
-                ArrayList<TreeNode> al = treeparser.parse(bcLog);
+                TreeParser treeparser = treeParser(build);
+                ArrayList<TreeNode> al = treeparser.getTrees();
 
                 ArrayList<String> dependencies = treeparser.collectFirstLevelDependencies(al);
                 Set<String> uniqueDependencies = new HashSet<String>(dependencies);
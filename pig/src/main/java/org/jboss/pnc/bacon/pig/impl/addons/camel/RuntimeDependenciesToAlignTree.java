@@ -16,6 +16,7 @@ package org.jboss.pnc.bacon.pig.impl.addons.camel;
 
 import org.jboss.pnc.bacon.pig.impl.addons.AddOn;
 import org.jboss.pnc.bacon.pig.impl.config.PigConfiguration;
+import org.jboss.pnc.bacon.pig.impl.pnc.BuildLogScanner;
 import org.jboss.pnc.bacon.pig.impl.pnc.PncBuild;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -26,8 +27,11 @@ import java.io.UnsupportedEncodingException;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -42,6 +46,8 @@ public class RuntimeDependenciesToAlignTree extends AddOn {
 
     private static final Logger log = LoggerFactory.getLogger(RuntimeDependenciesToAlignTree.class);
 
+    private final Map<PncBuild, BuildDependencies> dependenciesByBuild = new LinkedHashMap<>();
+
     public RuntimeDependenciesToAlignTree(
             PigConfiguration pigConfiguration,
             Map<String, PncBuild> builds,
@@ -55,13 +61,34 @@ public class RuntimeDependenciesToAlignTree extends AddOn {
         return "runtimeDependenciesToAlignTree";
     }
 
-    private String parseDependency(String line) {
+    private static String parseDependency(String line) {
         String dependency = line.replace(":runtime", "").replace(":compile", "");
         dependency = dependency.replace("[INFO] ", "");
         dependency = dependency.replaceFirst("([+-|\\s]+\\s+)", "");
         return dependency;
     }
 
+    @Override
+    public void registerLogVisitors(BuildLogScanner scanner) {
+        for (PncBuild build : builds.values()) {
+            BuildDependencies dependencies = new BuildDependencies();
+            dependenciesByBuild.put(build, dependencies);
+            scanner.register(build, dependencies::collectDependency);
+            scanner.register(build, dependencies::trackParentage);
+        }
+    }
+
+    private BuildDependencies dependencies(PncBuild build) {
+        BuildDependencies dependencies = dependenciesByBuild.get(build);
+        if (dependencies == null) {
+            // triggered without a scan of the logs of the run
+            BuildDependencies scanned = new BuildDependencies();
+            BuildLogScanner.scan(build, List.of(scanned::collectDependency, scanned::trackParentage));
+            dependencies = scanned;
+        }
+        return dependencies;
+    }
+
     @Override
     public void trigger() {
         String filename = extrasPath + "DependenciesToAlignTree.txt";
@@ -72,9 +99,7 @@ public class RuntimeDependenciesToAlignTree extends AddOn {
                         buildFromSourceStatsFileName,
                         StandardCharsets.UTF_8.name())) {
             for (PncBuild build : builds.values()) {
-                // Make a unique list so we don't get multiples from
-                // sub-module's dependency tree list
-                List<String> bcLog = build.getBuildLog().stream().distinct().collect(Collectors.toList());
+                BuildDependencies dependencies = dependencies(build);
 
                 file.print("-------- [" + build.getId() + "] " + build.getName() + " --------\n");
                 buildFromSourceStatsFile.print("-------- [" + build.getId() + "] " + build.getName() + " --------\n");
@@ -84,7 +109,7 @@ public class RuntimeDependenciesToAlignTree extends AddOn {
                 int allDependencyCount = 0;
                 int allRuntimeCount = 0;
                 int allCompileCount = 0;
-                for (String line : bcLog) {
+                for (String line : dependencies.dependencyLines) {
                     line.trim();
                     if ((line.endsWith(":compile")) || (line.endsWith(":runtime"))) {
                         if (line.endsWith(":runtime")) {
@@ -118,7 +143,7 @@ public class RuntimeDependenciesToAlignTree extends AddOn {
                 int productizedCount = 0;
                 int runtimeProductizedCount = 0;
                 int compileProductizedCount = 0;
-                for (String line : bcLog) {
+                for (String line : dependencies.dependencyLines) {
                     line.trim();
                     if (line.contains("redhat-")) {
                         if (line.endsWith(":runtime")) {
@@ -153,37 +178,9 @@ public class RuntimeDependenciesToAlignTree extends AddOn {
                 buildFromSourceStatsFile
                         .print("Build from source percentage (compile) : " + String.format("%.2f", pct * 100) + "%\n");
 
-                // Build a list of parentage
-                String currentParent = null;
-                HashMap<String, String> parentage = new HashMap<String, String>();
-                List<String> parentLog = build.getBuildLog().stream().collect(Collectors.toList());
-                for (String parentLine : parentLog) {
-                    if ((parentLine.startsWith("[INFO] --- maven-dependency-plugin:")
-                            && (parentLine.contains(":tree")))) {
-                        // We have a parent line
-                        int startIndex = parentLine.indexOf("@");
-                        currentParent = parentLine.substring(startIndex + 2, (parentLine.length() - 4));
-                    }
-
-                    if ((currentParent != null)
-                            && ((parentLine.endsWith(":compile")) || (parentLine.endsWith(":runtime")))) {
-                        String dep = parseDependency(parentLine);
-                        if (parentage.containsKey(dep)) {
-                            String curValue = parentage.get(dep);
-                            parentage.replace(dep, curValue + "," + currentParent);
-                        } else {
-                            parentage.put(dep, currentParent);
-                        }
-                    }
-
-                    if (parentLine.stripTrailing().equals("[INFO] ")) {
-                        currentParent = null;
-                    }
-                }
-
                 for (String bcLine : distinctDeps) {
                     if (!bcLine.contains("org.apache.camel") && !bcLine.contains("redhat-")) {
-                        file.print(bcLine + ", parent=" + parentage.get(bcLine) + "\n");
+                        file.print(bcLine + ", parent=" + dependencies.parentage.get(bcLine) + "\n");
                     }
                 }
                 file.print("\n");
@@ -196,4 +193,47 @@ public class RuntimeDependenciesToAlignTree extends AddOn {
             log.error("Error while creating RuntimeDependenciesToAlignTree report", e);
         }
     }
+
+    /**
+     * The dependencies found in the {@code mvn dependency:tree} output of a build log, fed to it line by line
+     */
+    private static final class BuildDependencies {
+        /**
+         * Distinct dependency lines, the trees of the sub-modules repeat them
+         */
+        private final Set<String> dependencyLines = new LinkedHashSet<>();
+        /**
+         * Modules whose tree lists the dependency, comma separated, by dependency
+         */
+        private final Map<String, String> parentage = new HashMap<>();
+        private String currentParent;
+
+        private void collectDependency(String line) {
+            if ((line.endsWith(":compile")) || (line.endsWith(":runtime"))) {
+                dependencyLines.add(line);
+            }
+        }
+
+        private void trackParentage(String parentLine) {
+            if ((parentLine.startsWith("[INFO] --- maven-dependency-plugin:") && (parentLine.contains(":tree")))) {
+                // We have a parent line
+                int startIndex = parentLine.indexOf("@");
+                currentParent = parentLine.substring(startIndex + 2, (parentLine.length() - 4));
+            }
+
+            if ((currentParent != null) && ((parentLine.endsWith(":compile")) || (parentLine.endsWith(":runtime")))) {
+                String dep = parseDependency(parentLine);
+                if (parentage.containsKey(dep)) {
+                    String curValue = parentage.get(dep);
+                    parentage.replace(dep, curValue + "," + currentParent);
+                } else {
+                    parentage.put(dep, currentParent);
+                }
+            }
+
+            if (parentLine.stripTrailing().equals("[INFO] ")) {
+                currentParent = null;
+            }
+        }
+    }
 }
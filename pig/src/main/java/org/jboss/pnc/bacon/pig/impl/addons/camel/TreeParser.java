@@ -24,6 +24,7 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -38,15 +39,24 @@ import java.util.regex.Pattern;
  *         that are productized and the number of direct dependencies of org.apache.camel that still need to be.
  *
  *         TreeParser is used by CamelRuntimeDependenciesToAlignTree to produce a log with percentages, but it can also
- *         be used on a PNC build log that has been downloaded.
+ *         be used on a PNC build log that has been downloaded. The log is fed to it line by line, see
+ *         {@link #accept(String)}.
  *
  *         Example : % java -cp cli/target/bacon.jar org.jboss.pnc.bacon.pig.impl.addons.camel.TreeParser
  *         A3PHDS4K2MYAG_jkube-1.13.1_SUCCESS.txt
  *
  */
-public class TreeParser {
+public class TreeParser implements Consumer<String> {
     private static final Logger log = LoggerFactory.getLogger(TreeParser.class);
 
+    private final ArrayList<TreeNode> treeList = new ArrayList<>();
+    private TreeNode parent = new TreeNode();
+    private boolean rootNode = false;
+    private boolean parsing = false;
+    private TreeNode current = new TreeNode();
+    private TreeNode currentParent = current;
+    private int currentindex = 0;
+
     private int indexOfPattern(String str, String regex) {
         Pattern pattern = Pattern.compile(regex);
         Matcher matcher = pattern.matcher(str);
@@ -68,93 +78,92 @@ public class TreeParser {
             throw new RuntimeException("Could not find file " + fileName);
         }
 
-        ArrayList<String> results = new ArrayList<String>();
-        BufferedReader fr = null;
-        fr = new BufferedReader(new FileReader(parseFile));
-        String line = null;
-        while ((line = fr.readLine()) != null) {
-            results.add(line);
+        TreeParser parser = new TreeParser();
+        try (BufferedReader fr = new BufferedReader(new FileReader(parseFile))) {
+            String line;
+            while ((line = fr.readLine()) != null) {
+                parser.accept(line);
+            }
         }
-        fr.close();
-        return parse(results);
+        return parser.getTrees();
     }
 
     public ArrayList parse(List<String> fileContents) throws Exception {
-        ArrayList treeList = new ArrayList();
+        TreeParser parser = new TreeParser();
+        fileContents.forEach(parser);
+        return parser.getTrees();
+    }
 
-        TreeNode parent = new TreeNode();
-        try {
-            boolean rootNode = false;
-            boolean parsing = false;
-            TreeNode current = new TreeNode();
-            TreeNode currentParent = current;
-            int currentindex = 0;
-            for (String line : fileContents) {
-
-                if (line.contains("Downloading") || (line.contains("Downloaded"))) {
-                    continue;
-                }
+    /**
+     * Parse the next line of the log, the dependency trees found so far are returned by {@link #getTrees()}
+     */
+    @Override
+    public void accept(String line) {
+        if (line.contains("Downloading") || (line.contains("Downloaded"))) {
+            return;
+        }
 
-                if (line.contains("maven-dependency-plugin:") && line.contains("tree")) {
-                    rootNode = true;
-                    parsing = true;
-                    continue;
-                }
+        if (line.contains("maven-dependency-plugin:") && line.contains("tree")) {
+            rootNode = true;
+            parsing = true;
+            return;
+        }
 
-                if (line.trim().endsWith("[INFO]")) {
-                    if (parsing) {
-                        treeList.add(parent);
-                        parent = new TreeNode();
-                        current = new TreeNode();
-                        currentParent = current;
-                        currentindex = 0;
-                        parsing = false;
-                        continue;
-                    }
-                }
+        if (line.trim().endsWith("[INFO]")) {
+            if (parsing) {
+                treeList.add(parent);
+                parent = new TreeNode();
+                current = new TreeNode();
+                currentParent = current;
+                currentindex = 0;
+                parsing = false;
+                return;
+            }
+        }
 
-                String dep = parseDependency(line);
-                int index = indexOfPattern(line, "- [A-Za-z]");
+        String dep = parseDependency(line);
+        int index = indexOfPattern(line, "- [A-Za-z]");
 
-                if (rootNode) {
-                    rootNode = false;
-                    current.setDependencyName(dep);
-                    current.setParent(parent);
-                    currentParent = current;
-                    parent.addChild(current);
-                    continue;
-                } else if (parsing) {
-                    if (index > currentindex) {
-                        currentParent = current;
-                        TreeNode newnode = new TreeNode(dep);
-                        newnode.setParent(currentParent);
-                        currentParent.addChild(newnode);
-                        currentindex = index;
-                        current = newnode;
-                    } else if (index == currentindex) {
-                        TreeNode newnode = new TreeNode(dep);
-                        newnode.setParent(currentParent);
-                        currentParent.addChild(newnode);
-                        currentindex = index;
-                        current = newnode;
-                    } else {
-                        int diff = (currentindex - index) / 3;
-                        for (int i = 0; i < diff; i++) {
-                            if (currentParent.getParent() != null) {
-                                currentParent = currentParent.getParent();
-                            }
-                        }
-                        TreeNode newnode = new TreeNode(dep);
-                        newnode.setParent(currentParent);
-                        currentParent.addChild(newnode);
-                        current = newnode;
-                        currentindex = index;
+        if (rootNode) {
+            rootNode = false;
+            current.setDependencyName(dep);
+            current.setParent(parent);
+            currentParent = current;
+            parent.addChild(current);
+        } else if (parsing) {
+            if (index > currentindex) {
+                currentParent = current;
+                TreeNode newnode = new TreeNode(dep);
+                newnode.setParent(currentParent);
+                currentParent.addChild(newnode);
+                currentindex = index;
+                current = newnode;
+            } else if (index == currentindex) {
+                TreeNode newnode = new TreeNode(dep);
+                newnode.setParent(currentParent);
+                currentParent.addChild(newnode);
+                currentindex = index;
+                current = newnode;
+            } else {
+                int diff = (currentindex - index) / 3;
+                for (int i = 0; i < diff; i++) {
+                    if (currentParent.getParent() != null) {
+                        currentParent = currentParent.getParent();
                     }
                 }
+                TreeNode newnode = new TreeNode(dep);
+                newnode.setParent(currentParent);
+                currentParent.addChild(newnode);
+                current = newnode;
+                currentindex = index;
             }
-        } catch (Exception e) {
-            throw e;
         }
+    }
+
+    /**
+     * @return the dependency trees of the lines parsed so far
+     */
+    public ArrayList<TreeNode> getTrees() {
         return treeList;
     }
 
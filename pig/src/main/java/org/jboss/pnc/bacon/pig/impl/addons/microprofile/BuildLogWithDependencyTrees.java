@@ -11,11 +11,16 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
-public class BuildLogWithDependencyTrees {
+/**
+ * Collects the community dependencies from the {@code mvn dependency:tree} output of a build log, fed to it line by
+ * line
+ */
+public class BuildLogWithDependencyTrees implements Consumer<String> {
     private static final Logger log = LoggerFactory.getLogger(BuildLogWithDependencyTrees.class);
 
     private static final Pattern dependencyTreeStart = Pattern
@@ -23,39 +28,33 @@ public class BuildLogWithDependencyTrees {
     private static final Pattern dependencyTreeEnd = Pattern.compile("^\\[INFO][\\s-]*$");
     private static final Set<String> relevantScopes = Sets.newHashSet("compile", "runtime");
 
-    public final Map<String, Set<GAV>> communityGavsForModules;
+    public final Map<String, Set<GAV>> communityGavsForModules = new HashMap<>();
 
-    public BuildLogWithDependencyTrees(List<String> buildLogLines) {
-        communityGavsForModules = parseDependencyTreeInvocations(buildLogLines);
-    }
-
-    private static Map<String, Set<GAV>> parseDependencyTreeInvocations(List<String> buildLogLines) {
-        Map<String, Set<GAV>> result = new HashMap<>();
-
-        String currentModuleName = null;
-        List<String> currentModuleDependencyTree = null;
+    private String currentModuleName;
+    private List<String> currentModuleDependencyTree;
 
-        for (String line : buildLogLines) {
-            Matcher matcher = dependencyTreeStart.matcher(line);
-            if (matcher.matches()) {
-                currentModuleName = matcher.group(1);
-                currentModuleDependencyTree = new ArrayList<>();
-                continue;
-            }
-
-            if (dependencyTreeEnd.matcher(line).matches() && currentModuleDependencyTree != null) {
-                result.put(currentModuleName, communityGavsInDepTree(currentModuleDependencyTree));
-                currentModuleName = null;
-                currentModuleDependencyTree = null;
-                continue;
-            }
+    /**
+     * Parse the next line of the build log
+     */
+    @Override
+    public void accept(String line) {
+        Matcher matcher = dependencyTreeStart.matcher(line);
+        if (matcher.matches()) {
+            currentModuleName = matcher.group(1);
+            currentModuleDependencyTree = new ArrayList<>();
+            return;
+        }
 
-            if (currentModuleDependencyTree != null) {
-                currentModuleDependencyTree.add(line);
-            }
+        if (dependencyTreeEnd.matcher(line).matches() && currentModuleDependencyTree != null) {
+            communityGavsForModules.put(currentModuleName, communityGavsInDepTree(currentModuleDependencyTree));
+            currentModuleName = null;
+            currentModuleDependencyTree = null;
+            return;
         }
 
-        return result;
+        if (currentModuleDependencyTree != null) {
+            currentModuleDependencyTree.add(line);
+        }
     }
 
     private static Set<GAV> communityGavsInDepTree(List<String> depTreeOutput) {
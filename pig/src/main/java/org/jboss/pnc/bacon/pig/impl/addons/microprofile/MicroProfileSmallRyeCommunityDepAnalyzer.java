@@ -3,6 +3,7 @@ package org.jboss.pnc.bacon.pig.impl.addons.microprofile;
 import org.jboss.pnc.bacon.pig.impl.addons.AddOn;
 import org.jboss.pnc.bacon.pig.impl.addons.runtime.CommunityDepAnalyzer;
 import org.jboss.pnc.bacon.pig.impl.config.PigConfiguration;
+import org.jboss.pnc.bacon.pig.impl.pnc.BuildLogScanner;
 import org.jboss.pnc.bacon.pig.impl.pnc.PncBuild;
 import org.jboss.pnc.bacon.pig.impl.utils.GAV;
 import org.slf4j.Logger;
@@ -11,6 +12,7 @@ import org.slf4j.LoggerFactory;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -26,6 +28,8 @@ public class MicroProfileSmallRyeCommunityDepAnalyzer extends AddOn {
 
     public static final String NAME = "microProfileSmallRyeCommunityDepAnalyzer";
 
+    private final Map<PncBuild, BuildLogWithDependencyTrees> dependencyTreesByBuild = new LinkedHashMap<>();
+
     public MicroProfileSmallRyeCommunityDepAnalyzer(
             PigConfiguration pigConfiguration,
             Map<String, PncBuild> builds,
@@ -39,13 +43,23 @@ public class MicroProfileSmallRyeCommunityDepAnalyzer extends AddOn {
         return NAME;
     }
 
+    @Override
+    public void registerLogVisitors(BuildLogScanner scanner) {
+        for (PncBuild build : builds.values()) {
+            BuildLogWithDependencyTrees dependencyTrees = new BuildLogWithDependencyTrees();
+            dependencyTreesByBuild.put(build, dependencyTrees);
+            scanner.register(build, dependencyTrees);
+        }
+    }
+
     @Override
     public void trigger() {
         log.info("Running MicroProfileSmallRyeCommunityDepAnalyzer");
 
         Set<GAV> allGavs = new HashSet<>();
-        for (PncBuild build : builds.values()) {
-            Set<GAV> gavs = new BuildLogWithDependencyTrees(build.getBuildLog()).communityGavsForModules.entrySet()
+        for (Map.Entry<PncBuild, BuildLogWithDependencyTrees> buildTrees : dependencyTreesByBuild.entrySet()) {
+            PncBuild build = buildTrees.getKey();
+            Set<GAV> gavs = buildTrees.getValue().communityGavsForModules.entrySet()
                     .stream()
                     .filter(e -> !e.getKey().contains("test") && !e.getKey().contains("tck"))
                     .flatMap(e -> e.getValue().stream())
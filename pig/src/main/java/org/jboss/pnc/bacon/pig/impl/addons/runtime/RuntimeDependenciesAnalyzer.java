@@ -20,6 +20,7 @@ package org.jboss.pnc.bacon.pig.impl.addons.runtime;
 import org.apache.commons.io.IOUtils;
 import org.jboss.pnc.bacon.pig.impl.addons.AddOn;
 import org.jboss.pnc.bacon.pig.impl.config.PigConfiguration;
+import org.jboss.pnc.bacon.pig.impl.pnc.BuildLogScanner;
 import org.jboss.pnc.bacon.pig.impl.pnc.PncBuild;
 import org.jboss.pnc.bacon.pig.impl.utils.FileUtils;
 import org.slf4j.Logger;
@@ -30,8 +31,10 @@ import java.io.FileInputStream;
 import java.io.InputStream;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -41,6 +44,8 @@ import java.util.stream.Collectors;
 public class RuntimeDependenciesAnalyzer extends AddOn {
     private static final Logger log = LoggerFactory.getLogger(RuntimeDependenciesAnalyzer.class);
 
+    private List<String> downloads;
+
     public RuntimeDependenciesAnalyzer(
             PigConfiguration pigConfiguration,
             Map<String, PncBuild> builds,
@@ -54,6 +59,26 @@ public class RuntimeDependenciesAnalyzer extends AddOn {
         return "runtimeDependenciesAnalyzer";
     }
 
+    @Override
+    public void registerLogVisitors(BuildLogScanner scanner) {
+        PncBuild referenceBuild = builds.get((String) getAddOnConfiguration().get("referenceBuild"));
+        if (referenceBuild != null) {
+            downloads = new ArrayList<>();
+            scanner.register(referenceBuild, downloadCollector(downloads));
+        }
+    }
+
+    /**
+     * Only the download lines of the reference build log are used by {@link ThorntailDepAnalyzer}
+     */
+    private static Consumer<String> downloadCollector(List<String> downloads) {
+        return line -> {
+            if (line.startsWith("Downloaded")) {
+                downloads.add(line);
+            }
+        };
+    }
+
     @Override
     public void trigger() {
         log.info("Running RuntimeDependenciesAnalyzer");
@@ -78,13 +103,17 @@ public class RuntimeDependenciesAnalyzer extends AddOn {
                 .filter(d -> !d.contains("redhat"))
                 .collect(Collectors.toList());
 
-        List<String> buildLog = builds.get(referenceBuildName).getBuildLog();
+        if (downloads == null) {
+            // triggered without the log scan of a PiG run
+            downloads = new ArrayList<>();
+            BuildLogScanner.scan(builds.get(referenceBuildName), List.of(downloadCollector(downloads)));
+        }
 
         Path targetPath = Paths.get(extrasPath, "community-dependencies.csv");
 
         CommunityDepAnalyzer analyzer = new CommunityDepAnalyzer(
                 communityDependencies,
-                new ThorntailDepAnalyzer(buildLog));
+                new ThorntailDepAnalyzer(downloads));
         analyzer.skipDa(false);
         analyzer.generateAnalysis(targetPath.toAbsolutePath().toString());
         log.info("Done");
@@ -18,6 +18,7 @@ package org.jboss.pnc.bacon.pig.impl.addons.vertx;
 import org.jboss.pnc.bacon.pig.impl.addons.AddOn;
 import org.jboss.pnc.bacon.pig.impl.config.PigConfiguration;
 import org.jboss.pnc.bacon.pig.impl.documents.Deliverables;
+import org.jboss.pnc.bacon.pig.impl.pnc.BuildLogScanner;
 import org.jboss.pnc.bacon.pig.impl.pnc.PncBuild;
 import org.jboss.pnc.bacon.pig.impl.utils.GAV;
 import org.slf4j.Logger;
@@ -30,9 +31,12 @@ import java.io.PrintWriter;
 import java.io.UnsupportedEncodingException;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.ListIterator;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -55,12 +59,12 @@ public class FindTransitiveDuplicateArtifactsInDepTree extends AddOn {
             "[INFO] ------------------------------------------------------------------------" };
     private static final String topLevelEntry = "[INFO] +";
 
-    private static List<GAV> duplicates = new ArrayList<GAV>();
+    private Set<GAV> duplicates;
+    private final Map<PncBuild, DuplicatesReport> reports = new LinkedHashMap<>();
 
-    private static String duplicatesString = "";
-    private static String entryPoint = "";
-    private static boolean dupFound = false;
-    private static PrintWriter outputFile = null;
+    private String duplicatesString = "";
+    private String entryPoint = "";
+    private boolean dupFound = false;
 
     public FindTransitiveDuplicateArtifactsInDepTree(
             PigConfiguration pigConfiguration,
@@ -77,6 +81,19 @@ public class FindTransitiveDuplicateArtifactsInDepTree extends AddOn {
         return "findTransitiveDuplicateArtifactsInDepTree";
     }
 
+    @Override
+    public void registerLogVisitors(BuildLogScanner scanner) {
+        duplicates = loadDuplicates();
+        if (duplicates == null) {
+            return;
+        }
+        for (PncBuild build : builds.values()) {
+            DuplicatesReport report = new DuplicatesReport();
+            reports.put(build, report);
+            scanner.register(build, report);
+        }
+    }
+
     private boolean isTopLevelEntry(String line) {
         boolean topLevel = false;
         if (line.startsWith(topLevelEntry)) {
@@ -101,44 +118,20 @@ public class FindTransitiveDuplicateArtifactsInDepTree extends AddOn {
         return end;
     }
 
-    private void findDuplicates(ListIterator<String> itr) {
-        String bcLine = itr.next().replace(" (optional)", "");
-        // Just rewind the stack if it is the end of the tree
-        if (isEndTree(bcLine)) {
-            return;
-        }
-
-        // If it is not a redhat artifact ignore it
-        if (bcLine.contains("redhat-")) {
-            String[] bits = bcLine.split(" ");
-            // if its a first line dep which means record it as the entry point
-            if (isTopLevelEntry(bcLine)) {
-                entryPoint = bits[bits.length - 1];
-            }
-
-            // Still need top check if it is a DUP or not and add to the dup list
-            String[] gavParts = bits[bits.length - 1].split(":");
-            GAV gav = new GAV(gavParts[0], gavParts[1], gavParts[3], null);
-            if (duplicates.contains(gav)) {
-                duplicatesString = duplicatesString + "      " + gav.toGav() + "\n";
-                dupFound = true;
-            }
-
-            // We are back at the top level and a DUP has been found so record and reset
-            if (isTopLevelEntry(bcLine) && dupFound) {
-                outputFile.println("Top Level Dependency : " + entryPoint);
-                outputFile.println("  Possible Duplicates  : ");
-                outputFile.println(duplicatesString);
-                // Reset as we are back at the top and will move to the next top level dep or
-                // will be the end and we leave and search for the next dep:tree section in log
-                dupFound = false;
-                entryPoint = "";
-                duplicatesString = "";
+    private Set<GAV> loadDuplicates() {
+        String duplicatesPath = extrasPath + deliverables.getDuplicateArtifactListName();
+        Set<GAV> result = new HashSet<>();
+        try (BufferedReader br = new BufferedReader(new FileReader(duplicatesPath))) {
+            String gavLine;
+            while ((gavLine = br.readLine()) != null) {
+                // Should be a GAV so load into list
+                result.add(GAV.fromColonSeparatedGAV(gavLine.trim()));
             }
+        } catch (Exception e) {
+            log.error("Required duplicates file problem {}", duplicatesPath, e);
+            return null;
         }
-        // call again to move down the tree, even if it is not a redhat artifact it won't matter
-        // as nothing below will be so just continue to next line anyway
-        findDuplicates(itr);
+        return result;
     }
 
     @Override
@@ -146,43 +139,104 @@ public class FindTransitiveDuplicateArtifactsInDepTree extends AddOn {
         String filename = extrasPath + "DuplicateArtifactLocations.txt";
         log.info("Running FindTransitiveDuplicateArtifactsInDepTree - report is {}", filename);
 
-        String duplicatesPath = extrasPath + deliverables.getDuplicateArtifactListName();
-        try (BufferedReader br = new BufferedReader(new FileReader(duplicatesPath))) {
-            String gavLine;
-            while ((gavLine = br.readLine()) != null) {
-                // Should be a GAV so load into list
-                duplicates.add(GAV.fromColonSeparatedGAV(gavLine.trim()));
+        if (duplicates == null) {
+            // triggered without the log scan of a PiG run
+            duplicates = loadDuplicates();
+            if (duplicates == null) {
+                return;
+            }
+            for (PncBuild build : builds.values()) {
+                DuplicatesReport report = new DuplicatesReport();
+                reports.put(build, report);
+                BuildLogScanner.scan(build, List.of(report));
             }
-        } catch (Exception e) {
-            log.error("Required duplicates file problem {}", duplicatesPath, e);
-            return;
         }
 
-        // Iterate the file until we find the start sectiom
-        try {
-            outputFile = new PrintWriter(filename, StandardCharsets.UTF_8.name());
-            for (PncBuild build : builds.values()) {
-                List<String> bcLog = build.getBuildLog();
+        try (PrintWriter outputFile = new PrintWriter(filename, StandardCharsets.UTF_8.name())) {
+            reports.forEach((build, report) -> {
                 outputFile.println("-------- [ " + build.getId() + " ] " + build.getName() + " --------");
-                ListIterator<String> itr = bcLog.listIterator();
-                while (itr.hasNext()) {
-                    String bcLine = itr.next();
-                    if (isStartTree(bcLine)) {
-                        // Move on the first line to get to the start of the real tree
-                        itr.next();
-                        // Make sure there is a tree as no deps like a BOM will just move into
-                        // something else, check the next then move back so it can be checked as a dup
-                        if (isTopLevelEntry(itr.next())) {
-                            itr.previous();
-                            findDuplicates(itr);
-                        }
-                    }
-                }
+                report.lines.forEach(outputFile::println);
                 outputFile.println();
-            }
-            outputFile.close();
+            });
         } catch (FileNotFoundException | UnsupportedEncodingException e) {
             log.error("Creating FindTransitiveDuplicateArtifactsInDepTree report {}", e);
         }
     }
+
+    private enum TreePosition {
+        OUTSIDE, ROOT, FIRST_ENTRY, INSIDE
+    }
+
+    /**
+     * Walks the dependency trees of one build log line by line and collects the report lines of the build
+     */
+    private class DuplicatesReport implements Consumer<String> {
+        private final List<String> lines = new ArrayList<>();
+        private TreePosition position = TreePosition.OUTSIDE;
+
+        @Override
+        public void accept(String line) {
+            switch (position) {
+                case OUTSIDE:
+                    if (isStartTree(line)) {
+                        position = TreePosition.ROOT;
+                    }
+                    break;
+                case ROOT:
+                    // Move on the first line to get to the start of the real tree
+                    position = TreePosition.FIRST_ENTRY;
+                    break;
+                case FIRST_ENTRY:
+                    // Make sure there is a tree as no deps like a BOM will just move into something else
+                    if (isTopLevelEntry(line)) {
+                        position = TreePosition.INSIDE;
+                        findDuplicates(line);
+                    } else {
+                        position = TreePosition.OUTSIDE;
+                    }
+                    break;
+                case INSIDE:
+                    findDuplicates(line);
+                    break;
+            }
+        }
+
+        private void findDuplicates(String line) {
+            String bcLine = line.replace(" (optional)", "");
+            // Leave the tree at its end and search for the next dep:tree section in log
+            if (isEndTree(bcLine)) {
+                position = TreePosition.OUTSIDE;
+                return;
+            }
+
+            // If it is not a redhat artifact ignore it
+            if (bcLine.contains("redhat-")) {
+                String[] bits = bcLine.split(" ");
+                // if its a first line dep which means record it as the entry point
+                if (isTopLevelEntry(bcLine)) {
+                    entryPoint = bits[bits.length - 1];
+                }
+
+                // Still need top check if it is a DUP or not and add to the dup list
+                String[] gavParts = bits[bits.length - 1].split(":");
+                GAV gav = new GAV(gavParts[0], gavParts[1], gavParts[3], null);
+                if (duplicates.contains(gav)) {
+                    duplicatesString = duplicatesString + "      " + gav.toGav() + "\n";
+                    dupFound = true;
+                }
+
+                // We are back at the top level and a DUP has been found so record and reset
+                if (isTopLevelEntry(bcLine) && dupFound) {
+                    lines.add("Top Level Dependency : " + entryPoint);
+                    lines.add("  Possible Duplicates  : ");
+                    lines.add(duplicatesString);
+                    // Reset as we are back at the top and will move to the next top level dep or
+                    // will be the end of the tree
+                    dupFound = false;
+                    entryPoint = "";
+                    duplicatesString = "";
+                }
+            }
+        }
+    }
 }
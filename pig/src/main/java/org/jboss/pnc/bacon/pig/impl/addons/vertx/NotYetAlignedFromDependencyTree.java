@@ -17,6 +17,7 @@ package org.jboss.pnc.bacon.pig.impl.addons.vertx;
 
 import org.jboss.pnc.bacon.pig.impl.addons.AddOn;
 import org.jboss.pnc.bacon.pig.impl.config.PigConfiguration;
+import org.jboss.pnc.bacon.pig.impl.pnc.BuildLogScanner;
 import org.jboss.pnc.bacon.pig.impl.pnc.PncBuild;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,9 +26,10 @@ import java.io.FileNotFoundException;
 import java.io.PrintWriter;
 import java.io.UnsupportedEncodingException;
 import java.nio.charset.StandardCharsets;
-import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 /**
  * @author Paul Gallagher, pgallagh@redhat.com <br>
@@ -40,6 +42,8 @@ public class NotYetAlignedFromDependencyTree extends AddOn {
 
     private static final Logger log = LoggerFactory.getLogger(NotYetAlignedFromDependencyTree.class);
 
+    private final Map<PncBuild, Set<String>> notAlignedLines = new LinkedHashMap<>();
+
     public NotYetAlignedFromDependencyTree(
             PigConfiguration pigConfiguration,
             Map<String, PncBuild> builds,
@@ -53,21 +57,32 @@ public class NotYetAlignedFromDependencyTree extends AddOn {
         return "notYetAlignedFromDependencyTree";
     }
 
+    @Override
+    public void registerLogVisitors(BuildLogScanner scanner) {
+        for (PncBuild build : builds.values()) {
+            // Make a unique list so we don't get multiples from
+            // sub-module's dependency tree list
+            Set<String> lines = new LinkedHashSet<>();
+            notAlignedLines.put(build, lines);
+            scanner.register(build, bcLine -> {
+                if (bcLine.startsWith("[INFO] +") && (bcLine.endsWith(":runtime") || bcLine.endsWith(":compile"))
+                        && !bcLine.contains("redhat-")) {
+                    lines.add(bcLine);
+                }
+            });
+        }
+    }
+
     @Override
     public void trigger() {
         String filename = extrasPath + "DependencyTreeMissingAlignment.txt";
         log.info("Running NotYetAlignedFromDependencyTree - report is {}", filename);
         try (PrintWriter file = new PrintWriter(filename, StandardCharsets.UTF_8.name())) {
-            for (PncBuild build : builds.values()) {
-                // Make a unique list so we don't get multiples from
-                // sub-module's dependency tree list
-                List<String> bcLog = build.getBuildLog().stream().distinct().collect(Collectors.toList());
+            for (Map.Entry<PncBuild, Set<String>> buildLines : notAlignedLines.entrySet()) {
+                PncBuild build = buildLines.getKey();
                 file.print("-------- [" + build.getId() + "] " + build.getName() + " --------\n");
-                for (String bcLine : bcLog) {
-                    if (bcLine.startsWith("[INFO] +") && (bcLine.endsWith(":runtime") || bcLine.endsWith(":compile"))
-                            && !bcLine.contains("redhat-")) {
-                        file.print(bcLine + "\n");
-                    }
+                for (String bcLine : buildLines.getValue()) {
+                    file.print(bcLine + "\n");
                 }
                 file.print("\n");
             }
@@ -22,8 +22,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
-import java.io.FileWriter;
-import java.util.List;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.Map;
 
 /**
@@ -53,25 +55,20 @@ public class SaveBuildLogsLocally extends AddOn {
     @Override
     public void trigger() {
         File logDir = new File(extrasPath + "build-logs");
-        String fileName = "";
         log.info("Running SaveBuildLogsLocally - logs are in {}", logDir);
         if (!logDir.exists()) {
             logDir.mkdirs();
         }
 
-        try {
-            for (PncBuild build : builds.values()) {
-                List<String> bcLog = build.getBuildLog();
-                fileName = logDir + File.separator + build.getName() + ".txt";
-                FileWriter writer = new FileWriter(fileName);
-                for (String str : bcLog) {
-                    writer.write(str + System.lineSeparator());
-                }
-                writer.close();
+        for (PncBuild build : builds.values()) {
+            String fileName = logDir + File.separator + build.getName() + ".txt";
+            try {
+                // the log is already stored locally, no need to go through its lines
+                Files.copy(build.getBuildLogFile(), Paths.get(fileName), StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                log.error("Writing build log {}", fileName, e);
+                return;
             }
-        } catch (java.io.IOException e) {
-            log.error("Writing build log {}", fileName, e);
-            return;
         }
     }
 }
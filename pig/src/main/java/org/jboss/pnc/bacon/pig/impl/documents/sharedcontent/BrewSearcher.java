@@ -58,7 +58,7 @@ public class BrewSearcher {
                 if (++i > attempts) {
                     throw new RuntimeException("Failed to fill brew data in the shared content csv", lastError);
                 }
-                builds = BuildFinderUtils.findBuilds(false, pathsForRows, 50);
+                builds = BuildFinderUtils.findBuilds(false, pathsForRows);
                 break;
             } catch (Exception e) {
                 lastError = e;
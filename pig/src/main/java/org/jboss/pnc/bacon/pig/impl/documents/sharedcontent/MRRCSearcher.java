@@ -18,11 +18,9 @@
 
 package org.jboss.pnc.bacon.pig.impl.documents.sharedcontent;
 
-import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpHead;
-import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClientBuilder;
+import org.jboss.pnc.bacon.common.http.SharedHttpClient;
 import org.jboss.pnc.bacon.pig.impl.utils.GAV;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -51,11 +49,7 @@ public class MRRCSearcher {
 
     public Boolean isReleased(GAV gav) {
         HttpHead request = new HttpHead(uriForRow(gav));
-        RequestConfig.Builder requestBuilder = RequestConfig.custom();
-        requestBuilder = requestBuilder.setConnectTimeout(30_000);
-        requestBuilder = requestBuilder.setConnectionRequestTimeout(30_000);
-        try (CloseableHttpClient client = HttpClientBuilder.create().build();
-                CloseableHttpResponse response = client.execute(request)) {
+        try (CloseableHttpResponse response = SharedHttpClient.get().execute(request)) {
             int statusCode = response.getStatusLine().getStatusCode();
             return statusCode == 200;
         } catch (IOException e) {
@@ -18,10 +18,13 @@
 package org.jboss.pnc.bacon.pig.impl.documents.sharedcontent.da;
 
 import org.apache.commons.lang3.StringUtils;
+import org.jboss.bacon.da.BatchedLookup;
 import org.jboss.bacon.da.DaHelper;
+import org.jboss.bacon.da.LookupCache;
 import org.jboss.bacon.da.rest.endpoint.ListingsApi;
 import org.jboss.bacon.da.rest.endpoint.ReportsApi;
 import org.jboss.da.listings.model.rest.RestProductGAV;
+import org.jboss.da.model.rest.GAV;
 import org.jboss.da.reports.model.request.LookupGAVsRequest;
 import org.jboss.da.reports.model.response.LookupReport;
 import org.jboss.pnc.bacon.config.Config;
@@ -32,6 +35,7 @@ import org.slf4j.LoggerFactory;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -43,19 +47,48 @@ import java.util.stream.Collectors;
 public class DADao {
     private static final Logger log = LoggerFactory.getLogger(DADao.class);
 
-    private final ReportsApi reportsClient;
     private final ListingsApi listingsClient;
+    private final BatchedLookup<GAV, LookupReport> lookup;
 
     public DADao(DaConfig daConfig) {
-        reportsClient = DaHelper.createReportsApi();
-        listingsClient = DaHelper.createListingsApi();
+        this(
+                DaHelper.createReportsApi(),
+                DaHelper.createListingsApi(),
+                LookupCache.forActiveProfile("reports-lookup", LookupReport.class),
+                daConfig.getLookupBatchSize());
+    }
+
+    DADao(ReportsApi reportsClient, ListingsApi listingsClient, LookupCache<LookupReport> cache, int batchSize) {
+        this.listingsClient = listingsClient;
+        lookup = new BatchedLookup<>(
+                gavs -> reportsClient.lookupGav(new LookupGAVsRequest(gavs)),
+                LookupReport::getGav,
+                BatchedLookup::gavKey,
+                cache,
+                batchSize);
     }
 
     public void fillDaData(CommunityDependency dependency) {
-        log.debug("Analyzing: {}", dependency);
-        LookupGAVsRequest lookupRequest = new LookupGAVsRequest(Collections.singletonList(dependency.toDaGav()));
-        List<LookupReport> lookupReports = reportsClient.lookupGav(lookupRequest);
-        LookupReport lookupReport = getSingle(lookupReports);
+        fillDaData(Collections.singletonList(dependency));
+    }
+
+    /**
+     * Look up all the dependencies at once, in as few requests as possible
+     */
+    public void fillDaData(Collection<CommunityDependency> dependencies) {
+        log.debug("Analyzing {} dependencies", dependencies.size());
+        Map<GAV, LookupReport> lookupReports = lookup
+                .lookup(dependencies.stream().map(CommunityDependency::toDaGav).collect(Collectors.toList()));
+        for (CommunityDependency dependency : dependencies) {
+            LookupReport lookupReport = lookupReports.get(dependency.toDaGav());
+            if (lookupReport == null) {
+                throw new RuntimeException("No lookup report returned for " + dependency);
+            }
+            fillDaData(dependency, lookupReport);
+        }
+    }
+
+    private static void fillDaData(CommunityDependency dependency, LookupReport lookupReport) {
         String bestMatchVersion = lookupReport.getBestMatchVersion();
         String availableVersions = String.join(",", lookupReport.getAvailableVersions());
 
@@ -72,13 +105,6 @@ public class DADao {
         }
     }
 
-    private LookupReport getSingle(List<LookupReport> lookupReports) {
-        if (lookupReports.size() != 1) {
-            throw new RuntimeException("Expected exactly one report, got: " + lookupReports.size());
-        }
-        return lookupReports.get(0);
-    }
-
     public List<DAListArtifact> getWhitelist() {
         Collection<RestProductGAV> allWhiteArtifacts = listingsClient.getAllWhiteArtifacts();
 
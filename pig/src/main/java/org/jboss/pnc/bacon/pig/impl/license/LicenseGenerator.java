@@ -38,6 +38,7 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Collection;
 import java.util.List;
 import java.util.Properties;
@@ -51,6 +52,9 @@ import java.util.stream.Stream;
 public class LicenseGenerator {
     private static final Logger log = LoggerFactory.getLogger(LicenseGenerator.class);
 
+    // licenses resolved by previous runs, in the bacon config folder
+    private static final String LICENSE_CACHE = "license-cache";
+
     private LicenseGenerator() {
     }
 
@@ -164,6 +168,8 @@ public class LicenseGenerator {
             genProp.setExceptionsFilePath(exceptionsPath);
         if (namesPath != null)
             genProp.setAliasesFilePath(namesPath);
+        if (Config.getConfigLocation() != null)
+            genProp.setCacheDirectory(Paths.get(Config.getConfigLocation(), LICENSE_CACHE).toString());
         return genProp;
     }
 }
@@ -0,0 +1,162 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.pnc.bacon.pig.impl.pnc;
+
+import lombok.extern.slf4j.Slf4j;
+import org.jboss.pnc.bacon.pnc.client.PncClientHelper;
+import org.jboss.pnc.bacon.pnc.common.UrlGenerator;
+import org.jboss.pnc.client.ClientException;
+import org.jboss.pnc.client.RemoteResourceException;
+import org.jboss.pnc.dto.BuildPushResult;
+import org.jboss.pnc.dto.requests.BuildPushParameters;
+import org.jboss.pnc.enums.BuildPushStatus;
+import org.jboss.pnc.restclient.AdvancedBuildClient;
+
+import javax.ws.rs.NotFoundException;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Pushes builds to Brew with a single PNC client, keeping up to a given number of pushes in progress at the same time.
+ * <p>
+ * All the pushes are waited for, also when some of them fail, and the failures are reported together.
+ */
+@Slf4j
+public class BrewPusher implements Closeable {
+    // TODO: customize the timeout
+    private static final Duration PUSH_TIMEOUT = Duration.ofMinutes(15);
+
+    private final AdvancedBuildClient client;
+    private final int maxConcurrentPushes;
+    private final Duration timeout;
+
+    /**
+     * @param maxConcurrentPushes maximum number of pushes in progress at the same time
+     */
+    public BrewPusher(int maxConcurrentPushes) {
+        this(new AdvancedBuildClient(PncClientHelper.getPncConfiguration()), maxConcurrentPushes, PUSH_TIMEOUT);
+    }
+
+    BrewPusher(AdvancedBuildClient client, int maxConcurrentPushes, Duration timeout) {
+        if (maxConcurrentPushes < 1) {
+            throw new IllegalArgumentException("At least one push has to be allowed, got " + maxConcurrentPushes);
+        }
+        this.client = client;
+        this.maxConcurrentPushes = maxConcurrentPushes;
+        this.timeout = timeout;
+    }
+
+    /**
+     * @return the builds that are not successfully pushed to Brew yet, in the given order
+     */
+    public List<PncBuild> getBuildsToPush(Collection<PncBuild> builds) {
+        return builds.stream().filter(this::notPushedToBrew).collect(Collectors.toList());
+    }
+
+    /**
+     * Push the builds and wait for all the pushes to finish
+     *
+     * @throws RuntimeException if any of the pushes failed, after all of them finished
+     */
+    public void push(List<PncBuild> builds, String tagPrefix, boolean reimport) {
+        BuildPushParameters request = BuildPushParameters.builder().tagPrefix(tagPrefix).reimport(reimport).build();
+        Semaphore permits = new Semaphore(maxConcurrentPushes);
+
+        Map<PncBuild, CompletableFuture<BuildPushResult>> pushes = new LinkedHashMap<>();
+        for (PncBuild build : builds) {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while pushing builds to brew", e);
+            }
+            pushes.put(build, start(build, request, permits));
+        }
+
+        List<String> failures = new ArrayList<>();
+        RuntimeException firstFailure = null;
+        for (Map.Entry<PncBuild, CompletableFuture<BuildPushResult>> push : pushes.entrySet()) {
+            String buildId = push.getKey().getId();
+            String buildUrl = UrlGenerator.generateBuildUrl(buildId);
+            try {
+                BuildPushResult pushResult = push.getValue().join();
+                if (pushResult.getStatus() != BuildPushStatus.SUCCESS) {
+                    failures.add(buildId + " (" + buildUrl + "): " + pushResult);
+                } else {
+                    log.info("{} pushed to brew ( {} ) ", buildId, buildUrl);
+                }
+            } catch (CompletionException e) {
+                failures.add(buildId + " (" + buildUrl + "): " + e.getCause());
+                if (firstFailure == null) {
+                    firstFailure = e;
+                }
+            }
+        }
+
+        if (!failures.isEmpty()) {
+            throw new RuntimeException(
+                    "Failed to push " + failures.size() + " of " + builds.size() + " builds to brew: "
+                            + String.join(", ", failures),
+                    firstFailure);
+        }
+    }
+
+    private CompletableFuture<BuildPushResult> start(PncBuild build, BuildPushParameters request, Semaphore permits) {
+        CompletableFuture<BuildPushResult> push;
+        try {
+            log.info("Pushing build {} to brew", build.getId());
+            push = client.executeBrewPush(build.getId(), request).orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RemoteResourceException | RuntimeException e) {
+            push = CompletableFuture.failedFuture(e);
+        }
+        push.whenComplete((result, error) -> permits.release());
+        return push;
+    }
+
+    private boolean notPushedToBrew(PncBuild build) {
+        BuildPushResult pushResult;
+        try {
+            pushResult = client.getPushResult(build.getId());
+        } catch (ClientException e) {
+            // Didn't find results with 404 exception, therefore it's not pushed
+            if (e.getCause().getClass().isAssignableFrom(NotFoundException.class)) {
+                return true;
+            } else {
+                throw new RuntimeException("Failed to get push info of build " + build.getId(), e);
+            }
+        }
+        return pushResult == null || pushResult.getStatus() != BuildPushStatus.SUCCESS;
+    }
+
+    @Override
+    public void close() {
+        client.close();
+    }
+}
@@ -26,7 +26,6 @@ import org.jboss.pnc.client.BuildConfigurationClient;
 import org.jboss.pnc.client.ClientException;
 import org.jboss.pnc.client.GroupBuildClient;
 import org.jboss.pnc.client.GroupConfigurationClient;
-import org.jboss.pnc.client.RemoteCollection;
 import org.jboss.pnc.client.RemoteResourceException;
 import org.jboss.pnc.dto.Artifact;
 import org.jboss.pnc.dto.Build;
@@ -37,12 +36,22 @@ import org.jboss.pnc.enums.BuildStatus;
 import org.jboss.pnc.rest.api.parameters.BuildsFilterParameters;
 
 import java.io.Closeable;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import static java.util.Optional.of;
 import static org.jboss.pnc.bacon.pig.impl.utils.PncClientUtils.query;
@@ -54,10 +63,14 @@ import static org.jboss.pnc.bacon.pig.impl.utils.PncClientUtils.toList;
  */
 @Slf4j
 public class BuildInfoCollector implements Closeable {
+    private static final int DEFAULT_THREADS = 8;
+
     private final BuildClient anonymousBuildClient;
     private final BuildConfigurationClient anonymousBuildConfigClient;
     private final GroupBuildClient anonymousGroupBuildClient;
     private final GroupConfigurationClient anonymousGroupConfigurationClient;
+    private final int threads;
+    private final Supplier<BuildInfoCollector> workerFactory;
 
     public void addDependencies(PncBuild bd, String filter) {
         try {
@@ -110,10 +123,35 @@ public class BuildInfoCollector implements Closeable {
     }
 
     public BuildInfoCollector() {
-        anonymousBuildClient = new BuildClient(PncClientHelper.getPncConfiguration(false));
-        anonymousBuildConfigClient = new BuildConfigurationClient(PncClientHelper.getPncConfiguration(false));
-        anonymousGroupBuildClient = new GroupBuildClient(PncClientHelper.getPncConfiguration(false));
-        anonymousGroupConfigurationClient = new GroupConfigurationClient(PncClientHelper.getPncConfiguration(false));
+        this(DEFAULT_THREADS);
+    }
+
+    /**
+     * @param threads maximum number of builds whose information is collected at the same time
+     */
+    public BuildInfoCollector(int threads) {
+        this(
+                new BuildClient(PncClientHelper.getPncConfiguration(false)),
+                new BuildConfigurationClient(PncClientHelper.getPncConfiguration(false)),
+                new GroupBuildClient(PncClientHelper.getPncConfiguration(false)),
+                new GroupConfigurationClient(PncClientHelper.getPncConfiguration(false)),
+                threads,
+                () -> new BuildInfoCollector(1));
+    }
+
+    BuildInfoCollector(
+            BuildClient buildClient,
+            BuildConfigurationClient buildConfigClient,
+            GroupBuildClient groupBuildClient,
+            GroupConfigurationClient groupConfigurationClient,
+            int threads,
+            Supplier<BuildInfoCollector> workerFactory) {
+        anonymousBuildClient = buildClient;
+        anonymousBuildConfigClient = buildConfigClient;
+        anonymousGroupBuildClient = groupBuildClient;
+        anonymousGroupConfigurationClient = groupConfigurationClient;
+        this.threads = threads;
+        this.workerFactory = workerFactory;
     }
 
     /**
@@ -126,16 +164,17 @@ public class BuildInfoCollector implements Closeable {
      */
     public GroupBuildInfo getBuildsFromLatestGroupConfiguration(String groupConfigurationId, boolean temporaryBuild) {
         try {
-            RemoteCollection<BuildConfiguration> configs = anonymousGroupConfigurationClient
-                    .getBuildConfigs(groupConfigurationId);
+            List<BuildConfiguration> configs = toList(
+                    anonymousGroupConfigurationClient.getBuildConfigs(groupConfigurationId));
 
-            Map<String, PncBuild> builds = new HashMap<>();
-            for (BuildConfiguration config : configs) {
-                PncBuild build = getLatestBuild(
-                        config.getId(),
-                        temporaryBuild ? BuildSearchType.ANY : BuildSearchType.PERMANENT);
+            BuildSearchType searchType = temporaryBuild ? BuildSearchType.ANY : BuildSearchType.PERMANENT;
+            List<PncBuild> latestBuilds = collect(
+                    configs,
+                    (collector, config) -> collector.getLatestBuild(config.getId(), searchType));
 
-                builds.put(config.getName(), build);
+            Map<String, PncBuild> builds = new LinkedHashMap<>();
+            for (int i = 0; i < configs.size(); i++) {
+                builds.put(configs.get(i).getName(), latestBuilds.get(i));
             }
 
             // TODO: builds should be enough, getting latest build group to satisfy the current API
@@ -176,27 +215,17 @@ public class BuildInfoCollector implements Closeable {
      */
     public GroupBuildInfo getBuildsFromGroupBuild(GroupBuild groupBuild) {
 
-        Map<String, PncBuild> result = new HashMap<>();
+        Map<String, PncBuild> result = new LinkedHashMap<>();
 
         BuildsFilterParameters filter = new BuildsFilterParameters();
         filter.setLatest(false);
         filter.setRunning(false);
 
         try {
-            Collection<Build> builds = anonymousGroupBuildClient.getBuilds(groupBuild.getId(), filter).getAll();
-
-            for (Build build : builds) {
-                PncBuild pncBuild;
-
-                if (build.getStatus() == BuildStatus.NO_REBUILD_REQUIRED) {
-                    BuildRef buildRef = build.getNoRebuildCause();
-                    Build realBuild = anonymousBuildClient.getSpecific(buildRef.getId());
-                    pncBuild = new PncBuild(realBuild);
-                } else {
-                    pncBuild = new PncBuild(build);
-                }
+            List<Build> builds = new ArrayList<>(
+                    anonymousGroupBuildClient.getBuilds(groupBuild.getId(), filter).getAll());
 
-                pncBuild.addBuiltArtifacts(toList(anonymousBuildClient.getBuiltArtifacts(pncBuild.getId())));
+            for (PncBuild pncBuild : collect(builds, BuildInfoCollector::getBuildWithArtifacts)) {
                 result.put(pncBuild.getName(), pncBuild);
             }
             return new GroupBuildInfo(groupBuild, result);
@@ -205,6 +234,71 @@ public class BuildInfoCollector implements Closeable {
         }
     }
 
+    private PncBuild getBuildWithArtifacts(Build build) {
+        try {
+            PncBuild pncBuild;
+
+            if (build.getStatus() == BuildStatus.NO_REBUILD_REQUIRED) {
+                BuildRef buildRef = build.getNoRebuildCause();
+                Build realBuild = anonymousBuildClient.getSpecific(buildRef.getId());
+                pncBuild = new PncBuild(realBuild);
+            } else {
+                pncBuild = new PncBuild(build);
+            }
+
+            pncBuild.addBuiltArtifacts(toList(anonymousBuildClient.getBuiltArtifacts(pncBuild.getId())));
+            return pncBuild;
+        } catch (RemoteResourceException e) {
+            throw new RuntimeException("Failed to get build info for " + build.getId(), e);
+        }
+    }
+
+    /**
+     * Apply the function to each of the values, on up to {@link #threads} threads. The PNC clients are not shared
+     * between the threads, each of them works with a collector of its own.
+     *
+     * @return the results, in the order of the values
+     */
+    private <T, R> List<R> collect(List<T> values, BiFunction<BuildInfoCollector, T, R> function) {
+        if (threads <= 1 || values.size() <= 1) {
+            return values.stream().map(value -> function.apply(this, value)).collect(Collectors.toList());
+        }
+
+        Map<Thread, BuildInfoCollector> workers = new ConcurrentHashMap<>();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, values.size()));
+        try {
+            List<CompletableFuture<R>> futures = values.stream().map(value -> CompletableFuture.supplyAsync(() -> {
+                BuildInfoCollector worker = workers
+                        .computeIfAbsent(Thread.currentThread(), thread -> workerFactory.get());
+                return function.apply(worker, value);
+            }, executor)).collect(Collectors.toList());
+            return futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        } finally {
+            shutdown(executor);
+            workers.values().forEach(BuildInfoCollector::close);
+        }
+    }
+
+    /**
+     * Stop the workers, waiting a bounded time for the calls in progress so that their clients are not closed under
+     * them
+     */
+    private static void shutdown(ExecutorService executor) {
+        executor.shutdownNow();
+        try {
+            if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                log.warn("Build info workers still running, closing their clients anyway");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     public String ConfigNametoId(String buildConfigName) {
         try {
             return anonymousBuildConfigClient.getAll(Optional.empty(), Optional.of("name==" + buildConfigName))
@@ -0,0 +1,98 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.pnc.bacon.pig.impl.pnc;
+
+import org.jboss.pnc.bacon.pig.impl.utils.FileUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Feeds build logs to line visitors, reading each log once for all the visitors registered for it.
+ * <p>
+ * The logs are spooled to local files by {@link PncBuild#getBuildLogFile()}, so each of them is fetched from PNC only
+ * once and never held in memory as a whole.
+ */
+public class BuildLogScanner {
+    private static Path spoolDirectory;
+
+    private final Map<PncBuild, List<Consumer<String>>> visitors = new LinkedHashMap<>();
+
+    /**
+     * Register a visitor for the lines of the build log, called on {@link #scan()}
+     */
+    public void register(PncBuild build, Consumer<String> visitor) {
+        visitors.computeIfAbsent(build, b -> new ArrayList<>()).add(visitor);
+    }
+
+    /**
+     * Read the logs of the builds with registered visitors and pass every line to all the visitors of the build, in the
+     * order they were registered. The visitors are forgotten afterwards.
+     */
+    public void scan() {
+        visitors.forEach(BuildLogScanner::scan);
+        visitors.clear();
+    }
+
+    /**
+     * Pass every line of the build log to all the visitors, in a single pass
+     */
+    public static void scan(PncBuild build, Collection<Consumer<String>> visitors) {
+        Path logFile = build.getBuildLogFile();
+        try (BufferedReader reader = Files.newBufferedReader(logFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                for (Consumer<String> visitor : visitors) {
+                    visitor.accept(line);
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read the build log of " + build.getId() + " from " + logFile, e);
+        }
+    }
+
+    /**
+     * The directory the build logs are spooled to, shared by all the builds
+     */
+    static synchronized Path spoolDirectory() {
+        if (spoolDirectory == null) {
+            spoolDirectory = FileUtils.mkTempDir("build-logs").toPath();
+        }
+        return spoolDirectory;
+    }
+
+    /**
+     * Delete the spooled build logs. A build log needed afterwards is fetched from PNC again.
+     */
+    public static synchronized void deleteSpool() {
+        if (spoolDirectory != null) {
+            org.apache.commons.io.FileUtils.deleteQuietly(spoolDirectory.toFile());
+            spoolDirectory = null;
+        }
+    }
+}
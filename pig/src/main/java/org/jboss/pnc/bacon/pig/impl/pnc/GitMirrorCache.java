@@ -0,0 +1,173 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.bacon.pig.impl.pnc;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.StoredConfig;
+import org.eclipse.jgit.transport.TagOpt;
+import org.eclipse.jgit.transport.URIish;
+import org.jboss.pnc.bacon.config.Config;
+import org.jboss.pnc.bacon.pig.impl.utils.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bare mirrors of git repositories, kept between runs and fetched incrementally.
+ * <p>
+ * Each repository is fetched at most once per run. Different repositories can be used concurrently, a single repository
+ * is used by one thread at a time. The mirrors are shared by the bacon processes using the same config folder, a lock
+ * file next to each mirror keeps the other processes out while it is used.
+ */
+public class GitMirrorCache {
+    private static final Logger log = LoggerFactory.getLogger(GitMirrorCache.class);
+
+    static final String GIT_REMOTE_NAME = "prod";
+
+    // mirrors fetched by previous runs, in the bacon config folder
+    private static final String GIT_MIRRORS = "git-mirrors";
+
+    private static GitMirrorCache instance;
+
+    private final Path directory;
+
+    private final Map<String, ReentrantLock> locks = new ConcurrentHashMap<>();
+
+    private final Set<String> fetched = ConcurrentHashMap.newKeySet();
+
+    GitMirrorCache(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * The cache shared by the current run. The mirrors are stored in the bacon config folder, or in a temporary
+     * directory if there is none.
+     */
+    public static synchronized GitMirrorCache get() {
+        if (instance == null) {
+            Path directory = Config.getConfigLocation() != null ? Paths.get(Config.getConfigLocation(), GIT_MIRRORS)
+                    : FileUtils.mkTempDir(GIT_MIRRORS).toPath();
+            instance = new GitMirrorCache(directory);
+        }
+        return instance;
+    }
+
+    /**
+     * Use the mirror of the repository. The mirror is created if it does not exist yet, but not fetched, see
+     * {@link #fetch(Git, String)}.
+     *
+     * @param url url of the repository
+     * @param function the operation on the mirror, the {@link Git} is closed afterwards
+     * @return the result of the function
+     */
+    public <T> T withMirror(String url, MirrorFunction<T> function) throws GitAPIException, IOException {
+        ReentrantLock lock = locks.computeIfAbsent(url, u -> new ReentrantLock());
+        lock.lock();
+        try {
+            if (lock.getHoldCount() > 1) {
+                // the file lock is already held by this thread, it can't be acquired twice by one process
+                try (Git git = open(url)) {
+                    return function.apply(git);
+                }
+            }
+            Files.createDirectories(directory);
+            try (FileChannel lockFile = FileChannel.open(
+                    directory.resolve(mirrorName(url) + ".lock"),
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE); FileLock fileLock = lockFile.lock(); Git git = open(url)) {
+                return function.apply(git);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Fetch the branches and tags of the repository into its mirror, unless it was already done during this run
+     *
+     * @param git the mirror, as passed to {@link #withMirror(String, MirrorFunction)}
+     * @param url url of the repository
+     */
+    public void fetch(Git git, String url) throws GitAPIException {
+        if (fetched.contains(url)) {
+            return;
+        }
+        log.debug("Fetching {} into {}", url, git.getRepository().getDirectory());
+        git.fetch().setRemote(GIT_REMOTE_NAME).setTagOpt(TagOpt.FETCH_TAGS).setRemoveDeletedRefs(true).call();
+        fetched.add(url);
+    }
+
+    private Git open(String url) throws GitAPIException, IOException {
+        File mirror = directory.resolve(mirrorName(url) + ".git").toFile();
+        if (mirror.isDirectory()) {
+            try {
+                return Git.open(mirror);
+            } catch (IOException e) {
+                log.warn("Recreating the unreadable git mirror of {} in {}", url, mirror, e);
+                org.apache.commons.io.FileUtils.deleteDirectory(mirror);
+                fetched.remove(url);
+            }
+        }
+
+        log.debug("Creating git mirror of {} in {}", url, mirror);
+        Git git = Git.init().setBare(true).setDirectory(mirror).call();
+        StoredConfig config = git.getRepository().getConfig();
+        config.setBoolean("http", null, "sslVerify", false);
+        config.save();
+        git.remoteAdd().setName(GIT_REMOTE_NAME).setUri(toAnonymous(url)).call();
+        return git;
+    }
+
+    private static String mirrorName(String url) {
+        return DigestUtils.sha256Hex(url);
+    }
+
+    private static URIish toAnonymous(String internalUrl) throws MalformedURLException {
+        String uriAsString;
+        if (internalUrl.startsWith("git+ssh")) {
+            uriAsString = internalUrl.replace("git+ssh", "https").replace(".redhat.com/", ".redhat.com/gerrit/");
+        } else {
+            uriAsString = internalUrl;
+        }
+        return new URIish(URI.create(uriAsString).toURL());
+    }
+
+    /**
+     * An operation on a mirror
+     */
+    @FunctionalInterface
+    public interface MirrorFunction<T> {
+        T apply(Git git) throws GitAPIException, IOException;
+    }
+}
@@ -19,27 +19,25 @@ package org.jboss.pnc.bacon.pig.impl.pnc;
 
 import org.eclipse.jgit.api.Git;
 import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.Constants;
 import org.eclipse.jgit.lib.ObjectId;
 import org.eclipse.jgit.lib.Ref;
 import org.eclipse.jgit.lib.Repository;
-import org.eclipse.jgit.lib.StoredConfig;
 import org.eclipse.jgit.revwalk.RevCommit;
-import org.eclipse.jgit.transport.TagOpt;
-import org.eclipse.jgit.transport.URIish;
-import org.jboss.pnc.bacon.pig.impl.utils.FileUtils;
+import org.eclipse.jgit.revwalk.RevWalk;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.File;
 import java.io.IOException;
-import java.net.MalformedURLException;
-import java.net.URI;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
+import static org.jboss.pnc.bacon.pig.impl.pnc.GitMirrorCache.GIT_REMOTE_NAME;
+
 /**
  * TODO: drop it once https://projects.engineering.redhat.com/browse/NCL-1322 is implemented
  *
@@ -49,11 +47,13 @@ import java.util.Set;
 public class GitRepoInspector {
 
     private static final Logger log = LoggerFactory.getLogger(GitRepoInspector.class);
-    private static final String GIT_REMOTE_NAME = "prod";
 
     /**
      * Check if branch 'refSpec' is different from the branch used in the last successful build (either temporary or
      * permanent).
+     * <p>
+     * The refs of the repository are compared first. The repository is fetched into its {@link GitMirrorCache mirror}
+     * only if that is not enough.
      *
      * @param configId
      * @param internalUrl
@@ -72,8 +72,33 @@ public class GitRepoInspector {
                 refSpec,
                 internalUrl,
                 configId);
-        File tempDir = FileUtils.mkTempDir("git");
-        try (Git git = cloneRepo(internalUrl, tempDir)) {
+        try {
+            String tagName = getLatestBuiltTag(configId, temporaryBuild);
+            return isModified(GitMirrorCache.get(), internalUrl, refSpec, tagName);
+        } catch (NoSuccessfulBuildException e) {
+            log.info(e.getMessage());
+        } catch (Exception e) {
+            log.warn("Failed trying to check if branch is modified", e);
+        }
+        return false;
+    }
+
+    static boolean isModified(GitMirrorCache mirrors, String internalUrl, String refSpec, String tagName)
+            throws GitAPIException, IOException {
+        return mirrors.withMirror(internalUrl, git -> {
+            Map<String, Ref> remoteRefs = git.lsRemote()
+                    .setRemote(GIT_REMOTE_NAME)
+                    .setTags(true)
+                    .setHeads(true)
+                    .callAsMap();
+            String head = commitOf(remoteRefs.get(Constants.R_HEADS + refSpec)).orElse(refSpec);
+            Optional<String> remoteTag = commitOf(remoteRefs.get(Constants.R_TAGS + tagName));
+            if (remoteTag.isPresent() && tagCommitOrParent(git, remoteTag.get()).contains(head)) {
+                log.debug("'{}' points to the commit of tag '{}', no need to fetch {}", refSpec, tagName, internalUrl);
+                return false;
+            }
+
+            mirrors.fetch(git, internalUrl);
             Optional<String> latestCommit = headRevision(git, refSpec);
 
             if (!latestCommit.isPresent()) {
@@ -83,56 +108,56 @@ public class GitRepoInspector {
                 latestCommit = Optional.of(refSpec);
             }
 
-            String tagName = getLatestBuiltTag(configId, temporaryBuild);
             Set<String> baseCommitPosibilities = getBaseCommitPossibilities(git, tagName);
 
             return !baseCommitPosibilities.contains(latestCommit.get());
-        } catch (NoSuccessfulBuildException e) {
-            log.info(e.getMessage());
-        } catch (Exception e) {
-            log.warn("Failed trying to check if branch is modified", e);
-        } finally {
-            try {
-                org.apache.commons.io.FileUtils.deleteDirectory(tempDir);
-            } catch (IOException e) {
-                // not important enough to log
+        });
+    }
+
+    /**
+     * The commits the branch may point to if it was not modified since the tag was made, as
+     * {@link #getBaseCommitPossibilities(Git, String)}, without fetching the repository. The parent of the tagged
+     * commit, e.g. the one aligned by PNC, is only known if the mirror already has the tagged commit.
+     */
+    private static Set<String> tagCommitOrParent(Git git, String tagCommit) throws IOException {
+        Set<String> result = new HashSet<>();
+        result.add(tagCommit);
+        Repository repository = git.getRepository();
+        ObjectId id = ObjectId.fromString(tagCommit);
+        if (repository.getObjectDatabase().has(id)) {
+            try (RevWalk walk = new RevWalk(repository)) {
+                RevCommit commit = walk.parseCommit(id);
+                if (commit.getParentCount() > 0) {
+                    result.add(commit.getParent(0).getName());
+                }
             }
         }
-        return false;
+        return result;
     }
 
-    private static Git cloneRepo(String internalUrl, File targetDir) throws GitAPIException, IOException {
-        log.debug("Cloning repository {} into {}", internalUrl, targetDir);
-
-        Git git = Git.init().setDirectory(targetDir).call();
-
-        try (Repository repository = git.getRepository()) {
-            StoredConfig config = repository.getConfig();
-            config.setBoolean("http", null, "sslVerify", false);
-            config.save();
+    private static Optional<String> commitOf(Ref ref) {
+        if (ref == null) {
+            return Optional.empty();
         }
-
-        git.remoteAdd().setName(GIT_REMOTE_NAME).setUri(toAnonymous(internalUrl)).call();
-
-        git.fetch().setRemote(GIT_REMOTE_NAME).setTagOpt(TagOpt.FETCH_TAGS).call();
-        return git;
+        ObjectId id = ref.getPeeledObjectId() != null ? ref.getPeeledObjectId() : ref.getObjectId();
+        return Optional.of(id.getName());
     }
 
     private static Optional<String> headRevision(Git git, String branch) throws GitAPIException, IOException {
 
-        try (Repository repository = git.getRepository()) {
+        // the repository is closed together with the mirror
+        Repository repository = git.getRepository();
 
-            Optional<Ref> ref = getRef(branch, repository);
-            if (ref.isPresent()) {
-                ObjectId id = ref.get().getPeeledObjectId();
-                if (id == null) {
-                    id = ref.get().getObjectId();
-                }
-                Iterable<RevCommit> commits = git.log().add(id).call();
-                return Optional.of(commits.iterator().next().getName());
-            } else {
-                return Optional.empty();
+        Optional<Ref> ref = getRef(branch, repository);
+        if (ref.isPresent()) {
+            ObjectId id = ref.get().getPeeledObjectId();
+            if (id == null) {
+                id = ref.get().getObjectId();
             }
+            Iterable<RevCommit> commits = git.log().add(id).call();
+            return Optional.of(commits.iterator().next().getName());
+        } else {
+            return Optional.empty();
         }
     }
 
@@ -144,24 +169,24 @@ public class GitRepoInspector {
         log.debug("Getting base commit possibilities for tag: {}", tagName);
         Set<String> result = new HashSet<>();
 
-        try (Repository repository = git.getRepository()) {
-            Optional<Ref> ref = getRef(tagName, repository);
+        // the repository is closed together with the mirror
+        Repository repository = git.getRepository();
+        Optional<Ref> ref = getRef(tagName, repository);
 
-            if (ref.isPresent()) {
-                ObjectId id = ref.get().getPeeledObjectId() != null ? ref.get().getPeeledObjectId()
-                        : ref.get().getObjectId();
+        if (ref.isPresent()) {
+            ObjectId id = ref.get().getPeeledObjectId() != null ? ref.get().getPeeledObjectId()
+                    : ref.get().getObjectId();
 
-                Iterator<RevCommit> log = git.log().add(id).call().iterator();
+            Iterator<RevCommit> log = git.log().add(id).call().iterator();
 
+            result.add(log.next().getName());
+            if (log.hasNext()) {
                 result.add(log.next().getName());
-                if (log.hasNext()) {
-                    result.add(log.next().getName());
-                }
-                return result;
-            } else {
-                log.warn("Couldn't find the tag '{}' in the repository", tagName);
-                return Collections.emptySet();
             }
+            return result;
+        } else {
+            log.warn("Couldn't find the tag '{}' in the repository", tagName);
+            return Collections.emptySet();
         }
     }
 
@@ -175,16 +200,6 @@ public class GitRepoInspector {
         }
     }
 
-    private static URIish toAnonymous(String internalUrl) throws MalformedURLException {
-        String uriAsString;
-        if (internalUrl.startsWith("git+ssh")) {
-            uriAsString = internalUrl.replace("git+ssh", "https").replace(".redhat.com/", ".redhat.com/gerrit/");
-        } else {
-            uriAsString = internalUrl;
-        }
-        return new URIish(URI.create(uriAsString).toURL());
-    }
-
     /**
      * Use this helper method to find the ref since we need to specify the GIT remote name to find it
      *
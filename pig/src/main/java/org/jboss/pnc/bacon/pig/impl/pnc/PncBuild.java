@@ -24,6 +24,7 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
+import org.apache.commons.io.FileUtils;
 import org.jboss.pnc.bacon.config.Config;
 import org.jboss.pnc.bacon.pnc.client.BifrostClient;
 import org.jboss.pnc.bacon.pnc.common.UrlGenerator;
@@ -33,12 +34,18 @@ import org.jboss.pnc.enums.BuildStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -50,7 +57,7 @@ import static java.util.Arrays.asList;
  */
 @Getter
 @Setter
-@ToString(exclude = "buildLog")
+@ToString(exclude = { "buildLog", "buildLogFile" })
 @AllArgsConstructor
 @JsonIgnoreProperties(value = { "startTime", "endTime" })
 public class PncBuild {
@@ -69,6 +76,8 @@ public class PncBuild {
     // Don't print huge build logs in the user's output. It's usually not that useful
     @JsonIgnore
     private List<String> buildLog;
+    @JsonIgnore
+    private Path buildLogFile;
     private List<ArtifactWrapper> builtArtifacts;
     private List<ArtifactWrapper> dependencyArtifacts;
 
@@ -136,8 +145,8 @@ public class PncBuild {
     }
 
     /**
-     * Get the build log of the build on demand and result if cached. If the method is called again, the cached content
-     * will be served if not null
+     * Get the build log of the build. Prefer {@link BuildLogScanner} for big logs, the whole log is read from its local
+     * file into memory on every call here.
      *
      * @return the logs of the build
      */
@@ -148,23 +157,51 @@ public class PncBuild {
             return buildLog;
         }
 
-        String bifrostBase = Config.instance().getActiveProfile().getPnc().getBifrostBaseurl();
-        URI bifrostUri = URI.create(bifrostBase);
-        BifrostClient logProcessor = new BifrostClient(bifrostUri);
+        Path logFile = getBuildLogFile();
         try {
-            buildLog = logProcessor.getLog(id, BifrostClient.LogType.BUILD);
+            return Files.readAllLines(logFile, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read build log of " + id + " from " + logFile, e);
+        }
+    }
 
-            if (buildLog == null) {
-                log.debug("Couldn't find logs for build id: {} ( {} )", id, UrlGenerator.generateBuildUrl(id));
-                buildLog = Collections.emptyList();
-            }
+    /**
+     * Get the build log of the build as a local file. The log is downloaded on the first call, line by line, and the
+     * file is reused by the next calls.
+     *
+     * @return the file with the logs of the build, one line per log line
+     */
+    public synchronized Path getBuildLogFile() {
+        if (buildLogFile != null && Files.exists(buildLogFile)) {
+            return buildLogFile;
+        }
 
-            return buildLog;
-        } catch (IOException e) {
+        Path logFile = BuildLogScanner.spoolDirectory().resolve(id + ".log");
+        try (BufferedWriter writer = Files.newBufferedWriter(logFile, StandardCharsets.UTF_8)) {
+            Consumer<String> onLine = line -> {
+                try {
+                    writer.write(line);
+                    writer.newLine();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            };
+            if (buildLog != null) {
+                buildLog.forEach(onLine);
+            } else {
+                String bifrostBase = Config.instance().getActiveProfile().getPnc().getBifrostBaseurl();
+                BifrostClient logProcessor = new BifrostClient(URI.create(bifrostBase));
+                logProcessor.writeLog(id, false, onLine, BifrostClient.LogType.BUILD);
+            }
+        } catch (IOException | UncheckedIOException e) {
+            FileUtils.deleteQuietly(logFile.toFile());
             throw new RuntimeException(
                     "Failed to get build log for " + id + " (" + UrlGenerator.generateBuildUrl(id) + ")",
                     e);
         }
+        log.debug("Stored build log of {} in {}", id, logFile);
+        buildLogFile = logFile;
+        return buildLogFile;
     }
 
     private List<ArtifactWrapper> findArtifactsMatching(Predicate<ArtifactWrapper> query) {
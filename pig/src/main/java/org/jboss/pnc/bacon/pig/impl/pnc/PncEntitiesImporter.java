@@ -17,6 +17,7 @@
  */
 package org.jboss.pnc.bacon.pig.impl.pnc;
 
+import org.jboss.pnc.bacon.common.Memoizer;
 import org.jboss.pnc.bacon.pig.impl.PigContext;
 import org.jboss.pnc.bacon.pig.impl.config.BuildConfig;
 import org.jboss.pnc.bacon.pig.impl.config.PigConfiguration;
@@ -55,13 +56,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.Closeable;
-import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 
 import static java.util.Optional.empty;
@@ -77,6 +81,11 @@ import static org.jboss.pnc.bacon.pig.impl.utils.PncClientUtils.toStream;
 public class PncEntitiesImporter implements Closeable {
     private static final Logger log = LoggerFactory.getLogger(PncEntitiesImporter.class);
 
+    // build configs created or updated at the same time, each of them may inspect its git repository
+    private static final int IMPORT_THREADS = 8;
+    // git repositories inspected at the same time when comparing build configs
+    private static final int BRANCH_CHECK_THREADS = 8;
+
     private final BuildConfigurationClient buildConfigClient;
     private final GroupConfigurationClient groupConfigClient;
     private final ProductClient productClient;
@@ -90,6 +99,9 @@ public class PncEntitiesImporter implements Closeable {
     private ProductMilestone milestone;
     private GroupConfiguration buildGroup;
     private List<BuildConfigData> configs;
+    // projects and repositories looked up or created during the import, shared by the build configs using them
+    private final Memoizer<String, Project> projects = new Memoizer<>();
+    private final Memoizer<String, SCMRepository> repositories = new Memoizer<>();
     private final PigConfiguration pigConfiguration = PigContext.get().getPigConfiguration();
 
     private final PncConfigurator pncConfigurator;
@@ -105,6 +117,25 @@ public class PncEntitiesImporter implements Closeable {
         pncConfigurator = new PncConfigurator();
     }
 
+    PncEntitiesImporter(
+            BuildConfigurationClient buildConfigClient,
+            GroupConfigurationClient groupConfigClient,
+            ProductClient productClient,
+            ProjectClient projectClient,
+            AdvancedSCMRepositoryClient repoClient,
+            ProductVersionClient versionClient,
+            EnvironmentClient environmentClient,
+            PncConfigurator pncConfigurator) {
+        this.buildConfigClient = buildConfigClient;
+        this.groupConfigClient = groupConfigClient;
+        this.productClient = productClient;
+        this.projectClient = projectClient;
+        this.repoClient = repoClient;
+        this.versionClient = versionClient;
+        this.environmentClient = environmentClient;
+        this.pncConfigurator = pncConfigurator;
+    }
+
     public ImportResult performImport(boolean skipBranchCheck, boolean temporaryBuild) {
         product = getOrGenerateProduct();
         version = getOrGenerateVersion();
@@ -189,16 +220,18 @@ public class PncEntitiesImporter implements Closeable {
     }
 
     private void setUpBuildDependencies() {
-        configs.parallelStream().forEach(this::setUpBuildDependencies);
+        Map<String, String> idsByName = configs.stream()
+                .collect(Collectors.toMap(BuildConfigData::getName, BuildConfigData::getId, (first, second) -> first));
+        configs.parallelStream().forEach(config -> setUpBuildDependencies(config, idsByName));
     }
 
-    private void setUpBuildDependencies(BuildConfigData config) {
+    private void setUpBuildDependencies(BuildConfigData config, Map<String, String> idsByName) {
         String id = config.getId();
 
         // todo : store build configuration refs in BuildConfigData and use it instead of ids here
         Set<String> dependencies = config.getDependencies()
                 .stream()
-                .map(this::configByName)
+                .map(name -> configByName(idsByName, name))
                 .collect(Collectors.toSet());
         Set<String> currentDependencies = getCurrentDependencies(id);
 
@@ -247,14 +280,13 @@ public class PncEntitiesImporter implements Closeable {
         }
     }
 
-    private String configByName(String name) {
-        Optional<BuildConfigData> maybeConfig = configs.stream().filter(c -> c.getName().equals(name)).findAny();
-        return maybeConfig
-                .orElseThrow(
-                        () -> new RuntimeException(
-                                "Build config name " + name
-                                        + " used to reference a dependency but no such build config defined"))
-                .getId();
+    private static String configByName(Map<String, String> idsByName, String name) {
+        String id = idsByName.get(name);
+        if (id == null) {
+            throw new RuntimeException(
+                    "Build config name " + name + " used to reference a dependency but no such build config defined");
+        }
+        return id;
     }
 
     private void addBuildConfigIdsToGroup() {
@@ -319,45 +351,113 @@ public class PncEntitiesImporter implements Closeable {
         }
     }
 
+    /**
+     * Create or update the build configs. The existing build configs are fetched in bulk and their git repositories are
+     * inspected concurrently, the build configs are then created or updated concurrently. Their dependencies are set up
+     * afterwards.
+     */
     private List<BuildConfigData> updateOrCreate(
             List<BuildConfiguration> currentConfigs,
             List<BuildConfig> builds,
             boolean skipBranchCheck,
             boolean temporaryBuild) {
-        List<BuildConfigData> buildList = new ArrayList<>();
-        for (BuildConfig bc : builds) {
-            BuildConfigData data = new BuildConfigData(bc);
-            for (BuildConfiguration config : currentConfigs) {
-                if (config.getName().equals(bc.getName())) {
-                    data.setOldConfig(config);
-                    data.setId(config.getId());
-                    if (data.shouldBeUpdated(skipBranchCheck, temporaryBuild)) {
-                        updateBuildConfig(data, config);
-                    }
-                }
+        Map<String, BuildConfiguration> existingByName = getExistingBuildConfigs(currentConfigs);
+        if (!skipBranchCheck) {
+            checkBranchesConcurrently(existingByName, builds, temporaryBuild);
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(IMPORT_THREADS);
+        try {
+            List<CompletableFuture<BuildConfigData>> imports = builds.stream()
+                    .map(
+                            bc -> CompletableFuture.supplyAsync(
+                                    () -> updateOrCreate(bc, existingByName, skipBranchCheck, temporaryBuild),
+                                    pool))
+                    .collect(Collectors.toList());
+            return imports.stream().map(CompletableFuture::join).collect(Collectors.toList());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
             }
-            // Check if build exists already (globally)
-            // True = Add to BCS and update BC (maybe ask?)
-            Optional<BuildConfiguration> matchedBuildConfig = getBuildConfigFromName(bc.getName());
-            if (matchedBuildConfig.isPresent()) {
-                log.debug("Found matching build config for {}", bc.getName());
-                data.setOldConfig(matchedBuildConfig.get());
-                data.setId(matchedBuildConfig.get().getId());
-                if (data.shouldBeUpdated(skipBranchCheck, temporaryBuild)) {
-                    updateBuildConfig(data, matchedBuildConfig.get());
-                }
-                data.setModified(true);
-            } else {
-                log.debug("No matching build config found in the BCS");
-                // False = Create new project/BC
-                BuildConfiguration createdConfig = createBuildConfig(data.getNewConfig());
-                data.setId(createdConfig.getId());
-                data.setModified(true);
-                log.debug("Didn't find matching build config for {}", bc.getName());
+            throw e;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Compare the build configs with their current versions concurrently. The comparison inspects the git repository of
+     * each config, its result is remembered by the config.
+     */
+    private void checkBranchesConcurrently(
+            Map<String, BuildConfiguration> currentByName,
+            List<BuildConfig> builds,
+            boolean temporaryBuild) {
+        ExecutorService pool = Executors.newFixedThreadPool(BRANCH_CHECK_THREADS);
+        try {
+            List<CompletableFuture<Boolean>> checks = builds.stream()
+                    .filter(bc -> currentByName.containsKey(bc.getName()))
+                    .map(
+                            bc -> CompletableFuture.supplyAsync(
+                                    () -> bc.isTheSameAs(currentByName.get(bc.getName()), false, temporaryBuild),
+                                    pool))
+                    .collect(Collectors.toList());
+            checks.forEach(CompletableFuture::join);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
             }
-            buildList.add(data);
+            throw e;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private BuildConfigData updateOrCreate(
+            BuildConfig bc,
+            Map<String, BuildConfiguration> existingByName,
+            boolean skipBranchCheck,
+            boolean temporaryBuild) {
+        BuildConfigData data = new BuildConfigData(bc);
+        // Check if build exists already (globally)
+        // True = Add to BCS and update BC (maybe ask?)
+        Optional<BuildConfiguration> matchedBuildConfig = Optional.ofNullable(existingByName.get(bc.getName()));
+        if (matchedBuildConfig.isEmpty()) {
+            matchedBuildConfig = getBuildConfigFromName(bc.getName());
+        }
+        if (matchedBuildConfig.isPresent()) {
+            log.debug("Found matching build config for {}", bc.getName());
+            data.setOldConfig(matchedBuildConfig.get());
+            data.setId(matchedBuildConfig.get().getId());
+            if (data.shouldBeUpdated(skipBranchCheck, temporaryBuild)) {
+                updateBuildConfig(data, matchedBuildConfig.get());
+            }
+            data.setModified(true);
+        } else {
+            log.debug("No matching build config found in the BCS");
+            // False = Create new project/BC
+            BuildConfiguration createdConfig = createBuildConfig(data.getNewConfig());
+            data.setId(createdConfig.getId());
+            data.setModified(true);
+            log.debug("Didn't find matching build config for {}", bc.getName());
+        }
+        return data;
+    }
+
+    /**
+     * @return the build configs of the build group and of the product version, by name
+     */
+    private Map<String, BuildConfiguration> getExistingBuildConfigs(List<BuildConfiguration> currentConfigs) {
+        Map<String, BuildConfiguration> existingByName = new HashMap<>();
+        try {
+            toStream(versionClient.getBuildConfigs(version.getId()))
+                    .forEach(config -> existingByName.put(config.getName(), config));
+        } catch (RemoteResourceException e) {
+            throw new RuntimeException("Failed to get build configurations of product version " + version.getId(), e);
         }
-        return buildList;
+        // the build configs already in the group take precedence
+        currentConfigs.forEach(config -> existingByName.put(config.getName(), config));
+        return existingByName;
     }
 
     private BuildConfiguration createBuildConfig(BuildConfig buildConfig) {
@@ -408,8 +508,10 @@ public class PncEntitiesImporter implements Closeable {
     }
 
     private SCMRepository getOrGenerateRepository(BuildConfig buildConfig) {
-        Optional<SCMRepository> existingRepository = getExistingRepository(buildConfig);
-        return existingRepository.orElseGet(() -> createRepository(buildConfig));
+        // build configs sharing a repository are imported concurrently, the repository must be created only once
+        return repositories.get(
+                buildConfig.getScmUrl(),
+                url -> getExistingRepository(buildConfig).orElseGet(() -> createRepository(buildConfig)));
     }
 
     private Optional<SCMRepository> getExistingRepository(BuildConfig buildConfig) {
@@ -471,13 +573,16 @@ public class PncEntitiesImporter implements Closeable {
     }
 
     private Project getOrGenerateProject(String projectName) {
-        RemoteCollection<Project> query;
-        try {
-            query = projectClient.getAll(empty(), findByNameQuery(projectName));
-        } catch (RemoteResourceException e) {
-            throw new RuntimeException("Failed to search for project " + projectName, e);
-        }
-        return maybeSingle(query).orElseGet(() -> generateProject(projectName));
+        // build configs of a project are imported concurrently, the project must be created only once
+        return projects.get(projectName, name -> {
+            RemoteCollection<Project> query;
+            try {
+                query = projectClient.getAll(empty(), findByNameQuery(name));
+            } catch (RemoteResourceException e) {
+                throw new RuntimeException("Failed to search for project " + name, e);
+            }
+            return maybeSingle(query).orElseGet(() -> generateProject(name));
+        });
     }
 
     private Project generateProject(String projectName) {
@@ -26,6 +26,15 @@ import org.slf4j.LoggerFactory;
 import java.io.File;
 import java.net.URI;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * @author Michal Szynkiewicz, michal.l.szynkiewicz@gmail.com <br>
@@ -44,6 +53,49 @@ public class ExternalArtifactDownloader {
         return downloadExternalArtifact(gav, targetPath, sourcesOptional);
     }
 
+    /**
+     * Download the artifacts to a maven repository directory. At most {@link FileDownloadUtils#getParallelism()}
+     * artifacts are downloaded at the same time. Artifacts listed more than once, e.g. built by several of the builds,
+     * are downloaded once, so that no two downloads write to the same file.
+     *
+     * @param gavs artifacts to download
+     * @param targetRepoContents maven repository directory
+     * @param sourcesOptional if set, failures to download sources jars are only logged
+     */
+    public static void downloadExternalArtifacts(
+            Collection<GAV> gavs,
+            Path targetRepoContents,
+            boolean sourcesOptional) {
+        // GAV equality ignores the classifier and packaging, the artifact path doesn't
+        Map<String, GAV> artifactsByPath = new LinkedHashMap<>();
+        gavs.forEach(gav -> artifactsByPath.putIfAbsent(gav.toUri(), gav));
+        if (artifactsByPath.isEmpty()) {
+            return;
+        }
+        int parallelism = Math.min(FileDownloadUtils.getParallelism(), artifactsByPath.size());
+        log.info("Downloading {} artifacts, {} at a time", artifactsByPath.size(), parallelism);
+
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism);
+        try {
+            List<CompletableFuture<File>> downloads = new ArrayList<>(artifactsByPath.size());
+            for (GAV gav : artifactsByPath.values()) {
+                downloads.add(
+                        CompletableFuture.supplyAsync(
+                                () -> downloadExternalArtifact(gav, targetRepoContents, sourcesOptional),
+                                pool));
+            }
+            // fail on the first failed download, the rest is cancelled when the pool is shut down
+            downloads.forEach(CompletableFuture::join);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
     public static File downloadExternalArtifact(GAV gav, File targetPath, boolean sourcesOptional) {
         targetPath.toPath().getParent().toFile().mkdirs();
 
@@ -51,7 +103,7 @@ public class ExternalArtifactDownloader {
 
         URI downloadUrl = URI.create(String.format("%s/%s", indyUrl, gav.toUri()));
         try {
-            FileDownloadUtils.downloadTo(downloadUrl, targetPath);
+            FileDownloadUtils.downloadTo(downloadUrl, targetPath, true);
         } catch (RuntimeException any) {
             if (sourcesOptional && "sources".equals(gav.getClassifier()) || "javadoc".equals(gav.getClassifier())) {
                 log.warn("Unable to download sources for {}: {}", gav, any.getMessage());
@@ -3,37 +3,49 @@ package org.jboss.pnc.bacon.pig.impl.repo;
 import org.jboss.pnc.bacon.pig.impl.utils.GAV;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.w3c.dom.Document;
-import org.xml.sax.SAXException;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.xpath.XPath;
-import javax.xml.xpath.XPathExpression;
-import javax.xml.xpath.XPathExpressionException;
-import javax.xml.xpath.XPathFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.UncheckedIOException;
-import java.nio.charset.StandardCharsets;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.HashSet;
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
+ * Downloads the missing Red Hat parent POMs of the POMs in a repository.
+ * <p>
+ * The repository is walked once. Every POM is parsed once, and only for its parent coordinates. Missing parents are
+ * downloaded concurrently and then processed in turn, until no new parent is missing.
+ *
  * @author Ken Finnigan
  */
 public class ParentPomDownloader {
 
     private static final Logger log = LoggerFactory.getLogger(ParentPomDownloader.class);
 
-    private ParentPomDownloader(Path repoPath) {
+    private static final XMLInputFactory XML_INPUT_FACTORY = createXmlInputFactory();
+
+    private final Set<PomGAV> alreadyChecked = ConcurrentHashMap.newKeySet();
+
+    private final Path repoPath;
+
+    private final Consumer<Collection<GAV>> downloader;
+
+    ParentPomDownloader(Path repoPath, Consumer<Collection<GAV>> downloader) {
         this.repoPath = repoPath;
+        this.downloader = downloader;
     }
 
     public static void addParentPoms(Path repoPath) {
@@ -41,161 +53,132 @@ public class ParentPomDownloader {
             throw new IllegalStateException("Directory expected to be present: " + repoPath);
         }
 
-        try {
-            new ParentPomDownloader(repoPath).process();
+        new ParentPomDownloader(
+                repoPath,
+                gavs -> ExternalArtifactDownloader.downloadExternalArtifacts(gavs, repoPath, false)).process();
+    }
+
+    void process() {
+        List<Path> poms;
+        try (Stream<Path> stream = Files.walk(repoPath)) {
+            poms = stream.filter(ParentPomDownloader::isPom).filter(Files::isRegularFile).collect(Collectors.toList());
         } catch (IOException e) {
             throw new RuntimeException("Unable to download parent poms", e);
         }
-    }
 
-    private void process() throws IOException {
-        // iterate until the working set is empty
         // this is to download parent POM of a parent POM of a parent POM of a parent POM of a ...
-        do {
-            toDownload.clear();
-            doProcess();
-        } while (!toDownload.isEmpty());
-    }
-
-    private void doProcess() throws IOException {
-        try (Stream<Path> stream = Files.walk(repoPath)) {
-            stream.filter(Files::isRegularFile)
-                    .filter(ParentPomDownloader::isPom)
-                    .map(Pom::new)
-                    .filter(Pom::hasParent)
-                    .forEach(p -> processPom(repoPath, p));
-        }
+        // only the POMs downloaded in the previous round have to be checked
+        while (!poms.isEmpty()) {
+            Set<PomGAV> toDownload = poms.parallelStream()
+                    .map(this::missingParent)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet());
+            if (toDownload.isEmpty()) {
+                return;
+            }
 
-        toDownload.parallelStream().map(PomGAV::toGav).forEach(this::download);
-    }
+            toDownload.forEach(coords -> log.info("Downloading missing parent POM {}", coords));
+            downloader.accept(toDownload.stream().map(PomGAV::toGav).collect(Collectors.toList()));
 
-    private void download(GAV gav) {
-        log.info("Downloading missing parent POM {}", gav);
-        ExternalArtifactDownloader.downloadExternalArtifact(gav, repoPath, false);
+            poms = toDownload.stream().map(this::pomPath).filter(Files::isRegularFile).collect(Collectors.toList());
+        }
     }
 
-    private void processPom(Path repoPath, Pom pom) {
+    /**
+     * @return the coordinates of the parent if it is a Red Hat POM missing in the repository and it has not been
+     *         requested yet, null otherwise
+     */
+    private PomGAV missingParent(Path pom) {
         PomGAV coords = parentCoordinates(pom);
-        if (!coords.version.contains("redhat")) {
-            // community parent POM not required
-            return;
+        if (coords == null || !coords.version.contains("redhat")) {
+            // no parent, or a community parent POM that is not required
+            return null;
         }
-
-        Path parentDir = artifactDir(repoPath, coords);
-        Path parentPomPath = parentDir.resolve(coords.artifactId + "-" + coords.version + ".pom");
-
-        if (!alreadyChecked.contains(coords)) {
-            if (!Files.isRegularFile(parentPomPath)) {
-                // File missing
-                log.debug("Will download {} because it's a parent of {}", coords, pom.path);
-                toDownload.add(coords);
-            }
-
-            alreadyChecked.add(coords);
+        if (!alreadyChecked.add(coords) || Files.isRegularFile(pomPath(coords))) {
+            return null;
         }
+        log.debug("Will download {} because it's a parent of {}", coords, pom);
+        return coords;
     }
 
     private static boolean isPom(Path path) {
         return path.toString().endsWith(".pom");
     }
 
-    private static Path artifactDir(Path repoPath, PomGAV coords) {
+    private Path pomPath(PomGAV coords) {
         Path groupDir = repoPath.resolve(coords.groupId.replace('.', File.separatorChar));
         Path artifactDir = groupDir.resolve(coords.artifactId);
-        return artifactDir.resolve(coords.version);
-    }
-
-    private PomGAV parentCoordinates(Pom pom) {
-        try {
-            Document pomDoc = pom.parse();
-
-            return new PomGAV(
-                    parentGroupIdExpression().evaluate(pomDoc),
-                    parentArtifactIdExpression().evaluate(pomDoc),
-                    parentVersionExpression().evaluate(pomDoc));
-        } catch (IOException | SAXException | ParserConfigurationException | XPathExpressionException e) {
-            throw new RuntimeException(e);
-        }
+        return artifactDir.resolve(coords.version).resolve(coords.artifactId + "-" + coords.version + ".pom");
     }
 
-    private XPath xPath() {
-        if (xpath == null) {
-            XPathFactory xPathFactory = XPathFactory.newInstance();
-            xpath = xPathFactory.newXPath();
-        }
-        return xpath;
-    }
-
-    private XPathExpression parentGroupIdExpression() throws XPathExpressionException {
-        if (parentGroupIdExpression == null) {
-            parentGroupIdExpression = xPath().compile("/project/parent/groupId");
-        }
-        return parentGroupIdExpression;
-    }
-
-    private XPathExpression parentArtifactIdExpression() throws XPathExpressionException {
-        if (parentArtifactIdExpression == null) {
-            parentArtifactIdExpression = xPath().compile("/project/parent/artifactId");
-        }
-        return parentArtifactIdExpression;
-    }
-
-    private XPathExpression parentVersionExpression() throws XPathExpressionException {
-        if (parentVersionExpression == null) {
-            parentVersionExpression = xPath().compile("/project/parent/version");
-        }
-        return parentVersionExpression;
-    }
-
-    private final Set<PomGAV> alreadyChecked = new HashSet<>();
-
-    private final Set<PomGAV> toDownload = new HashSet<>();
-
-    private final Path repoPath;
-
-    private XPath xpath;
-
-    private XPathExpression parentGroupIdExpression;
-
-    private XPathExpression parentArtifactIdExpression;
-
-    private XPathExpression parentVersionExpression;
-
-    private static class Pom {
-        private final Path path;
-
-        private DocumentBuilder documentBuilder;
-
-        Pom(Path path) {
-            this.path = path;
-        }
-
-        public Path path() {
-            return path;
-        }
-
-        boolean hasParent() {
+    /**
+     * Reads the POM only up to the end of the parent element
+     *
+     * @return parent coordinates or null if the POM has no parent
+     */
+    static PomGAV parentCoordinates(Path pom) {
+        try (InputStream input = Files.newInputStream(pom)) {
+            XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(input);
             try {
-                return new String(Files.readAllBytes(path), StandardCharsets.UTF_8).contains("<parent>");
-            } catch (IOException e) {
-                throw new UncheckedIOException(e);
+                return readParent(reader);
+            } finally {
+                reader.close();
             }
+        } catch (IOException | XMLStreamException e) {
+            throw new RuntimeException("Unable to read the parent of " + pom, e);
         }
+    }
 
-        Document parse() throws IOException, SAXException, ParserConfigurationException {
-            final DocumentBuilder documentBuilder = documentBuilder();
-            return documentBuilder.parse(path.toFile());
-        }
-
-        private DocumentBuilder documentBuilder() throws ParserConfigurationException {
-            if (documentBuilder == null) {
-                documentBuilder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+    private static PomGAV readParent(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 0;
+        boolean inParent = false;
+        String groupId = "";
+        String artifactId = "";
+        String version = "";
+
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+                String name = reader.getLocalName();
+                if (depth == 2 && "parent".equals(name)) {
+                    inParent = true;
+                } else if (inParent && depth == 3) {
+                    switch (name) {
+                        case "groupId":
+                            groupId = reader.getElementText().trim();
+                            depth--;
+                            break;
+                        case "artifactId":
+                            artifactId = reader.getElementText().trim();
+                            depth--;
+                            break;
+                        case "version":
+                            version = reader.getElementText().trim();
+                            depth--;
+                            break;
+                        default:
+                            break;
+                    }
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                if (inParent && depth == 2) {
+                    return new PomGAV(groupId, artifactId, version);
+                }
+                depth--;
             }
-            return documentBuilder;
         }
+        return null;
+    }
+
+    private static XMLInputFactory createXmlInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
     }
 
-    private static class PomGAV {
+    static class PomGAV {
         private final String groupId;
 
         private final String artifactId;
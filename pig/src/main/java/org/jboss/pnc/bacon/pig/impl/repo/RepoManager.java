@@ -205,10 +205,12 @@ public class RepoManager extends DeliverableManager<RepoGenerationData, Reposito
         artifactsToPack.removeIf(
                 artifact -> !artifact.getGapv().contains("redhat-")
                         && !artifact.getGapv().contains("eap-runtime-artifacts"));
-        artifactsToPack.removeIf(artifact -> isArtifactExcluded(artifact.getGapv()));
+        List<Pattern> exclusions = compile(generationData.getExcludeArtifacts());
+        artifactsToPack.removeIf(artifact -> isArtifactExcluded(artifact.getGapv(), exclusions));
 
         if (isFilterActive()) {
-            artifactsToPack.removeIf(artifact -> !isArtifactInFilter(artifact.getGapv()));
+            List<Pattern> filters = compile(generationData.getFilterArtifacts());
+            artifactsToPack.removeIf(artifact -> !isArtifactInFilter(artifact.getGapv(), filters));
         }
 
         List<GAV> originalListToPack = artifactsToPack.stream()
@@ -236,8 +238,7 @@ public class RepoManager extends DeliverableManager<RepoGenerationData, Reposito
                     .map(GAV::toJavadocJar)
                     .forEach(gavsToPack::add);
         }
-        gavsToPack.forEach(
-                a -> ExternalArtifactDownloader.downloadExternalArtifact(a, sourceDir.toPath(), !strictDownloadSource));
+        ExternalArtifactDownloader.downloadExternalArtifacts(gavsToPack, sourceDir.toPath(), !strictDownloadSource);
     }
 
     @Deprecated
@@ -301,10 +302,13 @@ public class RepoManager extends DeliverableManager<RepoGenerationData, Reposito
         return list.stream().noneMatch(a -> a.equals(gav) && "javadoc".equals(a.getClassifier()));
     }
 
-    private boolean isArtifactExcluded(String artifact) {
-        List<String> excludeArtifacts = pigConfiguration.getFlow().getRepositoryGeneration().getExcludeArtifacts();
-        for (String exclusion : excludeArtifacts) {
-            if (Pattern.matches(exclusion, artifact)) {
+    private static List<Pattern> compile(List<String> regexes) {
+        return regexes.stream().map(Pattern::compile).collect(Collectors.toList());
+    }
+
+    private static boolean isArtifactExcluded(String artifact, List<Pattern> exclusions) {
+        for (Pattern exclusion : exclusions) {
+            if (exclusion.matcher(artifact).matches()) {
                 log.debug(
                         "Artifact {} will not be downloaded to the maven repository since it matches exclusion regex: {}",
                         artifact,
@@ -320,9 +324,8 @@ public class RepoManager extends DeliverableManager<RepoGenerationData, Reposito
         return !filterArtifacts.isEmpty();
     }
 
-    private boolean isArtifactInFilter(String artifact) {
-        List<String> filterArtifacts = pigConfiguration.getFlow().getRepositoryGeneration().getFilterArtifacts();
-        return filterArtifacts.stream().anyMatch(filter -> Pattern.matches(filter, artifact));
+    private static boolean isArtifactInFilter(String artifact, List<Pattern> filters) {
+        return filters.stream().anyMatch(filter -> filter.matcher(artifact).matches());
     }
 
     @Override
@@ -345,28 +348,25 @@ public class RepoManager extends DeliverableManager<RepoGenerationData, Reposito
 
         ParentPomDownloader.addParentPoms(targetRepoContentsDir.toPath());
 
+        RepositoryFinalizer finalizer = RepositoryFinalizer.index(targetRepoContentsDir);
         if (!isTestMode) {
-            RepositoryUtils.removeCommunityArtifacts(targetRepoContentsDir);
-            RepositoryUtils.removeIrrelevantFiles(targetRepoContentsDir);
-
             // Delete excluded artifacts in the maven-repository. Needed for resolve only generation where filtering
             // can't be done before download
             List<String> excludeArtifacts = pigConfiguration.getFlow().getRepositoryGeneration().getExcludeArtifacts();
-            RepositoryUtils.removeExcludedArtifacts(targetRepoContentsDir, excludeArtifacts);
+            finalizer.removeUnwantedFiles(excludeArtifacts);
         }
-        addMissingSources();
+        addMissingSources(finalizer);
 
-        RepositoryUtils.addCheckSums(targetRepoContentsDir);
-        if (generationData.isIncludeMavenMetadata()) {
-            RepositoryUtils.generateMavenMetadata(targetRepoContentsDir);
-        }
+        finalizer.addCheckSumsAndMetadata(generationData.isIncludeMavenMetadata());
         zip(targetTopLevelDirectory, targetZipPath);
 
         return result(targetTopLevelDirectory, targetZipPath);
     }
 
-    private void addMissingSources() {
-        Collection<GAV> gavs = RepoDescriptor.listGavs(targetRepoContentsDir);
+    private void addMissingSources(RepositoryFinalizer finalizer) {
+        Collection<GAV> gavs = finalizer.listGavs();
+        List<GAV> missingSources = new ArrayList<>();
+        List<File> sourceFiles = new ArrayList<>();
 
         for (GAV gav : gavs) {
             GAV sourceGav = gav.toSourcesJar();
@@ -376,9 +376,12 @@ public class RepoManager extends DeliverableManager<RepoGenerationData, Reposito
             File sourceFile = ExternalArtifactDownloader.targetPath(sourceGav, targetRepoContentsDir.toPath());
 
             if (jarFile.exists() && !sourceFile.exists()) {
-                ExternalArtifactDownloader.downloadExternalArtifact(sourceGav, sourceFile, true);
+                missingSources.add(sourceGav);
+                sourceFiles.add(sourceFile);
             }
         }
+        ExternalArtifactDownloader.downloadExternalArtifacts(missingSources, targetRepoContentsDir.toPath(), true);
+        finalizer.add(sourceFiles);
     }
 
     private File download() {
@@ -398,10 +401,11 @@ public class RepoManager extends DeliverableManager<RepoGenerationData, Reposito
             artifacts.getDownload().forEach(regex -> downloadArtifact(build.findArtifact(regex)));
         });
 
-        generationData.getExternalAdditionalArtifacts()
+        List<GAV> externalArtifacts = generationData.getExternalAdditionalArtifacts()
                 .stream()
                 .map(GAV::fromColonSeparatedGAPV)
-                .forEach(this::downloadExternalArtifact);
+                .collect(Collectors.toList());
+        ExternalArtifactDownloader.downloadExternalArtifacts(externalArtifacts, targetRepoContentsDir.toPath(), false);
     }
 
     private void addAdditionalConfigs() {
@@ -409,15 +413,13 @@ public class RepoManager extends DeliverableManager<RepoGenerationData, Reposito
         BuildInfoCollector.BuildSearchType type = PigContext.get().isTempBuild()
                 ? BuildInfoCollector.BuildSearchType.TEMPORARY
                 : BuildInfoCollector.BuildSearchType.PERMANENT;
+        List<GAV> builtArtifacts = new ArrayList<>();
         additionalBuilds.forEach(configName -> {
             buildInfoCollector.getLatestBuild(buildInfoCollector.ConfigNametoId(configName), type)
                     .getBuiltArtifacts()
-                    .forEach(artifact -> downloadExternalArtifact(artifact.toGAV()));
+                    .forEach(artifact -> builtArtifacts.add(artifact.toGAV()));
         });
-    }
-
-    private void downloadExternalArtifact(GAV gav) {
-        ExternalArtifactDownloader.downloadExternalArtifact(gav, targetRepoContentsDir.toPath(), false);
+        ExternalArtifactDownloader.downloadExternalArtifacts(builtArtifacts, targetRepoContentsDir.toPath(), false);
     }
 
     private void downloadArtifact(ArtifactWrapper artifact) {
@@ -980,15 +982,10 @@ public class RepoManager extends DeliverableManager<RepoGenerationData, Reposito
                 throw new UncheckedIOException(e);
             }
 
-            // generate md5 and sha1 checksums
-            final List<CompletableFuture<Void>> checksums = new ArrayList<>(resolved.getArtifacts().size());
+            // generate md5 and sha1 checksums, the GAVs themselves are finalized concurrently
             for (var a : resolved.getArtifacts()) {
-                checksums.add(CompletableFuture.runAsync(() -> {
-                    RepositoryUtils.addCheckSums(a.getFile().toPath(), "md5", "sha1");
-                }));
+                RepositoryUtils.addCheckSums(a.getFile().toPath(), "md5", "sha1");
             }
-
-            CompletableFuture.allOf(checksums.toArray(new CompletableFuture<?>[0])).join();
             progressTracker.finalized(gav);
         });
     }
@@ -0,0 +1,207 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.bacon.pig.impl.repo;
+
+import org.jboss.pnc.bacon.pig.impl.utils.GAV;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Finalizes the content of a generated maven repository: removes the files that should not be shipped and adds the
+ * checksums and maven metadata.
+ * <p>
+ * The repository directory is walked only once, when the finalizer is created. All the subsequent steps work on the
+ * resulting index of files, which has to be kept up to date with {@link #add(Collection)} if files are added to the
+ * repository in the meantime.
+ */
+public class RepositoryFinalizer {
+    private static final Logger log = LoggerFactory.getLogger(RepositoryFinalizer.class);
+
+    private final Path repoPath;
+    private final Set<Path> files;
+
+    private RepositoryFinalizer(Path repoPath, Set<Path> files) {
+        this.repoPath = repoPath;
+        this.files = files;
+    }
+
+    /**
+     * Index the content of a maven repository
+     *
+     * @param mavenRepositoryDirectory the maven repository directory
+     * @return finalizer working on the indexed content
+     */
+    public static RepositoryFinalizer index(File mavenRepositoryDirectory) {
+        Path repoPath = mavenRepositoryDirectory.toPath().toAbsolutePath();
+        try (Stream<Path> stream = Files.walk(repoPath)) {
+            Set<Path> files = stream.filter(Files::isRegularFile).collect(Collectors.toCollection(TreeSet::new));
+            log.debug("Indexed {} files in {}", files.size(), repoPath);
+            return new RepositoryFinalizer(repoPath, files);
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to index the maven repository " + repoPath, e);
+        }
+    }
+
+    /**
+     * Remove community artifacts, internal maven files and the excluded artifacts from the repository
+     *
+     * @param excludedArtifacts artifacts to remove, in the <group id>:<artifactid>:<packaging>:<version> format
+     */
+    public void removeUnwantedFiles(List<String> excludedArtifacts) {
+        log.debug("Removing community, excluded and internal maven files from the repository");
+        List<Pattern> excludedPaths = excludedArtifacts.stream()
+                .map(RepositoryUtils::convertMavenIdentifierToPathRegex)
+                .map(Pattern::compile)
+                .collect(Collectors.toList());
+
+        Predicate<Path> excluded = path -> excludedPaths.stream().anyMatch(p -> {
+            if (p.matcher(path.toString()).find()) {
+                log.debug("Removing path {} from the repository since it matches regex: {}", path, p);
+                return true;
+            }
+            return false;
+        });
+
+        Predicate<Path> unwanted = RepositoryFinalizer::isIrrelevant;
+        unwanted = unwanted.or(path -> RepositoryUtils.isCommunity(path.toFile())).or(excluded);
+
+        remove(unwanted);
+    }
+
+    private void remove(Predicate<Path> condition) {
+        List<Path> toRemove = files.parallelStream().filter(condition).collect(Collectors.toList());
+
+        // deepest directories first, so that the parents are empty by the time they are checked
+        Set<Path> parents = new TreeSet<>(
+                Comparator.comparingInt(Path::getNameCount).reversed().thenComparing(Comparator.naturalOrder()));
+        for (Path file : toRemove) {
+            try {
+                Files.delete(file);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to remove " + file, e);
+            }
+            files.remove(file);
+            parents.add(file.getParent());
+        }
+        parents.forEach(this::deleteEmptyDirectories);
+        log.debug("Removed {} files from the repository", toRemove.size());
+    }
+
+    private void deleteEmptyDirectories(Path directory) {
+        while (!directory.equals(repoPath) && directory.startsWith(repoPath) && Files.isDirectory(directory)) {
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+                if (stream.iterator().hasNext()) {
+                    return;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            try {
+                Files.delete(directory);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to remove " + directory, e);
+            }
+            directory = directory.getParent();
+        }
+    }
+
+    /**
+     * @return all artifacts in the repository, deduplicated by groupId:artifactId:version
+     */
+    public Collection<GAV> listGavs() {
+        Set<GAV> result = new TreeSet<>(Comparator.comparing(GAV::toGav));
+        files.stream()
+                .filter(RepositoryFinalizer::isNotCheckSumFile)
+                .map(f -> GAV.fromFileName(f.toString(), RepoDescriptor.MAVEN_REPOSITORY))
+                .forEach(result::add);
+        return result;
+    }
+
+    /**
+     * Add files that were put to the repository after it was indexed. Files that do not exist are ignored.
+     *
+     * @param added files added to the repository
+     */
+    public void add(Collection<File> added) {
+        added.stream().map(f -> f.toPath().toAbsolutePath()).filter(Files::isRegularFile).forEach(files::add);
+    }
+
+    /**
+     * Generate the missing checksums and, if requested, maven-metadata.xml files. The two steps run concurrently, the
+     * checksums are generated in parallel for the indexed files.
+     *
+     * @param includeMavenMetadata whether maven-metadata.xml files should be generated
+     */
+    public void addCheckSumsAndMetadata(boolean includeMavenMetadata) {
+        CompletableFuture<Void> checksums = CompletableFuture.runAsync(this::addCheckSums);
+        CompletableFuture<Void> metadata = includeMavenMetadata
+                ? CompletableFuture.runAsync(this::generateMavenMetadata)
+                : CompletableFuture.completedFuture(null);
+        try {
+            CompletableFuture.allOf(checksums, metadata).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private void addCheckSums() {
+        log.debug("Generating missing checksums");
+        RepositoryUtils.addCheckSums(
+                files.stream().filter(RepositoryFinalizer::isNotCheckSumFile).collect(Collectors.toList()));
+    }
+
+    private void generateMavenMetadata() {
+        log.debug("Generating maven-metadata.xml files");
+        Set<String> pomPaths = files.stream()
+                .filter(f -> f.getFileName().toString().endsWith(".pom"))
+                .map(f -> repoPath.relativize(f).toString())
+                .collect(Collectors.toSet());
+        RepositoryUtils.generateMetadata(repoPath.toFile(), pomPaths);
+    }
+
+    private static boolean isIrrelevant(Path path) {
+        String fileName = path.getFileName().toString();
+        return fileName.equals("_remote.repositories") || fileName.endsWith(".lastUpdated");
+    }
+
+    private static boolean isNotCheckSumFile(Path path) {
+        String fileName = path.getFileName().toString();
+        return Stream.of(RepoDescriptor.CHECKSUM_EXTENSIONS).noneMatch(fileName::endsWith);
+    }
+}
@@ -17,7 +17,6 @@
  */
 package org.jboss.pnc.bacon.pig.impl.repo;
 
-import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.io.FileUtils;
 import org.apache.maven.artifact.repository.metadata.Metadata;
 import org.apache.maven.artifact.repository.metadata.Versioning;
@@ -26,16 +25,13 @@ import org.commonjava.maven.atlas.ident.ref.ProjectRef;
 import org.commonjava.maven.atlas.ident.ref.ProjectVersionRef;
 import org.commonjava.maven.atlas.ident.util.ArtifactPathInfo;
 import org.commonjava.maven.atlas.ident.version.SingleVersion;
+import org.jboss.pnc.bacon.pig.impl.utils.ChecksumUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.BufferedWriter;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.UncheckedIOException;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -44,6 +40,8 @@ import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -66,6 +64,8 @@ import static java.util.Comparator.comparingInt;
 public class RepositoryUtils {
     private static final Logger log = LoggerFactory.getLogger(RepositoryUtils.class);
 
+    private static final List<String> REPOSITORY_CHECKSUMS = List.of("md5", "sha1");
+
     public static void generateMavenMetadata(File mavenRepositoryDirectory) {
         log.debug("Generating maven-metadata.xml files");
         Set<String> pomPaths = new HashSet<>();
@@ -89,7 +89,7 @@ public class RepositoryUtils {
      * discussed with John Casey if it would be possible to make this public and a deployed shared lib, there is also
      * functionality in offliner for creating the md5 and sha1 files which we could use as well
      */
-    private static void generateMetadata(File mavenRepositoryDirectory, Set<String> pomPaths) {
+    static void generateMetadata(File mavenRepositoryDirectory, Set<String> pomPaths) {
         Map<ProjectRef, List<SingleVersion>> metas = new HashMap<>();
         for (String path : pomPaths) {
             ArtifactPathInfo artifactPathInfo = ArtifactPathInfo.parse(path);
@@ -139,9 +139,10 @@ public class RepositoryUtils {
     public static void addCheckSums(File mavenRepositoryDirectory) {
         log.debug("Generating missing checksums");
         try (Stream<Path> stream = Files.walk(mavenRepositoryDirectory.toPath())) {
-            stream.filter(p -> p.toFile().isFile())
+            List<Path> files = stream.filter(p -> p.toFile().isFile())
                     .filter(RepositoryUtils::isNotCheckSumFile)
-                    .forEach(RepositoryUtils::addCheckSums);
+                    .collect(Collectors.toList());
+            addCheckSums(files);
         } catch (IOException e) {
             throw new RuntimeException(
                     "Unable to generate checksums for " + mavenRepositoryDirectory.getAbsolutePath(),
@@ -153,75 +154,28 @@ public class RepositoryUtils {
         return Stream.of(RepoDescriptor.CHECKSUM_EXTENSIONS).noneMatch(ext -> path.toString().endsWith(ext));
     }
 
-    protected static void addCheckSums(Path filePath) {
-        generateCheckSum(filePath, "md5sum", ".md5");
-        generateCheckSum(filePath, "sha1sum", ".sha1");
+    /**
+     * Generate the missing md5 and sha1 checksums of the files, concurrently and reading each file once
+     *
+     * @param files files of a maven repository
+     */
+    static void addCheckSums(Collection<Path> files) {
+        ChecksumUtils.addCheckSums(files, REPOSITORY_CHECKSUMS);
     }
 
-    private static void generateCheckSum(Path filePath, String checksumType, String extension) {
-        String file = filePath.toAbsolutePath().toString();
-        File checkSumFile = new File(file + extension);
-
-        if (checkSumFile.exists()) {
-            return;
-        }
-
-        try {
-            String checksum;
-
-            try (FileInputStream data = new FileInputStream(file)) {
-                switch (checksumType) {
-                    case "md5sum":
-                        checksum = DigestUtils.md5Hex(data);
-                        break;
-                    case "sha1sum":
-                        checksum = DigestUtils.sha1Hex(data);
-                        break;
-                    default:
-                        throw new IOException("Unknown checksum type: " + checksumType);
-                }
-            }
-
-            FileUtils.write(checkSumFile, checksum, StandardCharsets.UTF_8);
-        } catch (IOException e) {
-            throw new RuntimeException("Unable to create checksum file: " + checkSumFile.getAbsolutePath());
-        }
+    protected static void addCheckSums(Path filePath) {
+        ChecksumUtils.addCheckSums(filePath, REPOSITORY_CHECKSUMS);
     }
 
     /**
      * Calculates and persists checksums for a file in a local Maven repository. The implementation reads the file once
-     * for all the checksums. The algorithms passed in are currently limited to {@code md5} and {@code sha1}.
+     * for all the checksums. The supported algorithms are {@code md5}, {@code sha1}, {@code sha256} and {@code sha512}.
      *
      * @param file file to generate checksums for
      * @param algs checksum algorithms to use, for example md5, sha1.
      */
     public static void addCheckSums(Path file, String... algs) {
-        byte[] content = null;
-        for (var alg : algs) {
-            var checksumFile = file.getParent().resolve(file.getFileName() + "." + alg);
-            if (!Files.exists(checksumFile)) {
-                if (content == null) {
-                    try {
-                        content = Files.readAllBytes(file);
-                    } catch (IOException e) {
-                        throw new UncheckedIOException(e);
-                    }
-                }
-                final String checksum;
-                if ("md5".equals(alg)) {
-                    checksum = DigestUtils.md5Hex(content);
-                } else if ("sha1".equals(alg)) {
-                    checksum = DigestUtils.sha1Hex(content);
-                } else {
-                    throw new IllegalArgumentException("Unexpected checksum type " + alg);
-                }
-                try (BufferedWriter writer = Files.newBufferedWriter(checksumFile)) {
-                    writer.append(checksum);
-                } catch (IOException e) {
-                    throw new UncheckedIOException(e);
-                }
-            }
-        }
+        ChecksumUtils.addCheckSums(file, Arrays.asList(algs));
     }
 
     public static void removeIrrelevantFiles(File element) {
@@ -243,15 +197,18 @@ public class RepositoryUtils {
      * @param excludedArtifacts
      */
     public static void removeExcludedArtifacts(File element, List<String> excludedArtifacts) {
-        List<String> excludedPaths = excludedArtifacts.stream()
-                .map(a -> convertMavenIdentifierToPathRegex(a))
+        List<Pattern> excludedPaths = excludedArtifacts.stream()
+                .map(a -> Pattern.compile(convertMavenIdentifierToPathRegex(a)))
                 .collect(Collectors.toList());
+        removeMatchingPaths(element, excludedPaths);
+    }
+
+    private static void removeMatchingPaths(File element, List<Pattern> excludedPaths) {
         if (element.isDirectory()) {
-            Stream.of(element.listFiles()).forEach(file -> removeExcludedArtifacts(file, excludedArtifacts));
+            Stream.of(element.listFiles()).forEach(file -> removeMatchingPaths(file, excludedPaths));
         } else {
-            for (String excludedPath : excludedPaths) {
-                Pattern matchesRegex = Pattern.compile(excludedPath);
-                if (matchesRegex.matcher(element.getAbsolutePath()).find()) {
+            for (Pattern excludedPath : excludedPaths) {
+                if (excludedPath.matcher(element.getAbsolutePath()).find()) {
                     log.debug(
                             "Removing path {} from the repository since it matches regex: {}",
                             element.getAbsolutePath(),
@@ -259,12 +216,13 @@ public class RepositoryUtils {
                     File parent = element.getParentFile();
                     element.delete();
                     recursivelyDeleteEmptyFolder(parent);
+                    return;
                 }
             }
         }
     }
 
-    private static boolean isCommunity(File f) {
+    static boolean isCommunity(File f) {
         String absolutePath = f.getAbsolutePath();
         return !absolutePath.contains("redhat-") && !absolutePath.contains("eap-runtime-artifacts");
     }
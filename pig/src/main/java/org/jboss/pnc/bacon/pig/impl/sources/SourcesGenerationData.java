@@ -19,6 +19,11 @@ public class SourcesGenerationData extends GenerationData<SourcesGenerationStrat
 
     private List<String> excludeSourceBuilds;
 
+    /**
+     * Number of builds whose sources are downloaded and extracted at the same time
+     */
+    private int downloadThreads;
+
     /**
      * Add defaults to avoid having existing configurations having to define a sourceGeneration object in the flow
      * section
@@ -27,6 +32,7 @@ public class SourcesGenerationData extends GenerationData<SourcesGenerationStrat
         this.whitelistedArtifacts = new ArrayList<>();
         this.additionalExternalSources = new ArrayList<>();
         this.excludeSourceBuilds = new ArrayList<>();
+        this.downloadThreads = 8;
         setStrategy(SourcesGenerationStrategy.GENERATE);
     }
 }
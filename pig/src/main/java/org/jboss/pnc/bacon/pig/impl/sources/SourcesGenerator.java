@@ -13,6 +13,7 @@ import org.jboss.pnc.bacon.pig.impl.repo.RepositoryData;
 import org.jboss.pnc.bacon.pig.impl.utils.FileDownloadUtils;
 import org.jboss.pnc.bacon.pig.impl.utils.FileUtils;
 import org.jboss.pnc.bacon.pig.impl.utils.GAV;
+import org.jboss.pnc.bacon.pig.impl.utils.KojiBuildLookup;
 import org.jboss.pnc.bacon.pnc.common.ClientCreator;
 import org.jboss.pnc.build.finder.koji.KojiBuild;
 import org.jboss.pnc.client.BuildClient;
@@ -31,9 +32,15 @@ import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -126,61 +133,115 @@ public class SourcesGenerator {
     private Map<String, PncBuild> addRedhatDependencyBuilds(Map<String, PncBuild> parentBuilds) {
         Map<String, PncBuild> completeBuilds = parentBuilds;
         List<PncBuild> mapBuilds = parentBuilds.values().stream().collect(Collectors.toCollection(ArrayList::new));
-        try (BuildClient client = CREATOR.newClient()) {
-            for (PncBuild parentBuild : mapBuilds) {
-                List<Artifact> redhatArtifacts = client.getDependencyArtifacts(parentBuild.getId())
-                        .getAll()
-                        .stream()
-                        .filter(artifact -> artifact.getIdentifier().matches(".*redhat-\\d{1,5}"))
-                        .collect(Collectors.toList());
-                for (Artifact a : redhatArtifacts) {
-                    try {
-                        String buildName = a.getBuild().getBuildConfigRevision().getName();
-                        PncBuild pncBuild = new PncBuild(a.getBuild());
-                        pncBuild.setName(pncBuild.getName().replaceAll("-AUTOBUILD", ""));
-                        completeBuilds.put(buildName, pncBuild);
-                    } catch (NullPointerException e) {
-                        log.warn("Artifact " + a.getIdentifier() + " does not have build assigned! No sources added.");
-                    }
+        // the dependencies of all the builds are fetched concurrently, but added in the order of the builds
+        List<List<Artifact>> redhatArtifactsOfBuilds = inParallel(mapBuilds, this::getRedhatDependencyArtifacts);
+        for (List<Artifact> redhatArtifacts : redhatArtifactsOfBuilds) {
+            for (Artifact a : redhatArtifacts) {
+                try {
+                    String buildName = a.getBuild().getBuildConfigRevision().getName();
+                    PncBuild pncBuild = new PncBuild(a.getBuild());
+                    pncBuild.setName(pncBuild.getName().replaceAll("-AUTOBUILD", ""));
+                    completeBuilds.put(buildName, pncBuild);
+                } catch (NullPointerException e) {
+                    log.warn("Artifact " + a.getIdentifier() + " does not have build assigned! No sources added.");
                 }
             }
+        }
+        return completeBuilds;
+    }
+
+    private List<Artifact> getRedhatDependencyArtifacts(PncBuild parentBuild) {
+        try (BuildClient client = CREATOR.newClient()) {
+            return client.getDependencyArtifacts(parentBuild.getId())
+                    .getAll()
+                    .stream()
+                    .filter(artifact -> artifact.getIdentifier().matches(".*redhat-\\d{1,5}"))
+                    .collect(Collectors.toList());
         } catch (RemoteResourceException e) {
             throw new RuntimeException(e);
         }
-        return completeBuilds;
     }
 
     private void downloadSourcesFromBuilds(Map<String, PncBuild> builds, File workDir, File contentsDir) {
-        builds.values().forEach(build -> {
-            URI url = gerritSnapshotDownloadUrl(build.getInternalScmUrl(), build.getScmRevision());
-
-            File targetPath = new File(workDir, build.getName() + "-" + build.getId() + ".tar.gz");
-            try (BuildClient client = CREATOR.newClient();
-                    Response response = client.getInternalScmArchiveLink(build.getId())) {
-                InputStream in = (InputStream) response.getEntity();
-                Files.copy(in, targetPath.toPath());
-            } catch (IOException | RemoteResourceException e) {
-                throw new RuntimeException(e);
+        // the sources of a build go to a directory named after it, of the builds with the same name, e.g. a Red Hat
+        // dependency named like a build of the product once "-AUTOBUILD" is stripped, only the first one is downloaded
+        Map<String, PncBuild> buildsByName = new LinkedHashMap<>();
+        for (PncBuild build : builds.values()) {
+            PncBuild previous = buildsByName.putIfAbsent(build.getName(), build);
+            if (previous != null && !previous.getId().equals(build.getId())) {
+                log.warn(
+                        "Skipping the sources of build {}, the sources of build {} have the same name",
+                        build,
+                        previous);
             }
+        }
+        inParallel(new ArrayList<>(buildsByName.values()), build -> {
+            downloadSourcesFromBuild(build, workDir, contentsDir);
+            return build;
+        });
+    }
 
-            Collection<String> untaredFiles = FileUtils.untar(targetPath, contentsDir);
-            List<String> topLevelDirectories = untaredFiles.stream()
-                    .filter(this::isNotANestedFile)
-                    .collect(Collectors.toList());
+    /**
+     * The archive is extracted while it is downloaded, to a directory of its own so that builds extracted at the same
+     * time do not clash. Its single top-level directory is then moved to the contents directory.
+     */
+    private void downloadSourcesFromBuild(PncBuild build, File workDir, File contentsDir) {
+        File extractionDir = new File(workDir, build.getName() + "-" + build.getId());
+        Collection<String> untaredFiles;
+        try (BuildClient client = CREATOR.newClient();
+                Response response = client.getInternalScmArchiveLink(build.getId());
+                InputStream in = (InputStream) response.getEntity()) {
+            untaredFiles = FileUtils.untar(in, extractionDir, "sources of build " + build);
+        } catch (IOException | RemoteResourceException e) {
+            throw new RuntimeException(e);
+        }
 
-            if (topLevelDirectories.size() != 1) {
-                throw new RuntimeException(
-                        "Found more than one top-level directory (" + topLevelDirectories.size()
-                                + ") untared for build " + build + ", the untared archive: "
-                                + targetPath.getAbsolutePath() + ", the top level directories:" + topLevelDirectories);
-            }
+        List<String> topLevelDirectories = untaredFiles.stream()
+                .filter(this::isNotANestedFile)
+                .collect(Collectors.toList());
 
-            String topLevelDirectoryName = untaredFiles.iterator().next();
+        if (topLevelDirectories.size() != 1) {
+            throw new RuntimeException(
+                    "Found more than one top-level directory (" + topLevelDirectories.size() + ") untared for build "
+                            + build + ", the untared archive: " + extractionDir.getAbsolutePath()
+                            + ", the top level directories:" + topLevelDirectories);
+        }
 
-            File topLevelDirectory = new File(contentsDir, topLevelDirectoryName);
-            File properTopLevelDirectory = new File(contentsDir, build.getName());
-            topLevelDirectory.renameTo(properTopLevelDirectory);
-        });
+        String topLevelDirectoryName = untaredFiles.iterator().next();
+
+        File topLevelDirectory = new File(extractionDir, topLevelDirectoryName);
+        File properTopLevelDirectory = new File(contentsDir, build.getName());
+        try {
+            Files.move(topLevelDirectory.toPath(), properTopLevelDirectory.toPath());
+        } catch (IOException e) {
+            // the sources of the build would be missing from the zip
+            throw new RuntimeException(
+                    "Unable to move the sources of build " + build + " to " + properTopLevelDirectory,
+                    e);
+        }
+    }
+
+    /**
+     * Apply the function to each of the values, on at most {@link SourcesGenerationData#getDownloadThreads()} threads
+     *
+     * @return the results, in the order of the values
+     */
+    private <T, R> List<R> inParallel(List<T> values, Function<T, R> function) {
+        int threads = Math.max(1, Math.min(sourcesGenerationData.getDownloadThreads(), values.size()));
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<CompletableFuture<R>> futures = values.stream()
+                    .map(value -> CompletableFuture.supplyAsync(() -> function.apply(value), executor))
+                    .collect(Collectors.toList());
+            return futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        } finally {
+            executor.shutdownNow();
+        }
     }
 
     private boolean isNotANestedFile(String name) {
@@ -204,14 +265,24 @@ public class SourcesGenerator {
         Predicate<File> isWhitelisted = sourcesGenerationData.getWhitelistedArtifacts().isEmpty() ? f -> true
                 : f -> sourcesGenerationData.getWhitelistedArtifacts().stream().anyMatch(a -> f.getName().contains(a));
 
-        repo.getFiles()
+        List<File> unreleasedJars = repo.getFiles()
                 .stream()
                 .filter(f -> f.getName().endsWith(".jar"))
                 .filter(SourcesGenerator::isUnreleased)
                 .filter(isWhitelisted)
-                .map(SourcesGenerator::getSingleBuild)
-                .distinct()
-                .forEach(build -> downloadSourcesTo(build, contentsDir));
+                .collect(Collectors.toList());
+
+        // a single lookup for all the jars, instead of a Koji session per jar
+        List<KojiBuild> builds;
+        try (KojiBuildLookup lookup = KojiBuildLookup.open()) {
+            Map<File, KojiBuild> buildsByJar = lookup.findBuilds(unreleasedJars);
+            builds = unreleasedJars.stream()
+                    .map(jar -> getSingleBuild(jar, buildsByJar))
+                    .distinct()
+                    .collect(Collectors.toList());
+        }
+
+        builds.forEach(build -> downloadSourcesTo(build, contentsDir));
     }
 
     private static boolean isUnreleased(File file) {
@@ -281,7 +352,13 @@ public class SourcesGenerator {
         return getDownloadURL(buildInfo, archiveInfo.get());
     }
 
-    private static KojiBuild getSingleBuild(File file) {
+    private static KojiBuild getSingleBuild(File file, Map<File, KojiBuild> buildsByChecksum) {
+        KojiBuild build = buildsByChecksum.get(file);
+        if (build != null) {
+            return build;
+        }
+
+        // no single build has the checksum of the jar, e.g. it was repackaged, analyse its contents instead
         List<KojiBuild> builds = BrewSearcher.getBuilds(file.toPath());
 
         if (builds.size() != 1) {
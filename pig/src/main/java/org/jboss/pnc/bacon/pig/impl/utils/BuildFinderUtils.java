@@ -3,6 +3,8 @@ package org.jboss.pnc.bacon.pig.impl.utils;
 import com.redhat.red.build.koji.KojiClientException;
 import org.apache.commons.collections4.MultiValuedMap;
 import org.apache.commons.collections4.multimap.ArrayListValuedHashMap;
+import org.jboss.pnc.bacon.common.telemetry.Operation;
+import org.jboss.pnc.bacon.common.telemetry.Telemetry;
 import org.jboss.pnc.bacon.config.Config;
 import org.jboss.pnc.build.finder.core.BuildConfig;
 import org.jboss.pnc.build.finder.core.BuildFinder;
@@ -11,9 +13,7 @@ import org.jboss.pnc.build.finder.core.Checksum;
 import org.jboss.pnc.build.finder.core.ChecksumType;
 import org.jboss.pnc.build.finder.core.DistributionAnalyzer;
 import org.jboss.pnc.build.finder.core.LocalFile;
-import org.jboss.pnc.build.finder.core.Utils;
 import org.jboss.pnc.build.finder.koji.KojiBuild;
-import org.jboss.pnc.build.finder.koji.KojiClientSession;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -23,13 +23,13 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
@@ -118,34 +118,31 @@ public final class BuildFinderUtils {
      */
     public static Map<String, Collection<String>> findChecksums(File file) {
         BuildConfig config = getKojiBuildFinderConfig();
+        // only md5 is returned, do not compute the other configured checksum types
+        config.setChecksumTypes(EnumSet.of(ChecksumType.md5));
         List<String> inputs = Collections.singletonList(file.getPath());
-        ExecutorService pool = Executors.newSingleThreadExecutor();
         DistributionAnalyzer analyzer = new DistributionAnalyzer(inputs, config);
-        Future<Map<ChecksumType, MultiValuedMap<String, LocalFile>>> futureChecksums = pool.submit(analyzer);
 
-        try {
-            Map<ChecksumType, MultiValuedMap<String, LocalFile>> checksums = futureChecksums.get();
-            MultiValuedMap<String, LocalFile> md5s = checksums.get(ChecksumType.md5);
-            Map<String, Collection<String>> map = md5s.asMap()
-                    .entrySet()
-                    .stream()
-                    .collect(
-                            Collectors.toMap(
-                                    Map.Entry::getKey,
-                                    entry -> entry.getValue()
-                                            .stream()
-                                            .map(LocalFile::getFilename)
-                                            .collect(Collectors.toList())));
-            return Collections.unmodifiableMap(map);
-        } catch (InterruptedException e) {
-            log.error("Failed to get checksums: {}", e.getMessage(), e);
-            Thread.currentThread().interrupt();
-            return Collections.emptyMap();
-        } catch (ExecutionException e) {
-            log.error("Failed to get checksums: {}", e.getMessage(), e);
-            return Collections.emptyMap();
-        } finally {
-            Utils.shutdownAndAwaitTermination(pool);
+        try (Operation operation = Telemetry.start("build-finder.checksums", Telemetry.LOCAL)) {
+            try {
+                Map<ChecksumType, MultiValuedMap<String, LocalFile>> checksums = analyzer.call();
+                MultiValuedMap<String, LocalFile> md5s = checksums.get(ChecksumType.md5);
+                Map<String, Collection<String>> map = md5s.asMap()
+                        .entrySet()
+                        .stream()
+                        .collect(
+                                Collectors.toMap(
+                                        Map.Entry::getKey,
+                                        entry -> entry.getValue()
+                                                .stream()
+                                                .map(LocalFile::getFilename)
+                                                .collect(Collectors.toList())));
+                return Collections.unmodifiableMap(map);
+            } catch (Exception e) {
+                log.error("Failed to get checksums: {}", e.getMessage(), e);
+                operation.fail(e);
+                return Collections.emptyMap();
+            }
         }
     }
 
@@ -157,19 +154,22 @@ public final class BuildFinderUtils {
      * @return the builds, including not found files if includeNotFound is true, or the found builds otherwise
      */
     public static List<KojiBuild> findBuilds(Map<String, Collection<String>> checksums, boolean includeNotFound) {
-        BuildConfig config = getKojiBuildFinderConfig();
-
-        try (KojiClientSession session = new KojiClientSession(config.getKojiHubURL())) {
-            BuildFinder finder = new BuildFinder(session, config);
+        try (KojiBuildLookup lookup = KojiBuildLookup.open();
+                Operation operation = Telemetry.start("koji.find-builds", Telemetry.KOJI)) {
+            operation.setAttribute(KojiBuildLookup.CHECKSUMS_ATTRIBUTE, checksums.size());
+            try {
+                BuildFinder finder = new BuildFinder(lookup.getSession(), lookup.getConfig());
 
-            Map<Checksum, Collection<String>> multiMap = mapToMultiMap(checksums);
+                Map<Checksum, Collection<String>> multiMap = mapToMultiMap(checksums);
 
-            finder.findBuilds(multiMap);
-            return includeNotFound ? finder.getBuilds() : finder.getBuildsFound();
-        } catch (KojiClientException e) {
-            log.error("Failed to get builds: {}", e.getMessage(), e);
-            Thread.currentThread().interrupt();
-            return Collections.emptyList();
+                finder.findBuilds(multiMap);
+                return includeNotFound ? finder.getBuilds() : finder.getBuildsFound();
+            } catch (KojiClientException e) {
+                log.error("Failed to get builds: {}", e.getMessage(), e);
+                operation.fail(e);
+                Thread.currentThread().interrupt();
+                return Collections.emptyList();
+            }
         }
     }
 
@@ -182,27 +182,42 @@ public final class BuildFinderUtils {
      */
     public static List<KojiBuild> findBuilds(File file, boolean includeNotFound) {
         List<String> inputs = Collections.singletonList(file.getPath());
-        return findBuilds(includeNotFound, inputs, 2);
+        return findBuilds(includeNotFound, inputs);
     }
 
-    public static List<KojiBuild> findBuilds(boolean includeNotFound, Collection<String> inputs, int poolSize) {
-        BuildConfig config = getKojiBuildFinderConfig();
-        ExecutorService pool = Executors.newFixedThreadPool(poolSize);
-        DistributionAnalyzer analyzer = new DistributionAnalyzer(new ArrayList<>(inputs), config);
-        Future<Map<ChecksumType, MultiValuedMap<String, LocalFile>>> futureChecksums = pool.submit(analyzer);
-
-        try (KojiClientSession session = new KojiClientSession(config.getKojiHubURL())) {
-            BuildFinder finder = new BuildFinder(session, config, analyzer);
+    /**
+     * Find builds in Koji for the given files and for each file entry of the archives among them. The Koji session and
+     * the worker pool are shared with the other lookups in progress, see {@link KojiBuildLookup}.
+     *
+     * @param includeNotFound whether or not to include not found files as build index 0
+     * @param inputs the input files
+     * @return the builds, including not found files if includeNotFound is true, or the found builds otherwise
+     */
+    public static List<KojiBuild> findBuilds(boolean includeNotFound, Collection<String> inputs) {
+        // the checksums of the files are computed while Koji is queried for the ones computed so far
+        try (KojiBuildLookup lookup = KojiBuildLookup.open();
+                Operation operation = Telemetry.start("koji.find-builds", Telemetry.KOJI)) {
+            BuildConfig config = lookup.getConfig();
+            ExecutorService pool = lookup.getPool();
+            operation.setAttribute(KojiBuildLookup.FILES_ATTRIBUTE, inputs.size());
+            DistributionAnalyzer analyzer = new DistributionAnalyzer(new ArrayList<>(inputs), config);
+            Future<Map<ChecksumType, MultiValuedMap<String, LocalFile>>> futureChecksums = pool.submit(analyzer);
+
+            BuildFinder finder = new BuildFinder(lookup.getSession(), config, analyzer);
             Future<Map<BuildSystemInteger, KojiBuild>> futureBuilds = pool.submit(finder);
 
             try {
                 futureChecksums.get();
             } catch (InterruptedException e) {
                 log.error("Failed to get checksums: {}", e.getMessage(), e);
+                operation.fail(e);
+                futureBuilds.cancel(true);
                 Thread.currentThread().interrupt();
                 return Collections.emptyList();
             } catch (ExecutionException e) {
                 log.error("Failed to get checksums: {}", e.getMessage(), e);
+                operation.fail(e);
+                futureBuilds.cancel(true);
                 return Collections.emptyList();
             }
 
@@ -210,19 +225,16 @@ public final class BuildFinderUtils {
                 futureBuilds.get();
             } catch (InterruptedException e) {
                 log.error("Failed to get builds: {}", e.getMessage(), e);
+                operation.fail(e);
                 Thread.currentThread().interrupt();
                 return Collections.emptyList();
             } catch (ExecutionException e) {
                 log.error("Failed to get builds: {}", e.getMessage(), e);
+                operation.fail(e);
                 return Collections.emptyList();
             }
 
             return includeNotFound ? finder.getBuilds() : finder.getBuildsFound();
-        } catch (KojiClientException e) {
-            log.error("Koji client error: {}", e.getMessage(), e);
-            return Collections.emptyList();
-        } finally {
-            Utils.shutdownAndAwaitTermination(pool);
         }
     }
 
@@ -0,0 +1,176 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.bacon.pig.impl.utils;
+
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.codec.digest.MessageDigestAlgorithms;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Computes file checksums, reading each file only once for all the requested algorithms.
+ * <p>
+ * The supported algorithms are {@code md5}, {@code sha1}, {@code sha256} and {@code sha512}. Checksum files are named
+ * after the checked file with the algorithm as an extension, e.g. {@code foo.jar.sha1}.
+ */
+public final class ChecksumUtils {
+    private static final Logger log = LoggerFactory.getLogger(ChecksumUtils.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final Map<String, String> ALGORITHMS = Map.of(
+            "md5",
+            MessageDigestAlgorithms.MD5,
+            "sha1",
+            MessageDigestAlgorithms.SHA_1,
+            "sha256",
+            MessageDigestAlgorithms.SHA_256,
+            "sha512",
+            MessageDigestAlgorithms.SHA_512);
+
+    private ChecksumUtils() {
+
+    }
+
+    /**
+     * Compute the checksums of a file in a single read
+     *
+     * @param file the file
+     * @param algs checksum algorithms, e.g. md5, sha1
+     * @return hex encoded checksums by algorithm, in the order of the algorithms
+     */
+    public static Map<String, String> checksums(Path file, Collection<String> algs) {
+        Map<String, MessageDigest> digests = new LinkedHashMap<>();
+        for (String alg : algs) {
+            digests.put(alg, DigestUtils.getDigest(algorithm(alg)));
+        }
+        if (!digests.isEmpty()) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            try (InputStream input = Files.newInputStream(file)) {
+                int read;
+                while ((read = input.read(buffer)) != -1) {
+                    for (MessageDigest digest : digests.values()) {
+                        digest.update(buffer, 0, read);
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to compute checksums of " + file, e);
+            }
+        }
+        Map<String, String> result = new LinkedHashMap<>();
+        digests.forEach((alg, digest) -> result.put(alg, Hex.encodeHexString(digest.digest())));
+        return result;
+    }
+
+    /**
+     * Compute a single checksum of a file
+     *
+     * @param file the file
+     * @param alg checksum algorithm, e.g. sha1
+     * @return hex encoded checksum
+     */
+    public static String checksum(Path file, String alg) {
+        return checksums(file, List.of(alg)).get(alg);
+    }
+
+    /**
+     * Write the checksum files that do not exist yet next to the given file. The file is read only if at least one
+     * checksum is missing, and only once for all of them.
+     *
+     * @param file file to generate checksums for
+     * @param algs checksum algorithms to use, e.g. md5, sha1
+     */
+    public static void addCheckSums(Path file, Collection<String> algs) {
+        List<String> missing = algs.stream()
+                .filter(alg -> !Files.exists(checksumFile(file, alg)))
+                .collect(Collectors.toList());
+        if (missing.isEmpty()) {
+            return;
+        }
+        checksums(file, missing).forEach((alg, checksum) -> {
+            Path checksumFile = checksumFile(file, alg);
+            try {
+                Files.write(checksumFile, checksum.getBytes(StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to create checksum file: " + checksumFile, e);
+            }
+        });
+    }
+
+    /**
+     * Write the missing checksum files for all the given files. The files are processed concurrently, by at most as
+     * many threads as there are available processors.
+     *
+     * @param files files to generate checksums for
+     * @param algs checksum algorithms to use, e.g. md5, sha1
+     */
+    public static void addCheckSums(Collection<Path> files, Collection<String> algs) {
+        if (files.isEmpty()) {
+            return;
+        }
+        int parallelism = Math.min(Runtime.getRuntime().availableProcessors(), files.size());
+        log.debug("Generating {} checksums for {} files, {} at a time", algs, files.size(), parallelism);
+
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism);
+        try {
+            List<CompletableFuture<Void>> checksums = new ArrayList<>(files.size());
+            for (Path file : files) {
+                checksums.add(CompletableFuture.runAsync(() -> addCheckSums(file, algs), pool));
+            }
+            checksums.forEach(CompletableFuture::join);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static Path checksumFile(Path file, String alg) {
+        return file.resolveSibling(file.getFileName() + "." + alg);
+    }
+
+    private static String algorithm(String alg) {
+        String algorithm = ALGORITHMS.get(alg);
+        if (algorithm == null) {
+            throw new IllegalArgumentException("Unexpected checksum type " + alg);
+        }
+        return algorithm;
+    }
+}
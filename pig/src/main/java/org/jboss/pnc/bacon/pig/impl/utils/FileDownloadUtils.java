@@ -19,11 +19,16 @@ package org.jboss.pnc.bacon.pig.impl.utils;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.http.HttpException;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpStatus;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
+import org.apache.http.util.EntityUtils;
+import org.jboss.pnc.bacon.common.http.SharedHttpClient;
+import org.jboss.pnc.bacon.common.telemetry.Operation;
+import org.jboss.pnc.bacon.common.telemetry.Telemetry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -34,8 +39,17 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 
 /**
+ * Downloads files over HTTP using a single client shared by all the callers, on top of the {@link SharedHttpClient}
+ * connection pool.
+ * <p>
+ * Files are first written to a {@code .part} file next to the target path. If a download attempt fails in the middle of
+ * the transfer, the next attempt resumes it with an HTTP Range request, provided the server supports it.
+ *
  * @author Michal Szynkiewicz, michal.l.szynkiewicz@gmail.com <br>
  *         Date: 4/16/18
  */
@@ -50,27 +64,67 @@ public class FileDownloadUtils {
     private static final int DEFAULT_ATTEMPTS = 1;
     private static final int MAX_ATTEMPTS = 20;
 
+    private static final int DEFAULT_PARALLELISM = 8;
+    private static final int MAX_PARALLELISM = 64;
+
+    static final String PARTIAL_DOWNLOAD_SUFFIX = ".part";
+
     // TODO move it out from here and add it as a method parameter
     private static int attempts = DEFAULT_ATTEMPTS;
 
+    private static int parallelism = DEFAULT_PARALLELISM;
+
     private static final RequestConfig requestConfig = RequestConfig.copy(RequestConfig.DEFAULT)
             .setConnectTimeout(CONNECTION_TIMEOUT)
             .setSocketTimeout(READ_TIMEOUT)
             .build();
 
+    // content compression is disabled so that byte ranges of resumed downloads refer to the file content
+    private static final CloseableHttpClient httpClient = SharedHttpClient.builder()
+            .setDefaultRequestConfig(requestConfig)
+            .disableContentCompression()
+            .build();
+
+    static {
+        updateConnectionLimits();
+    }
+
     public static void downloadTo(URI downloadUrl, File targetPath) {
+        downloadTo(downloadUrl, targetPath, false);
+    }
+
+    /**
+     * Download a file
+     *
+     * @param downloadUrl url to download the file from
+     * @param targetPath file to write the content to
+     * @param verifyChecksum if set, the downloaded content is checked against the remote {@code .sha1} checksum, or the
+     *        {@code .md5} one if there's no sha1. The verification is skipped if none of them is available
+     */
+    public static void downloadTo(URI downloadUrl, File targetPath, boolean verifyChecksum) {
         log.debug("Downloading {} to {}", downloadUrl, targetPath);
-        doDownload(downloadUrl, targetPath, attempts);
+        Telemetry.run(
+                "download",
+                Telemetry.service(downloadUrl),
+                download -> doDownload(downloadUrl, targetPath, verifyChecksum, attempts, download));
     }
 
-    private static void doDownload(URI downloadUrl, File targetPath, int attemptsLeft) {
-        try (CloseableHttpClient httpClient = HttpClients.custom().setDefaultRequestConfig(requestConfig).build()) {
-            downloadWithClient(httpClient, downloadUrl, targetPath);
+    private static void doDownload(
+            URI downloadUrl,
+            File targetPath,
+            boolean verifyChecksum,
+            int attemptsLeft,
+            Operation download) {
+        File partialPath = partialPath(targetPath);
+        try {
+            downloadWithClient(downloadUrl, targetPath, partialPath, verifyChecksum, download);
         } catch (NotFoundException nfe) {
+            partialPath.delete();
             throw new RuntimeException("URL " + downloadUrl + " returns status 404: Not Found", nfe);
         } catch (Exception e) {
             attemptsLeft--;
             if (attemptsLeft == 0) {
+                partialPath.delete();
                 throw new RuntimeException(
                         "failed to download " + downloadUrl + " to " + targetPath.getAbsolutePath(),
                         e);
@@ -80,28 +134,98 @@ public class FileDownloadUtils {
                 int sleepTimeInSeconds = (int) Math.ceil(Math.pow(30, (double) 1 / attemptsLeft));
                 log.debug("Sleeping for : {}", sleepTimeInSeconds);
                 SleepUtils.sleep(sleepTimeInSeconds);
-                doDownload(downloadUrl, targetPath, attemptsLeft);
+                download.addRetry();
+                doDownload(downloadUrl, targetPath, verifyChecksum, attemptsLeft, download);
             }
         }
     }
 
-    private static void downloadWithClient(CloseableHttpClient httpClient, URI downloadUrl, File targetPath)
-            throws NotFoundException, HttpException, IOException {
-        try (CloseableHttpResponse response = httpClient.execute(new HttpGet(downloadUrl))) {
+    private static void downloadWithClient(
+            URI downloadUrl,
+            File targetPath,
+            File partialPath,
+            boolean verifyChecksum,
+            Operation download) throws NotFoundException, HttpException, IOException {
+        long offset = partialPath.length();
+        HttpGet request = new HttpGet(downloadUrl);
+        if (offset > 0) {
+            request.setHeader(HttpHeaders.RANGE, "bytes=" + offset + "-");
+        }
+        download.addRequests(1);
+        try (CloseableHttpResponse response = httpClient.execute(request)) {
             int statusCode = response.getStatusLine().getStatusCode();
-            if (statusCode == 404) {
+            if (statusCode == HttpStatus.SC_NOT_FOUND) {
                 throw new NotFoundException();
             }
+            if (statusCode == HttpStatus.SC_REQUESTED_RANGE_NOT_SATISFIABLE) {
+                // the partial file doesn't match the remote one anymore, start from scratch on the next attempt
+                Files.deleteIfExists(partialPath.toPath());
+                throw new HttpException("Unable to resume the download from byte " + offset);
+            }
             if (statusCode < 200 || statusCode > 299) {
                 throw new HttpException("Invalid status code for download");
             }
+            boolean resumed = offset > 0 && statusCode == HttpStatus.SC_PARTIAL_CONTENT;
+            if (offset > 0 && !resumed) {
+                log.debug("Server did not resume the download of {}, downloading the whole file", downloadUrl);
+            }
             try (InputStream input = response.getEntity().getContent();
-                    FileOutputStream output = new FileOutputStream(targetPath)) {
-                IOUtils.copy(input, output);
+                    FileOutputStream output = new FileOutputStream(partialPath, resumed)) {
+                download.addBytes(IOUtils.copyLarge(input, output));
+            }
+        }
+        if (verifyChecksum) {
+            verifyChecksum(downloadUrl, partialPath, download);
+        }
+        Files.move(partialPath.toPath(), targetPath.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static void verifyChecksum(URI downloadUrl, File file, Operation download) throws IOException {
+        String expected = fetchChecksum(URI.create(downloadUrl + ".sha1"), download);
+        String actual;
+        if (expected != null) {
+            actual = ChecksumUtils.checksum(file.toPath(), "sha1");
+        } else {
+            expected = fetchChecksum(URI.create(downloadUrl + ".md5"), download);
+            if (expected == null) {
+                log.debug("No remote checksum found for {}, skipping verification", downloadUrl);
+                return;
+            }
+            actual = ChecksumUtils.checksum(file.toPath(), "md5");
+        }
+        if (!expected.equalsIgnoreCase(actual)) {
+            // a corrupted partial file must not be resumed on the next attempt
+            Files.deleteIfExists(file.toPath());
+            throw new IOException(
+                    "Checksum mismatch for " + downloadUrl + ", expected: " + expected + ", actual: " + actual);
+        }
+    }
+
+    /**
+     * @return the checksum, or null if the checksum file doesn't exist
+     */
+    private static String fetchChecksum(URI checksumUrl, Operation download) throws IOException {
+        download.addRequests(1);
+        try (CloseableHttpResponse response = httpClient.execute(new HttpGet(checksumUrl))) {
+            String content = EntityUtils.toString(response.getEntity(), StandardCharsets.UTF_8);
+            int statusCode = response.getStatusLine().getStatusCode();
+            if (statusCode == HttpStatus.SC_NOT_FOUND) {
+                return null;
             }
+            if (statusCode != HttpStatus.SC_OK) {
+                // a failed request doesn't mean the checksum is missing, retry instead of asking for the other type
+                throw new IOException("Invalid status code " + statusCode + " for " + checksumUrl);
+            }
+            // checksum files may be in the "<checksum> <file name>" format
+            String[] parts = content.trim().split("\\s+");
+            return parts[0].isEmpty() ? null : parts[0];
         }
     }
 
+    static File partialPath(File targetPath) {
+        return new File(targetPath.getPath() + PARTIAL_DOWNLOAD_SUFFIX);
+    }
+
     public static void setAttempts(int attempts) {
         if (attempts > MAX_ATTEMPTS) {
             log.warn(
@@ -119,6 +243,33 @@ public class FileDownloadUtils {
         FileDownloadUtils.attempts = attempts;
     }
 
+    public static int getParallelism() {
+        return parallelism;
+    }
+
+    public static void setParallelism(int parallelism) {
+        if (parallelism > MAX_PARALLELISM) {
+            log.warn(
+                    "Maximum number of parallel downloads is {}. The parallelism has been set to {}",
+                    MAX_PARALLELISM,
+                    MAX_PARALLELISM);
+            parallelism = MAX_PARALLELISM;
+        }
+
+        if (parallelism <= 0) {
+            log.warn("Number of parallel downloads has to be a positive integer. Setting to {}", DEFAULT_PARALLELISM);
+            parallelism = DEFAULT_PARALLELISM;
+        }
+
+        FileDownloadUtils.parallelism = parallelism;
+        updateConnectionLimits();
+    }
+
+    private static void updateConnectionLimits() {
+        // downloads mostly go to a single host (Indy), allow all the download threads to use it at once
+        SharedHttpClient.ensureMaxConnectionsPerHost(parallelism);
+    }
+
     private FileDownloadUtils() {
     }
 }
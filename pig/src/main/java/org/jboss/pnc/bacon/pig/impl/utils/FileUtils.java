@@ -26,6 +26,7 @@ import org.apache.commons.compress.archivers.ArchiveStreamFactory;
 import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
 import org.apache.commons.compress.archivers.tar.TarConstants;
 import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
 import org.apache.commons.compress.archivers.zip.ZipEncoding;
 import org.apache.commons.compress.archivers.zip.ZipEncodingHelper;
 import org.apache.commons.compress.compressors.CompressorException;
@@ -52,8 +53,10 @@ import java.nio.file.attribute.FileTime;
 import java.nio.file.attribute.PosixFilePermission;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
@@ -194,16 +197,38 @@ public final class FileUtils {
     public static Collection<String> untar(final File input, final File directory) {
         log.debug("tar -xf {} -C {}", input, directory);
 
-        final String compressorType = getCompressorType(input);
+        try (final InputStream is = Files.newInputStream(input.toPath())) {
+            return untar(is, directory, input.toString());
+        } catch (IOException e) {
+            throw new RuntimeException("Untar of " + input + " to " + directory + " failed", e);
+        }
+    }
+
+    /**
+     * Extract a tar stream, compressed or not, e.g. straight from a download without storing the archive first.
+     *
+     * @param input the stream of the archive, closed once the archive is extracted
+     * @param directory the directory to extract the archive to
+     * @param description what the archive is, for the error messages
+     * @return the names of the extracted entries
+     */
+    public static Collection<String> untar(final InputStream input, final File directory, final String description) {
+        final InputStream is = new BufferedInputStream(input);
+        String compressorType;
+
+        try {
+            compressorType = CompressorStreamFactory.detect(is);
+        } catch (CompressorException e) {
+            compressorType = null;
+        }
 
         log.debug("untar: detected compressor type: {}", compressorType);
 
         final Collection<String> entries = new ArrayList<>();
 
-        try (final InputStream is = Files.newInputStream(input.toPath());
-                final InputStream cin = compressorType != null
-                        ? new CompressorStreamFactory().createCompressorInputStream(compressorType, is)
-                        : is;
+        try (final InputStream cin = compressorType != null
+                ? new CompressorStreamFactory().createCompressorInputStream(compressorType, is)
+                : is;
                 final ArchiveInputStream in = new ArchiveStreamFactory()
                         .createArchiveInputStream(ArchiveStreamFactory.TAR, cin)) {
             final Path dir = directory.toPath();
@@ -262,7 +287,7 @@ public final class FileUtils {
                 }
             }
         } catch (IOException | ArchiveException | CompressorException e) {
-            throw new RuntimeException("Untar of " + input + " to " + directory + " failed", e);
+            throw new RuntimeException("Untar of " + description + " to " + directory + " failed", e);
         }
 
         return Collections.unmodifiableCollection(entries);
@@ -435,64 +460,101 @@ public final class FileUtils {
         return Collections.unmodifiableCollection(entries);
     }
 
+    /**
+     * Zip a directory, compressing the files in parallel on as many threads as there are available processors.
+     *
+     * @param output the zip file to create
+     * @param workingDirectory the directory the entry names are relative to
+     * @param directoryToZip the directory to add to the zip
+     * @return names of the zip entries, in the order in which they are written
+     */
     public static Collection<String> zip(final File output, final File workingDirectory, final File directoryToZip) {
+        return zip(output, workingDirectory, directoryToZip, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Zip a directory. The entries are written in the natural order of their paths, so that zipping the same content
+     * twice results in the same entries in the same order regardless of the number of threads.
+     *
+     * @param output the zip file to create
+     * @param workingDirectory the directory the entry names are relative to
+     * @param directoryToZip the directory to add to the zip
+     * @param threads number of threads compressing the files, 1 to write the zip sequentially
+     * @return names of the zip entries, in the order in which they are written
+     */
+    public static Collection<String> zip(
+            final File output,
+            final File workingDirectory,
+            final File directoryToZip,
+            final int threads) {
         final Path directory = directoryToZip.toPath();
 
         log.debug("zip -r {} {}", output, directory);
 
-        final Collection<String> entries = new ArrayList<>();
+        final Function<Path, String> entryNames = path -> zipEntryName(workingDirectory.toPath(), path);
+        final List<Path> paths;
 
-        try (final OutputStream out = Files.newOutputStream(output.toPath());
-                final ArchiveOutputStream os = new ArchiveStreamFactory()
-                        .createArchiveOutputStream(ArchiveStreamFactory.ZIP, out)) {
-            try (final Stream<Path> stream = Files.walk(directory)) {
-                final Iterator<Path> iterator = stream.iterator();
+        try (final Stream<Path> stream = Files.walk(directory)) {
+            paths = stream.filter(path -> !path.equals(directory)).sorted().collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to list the content of directory " + directory, e);
+        }
 
-                while (iterator.hasNext()) { // TODO get rid of iterator
-                    final Path path = iterator.next();
+        try {
+            if (threads > 1) {
+                new ParallelZipWriter(threads, entryNames).write(output.toPath(), paths);
+            } else {
+                zipSequentially(output, paths, entryNames);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Zip of directory " + directory + " to " + output + " failed", e);
+        }
 
-                    if (path.equals(directory)) {
-                        continue;
-                    }
+        final List<String> entries = paths.stream().map(entryNames).collect(Collectors.toList());
+        return Collections.unmodifiableCollection(entries);
+    }
 
-                    String entryName = FilenameUtils
-                            .normalize(workingDirectory.toPath().relativize(path).toString(), true);
-                    if (Files.isDirectory(path)) {
-                        entryName += "/"; // required for directories
-                    }
+    private static String zipEntryName(Path workingDirectory, Path path) {
+        String entryName = FilenameUtils.normalize(workingDirectory.relativize(path).toString(), true);
+        if (Files.isDirectory(path)) {
+            entryName += "/"; // required for directories
+        }
+        return entryName;
+    }
 
-                    log.debug("zip: {}", entryName);
+    private static void zipSequentially(final File output, List<Path> paths, Function<Path, String> entryNames)
+            throws IOException {
+        try (final ZipArchiveOutputStream os = new ZipArchiveOutputStream(output)) {
+            for (Path path : paths) {
+                final String entryName = entryNames.apply(path);
 
-                    entries.add(entryName);
+                log.debug("zip: {}", entryName);
 
-                    final ArchiveEntry entry = new ZipArchiveEntry(path.toFile(), entryName);
+                final ZipArchiveEntry entry = new ZipArchiveEntry(path.toFile(), entryName);
 
-                    setModeAndLastModifiedTime(path, entry);
+                setModeAndLastModifiedTime(path, entry);
 
-                    os.putArchiveEntry(entry);
+                os.putArchiveEntry(entry);
 
-                    if (Files.isSymbolicLink(path)) {
-                        final Path symlinkDestination = Files.readSymbolicLink(path);
-                        final byte[] bytes = symlinkDestination.toString().getBytes(StandardCharsets.UTF_8);
-                        try (final InputStream content = new ByteArrayInputStream(bytes)) {
-                            IOUtils.copy(content, os);
-                            os.closeArchiveEntry();
-                        }
-                    } else if (Files.isRegularFile(path)) {
-                        try (final InputStream content = Files.newInputStream(path)) {
-                            IOUtils.copy(content, os);
-                            os.closeArchiveEntry();
-                        }
-                    } else if (!Files.isDirectory(path)) {
-                        throw new RuntimeException("Unsupported file type for: " + path);
+                if (Files.isSymbolicLink(path)) {
+                    final Path symlinkDestination = Files.readSymbolicLink(path);
+                    final byte[] bytes = symlinkDestination.toString().getBytes(StandardCharsets.UTF_8);
+                    try (final InputStream content = new ByteArrayInputStream(bytes)) {
+                        IOUtils.copy(content, os);
+                        os.closeArchiveEntry();
+                    }
+                } else if (Files.isRegularFile(path)) {
+                    try (final InputStream content = Files.newInputStream(path)) {
+                        IOUtils.copy(content, os);
+                        os.closeArchiveEntry();
                     }
+                } else if (!Files.isDirectory(path)) {
+                    throw new RuntimeException("Unsupported file type for: " + path);
+                } else {
+                    os.closeArchiveEntry();
                 }
             }
-        } catch (IOException | ArchiveException e) {
-            throw new RuntimeException("Zip of directory " + directory + " to " + output + " failed", e);
         }
-
-        return Collections.unmodifiableCollection(entries);
     }
 
     public static void copy(final File srcFile, final File destFile) {
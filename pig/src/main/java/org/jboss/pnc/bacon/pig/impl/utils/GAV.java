@@ -18,7 +18,10 @@
 
 package org.jboss.pnc.bacon.pig.impl.utils;
 
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 import com.redhat.red.build.koji.model.xmlrpc.KojiArchiveInfo;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.ToString;
@@ -28,7 +31,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Element;
 
-import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
@@ -36,15 +38,33 @@ import java.util.Map;
 import static org.apache.commons.lang3.StringUtils.isBlank;
 
 /**
+ * A maven artifact coordinate.
+ * <p>
+ * Instances are not modified once created (the fields are only set by jackson on deserialization), so the string
+ * representations are computed once and cached. The highly repetitive coordinates are interned, so that the millions of
+ * instances created while building repository reports share them.
+ *
  * @author Michal Szynkiewicz, michal.l.szynkiewicz@gmail.com <br>
  *         Date: 6/19/17
  */
 @Getter
-@EqualsAndHashCode(exclude = { "packaging", "classifier", "scope" })
-@ToString
+@EqualsAndHashCode(
+        exclude = { "packaging", "classifier", "scope" },
+        cacheStrategy = EqualsAndHashCode.CacheStrategy.LAZY)
+@ToString(exclude = { "gav", "gapvc", "fileName" })
 public class GAV {
     private static final Logger log = LoggerFactory.getLogger(GAV.class);
 
+    /**
+     * The group ids, versions, packagings and classifiers repeat across the GAVs, they are shared while GAVs use them
+     */
+    private static final Interner<String> INTERNED = Interners.newWeakInterner();
+
+    private static final List<String> EXTENSION_EXCEPTIONS = List.of("tar.gz", "tar.bz2");
+
+    /**
+     * Compares the cached groupId:artifactId:packaging:version[:classifier] representations
+     */
     public static final Comparator<GAV> gapvcComparator = Comparator.comparing(GAV::toGapvc);
     /**
      * See NCL-7238. Some gavs have no packaging due to weird Maven behaviour. In PNC, we need to specify a packaging to
@@ -61,7 +81,14 @@ public class GAV {
     private String scope;
     private String classifier;
     // Extensions with no "standard" format, like having a dot on it
-    List<String> extensionExceptions = Arrays.asList("tar.gz", "tar.bz2");
+    List<String> extensionExceptions = EXTENSION_EXCEPTIONS;
+
+    @Getter(AccessLevel.NONE)
+    private transient String gav;
+    @Getter(AccessLevel.NONE)
+    private transient String gapvc;
+    @Getter(AccessLevel.NONE)
+    private transient String fileName;
 
     @Deprecated // for jackson
     public GAV() {
@@ -78,23 +105,17 @@ public class GAV {
         int groupEnd = path.lastIndexOf('/', artifactEnd - 1);
 
         try {
-            packaging = extensionExceptions.stream()
-                    .filter(e -> path.endsWith("." + e))
-                    .findFirst()
-                    .orElse(path.substring(path.lastIndexOf('.') + 1));
-            version = path.substring(artifactEnd + 1, versionEnd);
+            packaging = intern(packaging(path));
+            version = intern(path.substring(artifactEnd + 1, versionEnd));
             artifactId = path.substring(groupEnd + 1, artifactEnd);
-            groupId = path.substring(0, groupEnd).replaceAll("/", ".");
-            try {
-                classifier = path
-                        .substring(path.lastIndexOf(version) + version.length() + 1, path.lastIndexOf(packaging) - 1);
-            } catch (Exception e) {
-                // artifact doesn't have a classifier
-                classifier = null;
-            }
+            groupId = intern(path.substring(0, groupEnd).replace('/', '.'));
         } catch (StringIndexOutOfBoundsException parsingException) {
             throw new RuntimeException("Unable to parse path " + path + " to artifact", parsingException);
         }
+        int classifierStart = path.lastIndexOf(version) + version.length() + 1;
+        int classifierEnd = path.lastIndexOf(packaging) - 1;
+        // no classifier if the file name ends with the version and the packaging
+        classifier = classifierStart <= classifierEnd ? intern(path.substring(classifierStart, classifierEnd)) : null;
     }
 
     public GAV(String groupId, String artifactId, String version, String packaging) {
@@ -102,11 +123,11 @@ public class GAV {
     }
 
     public GAV(String groupId, String artifactId, String version, String packaging, String classifier) {
-        this.packaging = packaging;
-        this.groupId = groupId;
+        this.packaging = intern(packaging);
+        this.groupId = intern(groupId);
         this.artifactId = artifactId;
-        this.version = version;
-        this.classifier = classifier;
+        this.version = intern(version);
+        this.classifier = intern(classifier);
     }
 
     public static GAV fromXml(Element xml, Map<String, String> properties) {
@@ -137,52 +158,42 @@ public class GAV {
     }
 
     public String toGav() {
-        return String.format("%s:%s:%s", groupId, artifactId, version);
+        if (gav == null) {
+            gav = groupId + ':' + artifactId + ':' + version;
+        }
+        return gav;
     }
 
     public String toGapv() {
-        return String.format("%s:%s:%s:%s", groupId, artifactId, packaging, version);
+        return groupId + ':' + artifactId + ':' + packaging + ':' + version;
     }
 
     public String toGapvc() {
-        if (classifier == null) {
-            return String.format("%s:%s:%s:%s", groupId, artifactId, packaging, version);
-        } else {
-            return String.format("%s:%s:%s:%s:%s", groupId, artifactId, packaging, version, classifier);
+        if (gapvc == null) {
+            gapvc = classifier == null ? toGapv() : toGapv() + ':' + classifier;
         }
+        return gapvc;
     }
 
     public String toVersionPath() {
-        return String.format("%s/%s/%s", groupId.replace('.', '/'), artifactId, version);
+        return groupId.replace('.', '/') + '/' + artifactId + '/' + version;
     }
 
     public String toUri() {
-        return String.format("%s/%s", toVersionPath(), toFileName());
+        return toVersionPath() + '/' + toFileName();
     }
 
     public String toFileName() {
-        if (FILE_NO_EXTENSION_PACKAGING.equals(packaging)) {
-            if (classifier == null) {
-                return String.format("%s-%s", artifactId, version);
-            } else {
-                return String.format("%s-%s-%s", artifactId, version, classifier);
-            }
-        } else {
-            if (classifier == null) {
-                return String.format("%s-%s.%s", artifactId, version, packaging);
-            } else {
-                return String.format("%s-%s-%s.%s", artifactId, version, classifier, packaging);
-            }
+        if (fileName == null) {
+            String name = classifier == null ? artifactId + '-' + version
+                    : artifactId + '-' + version + '-' + classifier;
+            fileName = FILE_NO_EXTENSION_PACKAGING.equals(packaging) ? name : name + '.' + packaging;
         }
+        return fileName;
     }
 
     public String toPNCIdentifier() {
-        String result = String.format("%s:%s:%s:%s", groupId, artifactId, packaging, version);
-        if (classifier != null) {
-            result += ":";
-            result += classifier;
-        }
-        return result;
+        return toGapvc();
     }
 
     public static GAV fromColonSeparatedGAV(String colonSeparatedGav) {
@@ -232,7 +243,7 @@ public class GAV {
     }
 
     public String getGa() {
-        return String.format("%s:%s", groupId, artifactId);
+        return groupId + ':' + artifactId;
     }
 
     public boolean matches(String expression) {
@@ -270,4 +281,21 @@ public class GAV {
     public static boolean isTempVersion(String v) {
         return v.contains("temporary-redhat") || v.matches(".*\\.t\\d{8}-\\d+-\\d+-redhat-\\d+");
     }
+
+    private static String packaging(String path) {
+        for (String extension : EXTENSION_EXCEPTIONS) {
+            if (path.length() > extension.length() && path.endsWith(extension)
+                    && path.charAt(path.length() - extension.length() - 1) == '.') {
+                return extension;
+            }
+        }
+        return path.substring(path.lastIndexOf('.') + 1);
+    }
+
+    private static String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        return INTERNED.intern(value);
+    }
 }
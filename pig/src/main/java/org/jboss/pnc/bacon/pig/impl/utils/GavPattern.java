@@ -104,17 +104,45 @@ public class GavPattern implements Serializable {
 
     /**
      * A pair of a {@link Pattern} and its wildcard source.
+     * <p>
+     * Literals and sources with a single leading or trailing wildcard are matched with plain string comparisons, the
+     * {@link Pattern} is only used for the other wildcard sources.
      */
     static class GavSegmentPattern implements Serializable {
         private static final GavSegmentPattern MATCH_ALL = new GavSegmentPattern(GavPattern.MULTI_WILDCARD);
         private static final String MATCH_ALL_PATTERN_SOURCE = ".*";
         /**  */
         private static final long serialVersionUID = 1063634992004995585L;
+
+        enum Kind {
+            ALL, LITERAL, PREFIX, SUFFIX, REGEX
+        }
+
         private final transient Pattern pattern;
         private final String source;
+        private final Kind kind;
+        /** the source without the wildcard for the {@link Kind#PREFIX} and {@link Kind#SUFFIX} kinds */
+        private final String text;
 
         GavSegmentPattern(String wildcardSource) {
             super();
+            final int wildcards = wildcardSource.length() - wildcardSource.replace(MULTI_WILDCARD, "").length();
+            if (wildcardSource.equals(MULTI_WILDCARD)) {
+                this.kind = Kind.ALL;
+                this.text = "";
+            } else if (wildcards == 0) {
+                this.kind = Kind.LITERAL;
+                this.text = wildcardSource;
+            } else if (wildcards == 1 && wildcardSource.endsWith(MULTI_WILDCARD)) {
+                this.kind = Kind.PREFIX;
+                this.text = wildcardSource.substring(0, wildcardSource.length() - 1);
+            } else if (wildcards == 1 && wildcardSource.startsWith(MULTI_WILDCARD)) {
+                this.kind = Kind.SUFFIX;
+                this.text = wildcardSource.substring(1);
+            } else {
+                this.kind = Kind.REGEX;
+                this.text = null;
+            }
             final StringBuilder sb = new StringBuilder(wildcardSource.length() + 2);
             final StringTokenizer st = new StringTokenizer(wildcardSource, GavPattern.MULTI_WILDCARD, true);
             while (st.hasMoreTokens()) {
@@ -151,12 +179,38 @@ public class GavPattern implements Serializable {
             return source.hashCode();
         }
 
+        /**
+         * @return the kind of the source, which determines how inputs are matched
+         */
+        Kind getKind() {
+            return kind;
+        }
+
+        /**
+         * @return the literal for the {@link Kind#LITERAL} kind, the text preceding or following the wildcard for the
+         *         {@link Kind#PREFIX} and {@link Kind#SUFFIX} kinds
+         */
+        String getText() {
+            return text;
+        }
+
         public boolean matches(String input) {
             if (input == null) {
                 /* null input returns true only if the pattern is * */
-                return MATCH_ALL.equals(this);
+                return kind == Kind.ALL;
+            }
+            switch (kind) {
+                case ALL:
+                    return true;
+                case LITERAL:
+                    return text.equals(input);
+                case PREFIX:
+                    return input.startsWith(text);
+                case SUFFIX:
+                    return input.endsWith(text);
+                default:
+                    return pattern.matcher(input).matches();
             }
-            return pattern.matcher(input).matches();
         }
 
         /**
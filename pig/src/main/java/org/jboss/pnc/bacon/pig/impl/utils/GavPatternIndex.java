@@ -0,0 +1,98 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.pnc.bacon.pig.impl.utils;
+
+import org.jboss.pnc.bacon.pig.impl.utils.GavPattern.GavSegmentPattern;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * {@link GavPattern}s indexed by their {@code groupId} pattern, so that only the patterns that can match a given
+ * {@code groupId} are evaluated.
+ * <p>
+ * Patterns with a literal {@code groupId} are looked up by the {@code groupId}, patterns with a {@code groupId} prefix
+ * by the prefixes of the {@code groupId} of the lengths present in the index. The remaining patterns are always
+ * evaluated.
+ */
+final class GavPatternIndex {
+
+    private final Map<String, List<GavPattern>> byGroupId = new HashMap<>();
+    private final Map<String, List<GavPattern>> byGroupIdPrefix = new HashMap<>();
+    private final int[] prefixLengths;
+    private final List<GavPattern> others = new ArrayList<>();
+
+    GavPatternIndex(Collection<GavPattern> patterns) {
+        TreeSet<Integer> lengths = new TreeSet<>();
+        for (GavPattern pattern : patterns) {
+            GavSegmentPattern groupIdPattern = pattern.groupIdPattern;
+            switch (groupIdPattern.getKind()) {
+                case LITERAL:
+                    byGroupId.computeIfAbsent(groupIdPattern.getText(), k -> new ArrayList<>()).add(pattern);
+                    break;
+                case PREFIX:
+                    byGroupIdPrefix.computeIfAbsent(groupIdPattern.getText(), k -> new ArrayList<>()).add(pattern);
+                    lengths.add(groupIdPattern.getText().length());
+                    break;
+                default:
+                    others.add(pattern);
+                    break;
+            }
+        }
+        prefixLengths = lengths.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    boolean matches(String groupId, String artifactId, String type, String classifier, String version) {
+        if (groupId != null) {
+            if (matches(byGroupId.get(groupId), groupId, artifactId, type, classifier, version)) {
+                return true;
+            }
+            for (int length : prefixLengths) {
+                if (length > groupId.length()) {
+                    break;
+                }
+                List<GavPattern> candidates = byGroupIdPrefix.get(groupId.substring(0, length));
+                if (matches(candidates, groupId, artifactId, type, classifier, version)) {
+                    return true;
+                }
+            }
+        }
+        return matches(others, groupId, artifactId, type, classifier, version);
+    }
+
+    private static boolean matches(
+            List<GavPattern> patterns,
+            String groupId,
+            String artifactId,
+            String type,
+            String classifier,
+            String version) {
+        for (GavPattern pattern : patterns == null ? Collections.<GavPattern> emptyList() : patterns) {
+            if (pattern.matches(groupId, artifactId, type, classifier, version)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -205,31 +205,21 @@ public class GavSet implements Serializable {
         return INCLUDE_ALL;
     }
 
-    private static boolean matches(
-            String groupId,
-            String artifactId,
-            String type,
-            String classifier,
-            String version,
-            List<GavPattern> patterns) {
-        for (GavPattern pattern : patterns) {
-            if (pattern.matches(groupId, artifactId, type, classifier, version)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
     private final List<GavPattern> excludes;
     private final transient int hashcode;;
 
     private final List<GavPattern> includes;
 
+    private final transient GavPatternIndex includeIndex;
+    private final transient GavPatternIndex excludeIndex;
+
     GavSet(List<GavPattern> includes, List<GavPattern> excludes) {
         super();
         this.includes = includes;
         this.excludes = excludes;
         this.hashcode = 31 * (31 * 1 + excludes.hashCode()) + includes.hashCode();
+        this.includeIndex = new GavPatternIndex(includes);
+        this.excludeIndex = new GavPatternIndex(excludes);
     }
 
     /**
@@ -262,8 +252,8 @@ public class GavSet implements Serializable {
      * @return {@code true} if the given GAV triple is a member of this {@link GavSet} and {@code false} otherwise
      */
     public boolean contains(String groupId, String artifactId, String type, String classifier, String version) {
-        return matches(groupId, artifactId, type, classifier, version, includes)
-                && !matches(groupId, artifactId, type, classifier, version, excludes);
+        return includeIndex.matches(groupId, artifactId, type, classifier, version)
+                && !excludeIndex.matches(groupId, artifactId, type, classifier, version);
     }
 
     @Override
@@ -6,7 +6,9 @@ import org.jboss.resteasy.util.Hex;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.security.MessageDigest;
+import java.util.List;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
@@ -44,4 +46,41 @@ public class HashUtils {
         return Hex.encodeHex(sha.digest());
     }
 
+    /**
+     * Hash the content of an optional input file of a computation, e.g. one given on the command line
+     *
+     * @param location path of the file, or null
+     * @return the hash of the file content, an empty string if there's no location, or the location itself if it is not
+     *         a file, e.g. the name of a classpath resource
+     */
+    public static String hashFile(String location) {
+        if (location == null) {
+            return "";
+        }
+        Path path = Paths.get(location);
+        if (!Files.isRegularFile(path)) {
+            return location;
+        }
+        try {
+            return Hex.encodeHex(DigestUtils.updateDigest(DigestUtils.getSha512Digest(), path.toFile()).digest());
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to calculate sha of " + path.toAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * Hash a list of values, e.g. the inputs of a computation
+     *
+     * @param values the values, in a meaningful order
+     * @return the hash of the values
+     */
+    public static String hashStrings(List<String> values) {
+        MessageDigest sha = DigestUtils.getSha512Digest();
+        for (String value : values) {
+            // the length separates the values, ["ab", "c"] and ["a", "bc"] must not have the same hash
+            DigestUtils.updateDigest(sha, value.length() + ":" + value);
+        }
+        return Hex.encodeHex(sha.digest());
+    }
+
 }
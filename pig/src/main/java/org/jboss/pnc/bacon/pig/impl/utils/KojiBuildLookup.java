@@ -0,0 +1,275 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.bacon.pig.impl.utils;
+
+import com.redhat.red.build.koji.KojiClientException;
+import org.jboss.pnc.bacon.common.telemetry.Operation;
+import org.jboss.pnc.bacon.common.telemetry.Telemetry;
+import org.jboss.pnc.build.finder.core.BuildConfig;
+import org.jboss.pnc.build.finder.core.BuildFinder;
+import org.jboss.pnc.build.finder.core.Checksum;
+import org.jboss.pnc.build.finder.core.ChecksumType;
+import org.jboss.pnc.build.finder.koji.KojiBuild;
+import org.jboss.pnc.build.finder.koji.KojiClientSession;
+import org.jboss.pnc.build.finder.koji.KojiLocalArchive;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Looks up Koji builds, sharing a single Koji session and worker pool between all the lookups in progress.
+ * <p>
+ * The shared lookup is obtained with {@link #open()} and released with {@link #close()}, typically in a
+ * try-with-resources block around the work of a stage that queries Koji. It stays open as long as one of its callers
+ * holds it, and its session and pool are released when the last of them closes it.
+ * <p>
+ * Files looked up with {@link #findBuilds(Collection)} are identified by their md5 checksum. All the checksums that
+ * were not looked up yet are sent in a single {@link BuildFinder} invocation, and the build found for each checksum, or
+ * the lack of it, is remembered while the lookup is open. A checksum found in more than one build is ambiguous, the
+ * files with such a checksum are left out like the ones without a build.
+ */
+public class KojiBuildLookup implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(KojiBuildLookup.class);
+
+    /**
+     * Span attributes of the lookups, the number of checksums or files looked up
+     */
+    static final String CHECKSUMS_ATTRIBUTE = "bacon.koji.checksums";
+    static final String FILES_ATTRIBUTE = "bacon.koji.files";
+
+    private static KojiBuildLookup shared;
+
+    private static int users;
+
+    private final BuildConfig config;
+
+    private final KojiClientSession session;
+
+    private final ChecksumFinder finder;
+
+    private final ExecutorService pool;
+
+    private final int parallelism;
+
+    private final Map<String, KojiBuild> buildsByChecksum = new ConcurrentHashMap<>();
+
+    private final Set<String> notFound = ConcurrentHashMap.newKeySet();
+
+    private final Set<String> ambiguous = ConcurrentHashMap.newKeySet();
+
+    KojiBuildLookup(BuildConfig config, KojiClientSession session, ChecksumFinder finder, int parallelism) {
+        this.config = config;
+        this.session = session;
+        this.finder = finder;
+        this.parallelism = parallelism;
+        this.pool = Executors.newCachedThreadPool(daemonThreads());
+    }
+
+    /**
+     * Open the shared lookup, or create it if no caller holds it open. Each call has to be paired with a call to
+     * {@link #close()}.
+     */
+    public static synchronized KojiBuildLookup open() {
+        if (shared == null) {
+            BuildConfig config = BuildFinderUtils.getKojiBuildFinderConfig();
+            KojiClientSession session;
+            try {
+                session = new KojiClientSession(config.getKojiHubURL());
+            } catch (KojiClientException e) {
+                throw new RuntimeException("Failed to connect to Koji hub " + config.getKojiHubURL(), e);
+            }
+            shared = new KojiBuildLookup(
+                    config,
+                    session,
+                    checksums -> find(config, session, checksums),
+                    Runtime.getRuntime().availableProcessors());
+        }
+        users++;
+        return shared;
+    }
+
+    /**
+     * Find the Koji builds of the given files
+     *
+     * @param files the files, archives are not analyzed any deeper
+     * @return the build of each file that has exactly one, in the order of the files
+     */
+    public Map<File, KojiBuild> findBuilds(Collection<File> files) {
+        Map<File, String> checksums = Telemetry.call("koji.md5", Telemetry.LOCAL, operation -> md5s(files));
+
+        Map<String, List<String>> pathsToFind = new HashMap<>();
+        checksums.forEach((file, md5) -> {
+            if (!buildsByChecksum.containsKey(md5) && !notFound.contains(md5)) {
+                pathsToFind.computeIfAbsent(md5, c -> new ArrayList<>()).add(file.getPath());
+            }
+        });
+        Map<Checksum, Collection<String>> toFind = new HashMap<>();
+        pathsToFind.forEach(
+                (md5, paths) -> toFind.put(
+                        new Checksum(ChecksumType.md5, md5, paths.get(0), 0),
+                        Collections.unmodifiableList(paths)));
+
+        if (!toFind.isEmpty()) {
+            log.info("Looking up Koji builds of {} checksums", toFind.size());
+            List<KojiBuild> builds;
+            try (Operation operation = Telemetry.start("koji.find-builds", Telemetry.KOJI)) {
+                operation.setAttribute(CHECKSUMS_ATTRIBUTE, toFind.size());
+                try {
+                    builds = finder.findBuilds(Collections.unmodifiableMap(toFind));
+                } catch (KojiClientException e) {
+                    operation.fail(e);
+                    throw new RuntimeException("Failed to get builds from Koji", e);
+                } catch (RuntimeException e) {
+                    operation.fail(e);
+                    throw e;
+                }
+            }
+            for (KojiBuild build : builds) {
+                for (KojiLocalArchive archive : build.getArchives()) {
+                    // Koji may store another checksum type than md5 for the archive, the local checksums are the
+                    // ones that were asked for
+                    archive.getChecksums()
+                            .stream()
+                            .filter(checksum -> checksum.getType() == ChecksumType.md5)
+                            .map(Checksum::getValue)
+                            .filter(pathsToFind::containsKey)
+                            .forEach(md5 -> {
+                                KojiBuild previous = buildsByChecksum.putIfAbsent(md5, build);
+                                if (previous != null
+                                        && previous.getBuildInfo().getId() != build.getBuildInfo().getId()) {
+                                    ambiguous.add(md5);
+                                }
+                            });
+                }
+            }
+            toFind.keySet()
+                    .stream()
+                    .map(Checksum::getValue)
+                    .filter(md5 -> !buildsByChecksum.containsKey(md5))
+                    .forEach(notFound::add);
+        }
+
+        Map<File, KojiBuild> result = new LinkedHashMap<>();
+        checksums.forEach((file, md5) -> {
+            KojiBuild build = buildsByChecksum.get(md5);
+            if (build != null && !ambiguous.contains(md5)) {
+                result.put(file, build);
+            }
+        });
+        return result;
+    }
+
+    BuildConfig getConfig() {
+        return config;
+    }
+
+    KojiClientSession getSession() {
+        return session;
+    }
+
+    ExecutorService getPool() {
+        return pool;
+    }
+
+    /**
+     * Release the lookup. The shared lookup is only closed when the last of the callers that opened it releases it.
+     */
+    @Override
+    public void close() {
+        synchronized (KojiBuildLookup.class) {
+            if (this == shared) {
+                if (--users > 0) {
+                    return;
+                }
+                shared = null;
+            }
+        }
+        pool.shutdownNow();
+        if (session != null) {
+            session.close();
+        }
+    }
+
+    private Map<File, String> md5s(Collection<File> files) {
+        List<File> fileList = new ArrayList<>(files);
+        int chunkSize = Math.max(1, (fileList.size() + parallelism - 1) / parallelism);
+        List<CompletableFuture<Map<File, String>>> futures = new ArrayList<>();
+        for (int start = 0; start < fileList.size(); start += chunkSize) {
+            List<File> chunk = fileList.subList(start, Math.min(start + chunkSize, fileList.size()));
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                Map<File, String> md5s = new LinkedHashMap<>();
+                chunk.forEach(file -> md5s.put(file, ChecksumUtils.checksum(file.toPath(), "md5")));
+                return md5s;
+            }, pool));
+        }
+
+        Map<File, String> result = new LinkedHashMap<>();
+        try {
+            futures.forEach(future -> result.putAll(future.join()));
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+        return result;
+    }
+
+    private static List<KojiBuild> find(
+            BuildConfig config,
+            KojiClientSession session,
+            Map<Checksum, Collection<String>> checksums) throws KojiClientException {
+        BuildFinder buildFinder = new BuildFinder(session, config);
+        buildFinder.findBuilds(checksums);
+        return buildFinder.getBuildsFound();
+    }
+
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "koji-lookup-" + counter.incrementAndGet());
+            // the pool lives as long as the run, it must not keep the JVM alive after it
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Sends one batch of checksums to Koji
+     */
+    @FunctionalInterface
+    interface ChecksumFinder {
+        List<KojiBuild> findBuilds(Map<Checksum, Collection<String>> checksums) throws KojiClientException;
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.bacon.pig.impl.utils;
+
+import org.apache.commons.compress.archivers.zip.StreamCompressor;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.compress.parallel.FileBasedScatterGatherBackingStore;
+import org.apache.commons.compress.parallel.ScatterGatherBackingStore;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+
+/**
+ * Writes zip archives compressing the entries in parallel.
+ * <p>
+ * Regular files are deflated by a pool of workers, each into its own backing store, and the compressed data is copied
+ * to the archive as raw entries in the order in which the paths were given. Only a bounded number of entries is
+ * compressed ahead of the one being written, small entries are kept in memory and larger ones in temporary files.
+ */
+final class ParallelZipWriter {
+
+    private static final int IN_MEMORY_THRESHOLD = 4 * 1024 * 1024;
+
+    private final int threads;
+    private final Function<Path, String> entryNames;
+
+    ParallelZipWriter(int threads, Function<Path, String> entryNames) {
+        this.threads = threads;
+        this.entryNames = entryNames;
+    }
+
+    void write(Path output, List<Path> paths) throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        Deque<Future<PreparedEntry>> pending = new ArrayDeque<>();
+        try (ZipArchiveOutputStream out = new ZipArchiveOutputStream(output.toFile())) {
+            for (Path path : paths) {
+                pending.add(executor.submit(() -> prepare(path)));
+                if (pending.size() >= 2 * threads) {
+                    writeEntry(out, pending.poll());
+                }
+            }
+            while (!pending.isEmpty()) {
+                writeEntry(out, pending.poll());
+            }
+        } finally {
+            shutdown(executor);
+            pending.forEach(ParallelZipWriter::discard);
+        }
+    }
+
+    private PreparedEntry prepare(Path path) throws IOException {
+        ZipArchiveEntry entry = new ZipArchiveEntry(path.toFile(), entryNames.apply(path));
+        FileUtils.setModeAndLastModifiedTime(path, entry);
+
+        if (Files.isSymbolicLink(path)) {
+            byte[] target = Files.readSymbolicLink(path).toString().getBytes(StandardCharsets.UTF_8);
+            return new PreparedEntry(entry, target, null);
+        } else if (Files.isRegularFile(path)) {
+            ScatterGatherBackingStore store = Files.size(path) < IN_MEMORY_THRESHOLD ? new InMemoryBackingStore()
+                    : new FileBasedScatterGatherBackingStore(Files.createTempFile("bacon-zip", ".tmp").toFile());
+            try (StreamCompressor compressor = StreamCompressor.create(Deflater.DEFAULT_COMPRESSION, store);
+                    InputStream content = Files.newInputStream(path)) {
+                compressor.deflate(content, ZipEntry.DEFLATED);
+                store.closeForWriting();
+
+                entry.setMethod(ZipEntry.DEFLATED);
+                entry.setCrc(compressor.getCrc32());
+                entry.setSize(compressor.getBytesRead());
+                entry.setCompressedSize(compressor.getBytesWrittenForLastEntry());
+            } catch (IOException | RuntimeException e) {
+                store.close();
+                throw e;
+            }
+            return new PreparedEntry(entry, null, store);
+        } else if (Files.isDirectory(path)) {
+            return new PreparedEntry(entry, null, null);
+        } else {
+            throw new RuntimeException("Unsupported file type for: " + path);
+        }
+    }
+
+    private static void writeEntry(ZipArchiveOutputStream out, Future<PreparedEntry> future) throws IOException {
+        try (PreparedEntry prepared = get(future)) {
+            if (prepared.compressed != null) {
+                try (InputStream content = prepared.compressed.getInputStream()) {
+                    out.addRawArchiveEntry(prepared.entry, content);
+                }
+            } else {
+                out.putArchiveEntry(prepared.entry);
+                if (prepared.symlinkTarget != null) {
+                    out.write(prepared.symlinkTarget);
+                }
+                out.closeArchiveEntry();
+            }
+        }
+    }
+
+    private static PreparedEntry get(Future<PreparedEntry> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while compressing zip entries", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new RuntimeException(cause);
+        }
+    }
+
+    private static void shutdown(ExecutorService executor) {
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Release the backing store of an entry that will not be written, the archive creation has already failed
+     */
+    private static void discard(Future<PreparedEntry> future) {
+        if (future.isDone() && !future.isCancelled()) {
+            try (PreparedEntry ignored = future.get()) {
+                // closing the entry removes the compressed data
+            } catch (Exception e) {
+                // failed entries have already released their backing store
+            }
+        }
+    }
+
+    private static final class PreparedEntry implements Closeable {
+        private final ZipArchiveEntry entry;
+        private final byte[] symlinkTarget;
+        private final ScatterGatherBackingStore compressed;
+
+        private PreparedEntry(ZipArchiveEntry entry, byte[] symlinkTarget, ScatterGatherBackingStore compressed) {
+            this.entry = entry;
+            this.symlinkTarget = symlinkTarget;
+            this.compressed = compressed;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (compressed != null) {
+                compressed.close();
+            }
+        }
+    }
+
+    private static final class InMemoryBackingStore implements ScatterGatherBackingStore {
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+        @Override
+        public InputStream getInputStream() {
+            return new ByteArrayInputStream(buffer.toByteArray());
+        }
+
+        @Override
+        public void writeOut(byte[] data, int offset, int length) {
+            buffer.write(data, offset, length);
+        }
+
+        @Override
+        public void closeForWriting() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.bacon.pig.impl.utils;
+
+import io.opentelemetry.context.Context;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Runs stages declared as a dependency graph, starting every stage as soon as the stages it depends on finished.
+ * <p>
+ * Stages that do not depend on each other run concurrently, up to the maximal number of concurrent stages and to the
+ * limits of the resources they use. When several stages are ready, they are started in the order they were declared in.
+ * When a stage fails, no more stages are started, the running ones are waited for and the first failure is rethrown.
+ */
+public class StageScheduler {
+    private static final Logger log = LoggerFactory.getLogger(StageScheduler.class);
+
+    private final int maxConcurrentStages;
+
+    private final Map<String, Stage> stages = new LinkedHashMap<>();
+
+    private final Map<String, Integer> limits = new HashMap<>();
+
+    /**
+     * @param maxConcurrentStages maximal number of stages running at the same time
+     */
+    public StageScheduler(int maxConcurrentStages) {
+        if (maxConcurrentStages < 1) {
+            throw new IllegalArgumentException("At least one stage has to be allowed, got " + maxConcurrentStages);
+        }
+        this.maxConcurrentStages = maxConcurrentStages;
+    }
+
+    /**
+     * Declare a stage. Its dependencies and resources are declared on the returned stage.
+     */
+    public Stage stage(String name, Runnable action) {
+        if (stages.containsKey(name)) {
+            throw new IllegalArgumentException("Stage " + name + " is declared twice");
+        }
+        Stage stage = new Stage(name, action);
+        stages.put(name, stage);
+        return stage;
+    }
+
+    /**
+     * Limit the number of stages using the resource at the same time
+     */
+    public StageScheduler limit(String resource, int permits) {
+        if (permits < 1) {
+            throw new IllegalArgumentException("Resource " + resource + " has to allow at least one stage");
+        }
+        limits.put(resource, permits);
+        return this;
+    }
+
+    /**
+     * Run all the stages and wait for them to finish
+     *
+     * @throws IllegalStateException if the stages do not form a valid graph
+     * @throws RuntimeException the first failure of a stage, after the running stages finished
+     */
+    public void run() {
+        List<Stage> order = validate();
+        for (Stage stage : order) {
+            log.info(
+                    "Stage {}{}",
+                    stage.name,
+                    stage.dependencies.isEmpty() ? "" : " after " + String.join(", ", stage.dependencies));
+        }
+
+        AtomicInteger threadCounter = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(
+                maxConcurrentStages,
+                runnable -> new Thread(runnable, "pig-stage-" + threadCounter.incrementAndGet()));
+        BlockingQueue<Stage> finished = new LinkedBlockingQueue<>();
+        Set<String> done = new HashSet<>();
+        Set<Stage> running = new LinkedHashSet<>();
+        Map<String, Integer> inUse = new HashMap<>();
+        Throwable failure = null;
+        try {
+            while (true) {
+                if (failure == null) {
+                    for (Stage stage : order) {
+                        if (running.size() < maxConcurrentStages && stage.isReady(done, running)
+                                && resourcesAvailable(stage, inUse)) {
+                            stage.resources.forEach(resource -> inUse.merge(resource, 1, Integer::sum));
+                            running.add(stage);
+                            stage.started = true;
+                            // the spans of the stage belong to the trace of the command
+                            pool.execute(Context.current().wrap(() -> execute(stage, finished)));
+                        }
+                    }
+                }
+                if (running.isEmpty()) {
+                    break;
+                }
+                Stage stage = finished.take();
+                running.remove(stage);
+                stage.resources.forEach(resource -> inUse.merge(resource, -1, Integer::sum));
+                if (stage.failure != null) {
+                    if (failure == null) {
+                        failure = stage.failure;
+                    }
+                } else {
+                    done.add(stage.name);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while running stages " + running, e);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        logSummary();
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        } else if (failure instanceof Error) {
+            throw (Error) failure;
+        } else if (failure != null) {
+            throw new RuntimeException(failure);
+        }
+    }
+
+    private void execute(Stage stage, BlockingQueue<Stage> finished) {
+        Thread thread = Thread.currentThread();
+        String threadName = thread.getName();
+        // makes the log lines of the stage recognizable when other stages log at the same time
+        thread.setName("pig-" + stage.name);
+        log.info("Stage {} started", stage.name);
+        long start = System.currentTimeMillis();
+        try {
+            stage.action.run();
+        } catch (RuntimeException | Error e) {
+            stage.failure = e;
+        } finally {
+            stage.duration = System.currentTimeMillis() - start;
+            if (stage.failure == null) {
+                log.info("Stage {} finished in {} ms", stage.name, stage.duration);
+            } else {
+                log.error("Stage {} failed after {} ms", stage.name, stage.duration);
+            }
+            thread.setName(threadName);
+            finished.add(stage);
+        }
+    }
+
+    private boolean resourcesAvailable(Stage stage, Map<String, Integer> inUse) {
+        return stage.resources.stream().allMatch(resource -> inUse.getOrDefault(resource, 0) < limits.get(resource));
+    }
+
+    /**
+     * @return the stages in the order they can be run in, sequentially
+     */
+    private List<Stage> validate() {
+        for (Stage stage : stages.values()) {
+            for (String dependency : stage.dependencies) {
+                if (!stages.containsKey(dependency)) {
+                    throw new IllegalStateException("Stage " + stage.name + " depends on unknown stage " + dependency);
+                }
+            }
+            for (String resource : stage.resources) {
+                if (!limits.containsKey(resource)) {
+                    throw new IllegalStateException("Stage " + stage.name + " uses unknown resource " + resource);
+                }
+            }
+        }
+
+        List<Stage> order = new ArrayList<>();
+        Set<String> ordered = new HashSet<>();
+        boolean progress = true;
+        while (progress) {
+            progress = false;
+            for (Stage stage : stages.values()) {
+                if (!ordered.contains(stage.name) && ordered.containsAll(stage.dependencies)) {
+                    order.add(stage);
+                    ordered.add(stage.name);
+                    progress = true;
+                }
+            }
+        }
+        if (order.size() < stages.size()) {
+            List<String> cyclic = stages.keySet()
+                    .stream()
+                    .filter(name -> !ordered.contains(name))
+                    .collect(Collectors.toList());
+            throw new IllegalStateException("Stages " + cyclic + " depend on each other");
+        }
+        return order;
+    }
+
+    private void logSummary() {
+        for (Stage stage : stages.values()) {
+            if (!stage.started) {
+                log.info("Stage {}: not run", stage.name);
+            } else if (stage.failure != null) {
+                log.info("Stage {}: failed after {} ms", stage.name, stage.duration);
+            } else {
+                log.info("Stage {}: finished in {} ms", stage.name, stage.duration);
+            }
+        }
+    }
+
+    /**
+     * A stage of the scheduler, see {@link StageScheduler#stage(String, Runnable)}
+     */
+    public static class Stage {
+        private final String name;
+        private final Runnable action;
+        private final Set<String> dependencies = new LinkedHashSet<>();
+        private final Set<String> resources = new LinkedHashSet<>();
+
+        private boolean started;
+        private volatile Throwable failure;
+        private volatile long duration;
+
+        private Stage(String name, Runnable action) {
+            this.name = name;
+            this.action = action;
+        }
+
+        /**
+         * Run the stage only after the given stages finished successfully
+         */
+        public Stage after(String... stageNames) {
+            dependencies.addAll(Arrays.asList(stageNames));
+            return this;
+        }
+
+        /**
+         * Count the stage into the limits of the given resources while it runs
+         */
+        public Stage uses(String... resourceNames) {
+            resources.addAll(Arrays.asList(resourceNames));
+            return this;
+        }
+
+        private boolean isReady(Set<String> done, Set<Stage> running) {
+            return !started && !running.contains(this) && done.containsAll(dependencies);
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
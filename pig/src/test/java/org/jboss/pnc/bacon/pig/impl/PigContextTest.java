@@ -1,9 +1,13 @@
 package org.jboss.pnc.bacon.pig.impl;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -22,4 +26,26 @@ class PigContextTest {
         assertTrue(pigContext.getPrefix().endsWith(pigContext.getPigConfiguration().getOutputSuffix()));
         assertTrue(pigContext.getPrefix().contains(pigContext.getPigConfiguration().getVersion()));
     }
+
+    @Test
+    void testCheckpoints(@TempDir Path tempDir) throws IOException {
+        Path output = Files.writeString(tempDir.resolve("sources.zip"), "sources");
+        PigContext pigContext = new PigContext();
+        pigContext.setContextLocation(tempDir.resolve("pig-context.json").toString());
+
+        assertFalse(pigContext.isCheckpointed("sources", "fingerprint"));
+
+        pigContext.checkpoint("sources", "fingerprint", List.of(output.toString()));
+        assertTrue(pigContext.isCheckpointed("sources", "fingerprint"));
+        assertFalse(pigContext.isCheckpointed("sources", "other-fingerprint"));
+        assertFalse(pigContext.isCheckpointed("javadoc", "fingerprint"));
+        assertTrue(Files.readString(tempDir.resolve("pig-context.json")).contains("fingerprint"));
+
+        Files.delete(output);
+        assertFalse(pigContext.isCheckpointed("sources", "fingerprint"));
+
+        pigContext.checkpoint("sources", "fingerprint", List.of());
+        pigContext.clearCheckpoint("sources");
+        assertFalse(pigContext.isCheckpointed("sources", "fingerprint"));
+    }
 }
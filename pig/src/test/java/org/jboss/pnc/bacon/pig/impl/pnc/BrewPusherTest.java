@@ -0,0 +1,106 @@
+package org.jboss.pnc.bacon.pig.impl.pnc;
+
+import org.jboss.pnc.bacon.config.Config;
+import org.jboss.pnc.dto.BuildPushResult;
+import org.jboss.pnc.dto.requests.BuildPushParameters;
+import org.jboss.pnc.enums.BuildPushStatus;
+import org.jboss.pnc.restclient.AdvancedBuildClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BrewPusherTest {
+
+    private final ScheduledExecutorService pnc = Executors.newScheduledThreadPool(4);
+
+    private final AtomicInteger inProgress = new AtomicInteger();
+    private final AtomicInteger maxInProgress = new AtomicInteger();
+    private final Set<String> pushed = ConcurrentHashMap.newKeySet();
+
+    private AdvancedBuildClient client;
+
+    @BeforeAll
+    static void configure() {
+        File configFile = new File(BrewPusherTest.class.getResource("/config.yaml").getFile());
+        Config.configure(configFile.getParent(), configFile.getName(), "default");
+    }
+
+    @BeforeEach
+    void setup() throws Exception {
+        client = mock(AdvancedBuildClient.class);
+        // a push takes a while and fails for the build with id 3
+        when(client.executeBrewPush(anyString(), any(BuildPushParameters.class))).then(invocation -> {
+            String buildId = invocation.getArgument(0);
+            maxInProgress.accumulateAndGet(inProgress.incrementAndGet(), Math::max);
+            CompletableFuture<BuildPushResult> result = new CompletableFuture<>();
+            pnc.schedule(() -> {
+                inProgress.decrementAndGet();
+                pushed.add(buildId);
+                BuildPushStatus status = "3".equals(buildId) ? BuildPushStatus.FAILED : BuildPushStatus.SUCCESS;
+                result.complete(BuildPushResult.builder().buildId(buildId).status(status).build());
+            }, 50, TimeUnit.MILLISECONDS);
+            return result;
+        });
+    }
+
+    @AfterEach
+    void shutdown() {
+        pnc.shutdownNow();
+    }
+
+    @Test
+    void shouldPushConcurrentlyUpToTheLimit() {
+        try (BrewPusher pusher = new BrewPusher(client, 3, Duration.ofMinutes(1))) {
+            pusher.push(builds(1, 2, 4, 5, 6, 7, 8, 9), "1.0-pnc", false);
+        }
+
+        assertThat(pushed).containsExactlyInAnyOrder("1", "2", "4", "5", "6", "7", "8", "9");
+        assertThat(maxInProgress.get()).isGreaterThan(1).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void shouldWaitForAllPushesBeforeReportingFailures() {
+        try (BrewPusher pusher = new BrewPusher(client, 2, Duration.ofMinutes(1))) {
+            assertThatThrownBy(() -> pusher.push(builds(1, 2, 3, 4, 5), "1.0-pnc", false))
+                    .isInstanceOf(RuntimeException.class)
+                    .hasMessageContaining("Failed to push 1 of 5 builds");
+        }
+
+        assertThat(pushed).containsExactlyInAnyOrder("1", "2", "3", "4", "5");
+    }
+
+    @Test
+    void shouldRejectInvalidLimit() {
+        assertThatThrownBy(() -> new BrewPusher(client, 0, Duration.ofMinutes(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<PncBuild> builds(int... ids) {
+        return IntStream.of(ids).mapToObj(id -> {
+            PncBuild build = new PncBuild();
+            build.setId(String.valueOf(id));
+            return build;
+        }).collect(Collectors.toList());
+    }
+}
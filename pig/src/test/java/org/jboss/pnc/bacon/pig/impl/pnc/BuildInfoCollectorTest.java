@@ -0,0 +1,152 @@
+package org.jboss.pnc.bacon.pig.impl.pnc;
+
+import org.jboss.pnc.bacon.pig.impl.config.GroupBuildInfo;
+import org.jboss.pnc.client.BuildClient;
+import org.jboss.pnc.client.BuildConfigurationClient;
+import org.jboss.pnc.client.GroupBuildClient;
+import org.jboss.pnc.client.GroupConfigurationClient;
+import org.jboss.pnc.client.RemoteCollection;
+import org.jboss.pnc.dto.Artifact;
+import org.jboss.pnc.dto.Build;
+import org.jboss.pnc.dto.BuildConfigurationRevisionRef;
+import org.jboss.pnc.dto.GroupBuild;
+import org.jboss.pnc.dto.SCMRepository;
+import org.jboss.pnc.enums.BuildStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BuildInfoCollectorTest {
+
+    private BuildClient buildClient;
+    private GroupBuildClient groupBuildClient;
+
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger maxRunning = new AtomicInteger();
+
+    @BeforeEach
+    void setup() throws Exception {
+        buildClient = mock(BuildClient.class);
+        groupBuildClient = mock(GroupBuildClient.class);
+
+        // every artifact request takes a while, like a remote PNC does
+        when(buildClient.getBuiltArtifacts(anyString())).then(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(50);
+            } finally {
+                running.decrementAndGet();
+            }
+            return collection(List.<Artifact> of());
+        });
+    }
+
+    @Test
+    void shouldCollectBuildsConcurrentlyInGroupBuildOrder() throws Exception {
+        List<Build> builds = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            if (i % 5 == 0) {
+                // the build was not needed, the collector has to use the build it refers to
+                Build realBuild = build(String.valueOf(1000 + i), "config-" + i, BuildStatus.SUCCESS, null);
+                when(buildClient.getSpecific(realBuild.getId())).thenReturn(realBuild);
+                builds.add(build(String.valueOf(i), "config-" + i, BuildStatus.NO_REBUILD_REQUIRED, realBuild));
+            } else {
+                builds.add(build(String.valueOf(i), "config-" + i, BuildStatus.SUCCESS, null));
+            }
+        }
+        GroupBuild groupBuild = GroupBuild.builder().id("1").build();
+        when(groupBuildClient.getBuilds(anyString(), any())).thenReturn(collection(builds));
+
+        GroupBuildInfo info;
+        try (BuildInfoCollector collector = collector(8)) {
+            info = collector.getBuildsFromGroupBuild(groupBuild);
+        }
+
+        List<String> names = builds.stream()
+                .map(b -> b.getBuildConfigRevision().getName())
+                .collect(Collectors.toList());
+        assertThat(info.getBuilds().keySet()).containsExactlyElementsOf(names);
+        assertThat(info.getBuilds().get("config-5").getId()).isEqualTo("1005");
+        assertThat(info.getBuilds().get("config-5").getBuiltArtifacts()).isEmpty();
+        assertThat(info.getBuilds().get("config-6").getId()).isEqualTo("6");
+        assertThat(maxRunning.get()).isGreaterThan(1).isLessThanOrEqualTo(8);
+    }
+
+    @Test
+    void shouldCollectSequentiallyWithSingleThread() throws Exception {
+        List<Build> builds = IntStream.range(0, 4)
+                .mapToObj(i -> build(String.valueOf(i), "config-" + i, BuildStatus.SUCCESS, null))
+                .collect(Collectors.toList());
+        when(groupBuildClient.getBuilds(anyString(), any())).thenReturn(collection(builds));
+
+        GroupBuildInfo info;
+        try (BuildInfoCollector collector = collector(1)) {
+            info = collector.getBuildsFromGroupBuild(GroupBuild.builder().id("1").build());
+        }
+
+        assertThat(info.getBuilds()).hasSize(4);
+        assertThat(maxRunning.get()).isEqualTo(1);
+    }
+
+    private BuildInfoCollector collector(int threads) {
+        GroupConfigurationClient groupConfigurationClient = mock(GroupConfigurationClient.class);
+        BuildConfigurationClient buildConfigClient = mock(BuildConfigurationClient.class);
+        // the workers share the mocked clients, the real ones open clients of their own
+        return new BuildInfoCollector(
+                buildClient,
+                buildConfigClient,
+                groupBuildClient,
+                groupConfigurationClient,
+                threads,
+                () -> new BuildInfoCollector(
+                        buildClient,
+                        buildConfigClient,
+                        groupBuildClient,
+                        groupConfigurationClient,
+                        1,
+                        null));
+    }
+
+    private static Build build(String id, String configName, BuildStatus status, Build noRebuildCause) {
+        return Build.builder()
+                .id(id)
+                .status(status)
+                .noRebuildCause(noRebuildCause)
+                .buildConfigRevision(BuildConfigurationRevisionRef.refBuilder().name(configName).build())
+                .scmRepository(SCMRepository.builder().internalUrl("git+ssh://example.com/" + configName).build())
+                .build();
+    }
+
+    private static <T> RemoteCollection<T> collection(List<T> values) {
+        List<T> copy = new ArrayList<>(values);
+        return new RemoteCollection<T>() {
+            @Override
+            public int size() {
+                return copy.size();
+            }
+
+            @Override
+            public Collection<T> getAll() {
+                return copy;
+            }
+
+            @Override
+            public Iterator<T> iterator() {
+                return copy.iterator();
+            }
+        };
+    }
+}
@@ -0,0 +1,58 @@
+package org.jboss.pnc.bacon.pig.impl.pnc;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BuildLogScannerTest {
+
+    @Test
+    void shouldFeedAllVisitorsOfBuildInSinglePass() {
+        PncBuild build = build("1", List.of("[INFO] first", "[INFO] second", "[ERROR] third"));
+        PncBuild other = build("2", List.of("[INFO] other"));
+
+        List<String> all = new ArrayList<>();
+        List<String> errors = new ArrayList<>();
+        List<String> otherLines = new ArrayList<>();
+        List<String> order = new ArrayList<>();
+
+        BuildLogScanner scanner = new BuildLogScanner();
+        scanner.register(build, all::add);
+        scanner.register(build, line -> {
+            if (line.startsWith("[ERROR]")) {
+                errors.add(line);
+            }
+        });
+        scanner.register(other, otherLines::add);
+        scanner.register(build, line -> order.add("a:" + line));
+        scanner.register(build, line -> order.add("b:" + line));
+        scanner.scan();
+
+        assertThat(all).containsExactly("[INFO] first", "[INFO] second", "[ERROR] third");
+        assertThat(errors).containsExactly("[ERROR] third");
+        assertThat(otherLines).containsExactly("[INFO] other");
+        // every line is seen by all the visitors before the next line is read
+        assertThat(order).startsWith("a:[INFO] first", "b:[INFO] first", "a:[INFO] second");
+    }
+
+    @Test
+    void shouldSpoolBuildLogOnce() {
+        PncBuild build = build("3", List.of("line"));
+
+        Path logFile = build.getBuildLogFile();
+
+        assertThat(logFile).hasContent("line");
+        assertThat(build.getBuildLogFile()).isEqualTo(logFile);
+    }
+
+    private static PncBuild build(String id, List<String> log) {
+        PncBuild build = new PncBuild();
+        build.setId(id);
+        build.addBuildLog(log);
+        return build;
+    }
+}
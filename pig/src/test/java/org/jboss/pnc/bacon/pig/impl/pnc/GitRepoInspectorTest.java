@@ -0,0 +1,114 @@
+package org.jboss.pnc.bacon.pig.impl.pnc;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GitRepoInspectorTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Git upstream;
+    private String url;
+    private GitMirrorCache mirrors;
+
+    @BeforeEach
+    void setup() throws Exception {
+        upstream = Git.init().setDirectory(tempDir.resolve("upstream").toFile()).setInitialBranch("main").call();
+        url = tempDir.resolve("upstream").toUri().toString();
+        mirrors = new GitMirrorCache(tempDir.resolve("mirrors"));
+    }
+
+    @AfterEach
+    void close() {
+        upstream.close();
+    }
+
+    @Test
+    void shouldNotFetchWhenBranchPointsToTag() throws Exception {
+        commit("first");
+        RevCommit built = commit("second");
+        upstream.tag().setName("1.0.0.redhat-00001").setObjectId(built).setAnnotated(true).call();
+
+        assertThat(GitRepoInspector.isModified(mirrors, url, "main", "1.0.0.redhat-00001")).isFalse();
+        List<Ref> mirroredRefs = mirrors.withMirror(url, git -> git.getRepository().getRefDatabase().getRefs());
+        assertThat(mirroredRefs).isEmpty();
+    }
+
+    @Test
+    void shouldDetectModifiedBranch() throws Exception {
+        commit("first");
+        RevCommit built = commit("second");
+        upstream.tag().setName("1.0.0.redhat-00001").setObjectId(built).call();
+        commit("third");
+
+        assertThat(GitRepoInspector.isModified(mirrors, url, "main", "1.0.0.redhat-00001")).isTrue();
+    }
+
+    @Test
+    void shouldAcceptTagOnTopOfBranch() throws Exception {
+        commit("first");
+        commit("second");
+        // the tag of an aligned build is on a commit made on top of the branch
+        upstream.checkout().setCreateBranch(true).setName("aligned").call();
+        RevCommit aligned = commit("aligned");
+        upstream.tag().setName("1.0.0.redhat-00001").setObjectId(aligned).call();
+        upstream.checkout().setName("main").call();
+
+        assertThat(GitRepoInspector.isModified(mirrors, url, "main", "1.0.0.redhat-00001")).isFalse();
+    }
+
+    @Test
+    void shouldNotFetchAgainWhenTagIsOnTopOfBranch() throws Exception {
+        commit("first");
+        commit("second");
+        upstream.checkout().setCreateBranch(true).setName("aligned").call();
+        RevCommit aligned = commit("aligned");
+        upstream.tag().setName("1.0.0.redhat-00001").setObjectId(aligned).call();
+        upstream.checkout().setName("main").call();
+        assertThat(GitRepoInspector.isModified(mirrors, url, "main", "1.0.0.redhat-00001")).isFalse();
+
+        upstream.branchCreate().setName("other").call();
+
+        // the mirror has the tagged commit, its parent is known without fetching
+        GitMirrorCache nextRun = new GitMirrorCache(tempDir.resolve("mirrors"));
+        assertThat(GitRepoInspector.isModified(nextRun, url, "main", "1.0.0.redhat-00001")).isFalse();
+        List<Ref> mirroredRefs = nextRun.withMirror(url, git -> git.getRepository().getRefDatabase().getRefs());
+        assertThat(mirroredRefs).extracting(Ref::getName).noneMatch(name -> name.endsWith("/other"));
+    }
+
+    @Test
+    void shouldFetchIncrementallyIntoExistingMirror() throws Exception {
+        commit("first");
+        RevCommit built = commit("second");
+        upstream.tag().setName("1.0.0.redhat-00001").setObjectId(built).call();
+        commit("third");
+        assertThat(GitRepoInspector.isModified(mirrors, url, "main", "1.0.0.redhat-00001")).isTrue();
+
+        RevCommit rebuilt = commit("fourth");
+        commit("fifth");
+        upstream.tag().setName("1.0.0.redhat-00002").setObjectId(rebuilt).call();
+
+        // a new run reuses the mirror of the previous one
+        GitMirrorCache nextRun = new GitMirrorCache(tempDir.resolve("mirrors"));
+        assertThat(GitRepoInspector.isModified(nextRun, url, "main", "1.0.0.redhat-00002")).isTrue();
+        assertThat(GitRepoInspector.isModified(nextRun, url, rebuilt.getName(), "1.0.0.redhat-00002")).isFalse();
+    }
+
+    private RevCommit commit(String content) throws Exception {
+        Files.writeString(tempDir.resolve("upstream").resolve("file.txt"), content);
+        upstream.add().addFilepattern("file.txt").call();
+        return upstream.commit().setMessage(content).setAuthor("test", "test@example.com").setSign(false).call();
+    }
+}
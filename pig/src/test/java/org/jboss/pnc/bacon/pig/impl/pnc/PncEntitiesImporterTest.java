@@ -0,0 +1,236 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.bacon.pig.impl.pnc;
+
+import org.jboss.pnc.bacon.pig.impl.PigContext;
+import org.jboss.pnc.bacon.pig.impl.config.BuildConfig;
+import org.jboss.pnc.bacon.pig.impl.config.PigConfiguration;
+import org.jboss.pnc.bacon.pig.impl.config.ProductConfig;
+import org.jboss.pnc.client.BuildConfigurationClient;
+import org.jboss.pnc.client.EnvironmentClient;
+import org.jboss.pnc.client.GroupConfigurationClient;
+import org.jboss.pnc.client.ProductClient;
+import org.jboss.pnc.client.ProductVersionClient;
+import org.jboss.pnc.client.ProjectClient;
+import org.jboss.pnc.client.RemoteCollection;
+import org.jboss.pnc.dto.BuildConfiguration;
+import org.jboss.pnc.dto.Environment;
+import org.jboss.pnc.dto.GroupConfiguration;
+import org.jboss.pnc.dto.Product;
+import org.jboss.pnc.dto.ProductVersion;
+import org.jboss.pnc.dto.Project;
+import org.jboss.pnc.dto.SCMRepository;
+import org.jboss.pnc.restclient.AdvancedSCMRepositoryClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PncEntitiesImporterTest {
+
+    private static final String SHARED_REPOSITORY = "git+ssh://example.com/shared.git";
+
+    private final BuildConfigurationClient buildConfigClient = mock(BuildConfigurationClient.class);
+    private final GroupConfigurationClient groupConfigClient = mock(GroupConfigurationClient.class);
+    private final ProductClient productClient = mock(ProductClient.class);
+    private final ProjectClient projectClient = mock(ProjectClient.class);
+    private final AdvancedSCMRepositoryClient repoClient = mock(AdvancedSCMRepositoryClient.class);
+    private final ProductVersionClient versionClient = mock(ProductVersionClient.class);
+    private final EnvironmentClient environmentClient = mock(EnvironmentClient.class);
+    private final PncConfigurator pncConfigurator = mock(PncConfigurator.class);
+
+    private final AtomicInteger createdProjects = new AtomicInteger();
+    private final AtomicInteger repositoryLookups = new AtomicInteger();
+
+    private PigContext previousContext;
+
+    @BeforeEach
+    void setup() throws Exception {
+        ProductVersion version = ProductVersion.builder().id("10").version("1.0").build();
+        when(productClient.getAll(any(), any())).thenReturn(collection(List.of(Product.builder().id("1").build())));
+        when(productClient.getProductVersions(anyString(), any(), any())).thenReturn(collection(List.of(version)));
+        when(groupConfigClient.getAll(any(), any())).thenReturn(
+                collection(List.of(GroupConfiguration.builder().id("100").productVersion(version).build())));
+        when(groupConfigClient.getBuildConfigs(anyString())).then(invocation -> collection(List.of()));
+        when(versionClient.getBuildConfigs(anyString())).then(invocation -> collection(List.of()));
+        when(buildConfigClient.getAll(any(), any())).then(invocation -> collection(List.of()));
+        when(buildConfigClient.getDependencies(anyString())).then(invocation -> collection(List.of()));
+        when(buildConfigClient.getSpecific(anyString()))
+                .then(invocation -> BuildConfiguration.builder().id(invocation.getArgument(0)).build());
+        when(environmentClient.getSpecific(anyString()))
+                .then(invocation -> Environment.builder().id(invocation.getArgument(0)).deprecated(false).build());
+
+        // the build configs finish their creation in a different order than the one they are defined in
+        when(buildConfigClient.createNew(any())).then(invocation -> {
+            BuildConfiguration config = invocation.getArgument(0);
+            Thread.sleep(config.getName().equals("first") ? 100 : 10);
+            return config.toBuilder().id("id-" + config.getName()).build();
+        });
+        // a slow remote PNC, the build configs of a project wait for it to be created
+        when(projectClient.getAll(any(), any())).then(invocation -> collection(List.of()));
+        when(projectClient.createNew(any())).then(invocation -> {
+            createdProjects.incrementAndGet();
+            Thread.sleep(50);
+            Project project = invocation.getArgument(0);
+            return project.toBuilder().id("project-" + project.getName()).build();
+        });
+        when(repoClient.getAll(anyString(), isNull())).then(invocation -> {
+            repositoryLookups.incrementAndGet();
+            Thread.sleep(50);
+            String url = invocation.getArgument(0);
+            return collection(List.of(SCMRepository.builder().id("repo-" + url).internalUrl(url).build()));
+        });
+
+        previousContext = PigContext.get();
+    }
+
+    @AfterEach
+    void restoreContext() {
+        PigContext.setInstance(previousContext);
+    }
+
+    @Test
+    void shouldKeepTheOrderOfTheBuildConfigs() {
+        List<String> names = List.of("first", "second", "third", "fourth", "fifth");
+        setBuilds(names.stream().map(name -> build(name, "project", SHARED_REPOSITORY)).collect(Collectors.toList()));
+
+        ImportResult result = importer().performImport(true, false);
+
+        assertThat(result.getBuildConfigs()).extracting(BuildConfigData::getName).containsExactlyElementsOf(names);
+        assertThat(result.getBuildConfigs()).extracting(BuildConfigData::getId)
+                .containsExactly("id-first", "id-second", "id-third", "id-fourth", "id-fifth");
+    }
+
+    @Test
+    void shouldCreateSharedProjectAndLookUpSharedRepositoryOnce() throws Exception {
+        List<BuildConfig> builds = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            builds.add(build("config-" + i, "shared-project", SHARED_REPOSITORY));
+        }
+        builds.add(build("other", "other-project", "git+ssh://example.com/other.git"));
+        setBuilds(builds);
+
+        ImportResult result = importer().performImport(true, false);
+
+        assertThat(result.getBuildConfigs()).hasSize(11);
+        assertThat(createdProjects.get()).isEqualTo(2);
+        assertThat(repositoryLookups.get()).isEqualTo(2);
+        verify(projectClient, times(1)).createNew(argThat(project -> project.getName().equals("shared-project")));
+        verify(repoClient, times(1)).getAll(eq(SHARED_REPOSITORY), isNull());
+        verify(buildConfigClient, times(10)).createNew(
+                argThat(
+                        config -> config.getName().startsWith("config-")
+                                && config.getProject().getId().equals("project-shared-project")
+                                && config.getScmRepository().getId().equals("repo-" + SHARED_REPOSITORY)));
+    }
+
+    @Test
+    void shouldWireTheDependenciesByName() throws Exception {
+        BuildConfig core = build("core", "project", SHARED_REPOSITORY);
+        BuildConfig api = build("api", "project", SHARED_REPOSITORY);
+        api.setDependencies(List.of("core"));
+        BuildConfig app = build("app", "project", SHARED_REPOSITORY);
+        app.setDependencies(List.of("core", "api"));
+        setBuilds(List.of(app, api, core));
+
+        importer().performImport(true, false);
+
+        verify(buildConfigClient)
+                .addDependency(eq("id-api"), argThat(dependency -> dependency.getId().equals("id-core")));
+        verify(buildConfigClient)
+                .addDependency(eq("id-app"), argThat(dependency -> dependency.getId().equals("id-core")));
+        verify(buildConfigClient)
+                .addDependency(eq("id-app"), argThat(dependency -> dependency.getId().equals("id-api")));
+        verify(buildConfigClient, never()).addDependency(eq("id-core"), any());
+        verify(buildConfigClient, times(3)).addDependency(anyString(), any());
+    }
+
+    private PncEntitiesImporter importer() {
+        return new PncEntitiesImporter(
+                buildConfigClient,
+                groupConfigClient,
+                productClient,
+                projectClient,
+                repoClient,
+                versionClient,
+                environmentClient,
+                pncConfigurator);
+    }
+
+    private static void setBuilds(List<BuildConfig> builds) {
+        ProductConfig product = new ProductConfig();
+        product.setName("product");
+        PigConfiguration pigConfiguration = new PigConfiguration();
+        pigConfiguration.setProduct(product);
+        pigConfiguration.setGroup("group");
+        pigConfiguration.setBuilds(builds);
+        PigContext context = new PigContext();
+        context.setPigConfiguration(pigConfiguration);
+        PigContext.setInstance(context);
+    }
+
+    private static BuildConfig build(String name, String project, String scmUrl) {
+        BuildConfig build = new BuildConfig();
+        build.setName(name);
+        build.setProject(project);
+        build.setScmUrl(scmUrl);
+        build.setScmRevision("main");
+        build.setBuildScript("mvn deploy");
+        build.setEnvironmentId("1");
+        build.setBuildType("MVN");
+        return build;
+    }
+
+    private static <T> RemoteCollection<T> collection(List<T> values) {
+        List<T> copy = new ArrayList<>(values);
+        return new RemoteCollection<T>() {
+            @Override
+            public int size() {
+                return copy.size();
+            }
+
+            @Override
+            public Collection<T> getAll() {
+                return copy;
+            }
+
+            @Override
+            public Iterator<T> iterator() {
+                return copy.iterator();
+            }
+        };
+    }
+}
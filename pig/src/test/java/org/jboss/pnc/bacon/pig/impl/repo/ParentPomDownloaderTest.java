@@ -0,0 +1,98 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.bacon.pig.impl.repo;
+
+import org.jboss.pnc.bacon.pig.impl.utils.GAV;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParentPomDownloaderTest {
+
+    @TempDir
+    Path repo;
+
+    @Test
+    void shouldReadParentCoordinates() throws IOException {
+        Path pom = writePom(
+                "org.acme:acme-core:1.0.0.redhat-00001",
+                "<project><modelVersion>4.0.0</modelVersion>"
+                        + "<parent><groupId> org.acme </groupId><artifactId>acme-parent</artifactId>"
+                        + "<version>1.0.0.redhat-00001</version><relativePath/></parent>"
+                        + "<artifactId>acme-core</artifactId></project>");
+
+        assertThat(ParentPomDownloader.parentCoordinates(pom))
+                .hasToString("org.acme:acme-parent:1.0.0.redhat-00001:pom");
+        assertThat(ParentPomDownloader.parentCoordinates(writePom("org.acme:no-parent:1.0", "<project/>"))).isNull();
+    }
+
+    @Test
+    void shouldDownloadTheParentChainOnce() throws IOException {
+        writePom("org.acme:acme-core:1.0.0.redhat-00001", pomWithParent("org.acme:acme-parent:1.0.0.redhat-00001"));
+        writePom("org.acme:acme-api:1.0.0.redhat-00001", pomWithParent("org.acme:acme-parent:1.0.0.redhat-00001"));
+        writePom("org.acme:acme-util:1.0.0.redhat-00001", pomWithParent("org.community:parent:3"));
+
+        // poms served by the fake remote repository
+        Map<String, String> remote = Map.of(
+                "org.acme:acme-parent:1.0.0.redhat-00001",
+                pomWithParent("org.acme:acme-build:1.0.0.redhat-00001"),
+                "org.acme:acme-build:1.0.0.redhat-00001",
+                "<project/>");
+
+        List<List<String>> rounds = new ArrayList<>();
+        new ParentPomDownloader(repo, gavs -> {
+            rounds.add(gavs.stream().map(GAV::toGav).collect(Collectors.toList()));
+            gavs.forEach(gav -> writePom(gav.toGav(), remote.get(gav.toGav())));
+        }).process();
+
+        assertThat(rounds).containsExactly(
+                List.of("org.acme:acme-parent:1.0.0.redhat-00001"),
+                List.of("org.acme:acme-build:1.0.0.redhat-00001"));
+    }
+
+    private static String pomWithParent(String parent) {
+        String[] coords = parent.split(":");
+        return "<project><parent><groupId>" + coords[0] + "</groupId><artifactId>" + coords[1]
+                + "</artifactId><version>" + coords[2] + "</version></parent></project>";
+    }
+
+    private Path writePom(String gav, String content) {
+        String[] coords = gav.split(":");
+        Path pom = repo.resolve(coords[0].replace('.', '/'))
+                .resolve(coords[1])
+                .resolve(coords[2])
+                .resolve(coords[1] + "-" + coords[2] + ".pom");
+        try {
+            Files.createDirectories(pom.getParent());
+            return Files.writeString(pom, content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
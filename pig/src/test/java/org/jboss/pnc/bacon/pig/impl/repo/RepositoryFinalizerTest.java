@@ -0,0 +1,103 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.bacon.pig.impl.repo;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.jboss.pnc.bacon.pig.impl.utils.GAV;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RepositoryFinalizerTest {
+
+    private static final String RH_VERSION_DIR = "org/acme/acme-core/1.0.0.redhat-00001/";
+    private static final String RH_JAR = RH_VERSION_DIR + "acme-core-1.0.0.redhat-00001.jar";
+    private static final String RH_POM = RH_VERSION_DIR + "acme-core-1.0.0.redhat-00001.pom";
+    private static final String COMMUNITY_JAR = "org/community/lib/1.0/lib-1.0.jar";
+    private static final String EXCLUDED_JAR = "org/acme/acme-tests/1.0.0.redhat-00001/acme-tests-1.0.0.redhat-00001.jar";
+
+    @TempDir
+    Path tempDir;
+
+    private Path repo;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        repo = tempDir.resolve("maven-repository");
+        for (String file : List.of(
+                RH_JAR,
+                RH_POM,
+                RH_VERSION_DIR + "_remote.repositories",
+                RH_VERSION_DIR + "acme-core-1.0.0.redhat-00001.jar.lastUpdated",
+                COMMUNITY_JAR,
+                EXCLUDED_JAR)) {
+            Path path = repo.resolve(file);
+            Files.createDirectories(path.getParent());
+            Files.write(path, file.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void shouldRemoveUnwantedFiles() throws IOException {
+        RepositoryFinalizer finalizer = RepositoryFinalizer.index(repo.toFile());
+
+        finalizer.removeUnwantedFiles(List.of("org.acme:acme-tests:jar:.*"));
+
+        assertThat(listFiles()).containsExactlyInAnyOrder(RH_JAR, RH_POM);
+        assertThat(repo.resolve("org/community")).doesNotExist();
+        assertThat(repo.resolve("org/acme/acme-tests")).doesNotExist();
+        assertThat(finalizer.listGavs()).extracting(GAV::toGav)
+                .containsExactly("org.acme:acme-core:1.0.0.redhat-00001");
+    }
+
+    @Test
+    void shouldAddCheckSumsForIndexedFiles() throws IOException {
+        RepositoryFinalizer finalizer = RepositoryFinalizer.index(repo.toFile());
+        finalizer.removeUnwantedFiles(List.of());
+
+        Path sources = repo.resolve(RH_VERSION_DIR + "acme-core-1.0.0.redhat-00001-sources.jar");
+        Files.write(sources, "sources".getBytes(StandardCharsets.UTF_8));
+        finalizer.add(List.of(sources.toFile(), repo.resolve(RH_VERSION_DIR + "missing.jar").toFile()));
+
+        finalizer.addCheckSumsAndMetadata(false);
+
+        assertThat(repo.resolve(RH_JAR + ".sha1")).hasContent(DigestUtils.sha1Hex(RH_JAR));
+        assertThat(repo.resolve(RH_JAR + ".md5")).hasContent(DigestUtils.md5Hex(RH_JAR));
+        assertThat(repo.resolve(RH_POM + ".sha1")).exists();
+        assertThat(Path.of(sources + ".sha1")).hasContent(DigestUtils.sha1Hex("sources"));
+        assertThat(Path.of(sources + ".md5")).exists();
+        assertThat(repo.resolve(RH_JAR + ".sha1.md5")).doesNotExist();
+    }
+
+    private List<String> listFiles() throws IOException {
+        try (var stream = Files.walk(repo)) {
+            return stream.filter(Files::isRegularFile)
+                    .map(p -> repo.relativize(p).toString().replace('\\', '/'))
+                    .collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package org.jboss.pnc.bacon.pig.impl.utils;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ChecksumUtilsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldComputeAllChecksumsInOneRead() throws IOException {
+        byte[] content = new byte[200 * 1024];
+        new Random(7).nextBytes(content);
+        Path file = Files.write(tempDir.resolve("artifact.jar"), content);
+
+        Map<String, String> checksums = ChecksumUtils.checksums(file, List.of("md5", "sha1", "sha256", "sha512"));
+
+        assertThat(checksums).containsExactly(
+                Map.entry("md5", DigestUtils.md5Hex(content)),
+                Map.entry("sha1", DigestUtils.sha1Hex(content)),
+                Map.entry("sha256", DigestUtils.sha256Hex(content)),
+                Map.entry("sha512", DigestUtils.sha512Hex(content)));
+    }
+
+    @Test
+    void shouldOnlyAddMissingChecksums() throws IOException {
+        Path file = Files.writeString(tempDir.resolve("artifact.pom"), "<project/>");
+        Files.writeString(tempDir.resolve("artifact.pom.md5"), "kept");
+
+        ChecksumUtils.addCheckSums(file, List.of("md5", "sha1"));
+
+        assertThat(tempDir.resolve("artifact.pom.md5")).hasContent("kept");
+        assertThat(tempDir.resolve("artifact.pom.sha1")).hasContent(DigestUtils.sha1Hex("<project/>"));
+    }
+
+    @Test
+    void shouldAddChecksumsOfManyFiles() throws IOException {
+        List<Path> files = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            files.add(Files.writeString(tempDir.resolve("file-" + i + ".jar"), "content " + i));
+        }
+
+        ChecksumUtils.addCheckSums(files, List.of("md5", "sha256"));
+
+        for (int i = 0; i < 50; i++) {
+            assertThat(tempDir.resolve("file-" + i + ".jar.md5")).hasContent(DigestUtils.md5Hex("content " + i));
+            assertThat(tempDir.resolve("file-" + i + ".jar.sha256")).hasContent(DigestUtils.sha256Hex("content " + i));
+        }
+    }
+
+    @Test
+    void shouldRejectUnknownAlgorithm() throws IOException {
+        Path file = Files.writeString(tempDir.resolve("artifact.pom"), "<project/>");
+
+        assertThatThrownBy(() -> ChecksumUtils.addCheckSums(file, List.of("crc32")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.bacon.pig.impl.utils;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.http.Fault;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlMatching;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static com.github.tomakehurst.wiremock.stubbing.Scenario.STARTED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FileDownloadUtilsTest {
+
+    private static final String ARTIFACT_PATH = "/org/acme/acme-core/1.0.0.redhat-00001/acme-core-1.0.0.redhat-00001.jar";
+
+    private WireMockServer wireMockServer;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void startServer() {
+        wireMockServer = new WireMockServer(options().dynamicPort());
+        wireMockServer.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        wireMockServer.stop();
+        FileDownloadUtils.setAttempts(1);
+    }
+
+    @Test
+    void shouldDownloadArtifactsConcurrentlyAndVerifyChecksums() {
+        List<String> paths = IntStream.range(0, 20)
+                .mapToObj(i -> "/org/acme/acme-" + i + "/1.0.0/acme-" + i + "-1.0.0.jar")
+                .collect(Collectors.toList());
+        for (String path : paths) {
+            byte[] content = ("content of " + path).getBytes(StandardCharsets.UTF_8);
+            wireMockServer.stubFor(get(urlEqualTo(path)).willReturn(aResponse().withFixedDelay(200).withBody(content)));
+            wireMockServer.stubFor(
+                    get(urlEqualTo(path + ".sha1")).willReturn(aResponse().withBody(DigestUtils.sha1Hex(content))));
+        }
+
+        CompletableFuture
+                .allOf(
+                        paths.stream()
+                                .map(
+                                        path -> CompletableFuture.runAsync(
+                                                () -> FileDownloadUtils.downloadTo(uri(path), target(path), true)))
+                                .toArray(CompletableFuture[]::new))
+                .join();
+
+        for (String path : paths) {
+            assertThat(target(path)).hasContent("content of " + path);
+            assertThat(FileDownloadUtils.partialPath(target(path))).doesNotExist();
+        }
+        // the md5 checksums are only fetched when there's no sha1 one
+        wireMockServer.verify(0, getRequestedFor(urlMatching(".*\\.md5")));
+    }
+
+    @Test
+    void shouldFallBackToMd5Checksum() {
+        byte[] content = "jar content".getBytes(StandardCharsets.UTF_8);
+        wireMockServer.stubFor(get(urlEqualTo(ARTIFACT_PATH)).willReturn(aResponse().withBody(content)));
+        wireMockServer.stubFor(get(urlEqualTo(ARTIFACT_PATH + ".sha1")).willReturn(aResponse().withStatus(404)));
+        wireMockServer.stubFor(
+                get(urlEqualTo(ARTIFACT_PATH + ".md5"))
+                        .willReturn(aResponse().withBody(DigestUtils.md5Hex(content) + "  acme-core.jar")));
+
+        FileDownloadUtils.downloadTo(uri(ARTIFACT_PATH), target(ARTIFACT_PATH), true);
+
+        assertThat(target(ARTIFACT_PATH)).hasBinaryContent(content);
+    }
+
+    @Test
+    void shouldFailOnChecksumMismatch() {
+        wireMockServer.stubFor(get(urlEqualTo(ARTIFACT_PATH)).willReturn(aResponse().withBody("corrupted content")));
+        wireMockServer.stubFor(
+                get(urlEqualTo(ARTIFACT_PATH + ".sha1"))
+                        .willReturn(aResponse().withBody(DigestUtils.sha1Hex("content"))));
+
+        assertThatThrownBy(() -> FileDownloadUtils.downloadTo(uri(ARTIFACT_PATH), target(ARTIFACT_PATH), true))
+                .isInstanceOf(RuntimeException.class);
+        assertThat(target(ARTIFACT_PATH)).doesNotExist();
+        assertThat(FileDownloadUtils.partialPath(target(ARTIFACT_PATH))).doesNotExist();
+    }
+
+    @Test
+    void shouldResumePartialDownload() throws Exception {
+        byte[] content = "first half|second half".getBytes(StandardCharsets.UTF_8);
+        int offset = "first half|".length();
+        File target = target(ARTIFACT_PATH);
+        Files.write(FileDownloadUtils.partialPath(target).toPath(), Arrays.copyOf(content, offset));
+
+        wireMockServer.stubFor(
+                get(urlEqualTo(ARTIFACT_PATH)).withHeader("Range", equalTo("bytes=" + offset + "-"))
+                        .willReturn(
+                                aResponse().withStatus(206)
+                                        .withBody(Arrays.copyOfRange(content, offset, content.length))));
+        wireMockServer.stubFor(
+                get(urlEqualTo(ARTIFACT_PATH + ".sha1"))
+                        .willReturn(aResponse().withBody(DigestUtils.sha1Hex(content))));
+
+        FileDownloadUtils.downloadTo(uri(ARTIFACT_PATH), target, true);
+
+        assertThat(target).hasBinaryContent(content);
+        wireMockServer.verify(1, getRequestedFor(urlEqualTo(ARTIFACT_PATH)));
+    }
+
+    @Test
+    void shouldRetryAfterDisconnect() {
+        // the more attempts, the shorter the back-off between them
+        FileDownloadUtils.setAttempts(20);
+        wireMockServer.stubFor(
+                get(urlEqualTo(ARTIFACT_PATH)).inScenario("disconnect")
+                        .whenScenarioStateIs(STARTED)
+                        .willReturn(aResponse().withFault(Fault.CONNECTION_RESET_BY_PEER))
+                        .willSetStateTo("reconnected"));
+        wireMockServer.stubFor(
+                get(urlEqualTo(ARTIFACT_PATH)).inScenario("disconnect")
+                        .whenScenarioStateIs("reconnected")
+                        .willReturn(aResponse().withBody("jar content")));
+
+        FileDownloadUtils.downloadTo(uri(ARTIFACT_PATH), target(ARTIFACT_PATH));
+
+        assertThat(target(ARTIFACT_PATH)).hasContent("jar content");
+        wireMockServer.verify(2, getRequestedFor(urlEqualTo(ARTIFACT_PATH)));
+    }
+
+    private URI uri(String path) {
+        return URI.create(wireMockServer.baseUrl() + path);
+    }
+
+    private File target(String path) {
+        File target = tempDir.resolve(path.substring(1)).toFile();
+        target.getParentFile().mkdirs();
+        return target;
+    }
+}
@@ -0,0 +1,98 @@
+package org.jboss.pnc.bacon.pig.impl.utils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.zip.ZipFile;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileUtilsTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path workDir;
+    private Path contents;
+
+    @BeforeEach
+    void createTree() throws IOException {
+        workDir = Files.createDirectories(tempDir.resolve("work"));
+        contents = Files.createDirectories(workDir.resolve("maven-repository"));
+        for (int i = 0; i < 20; i++) {
+            Path artifactDir = Files.createDirectories(contents.resolve("org/acme/artifact-" + i + "/1.0"));
+            Files.write(
+                    artifactDir.resolve("artifact-" + i + "-1.0.pom"),
+                    ("<project>" + i + "</project>").getBytes(StandardCharsets.UTF_8));
+            Files.write(artifactDir.resolve("artifact-" + i + "-1.0.jar"), new byte[0]);
+        }
+        // big enough not to be compressed in memory
+        byte[] big = new byte[5 * 1024 * 1024];
+        new Random(42).nextBytes(big);
+        Files.write(contents.resolve("org/acme/artifact-0/1.0/artifact-0-1.0-dist.zip"), big);
+    }
+
+    @Test
+    void shouldZipInParallelToTheSameContent() throws IOException {
+        File sequential = tempDir.resolve("sequential.zip").toFile();
+        File parallel = tempDir.resolve("parallel.zip").toFile();
+
+        Collection<String> sequentialEntries = FileUtils.zip(sequential, workDir.toFile(), contents.toFile(), 1);
+        Collection<String> parallelEntries = FileUtils.zip(parallel, workDir.toFile(), contents.toFile(), 4);
+
+        assertThat(parallelEntries).containsExactlyElementsOf(sequentialEntries)
+                .contains("maven-repository/org/acme/", "maven-repository/org/acme/artifact-7/1.0/artifact-7-1.0.pom");
+        assertThat(FileUtils.listZipContents(parallel)).containsExactlyElementsOf(parallelEntries);
+
+        File unzipped = tempDir.resolve("unzipped").toFile();
+        FileUtils.unzip(parallel, unzipped);
+        assertThat(HashUtils.hashDirectory(unzipped.toPath().resolve("maven-repository")))
+                .isEqualTo(HashUtils.hashDirectory(contents));
+    }
+
+    @Test
+    void shouldWriteTheEntriesInTheSameOrderWithTheSameContent() throws IOException {
+        File first = tempDir.resolve("first.zip").toFile();
+        File second = tempDir.resolve("second.zip").toFile();
+
+        FileUtils.zip(first, workDir.toFile(), contents.toFile(), 1);
+        FileUtils.zip(second, workDir.toFile(), contents.toFile(), 3);
+
+        assertThat(describeEntries(second)).isEqualTo(describeEntries(first));
+    }
+
+    @Test
+    void shouldUntarCompressedStream() throws IOException {
+        File tarGz = tempDir.resolve("sources.tar.gz").toFile();
+        FileUtils.tar(tarGz, workDir.toFile(), contents.toFile());
+
+        File extracted = tempDir.resolve("extracted").toFile();
+        Collection<String> entries;
+        try (InputStream input = Files.newInputStream(tarGz.toPath())) {
+            entries = FileUtils.untar(input, extracted, "sources");
+        }
+
+        assertThat(entries).contains("maven-repository/org/acme/artifact-7/1.0/artifact-7-1.0.pom");
+        assertThat(HashUtils.hashDirectory(extracted.toPath().resolve("maven-repository")))
+                .isEqualTo(HashUtils.hashDirectory(contents));
+    }
+
+    private static List<String> describeEntries(File zip) throws IOException {
+        try (ZipFile zipFile = new ZipFile(zip)) {
+            return zipFile.stream()
+                    .map(e -> e.getName() + " " + e.getSize() + " " + e.getCrc())
+                    .collect(Collectors.toList());
+        }
+    }
+}
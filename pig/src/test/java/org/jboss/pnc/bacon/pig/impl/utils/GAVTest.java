@@ -20,7 +20,12 @@ package org.jboss.pnc.bacon.pig.impl.utils;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class GAVTest {
     @Test
@@ -108,4 +113,47 @@ class GAVTest {
         assertThat(gavEmpty.toUri())
                 .isEqualTo("com/fasterxml/jackson/core/jackson-databin/2.13.4/jackson-databin-2.13.4");
     }
+
+    @Test
+    void shouldParseTheSameRepresentationsFromPathAndCoordinates() {
+        GAV parsed = new GAV("org/acme/foo/1.0.redhat-00001/foo-1.0.redhat-00001-sources.tar.bz2");
+        GAV created = new GAV("org.acme", "foo", "1.0.redhat-00001", "tar.bz2", "sources");
+
+        assertThat(parsed).isEqualTo(created).hasSameHashCodeAs(created);
+        assertThat(parsed.toGapvc()).isEqualTo("org.acme:foo:tar.bz2:1.0.redhat-00001:sources")
+                .isSameAs(parsed.toGapvc())
+                .isEqualTo(parsed.toPNCIdentifier());
+        assertThat(parsed.toUri()).isEqualTo("org/acme/foo/1.0.redhat-00001/foo-1.0.redhat-00001-sources.tar.bz2");
+        assertThat(parsed.getGroupId()).isSameAs(created.getGroupId());
+        assertThat(parsed.getVersion()).isSameAs(created.getVersion());
+    }
+
+    @Test
+    void shouldNotTakeAnExtensionWithoutADotForAnExceptionalExtension() {
+        GAV gav = new GAV("org/acme/foo-tar.gz/1.0/foo-tar.gz-1.0.tgz");
+
+        assertThat(gav.getPackaging()).isEqualTo("tgz");
+        assertThat(gav.getClassifier()).isNull();
+    }
+
+    @Test
+    void shouldFailOnMalformedPath() {
+        assertThatThrownBy(() -> new GAV("foo-1.0.jar")).isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("Unable to parse path foo-1.0.jar");
+    }
+
+    @Test
+    void shouldSortByGapvc() {
+        List<String> sorted = Stream
+                .of(
+                        new GAV("org.acme", "foo", "1.0", "jar", "sources"),
+                        new GAV("org.acme", "foo", "1.0", "jar"),
+                        new GAV("org.acme", "bar", "2.0", "pom"))
+                .sorted(GAV.gapvcComparator)
+                .map(GAV::toGapvc)
+                .collect(Collectors.toList());
+
+        assertThat(sorted)
+                .containsExactly("org.acme:bar:pom:2.0", "org.acme:foo:jar:1.0", "org.acme:foo:jar:1.0:sources");
+    }
 }
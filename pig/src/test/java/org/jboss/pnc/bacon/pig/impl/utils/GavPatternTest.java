@@ -39,6 +39,17 @@ public class GavPatternTest {
         Assertions.assertFalse(p.matches("org.foo", "foo", "jar", null, "1.2.3"));
     }
 
+    @Test
+    public void wildcards() {
+        final GavPattern p = GavPattern.of("*.my-group:*-artifact:1.*.3");
+        Assertions.assertTrue(p.matches("org.my-group", "my-artifact", "jar", null, "1.2.3"));
+        Assertions.assertTrue(p.matches(".my-group", "-artifact", "jar", null, "1.10.3"));
+        Assertions.assertFalse(p.matches("org.my-group-bar", "my-artifact", "jar", null, "1.2.3"));
+        Assertions.assertFalse(p.matches("org.my-group", "my-artifact2", "jar", null, "1.2.3"));
+        Assertions.assertFalse(p.matches("org.my-group", "my-artifact", "jar", null, "1.2.4"));
+        Assertions.assertFalse(p.matches(null, "my-artifact", "jar", null, "1.2.3"));
+    }
+
     @Test
     public void artifactId() {
         final GavPattern p = GavPattern.of("org.my-group:my-artifact");
@@ -142,4 +142,31 @@ public class GavSetTest {
 
     }
 
+    @Test
+    public void excludeManyPatterns() {
+        GavSet.Builder builder = GavSet.builder();
+        for (int i = 0; i < 100; i++) {
+            builder.exclude("org.group" + i + ":artifact*");
+        }
+        GavSet set = builder //
+                .exclude("org.prefix*:excluded") //
+                .exclude("org.prefix.longer*") //
+                .exclude("*.suffix") //
+                .exclude("com.*.group:*") //
+                .build();
+        Assertions.assertFalse(set.contains("org.group42", "artifact1", "jar", null, "1.2.3"));
+        Assertions.assertTrue(set.contains("org.group42", "other", "jar", null, "1.2.3"));
+        Assertions.assertTrue(set.contains("org.group100", "artifact1", "jar", null, "1.2.3"));
+
+        Assertions.assertFalse(set.contains("org.prefix", "excluded", "jar", null, "1.2.3"));
+        Assertions.assertFalse(set.contains("org.prefix.sub", "excluded", "jar", null, "1.2.3"));
+        Assertions.assertTrue(set.contains("org.prefix.sub", "kept", "jar", null, "1.2.3"));
+        Assertions.assertFalse(set.contains("org.prefix.longer.sub", "kept", "jar", null, "1.2.3"));
+        Assertions.assertTrue(set.contains("org.pre", "excluded", "jar", null, "1.2.3"));
+
+        Assertions.assertFalse(set.contains("org.suffix", "artifact", "jar", null, "1.2.3"));
+        Assertions.assertFalse(set.contains("com.acme.group", "artifact", "jar", null, "1.2.3"));
+        Assertions.assertTrue(set.contains("com.acme.groups", "artifact", "jar", null, "1.2.3"));
+    }
+
 }
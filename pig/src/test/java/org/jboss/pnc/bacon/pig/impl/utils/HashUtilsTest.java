@@ -68,4 +68,17 @@ class HashUtilsTest {
         });
         assertThat(originalHash).isEqualTo(copyIgnoreFileHash);
     }
+
+    @Test
+    void shouldHashFileContent() {
+        String original = testDirs.resolve("original").resolve("file1.txt").toString();
+        String copy = testDirs.resolve("copy").resolve("file1.txt").toString();
+        String modified = testDirs.resolve("additional-newline").resolve("file1.txt").toString();
+
+        assertThat(HashUtils.hashFile(original)).isEqualTo(HashUtils.hashFile(copy));
+        assertThat(HashUtils.hashFile(original)).isNotEqualTo(HashUtils.hashFile(modified));
+        assertThat(HashUtils.hashFile(null)).isEmpty();
+        // not a file, e.g. a classpath resource
+        assertThat(HashUtils.hashFile("rh-license-exceptions.json")).isEqualTo("rh-license-exceptions.json");
+    }
 }
@@ -0,0 +1,156 @@
+package org.jboss.pnc.bacon.pig.impl.utils;
+
+import org.jboss.pnc.build.finder.core.BuildFinderObjectMapper;
+import org.jboss.pnc.build.finder.core.Checksum;
+import org.jboss.pnc.build.finder.koji.KojiBuild;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KojiBuildLookupTest {
+    private static final String JAR_MD5 = "23ea543dd0c6e2a9414e5af5abb4f681";
+
+    @TempDir
+    Path tempDir;
+
+    private final List<Collection<String>> requests = new ArrayList<>();
+
+    private KojiBuildLookup lookup;
+
+    @AfterEach
+    void close() {
+        if (lookup != null) {
+            lookup.close();
+        }
+    }
+
+    @Test
+    void shouldLookUpAllFilesInSingleRequest() throws IOException {
+        File jar = file("commons-lang3.jar", "jar content");
+        File copy = file("copy/commons-lang3.jar", "jar content");
+        File unknown = file("unknown.jar", "unknown content");
+        lookup = lookup(build(ChecksumUtils.checksum(jar.toPath(), "md5")));
+
+        Map<File, KojiBuild> builds = lookup.findBuilds(List.of(jar, copy, unknown));
+
+        assertThat(builds).containsOnlyKeys(jar, copy);
+        assertThat(builds.get(jar).getBuildInfo().getNvr()).isEqualTo(builds.get(copy).getBuildInfo().getNvr());
+        assertThat(requests).hasSize(1);
+        assertThat(requests.get(0)).hasSize(2);
+    }
+
+    @Test
+    void shouldNotLookUpChecksumsAgain() throws IOException {
+        File jar = file("commons-lang3.jar", "jar content");
+        File unknown = file("unknown.jar", "unknown content");
+        lookup = lookup(build(ChecksumUtils.checksum(jar.toPath(), "md5")));
+
+        lookup.findBuilds(List.of(jar, unknown));
+        Map<File, KojiBuild> builds = lookup.findBuilds(List.of(jar, unknown));
+
+        assertThat(builds).containsOnlyKeys(jar);
+        assertThat(requests).hasSize(1);
+    }
+
+    @Test
+    void shouldLookUpOnlyNewChecksums() throws IOException {
+        File jar = file("commons-lang3.jar", "jar content");
+        File other = file("other.jar", "other content");
+        lookup = lookup(build(ChecksumUtils.checksum(jar.toPath(), "md5")));
+
+        lookup.findBuilds(List.of(jar));
+        lookup.findBuilds(List.of(jar, other));
+
+        assertThat(requests).hasSize(2);
+        assertThat(requests.get(1)).containsExactly(ChecksumUtils.checksum(other.toPath(), "md5"));
+    }
+
+    @Test
+    void shouldFindBuildOfArchiveWithoutMd5InKoji() throws IOException {
+        File jar = file("commons-lang3.jar", "jar content");
+        String md5 = ChecksumUtils.checksum(jar.toPath(), "md5");
+        String sha256 = ChecksumUtils.checksum(jar.toPath(), "sha256");
+        lookup = lookup(build(md5, sha256));
+
+        Map<File, KojiBuild> builds = lookup.findBuilds(List.of(jar));
+
+        assertThat(builds).containsOnlyKeys(jar);
+        assertThat(lookup.findBuilds(List.of(jar))).containsOnlyKeys(jar);
+        assertThat(requests).hasSize(1);
+    }
+
+    @Test
+    void shouldLeaveOutFilesFoundInSeveralBuilds() throws IOException {
+        File jar = file("commons-lang3.jar", "jar content");
+        String md5 = ChecksumUtils.checksum(jar.toPath(), "md5");
+        KojiBuild rebuild = build(md5);
+        rebuild.getBuildInfo().setId(rebuild.getBuildInfo().getId() + 1);
+        lookup = lookup(build(md5), rebuild);
+
+        assertThat(lookup.findBuilds(List.of(jar))).isEmpty();
+        assertThat(lookup.findBuilds(List.of(jar))).isEmpty();
+        assertThat(requests).hasSize(1);
+    }
+
+    private KojiBuildLookup lookup(KojiBuild... builds) {
+        return new KojiBuildLookup(null, null, checksums -> {
+            List<String> md5s = checksums.keySet().stream().map(Checksum::getValue).collect(Collectors.toList());
+            requests.add(md5s);
+            // BuildFinder reports the local checksums it matched, whatever the checksum type of the archive in Koji
+            return Arrays.stream(builds)
+                    .filter(
+                            build -> build.getArchives()
+                                    .stream()
+                                    .flatMap(archive -> archive.getChecksums().stream())
+                                    .anyMatch(checksum -> md5s.contains(checksum.getValue())))
+                    .collect(Collectors.toList());
+        }, 2);
+    }
+
+    /**
+     * The commons-lang3 build, with the checksum of its jar replaced by the given one
+     */
+    private static KojiBuild build(String md5) throws IOException {
+        return build(md5, md5);
+    }
+
+    /**
+     * The commons-lang3 build, with the local md5 of its jar and the checksum Koji stores for it replaced
+     */
+    private static KojiBuild build(String md5, String kojiChecksum) throws IOException {
+        String json;
+        try (InputStream input = KojiBuildLookupTest.class.getClassLoader().getResourceAsStream("builds.json")) {
+            assertThat(input).isNotNull();
+            json = new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        if (!kojiChecksum.equals(md5)) {
+            // the archive of the jar is the first object with its checksum
+            json = json.replaceFirst(
+                    "(?s)(\"checksum\" : \")" + JAR_MD5 + "(\".*?\"checksum_type\" : \")md5",
+                    "$1" + kojiChecksum + "$2sha256");
+        }
+        KojiBuild[] builds = new BuildFinderObjectMapper().readValue(json.replace(JAR_MD5, md5), KojiBuild[].class);
+        return builds[0];
+    }
+
+    private File file(String name, String content) throws IOException {
+        Path path = tempDir.resolve(name);
+        Files.createDirectories(path.getParent());
+        return Files.writeString(path, content).toFile();
+    }
+}
@@ -0,0 +1,124 @@
+package org.jboss.pnc.bacon.pig.impl.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StageSchedulerTest {
+
+    private final List<String> events = new CopyOnWriteArrayList<>();
+
+    @Test
+    void shouldRunStagesAfterTheirDependencies() {
+        StageScheduler scheduler = new StageScheduler(4);
+        scheduler.stage("documents", record("documents")).after("sources", "javadoc");
+        scheduler.stage("sources", record("sources")).after("repository");
+        scheduler.stage("javadoc", record("javadoc")).after("repository");
+        scheduler.stage("repository", record("repository"));
+
+        scheduler.run();
+
+        assertThat(events).hasSize(4);
+        assertThat(events.get(0)).isEqualTo("repository");
+        assertThat(events.subList(1, 3)).containsExactlyInAnyOrder("sources", "javadoc");
+        assertThat(events.get(3)).isEqualTo("documents");
+    }
+
+    @Test
+    void shouldRunIndependentStagesConcurrently() {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        Runnable awaitOther = () -> {
+            bothStarted.countDown();
+            try {
+                // would time out if the stages ran one after another
+                assertThat(bothStarted.await(10, TimeUnit.SECONDS)).isTrue();
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        };
+        StageScheduler scheduler = new StageScheduler(2);
+        scheduler.stage("sources", awaitOther);
+        scheduler.stage("javadoc", awaitOther);
+
+        scheduler.run();
+
+        assertThat(bothStarted.getCount()).isZero();
+    }
+
+    @Test
+    void shouldRespectResourceLimits() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        Runnable useKoji = () -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            sleep(30);
+            running.decrementAndGet();
+        };
+        StageScheduler scheduler = new StageScheduler(4).limit("koji", 1);
+        scheduler.stage("sources", useKoji).uses("koji");
+        scheduler.stage("shared-content", useKoji).uses("koji");
+        scheduler.stage("licenses", record("licenses"));
+
+        scheduler.run();
+
+        assertThat(maxRunning.get()).isEqualTo(1);
+        assertThat(events).containsExactly("licenses");
+    }
+
+    @Test
+    void shouldNotStartDependentStagesAfterFailure() {
+        StageScheduler scheduler = new StageScheduler(4);
+        scheduler.stage("repository", () -> {
+            throw new IllegalStateException("repository failed");
+        });
+        scheduler.stage("javadoc", () -> {
+            sleep(30);
+            events.add("javadoc");
+        });
+        scheduler.stage("documents", record("documents")).after("repository");
+
+        assertThatThrownBy(scheduler::run).isInstanceOf(IllegalStateException.class).hasMessage("repository failed");
+        // the stage running at the time of the failure is waited for
+        assertThat(events).containsExactly("javadoc");
+    }
+
+    @Test
+    void shouldRejectCycles() {
+        StageScheduler scheduler = new StageScheduler(2);
+        scheduler.stage("configure", record("configure"));
+        scheduler.stage("sources", record("sources")).after("configure", "documents");
+        scheduler.stage("documents", record("documents")).after("sources");
+
+        assertThatThrownBy(scheduler::run).isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("[sources, documents]");
+        assertThat(events).isEmpty();
+    }
+
+    @Test
+    void shouldRejectUnknownDependencies() {
+        StageScheduler scheduler = new StageScheduler(2);
+        scheduler.stage("sources", record("sources")).after("repository");
+
+        assertThatThrownBy(scheduler::run).isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("unknown stage repository");
+    }
+
+    private Runnable record(String name) {
+        return () -> events.add(name);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -31,6 +31,7 @@ import org.jboss.pnc.bacon.pnc.common.ClientCreator;
 import org.jboss.pnc.bacon.pnc.common.ParameterChecker;
 import org.jboss.pnc.client.BuildClient;
 import org.jboss.pnc.client.ClientException;
+import org.jboss.pnc.client.RemoteCollection;
 import org.jboss.pnc.client.RemoteResourceException;
 import org.jboss.pnc.dto.Artifact;
 import org.jboss.pnc.dto.Build;
@@ -51,7 +52,6 @@ import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.Collection;
 import java.util.Optional;
 import java.util.concurrent.Callable;
 import java.util.concurrent.TimeUnit;
@@ -198,12 +198,10 @@ public class BuildCli {
         private java.util.List<String> attributes;
 
         @Override
-        public Collection<Build> getAll(BuildsFilterParameters buildsFilter, String sort, String query)
+        public RemoteCollection<Build> getAll(BuildsFilterParameters buildsFilter, String sort, String query)
                 throws RemoteResourceException {
-            try (BuildClient client = CREATOR.newClient()) {
-                return client.getAll(buildsFilter, attributes, Optional.ofNullable(sort), Optional.ofNullable(query))
-                        .getAll();
-            }
+            BuildClient client = closeAfterPrinting(CREATOR.newClient());
+            return client.getAll(buildsFilter, attributes, Optional.ofNullable(sort), Optional.ofNullable(query));
         }
     }
 
@@ -217,11 +215,9 @@ public class BuildCli {
         private String buildId;
 
         @Override
-        public Collection<Artifact> getAll(String sort, String query) throws RemoteResourceException {
-            try (BuildClient client = CREATOR.newClient()) {
-                return client.getBuiltArtifacts(buildId, Optional.ofNullable(sort), Optional.ofNullable(query))
-                        .getAll();
-            }
+        public RemoteCollection<Artifact> getAll(String sort, String query) throws RemoteResourceException {
+            BuildClient client = closeAfterPrinting(CREATOR.newClient());
+            return client.getBuiltArtifacts(buildId, Optional.ofNullable(sort), Optional.ofNullable(query));
         }
     }
 
@@ -235,11 +231,9 @@ public class BuildCli {
         private String buildId;
 
         @Override
-        public Collection<Artifact> getAll(String sort, String query) throws RemoteResourceException {
-            try (BuildClient client = CREATOR.newClient()) {
-                return client.getDependencyArtifacts(buildId, Optional.ofNullable(sort), Optional.ofNullable(query))
-                        .getAll();
-            }
+        public RemoteCollection<Artifact> getAll(String sort, String query) throws RemoteResourceException {
+            BuildClient client = closeAfterPrinting(CREATOR.newClient());
+            return client.getDependencyArtifacts(buildId, Optional.ofNullable(sort), Optional.ofNullable(query));
         }
     }
 
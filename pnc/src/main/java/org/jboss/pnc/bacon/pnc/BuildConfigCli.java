@@ -28,6 +28,7 @@ import org.jboss.pnc.bacon.common.cli.JSONCommandHandler;
 import org.jboss.pnc.bacon.pnc.common.ClientCreator;
 import org.jboss.pnc.client.BuildConfigurationClient;
 import org.jboss.pnc.client.ClientException;
+import org.jboss.pnc.client.RemoteCollection;
 import org.jboss.pnc.client.RemoteResourceException;
 import org.jboss.pnc.dto.Build;
 import org.jboss.pnc.dto.BuildConfiguration;
@@ -44,7 +45,6 @@ import picocli.CommandLine.Command;
 import picocli.CommandLine.Option;
 import picocli.CommandLine.Parameters;
 
-import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.Callable;
@@ -406,10 +406,9 @@ public class BuildConfigCli {
     public static class List extends AbstractListCommand<BuildConfiguration> {
 
         @Override
-        public Collection<BuildConfiguration> getAll(String sort, String query) throws RemoteResourceException {
-            try (BuildConfigurationClient client = CREATOR.newClient()) {
-                return client.getAll(Optional.ofNullable(sort), Optional.ofNullable(query)).getAll();
-            }
+        public RemoteCollection<BuildConfiguration> getAll(String sort, String query) throws RemoteResourceException {
+            BuildConfigurationClient client = closeAfterPrinting(CREATOR.newClient());
+            return client.getAll(Optional.ofNullable(sort), Optional.ofNullable(query));
         }
     }
 
@@ -420,10 +419,10 @@ public class BuildConfigCli {
         private String id;
 
         @Override
-        public Collection<BuildConfigurationRevision> getAll(String sort, String query) throws RemoteResourceException {
-            try (BuildConfigurationClient client = CREATOR.newClient()) {
-                return client.getRevisions(id, Optional.ofNullable(sort), Optional.ofNullable(query)).getAll();
-            }
+        public RemoteCollection<BuildConfigurationRevision> getAll(String sort, String query)
+                throws RemoteResourceException {
+            BuildConfigurationClient client = closeAfterPrinting(CREATOR.newClient());
+            return client.getRevisions(id, Optional.ofNullable(sort), Optional.ofNullable(query));
         }
     }
 
@@ -434,13 +433,10 @@ public class BuildConfigCli {
         private String buildConfigId;
 
         @Override
-        public Collection<Build> getAll(BuildsFilterParameters buildsFilter, String sort, String query)
+        public RemoteCollection<Build> getAll(BuildsFilterParameters buildsFilter, String sort, String query)
                 throws RemoteResourceException {
-            try (BuildConfigurationClient client = CREATOR.newClient()) {
-                return client
-                        .getBuilds(buildConfigId, buildsFilter, Optional.ofNullable(sort), Optional.ofNullable(query))
-                        .getAll();
-            }
+            BuildConfigurationClient client = closeAfterPrinting(CREATOR.newClient());
+            return client.getBuilds(buildConfigId, buildsFilter, Optional.ofNullable(sort), Optional.ofNullable(query));
         }
     }
 
@@ -31,6 +31,7 @@ import org.jboss.pnc.client.ClientException;
 import org.jboss.pnc.client.OperationClient;
 import org.jboss.pnc.client.ProductMilestoneClient;
 import org.jboss.pnc.client.ProductVersionClient;
+import org.jboss.pnc.client.RemoteCollection;
 import org.jboss.pnc.client.RemoteResourceException;
 import org.jboss.pnc.dto.Artifact;
 import org.jboss.pnc.dto.Build;
@@ -46,7 +47,6 @@ import picocli.CommandLine.Parameters;
 
 import java.net.URL;
 import java.time.Instant;
-import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.Callable;
@@ -300,12 +300,10 @@ public class ProductMilestoneCli {
         private String id;
 
         @Override
-        public Collection<Build> getAll(BuildsFilterParameters buildsFilter, String sort, String query)
+        public RemoteCollection<Build> getAll(BuildsFilterParameters buildsFilter, String sort, String query)
                 throws RemoteResourceException {
-            try (ProductMilestoneClient client = CREATOR.newClient()) {
-                return client.getBuilds(id, buildsFilter, Optional.ofNullable(sort), Optional.ofNullable(query))
-                        .getAll();
-            }
+            ProductMilestoneClient client = closeAfterPrinting(CREATOR.newClient());
+            return client.getBuilds(id, buildsFilter, Optional.ofNullable(sort), Optional.ofNullable(query));
         }
     }
 
@@ -348,10 +346,9 @@ public class ProductMilestoneCli {
         private String id;
 
         @Override
-        public Collection<Artifact> getAll(String sort, String query) throws RemoteResourceException {
-            try (ProductMilestoneClient client = CREATOR.newClient()) {
-                return client.getDeliveredArtifacts(id, Optional.ofNullable(sort), Optional.ofNullable(query)).getAll();
-            }
+        public RemoteCollection<Artifact> getAll(String sort, String query) throws RemoteResourceException {
+            ProductMilestoneClient client = closeAfterPrinting(CREATOR.newClient());
+            return client.getDeliveredArtifacts(id, Optional.ofNullable(sort), Optional.ofNullable(query));
         }
     }
 
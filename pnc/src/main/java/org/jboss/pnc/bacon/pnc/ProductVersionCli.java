@@ -27,6 +27,7 @@ import org.jboss.pnc.bacon.common.exception.FatalException;
 import org.jboss.pnc.bacon.pnc.common.ClientCreator;
 import org.jboss.pnc.client.ClientException;
 import org.jboss.pnc.client.ProductVersionClient;
+import org.jboss.pnc.client.RemoteCollection;
 import org.jboss.pnc.client.RemoteResourceException;
 import org.jboss.pnc.dto.BuildConfiguration;
 import org.jboss.pnc.dto.GroupConfiguration;
@@ -38,7 +39,6 @@ import picocli.CommandLine.Command;
 import picocli.CommandLine.Option;
 import picocli.CommandLine.Parameters;
 
-import java.util.Collection;
 import java.util.Optional;
 import java.util.concurrent.Callable;
 
@@ -139,11 +139,10 @@ public class ProductVersionCli {
         private String id;
 
         @Override
-        public Collection<BuildConfiguration> getAll(String sort, String query) throws RemoteResourceException {
+        public RemoteCollection<BuildConfiguration> getAll(String sort, String query) throws RemoteResourceException {
 
-            try (ProductVersionClient client = CREATOR.newClient()) {
-                return client.getBuildConfigs(id, Optional.ofNullable(sort), Optional.ofNullable(query)).getAll();
-            }
+            ProductVersionClient client = closeAfterPrinting(CREATOR.newClient());
+            return client.getBuildConfigs(id, Optional.ofNullable(sort), Optional.ofNullable(query));
         }
     }
 
@@ -154,11 +153,10 @@ public class ProductVersionCli {
         private String id;
 
         @Override
-        public Collection<GroupConfiguration> getAll(String sort, String query) throws RemoteResourceException {
+        public RemoteCollection<GroupConfiguration> getAll(String sort, String query) throws RemoteResourceException {
 
-            try (ProductVersionClient client = CREATOR.newClient()) {
-                return client.getGroupConfigs(id, Optional.ofNullable(sort), Optional.ofNullable(query)).getAll();
-            }
+            ProductVersionClient client = closeAfterPrinting(CREATOR.newClient());
+            return client.getGroupConfigs(id, Optional.ofNullable(sort), Optional.ofNullable(query));
         }
     }
 
@@ -169,11 +167,10 @@ public class ProductVersionCli {
         private String id;
 
         @Override
-        public Collection<ProductMilestone> getAll(String sort, String query) throws RemoteResourceException {
+        public RemoteCollection<ProductMilestone> getAll(String sort, String query) throws RemoteResourceException {
 
-            try (ProductVersionClient client = CREATOR.newClient()) {
-                return client.getMilestones(id, Optional.ofNullable(sort), Optional.ofNullable(query)).getAll();
-            }
+            ProductVersionClient client = closeAfterPrinting(CREATOR.newClient());
+            return client.getMilestones(id, Optional.ofNullable(sort), Optional.ofNullable(query));
         }
     }
 
@@ -184,11 +181,10 @@ public class ProductVersionCli {
         private String id;
 
         @Override
-        public Collection<ProductRelease> getAll(String sort, String query) throws RemoteResourceException {
+        public RemoteCollection<ProductRelease> getAll(String sort, String query) throws RemoteResourceException {
 
-            try (ProductVersionClient client = CREATOR.newClient()) {
-                return client.getReleases(id, Optional.ofNullable(sort), Optional.ofNullable(query)).getAll();
-            }
+            ProductVersionClient client = closeAfterPrinting(CREATOR.newClient());
+            return client.getReleases(id, Optional.ofNullable(sort), Optional.ofNullable(query));
         }
     }
 
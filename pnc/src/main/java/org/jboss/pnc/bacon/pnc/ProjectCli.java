@@ -26,6 +26,7 @@ import org.jboss.pnc.bacon.common.cli.JSONCommandHandler;
 import org.jboss.pnc.bacon.pnc.common.ClientCreator;
 import org.jboss.pnc.client.ClientException;
 import org.jboss.pnc.client.ProjectClient;
+import org.jboss.pnc.client.RemoteCollection;
 import org.jboss.pnc.client.RemoteResourceException;
 import org.jboss.pnc.dto.Build;
 import org.jboss.pnc.dto.BuildConfiguration;
@@ -35,7 +36,6 @@ import picocli.CommandLine.Command;
 import picocli.CommandLine.Option;
 import picocli.CommandLine.Parameters;
 
-import java.util.Collection;
 import java.util.Optional;
 import java.util.concurrent.Callable;
 
@@ -108,10 +108,9 @@ public class ProjectCli {
     public static class List extends AbstractListCommand<Project> {
 
         @Override
-        public Collection<Project> getAll(String sort, String query) throws RemoteResourceException {
-            try (ProjectClient client = CREATOR.newClient()) {
-                return client.getAll(Optional.ofNullable(sort), Optional.ofNullable(query)).getAll();
-            }
+        public RemoteCollection<Project> getAll(String sort, String query) throws RemoteResourceException {
+            ProjectClient client = closeAfterPrinting(CREATOR.newClient());
+            return client.getAll(Optional.ofNullable(sort), Optional.ofNullable(query));
         }
     }
 
@@ -122,11 +121,9 @@ public class ProjectCli {
         private String id;
 
         @Override
-        public Collection<BuildConfiguration> getAll(String sort, String query) throws RemoteResourceException {
-            try (ProjectClient client = CREATOR.newClient()) {
-                return client.getBuildConfigurations(id, Optional.ofNullable(sort), Optional.ofNullable(query))
-                        .getAll();
-            }
+        public RemoteCollection<BuildConfiguration> getAll(String sort, String query) throws RemoteResourceException {
+            ProjectClient client = closeAfterPrinting(CREATOR.newClient());
+            return client.getBuildConfigurations(id, Optional.ofNullable(sort), Optional.ofNullable(query));
         }
     }
 
@@ -137,12 +134,10 @@ public class ProjectCli {
         private String id;
 
         @Override
-        public Collection<Build> getAll(BuildsFilterParameters buildsFilter, String sort, String query)
+        public RemoteCollection<Build> getAll(BuildsFilterParameters buildsFilter, String sort, String query)
                 throws RemoteResourceException {
-            try (ProjectClient client = CREATOR.newClient()) {
-                return client.getBuilds(id, buildsFilter, Optional.ofNullable(sort), Optional.ofNullable(query))
-                        .getAll();
-            }
+            ProjectClient client = closeAfterPrinting(CREATOR.newClient());
+            return client.getBuilds(id, buildsFilter, Optional.ofNullable(sort), Optional.ofNullable(query));
         }
     }
 
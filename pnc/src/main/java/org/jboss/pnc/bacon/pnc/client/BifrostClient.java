@@ -1,10 +1,12 @@
 package org.jboss.pnc.bacon.pnc.client;
 
-import org.apache.http.HttpResponse;
-import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpUriRequest;
-import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.jboss.pnc.bacon.common.http.SharedHttpClient;
+import org.jboss.pnc.bacon.common.telemetry.Operation;
+import org.jboss.pnc.bacon.common.telemetry.Telemetry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -31,11 +33,11 @@ public class BifrostClient {
     private static final Logger log = LoggerFactory.getLogger(BifrostClient.class);
 
     private final URI baseUrl;
-    private final HttpClient client;
+    private final CloseableHttpClient client;
 
     public BifrostClient(URI baseUrl) {
         this.baseUrl = baseUrl;
-        client = HttpClients.createDefault();
+        client = SharedHttpClient.get();
     }
 
     public List<String> getLog(String buildId, LogType logType) throws IOException {
@@ -75,11 +77,21 @@ public class BifrostClient {
         log.debug("Reading logs from {}", logsUrl);
 
         HttpUriRequest httpGet = new HttpGet(logsUrl);
-        HttpResponse response = client.execute(httpGet);
 
-        try (InputStream is = response.getEntity().getContent();
-                BufferedReader br = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8))) {
-            br.lines().forEach(onLine);
+        try (Operation operation = Telemetry.start("bifrost.log", Telemetry.BIFROST)) {
+            operation.addRequests(1);
+            try (CloseableHttpResponse response = client.execute(httpGet);
+                    InputStream is = response.getEntity().getContent();
+                    BufferedReader br = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8))) {
+                br.lines().forEach(line -> {
+                    // the logs are mostly ASCII, the characters and the line break approximate the bytes well enough
+                    operation.addBytes(line.length() + 1);
+                    onLine.accept(line);
+                });
+            } catch (IOException | RuntimeException e) {
+                operation.fail(e);
+                throw e;
+            }
         }
     }
 }
@@ -21,6 +21,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.jboss.pnc.bacon.auth.KeycloakClientImpl;
 import org.jboss.pnc.bacon.auth.model.Credential;
 import org.jboss.pnc.bacon.auth.spi.KeycloakClient;
+import org.jboss.pnc.bacon.common.Memoizer;
 import org.jboss.pnc.bacon.common.exception.FatalException;
 import org.jboss.pnc.bacon.config.Config;
 import org.jboss.pnc.bacon.config.KeycloakConfig;
@@ -45,6 +46,8 @@ public class PncClientHelper {
 
     private static PncClientTokenHolder pncClientTokenHolder;
 
+    private static final Memoizer<String, Configuration> configurations = new Memoizer<>();
+
     public static Configuration getPncConfiguration(boolean authenticationNeeded) {
         return setup(authenticationNeeded);
     }
@@ -69,6 +72,17 @@ public class PncClientHelper {
         config.getActiveProfile().getPnc().validate();
         String url = config.getActiveProfile().getPnc().getUrl();
 
+        // the configuration only depends on the url and on the authentication, all the clients can share it. It is
+        // created outside of any map lock, creating it checks the banner of PNC
+        return configurations.get(
+                url + (authenticationNeeded ? "#authenticated" : ""),
+                key -> createConfiguration(url, authenticationNeeded, keycloakConfig));
+    }
+
+    private static Configuration createConfiguration(
+            String url,
+            boolean authenticationNeeded,
+            KeycloakConfig keycloakConfig) {
         try {
             URI uri = new URI(url);
 